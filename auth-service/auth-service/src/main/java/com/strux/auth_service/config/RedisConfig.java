@@ -4,6 +4,10 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.strux.auth_service.service.AuthService;
+import com.strux.auth_service.service.TwoFactorAuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -12,6 +16,9 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+import java.util.Map;
+
 @Configuration
 public class RedisConfig {
 
@@ -31,17 +38,33 @@ public class RedisConfig {
         return mapper;
     }
 
+    /**
+     * Type id'ler kalıcıdır: Redis'te bu id'lerle yazılmış kayıtlar var, id değiştirilmez/yeniden kullanılmaz.
+     * String/Boolean gibi skaler değerler kayıtlı değil; JSON halleri header'lı halden zaten kısa.
+     */
+    @Bean
+    public CompactRedisSerializer redisValueSerializer(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.redis.codec.write-compact:true}") boolean writeCompact,
+            @Value("${app.redis.codec.compare-sample-rate:0.01}") double compareSampleRate) {
+
+        return new CompactRedisSerializer(objectMapper, new GenericJackson2JsonRedisSerializer(objectMapper),
+                writeCompact, compareSampleRate, meterRegistry)
+                .register(1, Map.class, 1)
+                .register(2, List.class, 1)
+                .register(3, AuthService.TempSessionData.class, 1)
+                .register(4, TwoFactorAuthService.TwoFAData.class, 1);
+    }
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(
             RedisConnectionFactory connectionFactory,
-            ObjectMapper objectMapper) {
+            CompactRedisSerializer serializer) {
 
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        GenericJackson2JsonRedisSerializer serializer =
-                new GenericJackson2JsonRedisSerializer(objectMapper);
-
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(serializer);
         template.setHashKeySerializer(new StringRedisSerializer());
@@ -2306,7 +2306,7 @@ public class AuthService {
     @lombok.Data
     @lombok.AllArgsConstructor
     @lombok.NoArgsConstructor
-    private static class TempSessionData implements java.io.Serializable {
+    public static class TempSessionData implements java.io.Serializable {
         private static final long serialVersionUID = 1L;
 
         private String accessToken;
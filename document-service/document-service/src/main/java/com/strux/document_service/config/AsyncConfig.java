@@ -0,0 +1,33 @@
+package com.strux.document_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+@Slf4j
+public class AsyncConfig {
+
+    /**
+     * Thumbnail üretimi için sınırlı havuz. Kuyruk doluysa iş atlanır;
+     * upload isteği hiçbir zaman thumbnail'i beklemez.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor thumbnailExecutor(
+            @Value("${app.document.thumbnail.threads:2}") int threads,
+            @Value("${app.document.thumbnail.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("thumbnail-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("⚠️ Thumbnail queue full, skipping task"));
+        executor.initialize();
+        return executor;
+    }
+}
@@ -84,6 +84,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/documents/upload").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/documents/upload-form").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/documents/bulk-upload").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/documents/uploads").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/documents/uploads/{documentId}/complete").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/folders").authenticated()
 
                         // Get folder and tree - All authenticated users
@@ -15,6 +15,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -204,6 +206,32 @@ public class DocumentController {
         }
     }
 
+    // ==================== DIRECT UPLOAD ENDPOINTS ====================
+
+    @PostMapping("/uploads")
+    public ResponseEntity<DirectUploadResponse> initiateDirectUpload(
+            @RequestBody @Valid DirectUploadRequest request,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        // Yükleyen token'dan alınır; complete ve avatar kontrolleri buna dayanır
+        String userId = jwt.getSubject();
+        log.info("Initiating direct upload: {} ({} bytes) by user: {}",
+                request.getFileName(), request.getFileSize(), userId);
+        DirectUploadResponse response = documentService.initiateDirectUpload(request, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/uploads/{documentId}/complete")
+    public ResponseEntity<DocumentDto> completeDirectUpload(
+            @PathVariable String documentId,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        String userId = jwt.getSubject();
+        log.info("Completing direct upload: {} by user: {}", documentId, userId);
+        DocumentDto document = documentService.completeDirectUpload(documentId, userId);
+        return ResponseEntity.ok(document);
+    }
+
     @PostMapping(value = "/upload-form", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<DocumentDto> uploadDocumentForm(
             @RequestPart("file") MultipartFile file,
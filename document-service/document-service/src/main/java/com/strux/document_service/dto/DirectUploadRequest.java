@@ -0,0 +1,44 @@
+package com.strux.document_service.dto;
+
+import com.strux.document_service.enums.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+import java.util.Set;
+
+/**
+ * Presigned URL ile doğrudan MinIO'ya yükleme başlatma isteği.
+ * Dosyanın kendisi bu servisten geçmez.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectUploadRequest {
+
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+
+    @NotNull(message = "File size is required")
+    @Positive(message = "File size must be positive")
+    private Long fileSize;
+
+    private DocumentType documentType;
+    private DocumentCategory category;
+    private String description;
+    private Set<String> tags;
+
+    private String folderId;
+    private EntityType entityType;
+    private String entityId;
+
+    @NotNull(message = "Company ID is required")
+    private String companyId;
+
+    private Boolean isPublic;
+}
@@ -0,0 +1,19 @@
+package com.strux.document_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectUploadResponse {
+
+    private String documentId;
+
+    // İstemci dosyayı bu URL'e PUT eder (Content-Type başlığı ile)
+    private String uploadUrl;
+    private String contentType;
+    private LocalDateTime expiresAt;
+}
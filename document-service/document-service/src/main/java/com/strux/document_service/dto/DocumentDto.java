@@ -60,6 +60,7 @@ public class DocumentDto {
 
     private Integer completionPercentage;
     private String thumbnailPath;
+    private String thumbnailUrl;
     private String[] keywords;
     private String weatherConditions;
     private Double temperature;
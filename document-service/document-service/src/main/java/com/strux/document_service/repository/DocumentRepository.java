@@ -31,6 +31,8 @@ public interface DocumentRepository extends MongoRepository<Document, String> {
 
     Long countByCompanyIdAndStatus(String companyId, DocumentStatus status);
 
+    List<Document> findByStatusAndUploadedAtBefore(DocumentStatus status, LocalDateTime before);
+
     @Aggregation(pipeline = {
             "{ '$match': { 'companyId': ?0, 'status': 'ACTIVE' } }",
             "{ '$group': { '_id': null, 'totalSize': { '$sum': '$fileSize' } } }"
@@ -7,11 +7,19 @@ import com.strux.document_service.model.Folder;
 import com.strux.document_service.repository.DocumentRepository;
 import com.strux.document_service.repository.FolderRepository;
 import jakarta.ws.rs.NotFoundException;
+import io.minio.StatObjectResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.InputStream;
 import java.time.LocalDateTime;
@@ -27,6 +35,21 @@ public class DocumentService {
     private final FolderRepository folderRepository;  // EKLE
     private final MinioStorageService storageService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ThumbnailService thumbnailService;
+
+    private static final Set<String> AVATAR_CONTENT_TYPES = Set.of("image/jpeg", "image/png", "image/jpg");
+
+    @Value("${app.document.max-file-size-mb:100}")
+    private long maxFileSizeMb;
+
+    @Value("${app.document.avatar.max-file-size-mb:5}")
+    private long avatarMaxFileSizeMb;
+
+    @Value("${app.document.upload-url-expiry-minutes:15}")
+    private int uploadUrlExpiryMinutes;
+
+    @Value("${app.document.pending-upload-ttl-hours:24}")
+    private long pendingUploadTtlHours;
 
     @Transactional
     public DocumentDto uploadDocument(MultipartFile file, DocumentUploadRequest request, String uploadedBy) {
@@ -34,6 +57,11 @@ public class DocumentService {
             // Validate file
             validateFile(file);
 
+            if (isUserAvatar(request.getEntityType(), request.getDocumentType())) {
+                validateAvatar(file.getSize(), file.getContentType());
+                uploadedBy = currentSubject();
+            }
+
             String folder;
             if (request.getFolderId() != null) {
                 Folder targetFolder = folderRepository.findByIdAndIsDeletedFalse(request.getFolderId())
@@ -77,6 +105,8 @@ public class DocumentService {
             // Publish event
             publishDocumentUploadedEvent(document);
 
+            generateThumbnailAfterCommit(document);
+
             return toDto(document);
 
         } catch (Exception e) {
@@ -85,6 +115,198 @@ public class DocumentService {
         }
     }
 
+    // ==================== DIRECT (PRESIGNED) UPLOAD ====================
+
+    /**
+     * PENDING bir doküman kaydı açar ve MinIO'ya doğrudan yükleme için PUT URL'i döner.
+     * Dosya bu servisten geçmez; yükleme bitince completeDirectUpload çağrılmalıdır.
+     */
+    public DirectUploadResponse initiateDirectUpload(DirectUploadRequest request, String uploadedBy) {
+        if (request.getFileSize() > maxFileSizeMb * 1024 * 1024) {
+            throw new RuntimeException("File size exceeds maximum limit (" + maxFileSizeMb + "MB)");
+        }
+        if (isUserAvatar(request.getEntityType(), request.getDocumentType())) {
+            validateAvatar(request.getFileSize(), request.getContentType());
+        }
+
+        String folder;
+        if (request.getFolderId() != null) {
+            Folder targetFolder = folderRepository.findByIdAndIsDeletedFalse(request.getFolderId())
+                    .orElseThrow(() -> new RuntimeException("Folder not found"));
+            folder = targetFolder.getFolderPath().substring(1) + "/" +
+                    (request.getCategory() != null ? request.getCategory().name().toLowerCase() : "general");
+        } else {
+            folder = generateFolderPath(DocumentUploadRequest.builder()
+                    .companyId(request.getCompanyId())
+                    .entityType(request.getEntityType())
+                    .entityId(request.getEntityId())
+                    .category(request.getCategory())
+                    .build());
+        }
+
+        String originalFileName = request.getFileName().substring(request.getFileName().lastIndexOf("/") + 1);
+        String filePath = folder + "/" + UUID.randomUUID() + "_" + originalFileName;
+
+        Document document = Document.builder()
+                .fileName(extractFileName(filePath))
+                .originalFileName(originalFileName)
+                .filePath(filePath)
+                .bucketName("strux-documents")
+                .fileSize(request.getFileSize())
+                .mimeType(request.getContentType())
+                .fileExtension(getFileExtension(originalFileName))
+                .documentType(request.getDocumentType())
+                .category(request.getCategory())
+                .description(request.getDescription())
+                .tags(request.getTags() != null ? request.getTags() : new HashSet<>())
+                .entityType(request.getEntityType())
+                .entityId(request.getEntityId())
+                .uploadedBy(uploadedBy)
+                .companyId(request.getCompanyId())
+                .isPublic(request.getIsPublic() != null ? request.getIsPublic() : false)
+                .status(DocumentStatus.PENDING)
+                .folderId(request.getFolderId())
+                .uploadedAt(LocalDateTime.now())
+                .build();
+
+        document = documentRepository.save(document);
+
+        String uploadUrl = storageService.getPresignedUploadUrl(filePath, uploadUrlExpiryMinutes);
+        log.info("📝 Direct upload initiated: {} ({} bytes)", document.getId(), request.getFileSize());
+
+        return DirectUploadResponse.builder()
+                .documentId(document.getId())
+                .uploadUrl(uploadUrl)
+                .contentType(request.getContentType())
+                .expiresAt(LocalDateTime.now().plusMinutes(uploadUrlExpiryMinutes))
+                .build();
+    }
+
+    /**
+     * Yüklenen nesneyi MinIO'da doğrular, dokümanı aktifleştirir ve document.uploaded
+     * event'ini yayınlar. Tekrar çağrılırsa mevcut dokümanı döner.
+     */
+    public DocumentDto completeDirectUpload(String documentId, String userId) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+
+        if (document.getStatus() == DocumentStatus.ACTIVE) {
+            return toDto(document);
+        }
+        if (document.getStatus() != DocumentStatus.PENDING) {
+            throw new RuntimeException("Upload is not pending");
+        }
+        if (document.getUploadedBy() != null && !document.getUploadedBy().equals(userId)) {
+            throw new RuntimeException("Upload belongs to another user");
+        }
+
+        StatObjectResponse stat = storageService.statFile(document.getFilePath());
+        if (stat.size() > maxFileSizeMb * 1024 * 1024) {
+            storageService.deleteFile(document.getFilePath());
+            documentRepository.delete(document);
+            throw new RuntimeException("File size exceeds maximum limit (" + maxFileSizeMb + "MB)");
+        }
+        String storedType = stat.contentType() != null ? stat.contentType().split(";")[0].trim() : null;
+        if (storedType != null && !storedType.equalsIgnoreCase(document.getMimeType())) {
+            storageService.deleteFile(document.getFilePath());
+            documentRepository.delete(document);
+            throw new RuntimeException("Uploaded content type does not match the requested type");
+        }
+        if (isUserAvatar(document.getEntityType(), document.getDocumentType())) {
+            // İstemci MinIO'ya istediğini yükleyebilir; limitler gerçek nesne üzerinden tekrar kontrol edilir
+            try {
+                validateAvatar(stat.size(), storedType);
+            } catch (RuntimeException e) {
+                storageService.deleteFile(document.getFilePath());
+                documentRepository.delete(document);
+                throw e;
+            }
+        }
+
+        document.setFileSize(stat.size());
+        document.setStatus(DocumentStatus.ACTIVE);
+        document.setUploadedAt(LocalDateTime.now());
+        document = documentRepository.save(document);
+
+        publishDocumentUploadedEvent(document);
+
+        generateThumbnailAfterCommit(document);
+
+        log.info("✅ Direct upload completed: {}", documentId);
+        return toDto(document);
+    }
+
+    /**
+     * Thumbnail worker'ı dokümanı findById ile okur; transaction içinden çağrılırsa
+     * kayıt henüz commit edilmemiş olabilir, bu yüzden commit sonrasına bırakılır.
+     */
+    private void generateThumbnailAfterCommit(Document document) {
+        if (!thumbnailService.supports(document.getMimeType())) {
+            return;
+        }
+
+        String documentId = document.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    thumbnailService.generate(documentId);
+                }
+            });
+        } else {
+            thumbnailService.generate(documentId);
+        }
+    }
+
+    private static boolean isUserAvatar(EntityType entityType, DocumentType documentType) {
+        return entityType == EntityType.USER && documentType == DocumentType.AVATAR;
+    }
+
+    private void validateAvatar(long size, String contentType) {
+        if (size > avatarMaxFileSizeMb * 1024 * 1024) {
+            throw new RuntimeException("Avatar size exceeds maximum limit (" + avatarMaxFileSizeMb + "MB)");
+        }
+        if (contentType == null || !AVATAR_CONTENT_TYPES.contains(contentType.toLowerCase())) {
+            throw new RuntimeException("Invalid avatar type. Allowed: JPEG, PNG, JPG");
+        }
+    }
+
+    /**
+     * Avatar yükleyen her zaman token sahibidir; X-User-Id header'ına güvenilmez.
+     * user-service avatarı sadece bu kişi hedef kullanıcının kendisiyse uygular.
+     */
+    private String currentSubject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            throw new RuntimeException("Authentication required for avatar uploads");
+        }
+        return jwt.getSubject();
+    }
+
+    /**
+     * Tamamlanmamış yüklemeleri ve (varsa) yarım kalan nesneleri temizler
+     */
+    @Scheduled(fixedDelayString = "${app.document.pending-cleanup-interval-ms:3600000}")
+    public void cleanupPendingUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(pendingUploadTtlHours);
+        List<Document> stale = documentRepository.findByStatusAndUploadedAtBefore(DocumentStatus.PENDING, cutoff);
+
+        for (Document document : stale) {
+            try {
+                if (storageService.fileExists(document.getFilePath())) {
+                    storageService.deleteFile(document.getFilePath());
+                }
+                documentRepository.delete(document);
+            } catch (Exception e) {
+                log.warn("Failed to clean up pending upload {}: {}", document.getId(), e.getMessage());
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            log.info("🧹 Removed {} abandoned upload(s)", stale.size());
+        }
+    }
+
     @Transactional
     public BulkUploadResponse bulkUpload(List<MultipartFile> files, DocumentUploadRequest request, String uploadedBy) {
         List<DocumentDto> uploadedDocuments = new ArrayList<>();
@@ -335,7 +557,12 @@ public class DocumentService {
                 .isPublic(document.getIsPublic())
                 .version(document.getVersion())
                 .status(document.getStatus())
-                .downloadUrl(storageService.getPresignedUrl(document.getFilePath(), 60)); // 1 hour
+                .downloadUrl(storageService.getPresignedUrl(document.getFilePath(), 60)) // 1 hour
+                .thumbnailPath(document.getThumbnailPath());
+
+        if (document.getThumbnailPath() != null) {
+            builder.thumbnailUrl(storageService.getPresignedUrl(document.getThumbnailPath(), 60));
+        }
 
         // Folder bilgisini ekle (EKLE)
         if (document.getFolderId() != null) {
@@ -359,9 +586,13 @@ public class DocumentService {
         event.put("uploadedBy", document.getUploadedBy());
         event.put("companyId", document.getCompanyId());
         event.put("folderId", document.getFolderId());  // EKLE
+        event.put("documentType", document.getDocumentType());
+        event.put("mimeType", document.getMimeType());
+        event.put("fileUrl", storageService.getPresignedUrl(document.getFilePath(), 60));
         event.put("timestamp", LocalDateTime.now());
 
-        kafkaTemplate.send("document.uploaded", event);
+        // Aynı entity'nin event'leri sırayla gelsin (ör. art arda avatar yüklemeleri)
+        kafkaTemplate.send("document.uploaded", document.getEntityId(), event);
         log.info("Document uploaded event published: {}", document.getId());
     }
 
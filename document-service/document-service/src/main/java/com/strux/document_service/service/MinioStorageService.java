@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -94,6 +95,58 @@ public class MinioStorageService {
         }
     }
 
+    /**
+     * İstemcinin dosyayı doğrudan MinIO'ya yüklemesi için PUT URL'i
+     */
+    public String getPresignedUploadUrl(String objectName, int expiryMinutes) {
+        try {
+            createBucketIfNotExists();
+
+            return minioClient.getPresignedObjectUrl(
+                    GetPresignedObjectUrlArgs.builder()
+                            .method(Method.PUT)
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .expiry(expiryMinutes, TimeUnit.MINUTES)
+                            .build()
+            );
+        } catch (Exception e) {
+            log.error("Error generating presigned upload URL: {}", e.getMessage());
+            throw new RuntimeException("Failed to generate upload URL");
+        }
+    }
+
+    public StatObjectResponse statFile(String objectName) {
+        try {
+            return minioClient.statObject(
+                    StatObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build()
+            );
+        } catch (Exception e) {
+            log.error("Error reading file metadata: {}", e.getMessage());
+            throw new RuntimeException("File not found in storage");
+        }
+    }
+
+    public void uploadBytes(String objectName, byte[] content, String contentType) {
+        try {
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .stream(new ByteArrayInputStream(content), content.length, -1)
+                            .contentType(contentType)
+                            .build()
+            );
+            log.info("File uploaded: {}", objectName);
+        } catch (Exception e) {
+            log.error("Error uploading file: {}", e.getMessage());
+            throw new RuntimeException("Failed to upload file");
+        }
+    }
+
     public void deleteFile(String objectName) {
         try {
             minioClient.removeObject(
@@ -0,0 +1,168 @@
+package com.strux.document_service.service;
+
+import com.strux.document_service.enums.DocumentStatus;
+import com.strux.document_service.model.Document;
+import com.strux.document_service.repository.DocumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Yüklenen görsellerden arka planda JPEG thumbnail üretir.
+ *
+ * Büyük görseller satır/sütun atlanarak (subsampling) okunur, böylece bellek
+ * kaynak boyutla değil thumbnail boyutuyla orantılı kalır. Hazır olunca
+ * document.thumbnail.ready event'i yayınlanır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ThumbnailService {
+
+    private static final String THUMBNAIL_CONTENT_TYPE = "image/jpeg";
+
+    private final DocumentRepository documentRepository;
+    private final MinioStorageService storageService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${app.document.thumbnail.max-dimension:256}")
+    private int maxDimension;
+
+    @Value("${app.document.thumbnail.max-source-pixels:50000000}")
+    private long maxSourcePixels;
+
+    public boolean supports(String mimeType) {
+        return mimeType != null && ImageIO.getImageReadersByMIMEType(mimeType).hasNext();
+    }
+
+    @Async("thumbnailExecutor")
+    public void generate(String documentId) {
+        Document document = documentRepository.findById(documentId).orElse(null);
+        if (document == null || document.getThumbnailPath() != null || !supports(document.getMimeType())) {
+            return;
+        }
+
+        try {
+            BufferedImage source = readSubsampled(document.getFilePath());
+            if (source == null) {
+                return;
+            }
+
+            String thumbnailPath = thumbnailPathFor(document.getFilePath());
+            storageService.uploadBytes(thumbnailPath, toJpeg(resize(source)), THUMBNAIL_CONTENT_TYPE);
+
+            // Bu sırada silinmiş/güncellenmiş olabilir; güncel kaydın üzerine yaz
+            Document current = documentRepository.findById(documentId).orElse(null);
+            if (current == null || current.getStatus() != DocumentStatus.ACTIVE) {
+                storageService.deleteFile(thumbnailPath);
+                return;
+            }
+            current.setThumbnailPath(thumbnailPath);
+            documentRepository.save(current);
+
+            publishThumbnailReadyEvent(current);
+            log.info("🖼️ Thumbnail created for document {}", documentId);
+
+        } catch (Exception e) {
+            log.error("❌ Thumbnail generation failed for document {}: {}", documentId, e.getMessage());
+        }
+    }
+
+    private BufferedImage readSubsampled(String objectName) throws IOException {
+        try (InputStream in = storageService.downloadFile(objectName);
+             ImageInputStream imageStream = ImageIO.createImageInputStream(in)) {
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageStream);
+            if (!readers.hasNext()) {
+                log.warn("No image reader for {}", objectName);
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageStream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                if ((long) width * height > maxSourcePixels) {
+                    log.warn("⚠️ Image too large for thumbnail: {} ({}x{})", objectName, width, height);
+                    return null;
+                }
+
+                // Hedefin ~2 katı çözünürlükte oku, kalan küçültmeyi interpolasyon yapsın
+                int step = Math.max(1, Math.max(width, height) / (maxDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            // Şeffaf PNG'ler JPEG'de siyah görünmesin
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] toJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "jpg", out)) {
+            throw new IOException("No JPEG writer available");
+        }
+        return out.toByteArray();
+    }
+
+    private String thumbnailPathFor(String filePath) {
+        int lastDot = filePath.lastIndexOf('.');
+        int lastSlash = filePath.lastIndexOf('/');
+        String base = lastDot > lastSlash ? filePath.substring(0, lastDot) : filePath;
+        return "thumbnails/" + base + ".jpg";
+    }
+
+    private void publishThumbnailReadyEvent(Document document) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventType", "document.thumbnail.ready");
+        event.put("documentId", document.getId());
+        event.put("documentType", document.getDocumentType());
+        event.put("entityType", document.getEntityType());
+        event.put("entityId", document.getEntityId());
+        event.put("companyId", document.getCompanyId());
+        event.put("thumbnailUrl", storageService.getPresignedUrl(document.getThumbnailPath(), 60));
+        event.put("timestamp", LocalDateTime.now());
+
+        kafkaTemplate.send("document.thumbnail.ready", document.getEntityId(), event);
+    }
+}
@@ -470,6 +470,78 @@ public class NotificationEventHandler {
         }
     }
 
+    @KafkaListener(topics = "task.overdue", groupId = "notification-service")
+    public void handleTaskOverdue(@Payload Map<String, Object> event) {
+        log.info("Received task.overdue event: {}", event);
+
+        List<String> assignees = extractRecipients(event, "assignees", "assignedTo", "assigneeIds");
+        String createdBy = getStringValue(event, "createdBy");
+        String companyId = getStringValue(event, "companyId");
+
+        Map<String, Object> overdueData = minimalTaskData(event);
+        overdueData.put("eventType", "task.overdue");
+
+        if (!assignees.isEmpty()) {
+            notifyMany(
+                    "task.overdue",
+                    assignees,
+                    companyId,
+                    NotificationCategory.TASK,
+                    List.of(NotificationType.IN_APP, NotificationType.PUSH),
+                    overdueData
+            );
+        }
+
+        if (notBlank(createdBy) && !assignees.contains(createdBy)) {
+            notifyOne(
+                    "task.overdue",
+                    createdBy,
+                    companyId,
+                    NotificationCategory.TASK,
+                    List.of(NotificationType.IN_APP),
+                    overdueData
+            );
+        }
+    }
+
+    @KafkaListener(topics = "task.sla.breached", groupId = "notification-service")
+    public void handleTaskSlaBreached(@Payload Map<String, Object> event) {
+        log.info("Received task.sla.breached event: {}", event);
+
+        List<String> assignees = extractRecipients(event, "assignees", "assignedTo", "assigneeIds");
+        String createdBy = getStringValue(event, "createdBy");
+        String companyId = getStringValue(event, "companyId");
+
+        Map<String, Object> breachData = minimalTaskData(event);
+        breachData.put("eventType", "task.sla.breached");
+
+        // Admin'e eskalasyon
+        if (notBlank(createdBy)) {
+            notifyOne(
+                    "task.sla.breached",
+                    createdBy,
+                    companyId,
+                    NotificationCategory.TASK,
+                    List.of(NotificationType.IN_APP, NotificationType.PUSH, NotificationType.EMAIL),
+                    breachData
+            );
+        }
+
+        List<String> workers = assignees.stream()
+                .filter(a -> !a.equals(createdBy))
+                .toList();
+        if (!workers.isEmpty()) {
+            notifyMany(
+                    "task.sla.breached",
+                    workers,
+                    companyId,
+                    NotificationCategory.TASK,
+                    List.of(NotificationType.IN_APP, NotificationType.PUSH),
+                    breachData
+            );
+        }
+    }
+
     // =========================
     // PROJECT EVENTS
     // =========================
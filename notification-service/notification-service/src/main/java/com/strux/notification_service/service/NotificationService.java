@@ -276,11 +276,13 @@ public class NotificationService {
             case "task.rejected":            return "❌ Task rədd edildi";
             case "task.status.changed":      return "Task statusu dəyişdi";
             case "task.progress.milestone":  return "Task irəliləyiş bildirişi";
+            case "task.overdue":             return "⏰ Task gecikir";
 
             // Task events - Admin notifications
             case "task.completed.pending.approval": return "⏳ Task təsdiq gözləyir";
             case "task.progress.updated":    return "📊 Task irəliləməsi yeniləndi";
             case "task.assigned.confirmation": return "Task təyin edildi";
+            case "task.sla.breached":        return "🚨 Task SLA müddəti aşıldı";
 
             // User events
             case "user.registered":          return "Xoş gəldiniz";
@@ -315,11 +317,13 @@ public class NotificationService {
             case "task.rejected":            return "❌ Task #{{taskId}} rədd edildi. Səbəb: {{rejectionReason}}";
             case "task.status.changed":      return "Task #{{taskId}} statusu {{newStatus}} oldu";
             case "task.progress.milestone":  return "Task #{{taskId}} %{{progressPercentage}} tamamlandı";
+            case "task.overdue":             return "⏰ Task #{{taskId}}: {{title}} son tarixi keçdi";
 
             // Task events - Admin notifications
             case "task.completed.pending.approval": return "⏳ İşçi task #{{taskId}}: {{title}} tamamladı və sizin təsdiqqinizi gözləyir";
             case "task.progress.updated":    return "📊 Task #{{taskId}}: {{title}} irəliləməsi %{{progressPercentage}} oldu";
             case "task.assigned.confirmation": return "Task #{{taskId}} uğurla təyin edildi";
+            case "task.sla.breached":        return "🚨 Task #{{taskId}}: {{title}} SLA müddətini aşdı və hələ tamamlanmayıb";
 
             // User events
             case "user.registered":          return "Xoş gəldiniz! Hesabınız yaradıldı.";
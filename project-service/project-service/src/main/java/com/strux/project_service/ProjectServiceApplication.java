@@ -3,9 +3,11 @@ package com.strux.project_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.strux.project_service.client")
+@EnableScheduling
 public class ProjectServiceApplication {
 
 	public static void main(String[] args) {
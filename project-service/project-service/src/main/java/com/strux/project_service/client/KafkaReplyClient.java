@@ -0,0 +1,176 @@
+package com.strux.project_service.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Kafka request/reply client.
+ *
+ * Her instance reply topic'lerini kendi consumer group'u ile dinler, böylece
+ * birden fazla pod çalışırken cevaplar kaybolmaz. Request'ler "replyInstanceId"
+ * ile işaretlenir; başka instance'a ait cevaplar sessizce atlanır.
+ */
+@Component
+@Slf4j
+public class KafkaReplyClient {
+
+    public static final String TOPIC_COMPANY_REQUEST = "company-info-request";
+    public static final String TOPIC_COMPANY_RESPONSE = "company-info-response";
+    public static final String TOPIC_PHASE_REQUEST = "phase-info-request";
+    public static final String TOPIC_PHASE_RESPONSE = "phase-info-response";
+    public static final String TOPIC_WORKER_REQUEST = "worker-info-request";
+    public static final String TOPIC_WORKER_RESPONSE = "worker-info-response";
+    public static final String TOPIC_MEDIA_REQUEST = "media-request";
+    public static final String TOPIC_MEDIA_RESPONSE = "media-response";
+
+    public static final String HEADER_REPLY_INSTANCE = "replyInstanceId";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String instanceId;
+    private final long timeoutMs;
+    private final int maxPending;
+
+    // correlationId -> bekleyen cevap
+    private final Map<String, CompletableFuture<Map<String, Object>>> pendingRequests = new ConcurrentHashMap<>();
+    // requestTopic:key -> aynı id için devam eden istek (coalescing)
+    private final Map<String, CompletableFuture<Map<String, Object>>> inFlightByKey = new ConcurrentHashMap<>();
+
+    private final Counter timeoutCounter;
+    private final Counter rejectedCounter;
+    private final Counter coalescedCounter;
+    private final Counter foreignReplyCounter;
+    private final Counter lateReplyCounter;
+
+    public KafkaReplyClient(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.kafka.reply.instance-id}") String instanceId,
+            @Value("${app.kafka.reply.timeout-ms:5000}") long timeoutMs,
+            @Value("${app.kafka.reply.max-pending:1000}") int maxPending) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.instanceId = instanceId;
+        this.timeoutMs = timeoutMs;
+        this.maxPending = maxPending;
+
+        Gauge.builder("project.kafka.reply.pending", pendingRequests, Map::size)
+                .description("In-flight Kafka request/reply calls")
+                .register(meterRegistry);
+        this.timeoutCounter = meterRegistry.counter("project.kafka.reply.timeouts");
+        this.rejectedCounter = meterRegistry.counter("project.kafka.reply.rejected");
+        this.coalescedCounter = meterRegistry.counter("project.kafka.reply.coalesced");
+        this.foreignReplyCounter = meterRegistry.counter("project.kafka.reply.foreign");
+        this.lateReplyCounter = meterRegistry.counter("project.kafka.reply.late");
+    }
+
+    /**
+     * Request gönderir ve cevabı bekler. Aynı topic + key için zaten bekleyen
+     * bir istek varsa yeni mesaj gönderilmez, mevcut future paylaşılır.
+     */
+    public CompletableFuture<Map<String, Object>> request(String requestTopic, String key, Map<String, Object> payload) {
+        String inFlightKey = requestTopic + ":" + key;
+
+        CompletableFuture<Map<String, Object>> existing = inFlightByKey.get(inFlightKey);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing;
+        }
+
+        CompletableFuture<Map<String, Object>> created = new CompletableFuture<>();
+        existing = inFlightByKey.putIfAbsent(inFlightKey, created);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing;
+        }
+
+        created.whenComplete((result, ex) -> inFlightByKey.remove(inFlightKey, created));
+        send(requestTopic, key, payload, created);
+        return created;
+    }
+
+    private void send(String requestTopic, String key, Map<String, Object> payload,
+                      CompletableFuture<Map<String, Object>> future) {
+        if (pendingRequests.size() >= maxPending) {
+            rejectedCounter.increment();
+            log.warn("⚠️ Too many pending Kafka requests ({}), rejecting {}", pendingRequests.size(), requestTopic);
+            future.completeExceptionally(new RejectedExecutionException("Too many pending requests"));
+            return;
+        }
+
+        String correlationId = UUID.randomUUID().toString();
+        pendingRequests.put(correlationId, future);
+
+        future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, ex) -> {
+                    pendingRequests.remove(correlationId);
+                    if (ex instanceof TimeoutException) {
+                        timeoutCounter.increment();
+                        log.warn("⏱️ Kafka request {} timed out (correlationId: {})", requestTopic, correlationId);
+                    }
+                });
+
+        Map<String, Object> message = new HashMap<>(payload);
+        message.put("correlationId", correlationId);
+        message.put(HEADER_REPLY_INSTANCE, instanceId);
+
+        ProducerRecord<String, Object> record = new ProducerRecord<>(requestTopic, key, message);
+        record.headers().add(HEADER_REPLY_INSTANCE, instanceId.getBytes(StandardCharsets.UTF_8));
+
+        kafkaTemplate.send(record).whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.error("❌ Failed to send Kafka request to {}: {}", requestTopic, ex.getMessage());
+                future.completeExceptionally(ex);
+            }
+        });
+    }
+
+    @KafkaListener(
+            topics = {TOPIC_COMPANY_RESPONSE, TOPIC_PHASE_RESPONSE, TOPIC_WORKER_RESPONSE, TOPIC_MEDIA_RESPONSE},
+            groupId = "project-service-reply-#{__listener.instanceId}",
+            properties = {"auto.offset.reset=latest"}
+    )
+    public void handleReply(Map<String, Object> response) {
+        String replyInstanceId = (String) response.get(HEADER_REPLY_INSTANCE);
+        if (replyInstanceId != null && !replyInstanceId.equals(instanceId)) {
+            foreignReplyCounter.increment();
+            return;
+        }
+
+        String correlationId = (String) response.get("correlationId");
+        CompletableFuture<Map<String, Object>> future =
+                correlationId != null ? pendingRequests.remove(correlationId) : null;
+
+        if (future == null) {
+            // Cevap timeout'tan sonra geldi ya da eski bir instance'a ait
+            lateReplyCounter.increment();
+            log.debug("Dropping reply without pending request (correlationId: {})", correlationId);
+            return;
+        }
+
+        future.complete(response);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public int getPendingCount() {
+        return pendingRequests.size();
+    }
+}
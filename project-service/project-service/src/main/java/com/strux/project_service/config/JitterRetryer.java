@@ -0,0 +1,43 @@
+package com.strux.project_service.config;
+
+import feign.RetryableException;
+import feign.Retryer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Feign için "full jitter" exponential backoff retryer.
+ * Feign client'larımız sadece GET (idempotent) çağrı yapıyor.
+ */
+public class JitterRetryer implements Retryer {
+
+    static final int MAX_ATTEMPTS = 3;
+    static final long BASE_DELAY_MS = 100;
+    static final long MAX_DELAY_MS = 1000;
+
+    private int attempt = 1;
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        if (attempt++ >= MAX_ATTEMPTS) {
+            throw e;
+        }
+
+        try {
+            Thread.sleep(backoffMillis(attempt));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    @Override
+    public Retryer clone() {
+        return new JitterRetryer();
+    }
+
+    static long backoffMillis(int attempt) {
+        long cap = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << Math.min(attempt, 10));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.strux.project_service.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tüm outbound HTTP çağrıları (Feign client'lar ve RestTemplate'ler) için
+ * ortak connection pool. Route başına bağlantı limiti, yavaş bir servisin
+ * bütün pool'u (ve Tomcat thread'lerini) tüketmesini engeller.
+ */
+@Configuration
+public class OutboundHttpConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager(
+            @Value("${app.http.pool.max-total:200}") int maxTotal,
+            @Value("${app.http.pool.max-per-route:20}") int maxPerRoute,
+            @Value("${app.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${app.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${app.http.pool.ttl-seconds:300}") long ttlSeconds) {
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofSeconds(ttlSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(
+            PoolingHttpClientConnectionManager outboundConnectionManager,
+            @Value("${app.http.pool.acquire-timeout-ms:1000}") long acquireTimeoutMs,
+            @Value("${app.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${app.http.pool.idle-evict-seconds:30}") long idleEvictSeconds) {
+
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Pool doluysa uzun süre beklemeden hata ver (bulkhead)
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                // Retry'ları biz yönetiyoruz (JitterRetryer / RetryInterceptor)
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public MeterBinder outboundPoolMetrics(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return registry -> {
+            Gauge.builder("http.client.pool.leased", outboundConnectionManager,
+                            m -> m.getTotalStats().getLeased())
+                    .description("Outbound HTTP connections in use")
+                    .register(registry);
+            Gauge.builder("http.client.pool.pending", outboundConnectionManager,
+                            m -> m.getTotalStats().getPending())
+                    .description("Requests waiting for an outbound HTTP connection")
+                    .register(registry);
+            Gauge.builder("http.client.pool.available", outboundConnectionManager,
+                            m -> m.getTotalStats().getAvailable())
+                    .description("Idle outbound HTTP connections")
+                    .register(registry);
+            Gauge.builder("http.client.pool.max", outboundConnectionManager,
+                            m -> m.getTotalStats().getMax())
+                    .description("Maximum outbound HTTP connections")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.strux.project_service.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Proje araması için PostgreSQL full-text ve trigram index'lerini hazırlar.
+ * search_vector generated column olduğu için insert/update'te DB tarafından
+ * otomatik güncellenir, ayrıca senkronizasyon gerekmez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectSearchIndexInitializer implements CommandLineRunner {
+
+    private static final List<String> STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "ALTER TABLE projects ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+                    "setweight(to_tsvector('simple', coalesce(name, '')), 'A') || " +
+                    "setweight(to_tsvector('simple', coalesce(city, '') || ' ' || coalesce(district, '')), 'B') || " +
+                    "setweight(to_tsvector('simple', coalesce(description, '') || ' ' || coalesce(address, '')), 'C')" +
+                    ") STORED",
+            "CREATE INDEX IF NOT EXISTS idx_projects_search_vector ON projects USING GIN (search_vector)",
+            "CREATE INDEX IF NOT EXISTS idx_projects_name_trgm ON projects USING GIN (lower(name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_projects_company_id ON projects (company_id)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        log.info("Checking project search indexes...");
+
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (Exception e) {
+                log.error("❌ Failed to prepare project search index ({}): {}", statement, e.getMessage());
+            }
+        }
+    }
+}
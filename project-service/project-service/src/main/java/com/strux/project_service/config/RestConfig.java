@@ -1,21 +1,30 @@
 package com.strux.project_service.config;
 
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Collections;
+import java.time.Duration;
 
 @Configuration
 public class RestConfig {
 
+    /**
+     * Diğer Strux servisleri için (JWT forward edilir)
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
+    @Primary
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient,
+                                     @Value("${app.http.internal.read-timeout-ms:5000}") long readTimeoutMs) {
 
         // JWT token'ı User Service request'lerine ekle
         ClientHttpRequestInterceptor interceptor = (request, body, execution) -> {
@@ -30,7 +39,27 @@ public class RestConfig {
             return execution.execute(request, body);
         };
 
-        restTemplate.setInterceptors(Collections.singletonList(interceptor));
-        return restTemplate;
+        return builder
+                .requestFactory(() -> requestFactory(outboundHttpClient, readTimeoutMs))
+                .additionalInterceptors(interceptor, new RetryInterceptor())
+                .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Google Maps gibi dış API'ler için (JWT gönderilmez)
+     */
+    @Bean
+    public RestTemplate externalRestTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient,
+                                             @Value("${app.http.external.read-timeout-ms:8000}") long readTimeoutMs) {
+        return builder
+                .requestFactory(() -> requestFactory(outboundHttpClient, readTimeoutMs))
+                .additionalInterceptors(new RetryInterceptor())
+                .build();
+    }
+
+    private HttpComponentsClientHttpRequestFactory requestFactory(CloseableHttpClient httpClient, long readTimeoutMs) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return factory;
+    }
+}
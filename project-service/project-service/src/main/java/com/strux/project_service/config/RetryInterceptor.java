@@ -0,0 +1,50 @@
+package com.strux.project_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * RestTemplate için jitter'lı retry. Sadece idempotent metodlar (GET/HEAD)
+ * ve bağlantı hataları tekrar denenir.
+ */
+@Slf4j
+public class RetryInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET && request.getMethod() != HttpMethod.HEAD) {
+            return execution.execute(request, body);
+        }
+
+        int attempt = 1;
+        while (true) {
+            try {
+                return execution.execute(request, body);
+            } catch (IOException e) {
+                if (attempt >= JitterRetryer.MAX_ATTEMPTS) {
+                    throw e;
+                }
+                attempt++;
+                log.warn("Retrying {} {} (attempt {}): {}", request.getMethod(), request.getURI().getHost(),
+                        attempt, e.getMessage());
+                sleep(JitterRetryer.backoffMillis(attempt), e);
+            }
+        }
+    }
+
+    private void sleep(long millis, IOException cause) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
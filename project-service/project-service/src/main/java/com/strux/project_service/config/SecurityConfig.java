@@ -97,6 +97,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/projects/*/progress").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/projects/map").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/projects/company/*").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/projects/summaries").authenticated()
 
                         // ============================================
                         // COMPANY_ADMIN - Şirket Yöneticisi
@@ -118,6 +119,8 @@ public class SecurityConfig {
                         // ============================================
                         .requestMatchers(HttpMethod.PATCH, "/api/projects/*/phases/*/progress")
                         .hasAnyRole("WORKER", "COMPANY_ADMIN")
+                        .requestMatchers(HttpMethod.PATCH, "/api/projects/*/phases/progress")
+                        .hasAnyRole("WORKER", "COMPANY_ADMIN")
 
                         // ============================================
                         // AUTHENTICATED - Filtering
@@ -1,10 +1,12 @@
 package com.strux.project_service.controller;
 
 import com.strux.project_service.dto.*;
+import com.strux.project_service.service.ProjectSearchService;
 import com.strux.project_service.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +21,7 @@ import java.util.Map;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectSearchService projectSearchService;
 
     @GetMapping("/company/{companyId}/stats")
     public ResponseEntity<List<ProjectStatsResponse>> getCompanyProjectStats(
@@ -41,6 +44,38 @@ public class ProjectController {
         return ResponseEntity.ok(projects);
     }
 
+    @GetMapping("/paged")
+    public ResponseEntity<Page<ProjectSummaryResponse>> getProjectsPaged(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction) {
+        log.info("Fetching paged projects - page: {}, size: {}", page, size);
+        return ResponseEntity.ok(projectService.getProjectSummaries(null, page, size, sortBy, direction));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<ProjectSummaryResponse>> searchProjects(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Searching projects: {}", query);
+        return ResponseEntity.ok(projectSearchService.search(query, page, size));
+    }
+
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<ProjectSummaryResponse>> suggestProjects(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(projectSearchService.suggest(query, limit));
+    }
+
+    @PostMapping("/summaries")
+    public ResponseEntity<List<ProjectSummaryResponse>> getProjectSummaries(@RequestBody List<String> projectIds) {
+        log.debug("Fetching summaries for {} project(s)", projectIds.size());
+        return ResponseEntity.ok(projectService.getProjectSummariesByIds(projectIds));
+    }
+
     @GetMapping("/{projectId}")
     public ResponseEntity<ProjectDetailResponse> getProjectDetail(@PathVariable String projectId) {
         log.info("Fetching project detail: {}", projectId);
@@ -107,6 +142,15 @@ public class ProjectController {
         return ResponseEntity.ok().build();
     }
 
+    @PatchMapping("/{projectId}/phases/progress")
+    public ResponseEntity<Void> updatePhaseProgressBatch(
+            @PathVariable String projectId,
+            @Valid @RequestBody BatchUpdateProgressRequest request) {
+        log.info("Batch updating {} phase(s) - Project: {}", request.getUpdates().size(), projectId);
+        projectService.updatePhaseProgressBatch(projectId, request);
+        return ResponseEntity.ok().build();
+    }
+
     @DeleteMapping("/{projectId}/phases/{phaseId}")
     public ResponseEntity<Void> deletePhase(
             @PathVariable String projectId,
@@ -123,6 +167,17 @@ public class ProjectController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/company/{companyId}/paged")
+    public ResponseEntity<Page<ProjectSummaryResponse>> getProjectsByCompanyIdPaged(
+            @PathVariable String companyId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction) {
+        log.info("Fetching paged projects by company ID: {}", companyId);
+        return ResponseEntity.ok(projectService.getProjectSummaries(companyId, page, size, sortBy, direction));
+    }
+
     @GetMapping("/{projectId}/company-id")
     public ResponseEntity<String> getCompanyIdByProject(@PathVariable String projectId) {
         log.info("Fetching companyId for project {}", projectId);
@@ -0,0 +1,16 @@
+package com.strux.project_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+// Saha raporundan gelen toplu phase güncellemeleri
+@Data
+public class BatchUpdateProgressRequest {
+
+    @NotEmpty
+    @Valid
+    private List<PhaseProgressUpdate> updates;
+}
@@ -0,0 +1,25 @@
+package com.strux.project_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class PhaseProgressUpdate extends UpdateProgressRequest {
+
+    @NotNull
+    private Long phaseId;
+
+    public static PhaseProgressUpdate of(Long phaseId, UpdateProgressRequest request) {
+        PhaseProgressUpdate update = new PhaseProgressUpdate();
+        update.setPhaseId(phaseId);
+        update.setCurrentProgress(request.getCurrentProgress());
+        update.setWeightPercentage(request.getWeightPercentage());
+        update.setStatus(request.getStatus());
+        update.setActualStartDate(request.getActualStartDate());
+        update.setActualEndDate(request.getActualEndDate());
+        update.setNotes(request.getNotes());
+        return update;
+    }
+}
@@ -0,0 +1,32 @@
+package com.strux.project_service.dto;
+
+import com.strux.project_service.enums.ProjectStatus;
+import com.strux.project_service.enums.ProjectType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Liste ekranları için hafif DTO (phase'ler yok, tek SQL ile doldurulur)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSummaryResponse {
+
+    private String id;
+    private String companyId;
+    private String name;
+    private ProjectType type;
+    private ProjectStatus status;
+    private String city;
+    private String district;
+    private BigDecimal overallProgress;
+    private LocalDate startDate;
+    private LocalDate plannedEndDate;
+    private Integer totalUnits;
+    private String imageUrl;
+}
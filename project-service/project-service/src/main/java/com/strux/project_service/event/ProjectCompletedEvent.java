@@ -15,7 +15,10 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectCompletedEvent {
+public class ProjectCompletedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "project.completed";
+
     private String projectId;
     private String companyId;
     private String projectName;
@@ -30,4 +33,9 @@ public class ProjectCompletedEvent {
     private Integer totalTasks;
     private Integer completedTasks;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
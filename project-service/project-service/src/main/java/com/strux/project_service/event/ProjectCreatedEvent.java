@@ -16,7 +16,10 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectCreatedEvent {
+public class ProjectCreatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "project.created";
+
 
     private String projectId;
     private String companyId;
@@ -47,4 +50,9 @@ public class ProjectCreatedEvent {
         private String country;
         private String placeId;
     }
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -16,7 +16,10 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectDelayedEvent {
+public class ProjectDelayedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "project.delayed";
+
     private String projectId;
     private String companyId;
     private String projectName;
@@ -27,4 +30,9 @@ public class ProjectDelayedEvent {
     private BigDecimal currentProgress;
     private List<String> delayedPhases;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
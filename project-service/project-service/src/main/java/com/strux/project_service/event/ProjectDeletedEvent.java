@@ -15,11 +15,19 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectDeletedEvent {
+public class ProjectDeletedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "project.deleted";
+
     private String projectId;
     private String companyId;
     private String projectName;
     private String reason;
     private String deletedBy;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
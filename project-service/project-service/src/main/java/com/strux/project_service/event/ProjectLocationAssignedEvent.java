@@ -0,0 +1,33 @@
+package com.strux.project_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectLocationAssignedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "LOCATION_ASSIGNED";
+
+    private String projectId;
+    private String projectName;
+    private String companyId;
+    private String placeId;
+    private String formattedAddress;
+    private Double latitude;
+    private Double longitude;
+    private String city;
+    private String country;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+}
@@ -0,0 +1,53 @@
+package com.strux.project_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectLocationUpdatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "LOCATION_UPDATED";
+
+    private String projectId;
+    private String projectName;
+    private String companyId;
+    private Location oldLocation; // önceki konum yoksa boş
+    private Location newLocation;
+    private Changes changes;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Location {
+        private String placeId;
+        private String formattedAddress;
+        private Double latitude;
+        private Double longitude;
+        private String city;
+        private String country;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Changes {
+        private boolean coordinatesChanged;
+        private boolean addressChanged;
+        private boolean cityChanged;
+    }
+}
@@ -14,7 +14,10 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectMilestoneCompletedEvent {
+public class ProjectMilestoneCompletedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "project.milestone.completed";
+
     private String projectId;
     private String companyId;
     private String milestoneName;
@@ -25,4 +28,9 @@ public class ProjectMilestoneCompletedEvent {
     private LocalDate completionDate;
     private Integer daysAheadOrBehind; // +5 (ahead), -3 (behind)
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -15,7 +15,10 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectPhaseCompletedEvent {
+public class ProjectPhaseCompletedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "project.phase.completed";
+
     private String projectId;
     private String companyId;
     private String phaseId;
@@ -26,5 +29,9 @@ public class ProjectPhaseCompletedEvent {
     private Integer daysAheadOrBehind;
     private BigDecimal phaseProgress;
     private LocalDateTime timestamp;
-}
 
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+}
@@ -17,7 +17,10 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectProgressUpdatedEvent {
+public class ProjectProgressUpdatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "project.progress.updated";
+
     private String projectId;
     private String companyId;
     private BigDecimal previousProgress;
@@ -28,4 +31,9 @@ public class ProjectProgressUpdatedEvent {
     private Integer completedUnits;
     private Integer totalUnits;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -16,7 +16,10 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectScheduleUpdatedEvent {
+public class ProjectScheduleUpdatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "project.schedule.updated";
+
     private String projectId;
     private String companyId;
     private LocalDate oldPlannedEndDate;
@@ -25,4 +28,9 @@ public class ProjectScheduleUpdatedEvent {
     private String reason;
     private String updatedBy;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectUnitsUpdatedEvent {
+public class ProjectUnitsUpdatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "project.units.updated";
+
     private String projectId;
     private String companyId;
     private Integer previousTotalUnits;
@@ -19,4 +22,9 @@ public class ProjectUnitsUpdatedEvent {
     private Integer unitsAdded;
     private String updatedBy;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
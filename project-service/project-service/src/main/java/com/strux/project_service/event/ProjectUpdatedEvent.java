@@ -12,10 +12,18 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectUpdatedEvent {
+public class ProjectUpdatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "project.updated";
+
     private String projectId;
     private String companyId;
     private List<String> changedFields;
     private String updatedBy;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -47,6 +47,28 @@ public class ProjectMapper {
                 .build();
     }
 
+    // ProjectSummaryResponse (liste / arama sonuçları, phase'siz)
+    public ProjectSummaryResponse toProjectSummaryResponse(Project project) {
+        if (project == null) return null;
+
+        Project.ProjectLocation location = project.getLocation();
+
+        return ProjectSummaryResponse.builder()
+                .id(project.getId())
+                .companyId(project.getCompanyId())
+                .name(project.getName())
+                .type(project.getType())
+                .status(project.getStatus())
+                .city(location != null ? location.getCity() : null)
+                .district(location != null ? location.getDistrict() : null)
+                .overallProgress(project.getOverallProgress())
+                .startDate(project.getStartDate())
+                .plannedEndDate(project.getPlannedEndDate())
+                .totalUnits(project.getTotalUnits())
+                .imageUrl(project.getImageUrl())
+                .build();
+    }
+
     // ProjectDetailResponse
     public ProjectDetailResponse toProjectDetailResponse(Project project) {
         if (project == null) return null;
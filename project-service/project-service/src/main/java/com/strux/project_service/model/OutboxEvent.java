@@ -0,0 +1,52 @@
+package com.strux.project_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Kafka'ya gidecek event'ler burada transaction ile birlikte yazılır, OutboxRelay gönderir
+@Entity
+@Data
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_unpublished", columnList = "published_at, id"),
+        @Index(name = "idx_outbox_aggregate_topic", columnList = "aggregate_id, topic")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private String aggregateId; // Kafka key (aggregate bazlı sıralama için)
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType; // event tip adı (ör. task.created), eski kayıtlarda class adı
+
+    @Column(name = "payload_type")
+    private String payloadType; // __TypeId__ header'ı için payload class adı
+
+    @Column(name = "schema_version")
+    private Integer schemaVersion = 1; // payload şeması değişirse artırılır, header olarak gider
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    private Integer attempts = 0;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt; // başarısız gönderimden sonra backoff
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
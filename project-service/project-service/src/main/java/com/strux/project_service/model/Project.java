@@ -7,6 +7,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -58,7 +60,13 @@ public class Project {
     @Column(precision = 5, scale = 2)
     private BigDecimal overallProgress; // 0-100 arası
 
+    // Phase katkılarının yuvarlanmamış toplamı, her phase güncellemesinde delta ile güncellenir
+    @Column(precision = 9, scale = 4)
+    private BigDecimal weightedProgressTotal;
+
+    // Liste sorgularında N+1 olmasın diye tüm projelerin phase'leri tek subselect ile yüklenir
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
     private List<ProjectPhase> phases;
 
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL)
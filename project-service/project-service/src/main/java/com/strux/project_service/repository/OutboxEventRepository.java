@@ -0,0 +1,62 @@
+package com.strux.project_service.repository;
+
+import com.strux.project_service.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Gönderilmemiş event'leri sırayla kilitler (relay için).
+     * Backoff'taki bir event'in aggregate'ine ait sonraki event'ler de beklenir,
+     * böylece aggregate bazlı sıra bozulmaz. Deneme limitini aşanlar atlanır.
+     */
+    @Query(value = "SELECT * FROM outbox_events e WHERE e.published_at IS NULL " +
+            "AND COALESCE(e.attempts, 0) < :maxAttempts " +
+            "AND (e.next_attempt_at IS NULL OR e.next_attempt_at <= :now) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events p WHERE p.aggregate_id = e.aggregate_id " +
+            "AND p.id < e.id AND p.published_at IS NULL " +
+            "AND COALESCE(p.attempts, 0) < :maxAttempts AND p.next_attempt_at > :now) " +
+            "ORDER BY e.id LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit,
+                                    @Param("maxAttempts") int maxAttempts,
+                                    @Param("now") LocalDateTime now);
+
+    /**
+     * Aynı aggregate için henüz gönderilmemiş son event (coalescing için).
+     * Relay o anda satırı gönderiyorsa atlanır ve yeni event yazılır.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE aggregate_id = :aggregateId " +
+            "AND topic = :topic AND published_at IS NULL " +
+            "ORDER BY id DESC LIMIT 1 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<OutboxEvent> findPendingForUpdate(@Param("aggregateId") String aggregateId,
+                                               @Param("topic") String topic);
+
+    /**
+     * Tek relay instance'ı çalışsın diye transaction seviyesinde advisory lock
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(@Param("key") long key);
+
+    // Lag metrikleri için
+    long countByPublishedAtIsNullAndAttemptsLessThan(int maxAttempts);
+
+    long countByPublishedAtIsNullAndAttemptsGreaterThanEqual(int maxAttempts);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.attempts < :maxAttempts")
+    LocalDateTime findOldestPendingCreatedAt(@Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt IS NOT NULL AND e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,7 +1,22 @@
 package com.strux.project_service.repository;
 
+import com.strux.project_service.enums.PhaseStatus;
 import com.strux.project_service.model.ProjectPhase;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface ProjectPhaseRepository extends JpaRepository<ProjectPhase,Long> {
+
+    /**
+     * Gecikmiş phase adları (DELAYED veya planlanan bitişi geçmiş), phase'ler yüklenmeden
+     */
+    @Query("SELECT ph.phaseName FROM ProjectPhase ph WHERE ph.project.id = :projectId " +
+            "AND (ph.status = :delayed OR ph.plannedEndDate < :today) ORDER BY ph.orderIndex")
+    List<String> findDelayedPhaseNames(@Param("projectId") String projectId,
+                                       @Param("delayed") PhaseStatus delayed,
+                                       @Param("today") LocalDate today);
 }
@@ -1,15 +1,21 @@
 package com.strux.project_service.repository;
 
+import com.strux.project_service.dto.ProjectSummaryResponse;
 import com.strux.project_service.enums.ProjectStatus;
 import com.strux.project_service.enums.ProjectType;
 import com.strux.project_service.model.Project;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,11 +26,38 @@ public interface ProjectRepository extends JpaRepository<Project, String> {
 
     List<Project> findByCompanyId(String companyId);
 
+    /**
+     * Sayfalı proje listesi (phase'ler yüklenmez, tek SQL + count)
+     */
+    @Query(value = "SELECT new com.strux.project_service.dto.ProjectSummaryResponse(" +
+            "p.id, p.companyId, p.name, p.type, p.status, p.location.city, p.location.district, " +
+            "p.overallProgress, p.startDate, p.plannedEndDate, p.totalUnits, p.imageUrl) " +
+            "FROM Project p WHERE p.companyId = :companyId",
+            countQuery = "SELECT COUNT(p) FROM Project p WHERE p.companyId = :companyId")
+    Page<ProjectSummaryResponse> findSummariesByCompanyId(@Param("companyId") String companyId, Pageable pageable);
+
+    /**
+     * Birden fazla projenin özeti tek SQL ile (başka servislerin toplu okumaları için)
+     */
+    @Query("SELECT new com.strux.project_service.dto.ProjectSummaryResponse(" +
+            "p.id, p.companyId, p.name, p.type, p.status, p.location.city, p.location.district, " +
+            "p.overallProgress, p.startDate, p.plannedEndDate, p.totalUnits, p.imageUrl) " +
+            "FROM Project p WHERE p.id IN :ids")
+    List<ProjectSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<String> ids);
+
     /**
      * Company ID ve project ID ile proje getirir (güvenlik için - ÖNEMLİ!)
      */
     Optional<Project> findByIdAndCompanyId(String projectId, String companyId);
 
+    /**
+     * Progress güncellemeleri için projeyi kilitleyerek getirir (eşzamanlı phase güncellemeleri)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :projectId AND p.companyId = :companyId")
+    Optional<Project> findByIdAndCompanyIdForUpdate(@Param("projectId") String projectId,
+                                                    @Param("companyId") String companyId);
+
     /**
      * Belirli bir harita alanındaki (bounds) projeleri getir
      */
@@ -208,6 +241,40 @@ public interface ProjectRepository extends JpaRepository<Project, String> {
             "OR LOWER(p.location.city) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<Project> globalSearchByCompany(@Param("companyId") String companyId, @Param("keyword") String keyword);
 
+    /**
+     * Full-text arama (company bazlı, relevance sıralı). tsQuery ProjectSearchService'te hazırlanır.
+     */
+    @Query(value = "SELECT * FROM projects p " +
+            "WHERE p.company_id = :companyId AND p.search_vector @@ to_tsquery('simple', :tsQuery) " +
+            "ORDER BY ts_rank(p.search_vector, to_tsquery('simple', :tsQuery)) DESC, p.name " +
+            "LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<Project> fullTextSearchByCompany(@Param("companyId") String companyId,
+                                          @Param("tsQuery") String tsQuery,
+                                          @Param("limit") int limit,
+                                          @Param("offset") long offset);
+
+    @Query(value = "SELECT COUNT(*) FROM projects p " +
+            "WHERE p.company_id = :companyId AND p.search_vector @@ to_tsquery('simple', :tsQuery)",
+            nativeQuery = true)
+    long countFullTextSearchByCompany(@Param("companyId") String companyId, @Param("tsQuery") String tsQuery);
+
+    /**
+     * Typeahead: kelime başı (prefix) eşleşmesi veya isim içinde geçen metin (trigram index)
+     */
+    @Query(value = "SELECT * FROM projects p " +
+            "WHERE p.company_id = :companyId AND (" +
+            "p.search_vector @@ to_tsquery('simple', :tsQuery) OR lower(p.name) LIKE :contains) " +
+            "ORDER BY (lower(p.name) LIKE :prefix) DESC, " +
+            "ts_rank(p.search_vector, to_tsquery('simple', :tsQuery)) DESC, p.name " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<Project> suggestByCompany(@Param("companyId") String companyId,
+                                   @Param("tsQuery") String tsQuery,
+                                   @Param("prefix") String prefix,
+                                   @Param("contains") String contains,
+                                   @Param("limit") int limit);
+
     /**
      * En son oluşturulan projeleri getir
      */
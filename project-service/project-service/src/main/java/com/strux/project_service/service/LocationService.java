@@ -2,19 +2,23 @@ package com.strux.project_service.service;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.maps.model.*;
+import com.strux.project_service.client.KafkaReplyClient;
 import com.strux.project_service.dto.*;
+import com.strux.project_service.event.ProjectLocationAssignedEvent;
+import com.strux.project_service.event.ProjectLocationUpdatedEvent;
 import com.strux.project_service.model.Project;
 import com.strux.project_service.repository.ProjectRepository;
 import com.strux.project_service.config.SecurityUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,8 +29,6 @@ import java.time.LocalDateTime;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 
@@ -40,19 +42,13 @@ public class LocationService {
 
     private final ProjectRepository projectRepository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final OutboxService outboxService;
+    @Qualifier("externalRestTemplate")
+    private final RestTemplate restTemplate;
     private final SecurityUtils securityUtils; // ✅ EKLENDI
 
-    private final Map<String, CompletableFuture<Object>> pendingRequests = new ConcurrentHashMap<>();
-
-    private static final String TOPIC_COMPANY_REQUEST = "company-info-request";
-    private static final String TOPIC_COMPANY_RESPONSE = "company-info-response";
-    private static final String TOPIC_PHASE_REQUEST = "phase-info-request";
-    private static final String TOPIC_PHASE_RESPONSE = "phase-info-response";
-    private static final String TOPIC_WORKER_REQUEST = "worker-info-request";
-    private static final String TOPIC_WORKER_RESPONSE = "worker-info-response";
-    private static final String TOPIC_MEDIA_REQUEST = "media-request";
-    private static final String TOPIC_MEDIA_RESPONSE = "media-response";
+    private final KafkaReplyClient kafkaReplyClient;
+    private final ObjectMapper objectMapper;
 
     // Event Topics
     private static final String TOPIC_LOCATION_CREATED = "location.created";
@@ -481,6 +477,7 @@ public class LocationService {
     // EVENT PUBLISHING METHODS
     // ============================================
 
+    // DB değişikliği yok (sadece Google sorgusu), outbox gerekmez
     private void publishLocationCreatedEvent(LocationDetailDTO location) {
         Map<String, Object> event = new HashMap<>();
         event.put("eventType", "LOCATION_CREATED");
@@ -497,21 +494,21 @@ public class LocationService {
     }
 
     private void publishLocationAssignedEvent(Project project, Project.ProjectLocation location) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "LOCATION_ASSIGNED");
-        event.put("timestamp", LocalDateTime.now().toString());
-        event.put("projectId", project.getId());
-        event.put("projectName", project.getName());
-        event.put("companyId", project.getCompanyId());
-        event.put("placeId", location.getPlaceId());
-        event.put("formattedAddress", location.getAddress());
-        event.put("latitude", location.getLatitude());
-        event.put("longitude", location.getLongitude());
-        event.put("city", location.getCity());
-        event.put("country", location.getCountry());
+        ProjectLocationAssignedEvent event = ProjectLocationAssignedEvent.builder()
+                .projectId(project.getId())
+                .projectName(project.getName())
+                .companyId(project.getCompanyId())
+                .placeId(location.getPlaceId())
+                .formattedAddress(location.getAddress())
+                .latitude(location.getLatitude())
+                .longitude(location.getLongitude())
+                .city(location.getCity())
+                .country(location.getCountry())
+                .timestamp(LocalDateTime.now())
+                .build();
 
-        kafkaTemplate.send(TOPIC_LOCATION_ASSIGNED, event);
-        log.info("Location assigned event published for project: {}", project.getId());
+        outboxService.enqueue(TOPIC_LOCATION_ASSIGNED, project.getId(), event);
+        log.info("Location assigned event queued for project: {}", project.getId());
     }
 
     private void publishLocationUpdatedEvent(
@@ -519,41 +516,9 @@ public class LocationService {
             Project.ProjectLocation oldLocation,
             Project.ProjectLocation newLocation) {
 
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "LOCATION_UPDATED");
-        event.put("timestamp", LocalDateTime.now().toString());
-        event.put("projectId", project.getId());
-        event.put("projectName", project.getName());
-        event.put("companyId", project.getCompanyId());
-
-        Map<String, Object> oldData = new HashMap<>();
-        if (oldLocation != null) {
-            oldData.put("placeId", oldLocation.getPlaceId());
-            oldData.put("formattedAddress", oldLocation.getAddress());
-            oldData.put("latitude", oldLocation.getLatitude());
-            oldData.put("longitude", oldLocation.getLongitude());
-            oldData.put("city", oldLocation.getCity());
-            oldData.put("country", oldLocation.getCountry());
-        }
-        event.put("oldLocation", oldData);
-
-        Map<String, Object> newData = new HashMap<>();
-        newData.put("placeId", newLocation.getPlaceId());
-        newData.put("formattedAddress", newLocation.getAddress());
-        newData.put("latitude", newLocation.getLatitude());
-        newData.put("longitude", newLocation.getLongitude());
-        newData.put("city", newLocation.getCity());
-        newData.put("country", newLocation.getCountry());
-        event.put("newLocation", newData);
-
-        Map<String, Boolean> changes = new HashMap<>();
-        boolean coordinatesChanged = false;
-        if (oldLocation != null) {
-            coordinatesChanged = !Objects.equals(oldLocation.getLatitude(), newLocation.getLatitude()) ||
-                    !Objects.equals(oldLocation.getLongitude(), newLocation.getLongitude());
-        } else {
-            coordinatesChanged = true;
-        }
+        boolean coordinatesChanged = oldLocation == null
+                || !Objects.equals(oldLocation.getLatitude(), newLocation.getLatitude())
+                || !Objects.equals(oldLocation.getLongitude(), newLocation.getLongitude());
 
         boolean addressChanged = !Objects.equals(
                 oldLocation != null ? oldLocation.getAddress() : null,
@@ -565,83 +530,49 @@ public class LocationService {
                 newLocation.getCity()
         );
 
-        changes.put("coordinatesChanged", coordinatesChanged);
-        changes.put("addressChanged", addressChanged);
-        changes.put("cityChanged", cityChanged);
-        event.put("changes", changes);
+        ProjectLocationUpdatedEvent event = ProjectLocationUpdatedEvent.builder()
+                .projectId(project.getId())
+                .projectName(project.getName())
+                .companyId(project.getCompanyId())
+                .oldLocation(toEventLocation(oldLocation))
+                .newLocation(toEventLocation(newLocation))
+                .changes(new ProjectLocationUpdatedEvent.Changes(coordinatesChanged, addressChanged, cityChanged))
+                .timestamp(LocalDateTime.now())
+                .build();
 
-        kafkaTemplate.send(TOPIC_LOCATION_UPDATED, event);
-        log.info("Location updated event published for project: {}", project.getId());
+        outboxService.enqueue(TOPIC_LOCATION_UPDATED, project.getId(), event);
+        log.info("Location updated event queued for project: {}", project.getId());
+    }
+
+    private ProjectLocationUpdatedEvent.Location toEventLocation(Project.ProjectLocation location) {
+        if (location == null) {
+            return new ProjectLocationUpdatedEvent.Location();
+        }
+        return ProjectLocationUpdatedEvent.Location.builder()
+                .placeId(location.getPlaceId())
+                .formattedAddress(location.getAddress())
+                .latitude(location.getLatitude())
+                .longitude(location.getLongitude())
+                .city(location.getCity())
+                .country(location.getCountry())
+                .build();
     }
 
     // ============================================
-    // KAFKA LISTENERS (Değişiklik yok)
+    // KAFKA REQUEST/REPLY
     // ============================================
 
     private CompletableFuture<CompanyInfoDTO> requestCompanyInfo(String companyId) {
-        String correlationId = UUID.randomUUID().toString();
-        CompletableFuture<Object> future = new CompletableFuture<>();
-        pendingRequests.put(correlationId, future);
-
-        Map<String, String> request = new HashMap<>();
+        Map<String, Object> request = new HashMap<>();
         request.put("companyId", companyId);
-        request.put("correlationId", correlationId);
 
-        kafkaTemplate.send(TOPIC_COMPANY_REQUEST, request);
-
-        return future.thenApply(obj -> (CompanyInfoDTO) obj)
-                .orTimeout(5, TimeUnit.SECONDS)
+        return kafkaReplyClient.request(KafkaReplyClient.TOPIC_COMPANY_REQUEST, companyId, request)
+                .thenApply(response -> objectMapper.convertValue(response.get("company"), CompanyInfoDTO.class))
                 .exceptionally(ex -> {
-                    log.error("Company info request timeout", ex);
+                    log.error("Company info request failed for {}: {}", companyId, ex.getMessage());
                     return CompanyInfoDTO.builder()
                             .name("Bilinmiyor")
                             .build();
                 });
     }
-
-    @KafkaListener(topics = TOPIC_COMPANY_RESPONSE, groupId = "project-service")
-    public void handleCompanyResponse(Map<String, Object> response) {
-        String correlationId = (String) response.get("correlationId");
-        CompletableFuture<Object> future = pendingRequests.remove(correlationId);
-        if (future != null) {
-            CompanyInfoDTO company = (CompanyInfoDTO) response.get("company");
-            future.complete(company);
-        }
-    }
-
-    @KafkaListener(topics = TOPIC_PHASE_RESPONSE, groupId = "project-service")
-    public void handlePhaseResponse(Map<String, Object> response) {
-        String correlationId = (String) response.get("correlationId");
-        CompletableFuture<Object> future = pendingRequests.remove(correlationId);
-        if (future != null) {
-            Boolean currentOnly = (Boolean) response.get("currentOnly");
-            if (Boolean.TRUE.equals(currentOnly)) {
-                CurrentPhaseDTO phase = (CurrentPhaseDTO) response.get("currentPhase");
-                future.complete(phase);
-            } else {
-                List<PhaseProgressDTO> phases = (List<PhaseProgressDTO>) response.get("allPhases");
-                future.complete(phases);
-            }
-        }
-    }
-
-    @KafkaListener(topics = TOPIC_WORKER_RESPONSE, groupId = "project-service")
-    public void handleWorkerResponse(Map<String, Object> response) {
-        String correlationId = (String) response.get("correlationId");
-        CompletableFuture<Object> future = pendingRequests.remove(correlationId);
-        if (future != null) {
-            List<WorkerInfoDTO> workers = (List<WorkerInfoDTO>) response.get("workers");
-            future.complete(workers);
-        }
-    }
-
-    @KafkaListener(topics = TOPIC_MEDIA_RESPONSE, groupId = "project-service")
-    public void handleMediaResponse(Map<String, Object> response) {
-        String correlationId = (String) response.get("correlationId");
-        CompletableFuture<Object> future = pendingRequests.remove(correlationId);
-        if (future != null) {
-            List<ProjectMediaDTO> media = (List<ProjectMediaDTO>) response.get("media");
-            future.complete(media);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,245 @@
+package com.strux.project_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strux.project_service.model.OutboxEvent;
+import com.strux.project_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.mapping.Jackson2JavaTypeMapper;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox tablosundaki event'leri sırayla Kafka'ya gönderir.
+ * Advisory lock sayesinde aynı anda sadece bir instance relay yapar,
+ * Kafka key'i aggregate id olduğu için aggregate bazlı sıra korunur.
+ *
+ * Payload yeniden serialize edilmeden gönderilir; __TypeId__ header'ı
+ * JsonSerializer'ın type mapping'i ile aynı şekilde yazılır, böylece
+ * mevcut consumer'lar değişmeden çalışır. Bir aggregate'in event'i onaylanmadan
+ * sonraki event'i gönderilmez; başarısız event backoff ile tekrar denenir, o
+ * sırada aynı aggregate'in sonraki event'leri bekler.
+ *
+ * Bu sınıf task-, unit- ve project-service'te birebir aynıdır (paket ve
+ * RELAY_LOCK_KEY hariç). Servisler ayrı Maven projeleri olarak kendi imajlarında
+ * build edildiği için ortak modüle alınmadı; değişiklik üçüne birden yapılmalı.
+ */
+@Component
+@Slf4j
+public class OutboxRelay implements DisposableBean {
+
+    private static final long RELAY_LOCK_KEY = 7_095_001L;
+
+    public static final String EVENT_TYPE_HEADER = "x-event-type";
+    public static final String SCHEMA_VERSION_HEADER = "x-schema-version";
+    public static final String OUTBOX_ID_HEADER = "x-outbox-id";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final DefaultKafkaProducerFactory<String, String> relayProducerFactory;
+    private final KafkaTemplate<String, String> relayTemplate;
+    private final Jackson2JavaTypeMapper typeMapper;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong deadEvents = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${app.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${app.outbox.max-attempts:20}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.backoff-initial-ms:1000}")
+    private long backoffInitialMs;
+
+    @Value("${app.outbox.backoff-max-ms:300000}")
+    private long backoffMaxMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ProducerFactory<?, ?> producerFactory,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+
+        // Uygulamanın producer ayarları, value serializer hariç (payload zaten JSON)
+        Map<String, Object> config = new HashMap<>(producerFactory.getConfigurationProperties());
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        this.relayProducerFactory = new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new StringSerializer());
+        this.relayTemplate = new KafkaTemplate<>(relayProducerFactory);
+
+        JsonSerializer<Object> serializer = new JsonSerializer<>(objectMapper);
+        serializer.configure(producerFactory.getConfigurationProperties(), false);
+        this.typeMapper = serializer.getTypeMapper();
+
+        this.publishedCounter = Counter.builder("outbox.events.published").register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events.failed").register(meterRegistry);
+        Gauge.builder("outbox.events.pending", pendingEvents, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("outbox.events.dead", deadEvents, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", lagSeconds, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    @Transactional
+    public void relay() {
+        if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize, maxAttempts, now);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Aggregate'ler paralel, bir aggregate'in event'leri sırayla gider: her turda her
+        // aggregate'in sıradaki event'i gönderilir ve onay beklenir. Bir event'i gitmeyen
+        // aggregate'in sonraki event'leri bu batch'te hiç gönderilmez.
+        Map<String, Deque<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            byAggregate.computeIfAbsent(event.getAggregateId(), id -> new ArrayDeque<>()).add(event);
+        }
+
+        int published = 0;
+        while (!byAggregate.isEmpty()) {
+            List<OutboxEvent> round = new ArrayList<>(byAggregate.size());
+            List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(byAggregate.size());
+            for (Deque<OutboxEvent> events : byAggregate.values()) {
+                OutboxEvent event = events.peekFirst();
+                round.add(event);
+                sends.add(send(event));
+            }
+
+            for (int i = 0; i < round.size(); i++) {
+                OutboxEvent event = round.get(i);
+                try {
+                    sends.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                    event.setPublishedAt(now);
+                    event.setLastError(null);
+                    event.setNextAttemptAt(null);
+                    published++;
+
+                    Deque<OutboxEvent> events = byAggregate.get(event.getAggregateId());
+                    events.pollFirst();
+                    if (events.isEmpty()) {
+                        byAggregate.remove(event.getAggregateId());
+                    }
+                } catch (Exception e) {
+                    markFailed(event, e, now);
+                    byAggregate.remove(event.getAggregateId());
+                }
+            }
+        }
+
+        outboxEventRepository.saveAll(batch);
+        publishedCounter.increment(published);
+        log.debug("Outbox relay published {}/{} events", published, batch.size());
+    }
+
+    /**
+     * Lag metrikleri; her instance kendi okur, relay lock'u gerekmez
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.metrics-interval-ms:10000}")
+    @Transactional(readOnly = true)
+    public void refreshMetrics() {
+        pendingEvents.set(outboxEventRepository.countByPublishedAtIsNullAndAttemptsLessThan(maxAttempts));
+        deadEvents.set(outboxEventRepository.countByPublishedAtIsNullAndAttemptsGreaterThanEqual(maxAttempts));
+
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt(maxAttempts);
+        lagSeconds.set(oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()) : 0);
+    }
+
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 15 * * * *}")
+    @Transactional
+    public void purgePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("🧹 Purged {} published outbox events", deleted);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        relayProducerFactory.destroy();
+    }
+
+    private CompletableFuture<SendResult<String, String>> send(OutboxEvent event) {
+        try {
+            ProducerRecord<String, String> record =
+                    new ProducerRecord<>(event.getTopic(), event.getAggregateId(), event.getPayload());
+            Headers headers = record.headers();
+            typeMapper.fromJavaType(objectMapper.constructType(Class.forName(payloadTypeOf(event))), headers);
+            headers.add(EVENT_TYPE_HEADER, event.getEventType().getBytes(StandardCharsets.UTF_8));
+            headers.add(SCHEMA_VERSION_HEADER, String.valueOf(schemaVersionOf(event)).getBytes(StandardCharsets.UTF_8));
+            headers.add(OUTBOX_ID_HEADER, String.valueOf(event.getId()).getBytes(StandardCharsets.UTF_8));
+            return relayTemplate.send(record);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void markFailed(OutboxEvent event, Exception e, LocalDateTime now) {
+        int attempts = event.getAttempts() == null ? 1 : event.getAttempts() + 1;
+        long backoffMs = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 20));
+
+        event.setAttempts(attempts);
+        event.setLastError(truncate(e.getMessage()));
+        event.setNextAttemptAt(now.plusNanos(backoffMs * 1_000_000));
+        failedCounter.increment();
+
+        if (attempts >= maxAttempts) {
+            log.error("💀 Outbox event {} to {} gave up after {} attempts: {}",
+                    event.getId(), event.getTopic(), attempts, e.getMessage());
+        } else {
+            log.error("❌ Failed to relay outbox event {} to {} (attempt {}): {}",
+                    event.getId(), event.getTopic(), attempts, e.getMessage());
+        }
+    }
+
+    // payload_type'tan önce yazılan kayıtlarda event_type class adını tutar
+    private static String payloadTypeOf(OutboxEvent event) {
+        return event.getPayloadType() != null ? event.getPayloadType() : event.getEventType();
+    }
+
+    private static int schemaVersionOf(OutboxEvent event) {
+        return event.getSchemaVersion() != null ? event.getSchemaVersion() : OutboxService.DEFAULT_SCHEMA_VERSION;
+    }
+
+    private String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
@@ -0,0 +1,100 @@
+package com.strux.project_service.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strux.project_service.event.OutboxPayload;
+import com.strux.project_service.model.OutboxEvent;
+import com.strux.project_service.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+
+/**
+ * Event'leri Kafka'ya direkt göndermek yerine aynı DB transaction'ı içinde
+ * outbox tablosuna yazar. Transaction rollback olursa event de gitmez.
+ *
+ * Payload null alanlar atılarak yazılır ve relay tarafından olduğu gibi
+ * gönderilir; tip adı ve şema sürümü x-event-type / x-schema-version
+ * header'larında taşınır.
+ */
+@Service
+@Slf4j
+public class OutboxService {
+
+    public static final int DEFAULT_SCHEMA_VERSION = 1;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper.copy()
+                .setDefaultPropertyInclusion(JsonInclude.Value.construct(
+                        JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String aggregateId, OutboxPayload event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTopic(topic);
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(event.getEventType());
+        outboxEvent.setPayloadType(event.getClass().getName());
+        outboxEvent.setSchemaVersion(event.schemaVersion());
+        outboxEvent.setPayload(write(event));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+
+        outboxEventRepository.save(outboxEvent);
+        log.debug("Outbox event queued: {} for {}", topic, aggregateId);
+    }
+
+    /**
+     * Aynı aggregate için henüz gönderilmemiş bir event varsa yenisini eklemek
+     * yerine ikisini birleştirir (ör. art arda gelen progress güncellemeleri).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T extends OutboxPayload> void enqueueCoalesced(String topic, String aggregateId, T event, Class<T> type,
+                                                           BinaryOperator<T> merge) {
+        Optional<OutboxEvent> pending = outboxEventRepository.findPendingForUpdate(aggregateId, topic);
+
+        // Sadece aynı tip ve şema sürümündeki kayıt birleştirilir
+        if (pending.isPresent() && isSameSchema(pending.get(), event)) {
+            OutboxEvent existing = pending.get();
+            T merged = merge.apply(read(existing.getPayload(), type), event);
+            existing.setPayload(write(merged));
+            outboxEventRepository.save(existing);
+            log.debug("Outbox event coalesced: {} for {}", topic, aggregateId);
+            return;
+        }
+
+        enqueue(topic, aggregateId, event);
+    }
+
+    private static boolean isSameSchema(OutboxEvent existing, OutboxPayload event) {
+        return event.getEventType().equals(existing.getEventType())
+                && event.schemaVersion() == (existing.getSchemaVersion() != null
+                        ? existing.getSchemaVersion() : DEFAULT_SCHEMA_VERSION);
+    }
+
+    private String write(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private <T> T read(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot deserialize outbox event " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.strux.project_service.service;
+
+import com.strux.project_service.dto.PhaseProgressUpdate;
+import com.strux.project_service.enums.PhaseStatus;
+import com.strux.project_service.enums.ProjectStatus;
+import com.strux.project_service.event.*;
+import com.strux.project_service.model.Project;
+import com.strux.project_service.model.ProjectPhase;
+import com.strux.project_service.repository.ProjectPhaseRepository;
+import com.strux.project_service.repository.ProjectRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Proje ilerlemesini phase bazlı delta'larla günceller.
+ *
+ * Her projede phase katkılarının toplamı (weight * progress / 100) tutulur;
+ * bir phase değiştiğinde eski katkı çıkarılıp yenisi eklenir, tüm phase'ler
+ * tekrar yüklenmez. Event'ler outbox üzerinden gider, progress event'leri
+ * gönderilene kadar birleştirilir.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProjectProgressEngine {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final int[] MILESTONES = {25, 50, 75, 100};
+
+    private static final String TOPIC_PROGRESS_UPDATED = "project.progress.updated";
+    private static final String TOPIC_PHASE_COMPLETED = "project.phase.completed";
+    private static final String TOPIC_MILESTONE_COMPLETED = "project.milestone.completed";
+    private static final String TOPIC_PROJECT_COMPLETED = "project.completed";
+    private static final String TOPIC_PROJECT_DELAYED = "project.delayed";
+
+    private final ProjectRepository projectRepository;
+    private final ProjectPhaseRepository projectPhaseRepository;
+    private final OutboxService outboxService;
+
+    /**
+     * Bir veya birden fazla phase güncellemesini tek seferde uygular.
+     * Project kilitli olarak (findByIdAndCompanyIdForUpdate) verilmelidir.
+     */
+    @Transactional
+    public void applyPhaseUpdates(Project project, List<PhaseProgressUpdate> updates) {
+        List<Long> phaseIds = updates.stream()
+                .map(PhaseProgressUpdate::getPhaseId)
+                .distinct()
+                .toList();
+
+        Map<Long, ProjectPhase> phasesById = projectPhaseRepository.findAllById(phaseIds).stream()
+                .collect(Collectors.toMap(ProjectPhase::getId, Function.identity()));
+
+        BigDecimal total = runningTotal(project);
+        BigDecimal previousProgress = currentProgress(project);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (PhaseProgressUpdate update : updates) {
+            ProjectPhase phase = phasesById.get(update.getPhaseId());
+            if (phase == null) {
+                throw new EntityNotFoundException("Phase not found with id: " + update.getPhaseId());
+            }
+            if (!phase.getProject().getId().equals(project.getId())) {
+                throw new IllegalArgumentException("Phase does not belong to this project");
+            }
+
+            total = total.subtract(contribution(phase));
+            applyUpdate(project, phase, update);
+            total = total.add(contribution(phase));
+            phase.setUpdatedAt(now);
+        }
+
+        projectPhaseRepository.saveAll(phasesById.values());
+
+        setTotal(project, total);
+        afterProgressChange(project, previousProgress);
+        projectRepository.save(project);
+
+        log.info("📈 Applied {} phase update(s) to project {}: {}% -> {}%",
+                updates.size(), project.getId(), previousProgress, project.getOverallProgress());
+    }
+
+    /**
+     * Silinecek phase'in katkısını toplamdan düşer
+     */
+    @Transactional
+    public void removePhase(Project project, ProjectPhase phase) {
+        BigDecimal total = runningTotal(project).subtract(contribution(phase));
+        setTotal(project, total);
+        projectRepository.save(project);
+    }
+
+    /**
+     * Toplamı phase'lerden baştan hesaplar (ilk kullanım veya manuel düzeltme için)
+     */
+    @Transactional
+    public BigDecimal recalculate(Project project) {
+        List<ProjectPhase> phases = project.getPhases();
+
+        BigDecimal total = phases == null ? BigDecimal.ZERO : phases.stream()
+                .map(this::contribution)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        setTotal(project, total);
+        return total;
+    }
+
+    private BigDecimal runningTotal(Project project) {
+        if (project.getWeightedProgressTotal() == null) {
+            log.debug("Initializing weighted progress total for project {}", project.getId());
+            return recalculate(project);
+        }
+        return project.getWeightedProgressTotal();
+    }
+
+    private void setTotal(Project project, BigDecimal total) {
+        project.setWeightedProgressTotal(total);
+        project.setOverallProgress(total.setScale(2, RoundingMode.HALF_UP));
+        project.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private BigDecimal contribution(ProjectPhase phase) {
+        BigDecimal weight = phase.getWeightPercentage();
+        BigDecimal progress = phase.getCurrentProgress();
+
+        if (weight == null || progress == null) {
+            return BigDecimal.ZERO;
+        }
+        return weight.multiply(progress).divide(HUNDRED, 4, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal currentProgress(Project project) {
+        return project.getOverallProgress() != null ? project.getOverallProgress() : BigDecimal.ZERO;
+    }
+
+    private void applyUpdate(Project project, ProjectPhase phase, PhaseProgressUpdate update) {
+        if (update.getCurrentProgress() != null) {
+            phase.setCurrentProgress(update.getCurrentProgress());
+        }
+        if (update.getWeightPercentage() != null) {
+            phase.setWeightPercentage(update.getWeightPercentage());
+        }
+        if (update.getStatus() != null) {
+            phase.setStatus(update.getStatus());
+        }
+        if (update.getActualStartDate() != null) {
+            phase.setActualStartDate(update.getActualStartDate());
+        }
+        if (update.getActualEndDate() != null) {
+            phase.setActualEndDate(update.getActualEndDate());
+
+            if (update.getStatus() == PhaseStatus.COMPLETED) {
+                long daysAheadOrBehind = 0;
+                if (phase.getPlannedEndDate() != null) {
+                    daysAheadOrBehind = ChronoUnit.DAYS.between(phase.getPlannedEndDate(), phase.getActualEndDate());
+                }
+
+                ProjectPhaseCompletedEvent phaseEvent = ProjectPhaseCompletedEvent.builder()
+                        .projectId(project.getId())
+                        .companyId(project.getCompanyId())
+                        .phaseId(phase.getId().toString())
+                        .phaseName(phase.getPhaseName())
+                        .phaseDescription(phase.getDescription())
+                        .plannedEndDate(phase.getPlannedEndDate())
+                        .completionDate(phase.getActualEndDate())
+                        .daysAheadOrBehind((int) daysAheadOrBehind)
+                        .phaseProgress(phase.getCurrentProgress())
+                        .timestamp(LocalDateTime.now())
+                        .build();
+
+                outboxService.enqueue(TOPIC_PHASE_COMPLETED, project.getId(), phaseEvent);
+            }
+        }
+    }
+
+    private void afterProgressChange(Project project, BigDecimal previousProgress) {
+        BigDecimal progress = currentProgress(project);
+
+        if (progress.compareTo(previousProgress) != 0) {
+            ProjectProgressUpdatedEvent progressEvent = ProjectProgressUpdatedEvent.builder()
+                    .projectId(project.getId())
+                    .companyId(project.getCompanyId())
+                    .previousProgress(previousProgress)
+                    .currentProgress(progress)
+                    .progressChange(progress.subtract(previousProgress))
+                    .timestamp(LocalDateTime.now())
+                    .build();
+
+            // Henüz gönderilmemiş progress event'i varsa ilk previousProgress korunur
+            outboxService.enqueueCoalesced(TOPIC_PROGRESS_UPDATED, project.getId(), progressEvent,
+                    ProjectProgressUpdatedEvent.class, (older, newer) -> {
+                        newer.setPreviousProgress(older.getPreviousProgress());
+                        newer.setProgressChange(newer.getCurrentProgress().subtract(older.getPreviousProgress()));
+                        return newer;
+                    });
+        }
+
+        checkMilestones(project, previousProgress, progress);
+
+        if (progress.compareTo(HUNDRED) >= 0 && project.getStatus() != ProjectStatus.COMPLETED) {
+            project.setStatus(ProjectStatus.COMPLETED);
+            project.setActualEndDate(LocalDate.now());
+
+            ProjectCompletedEvent completedEvent = ProjectCompletedEvent.builder()
+                    .projectId(project.getId())
+                    .companyId(project.getCompanyId())
+                    .projectName(project.getName())
+                    .startDate(project.getStartDate())
+                    .plannedEndDate(project.getPlannedEndDate())
+                    .completionDate(LocalDate.now())
+                    .daysAheadOrBehind(project.getPlannedEndDate() != null ?
+                            (int) ChronoUnit.DAYS.between(project.getPlannedEndDate(), LocalDate.now()) : 0)
+                    .totalUnits(project.getTotalUnits())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+
+            outboxService.enqueue(TOPIC_PROJECT_COMPLETED, project.getId(), completedEvent);
+        }
+
+        checkDelays(project, progress);
+    }
+
+    /**
+     * Sadece bu güncellemede geçilen en yüksek milestone için event üretir
+     */
+    private void checkMilestones(Project project, BigDecimal previousProgress, BigDecimal progress) {
+        for (int i = MILESTONES.length - 1; i >= 0; i--) {
+            BigDecimal milestone = new BigDecimal(MILESTONES[i]);
+
+            if (previousProgress.compareTo(milestone) < 0 && progress.compareTo(milestone) >= 0) {
+                ProjectMilestoneCompletedEvent milestoneEvent = ProjectMilestoneCompletedEvent.builder()
+                        .projectId(project.getId())
+                        .companyId(project.getCompanyId())
+                        .milestoneName(MILESTONES[i] + "% Completion")
+                        .milestoneDescription("Project reached " + MILESTONES[i] + "% completion")
+                        .targetPercentage(MILESTONES[i])
+                        .actualProgress(progress)
+                        .completionDate(LocalDate.now())
+                        .timestamp(LocalDateTime.now())
+                        .build();
+
+                outboxService.enqueue(TOPIC_MILESTONE_COMPLETED, project.getId(), milestoneEvent);
+                return;
+            }
+        }
+    }
+
+    private void checkDelays(Project project, BigDecimal progress) {
+        if (project.getPlannedEndDate() == null) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate plannedEnd = project.getPlannedEndDate();
+
+        if (today.isAfter(plannedEnd) && progress.compareTo(HUNDRED) < 0) {
+            long delayDays = ChronoUnit.DAYS.between(plannedEnd, today);
+
+            // Tüm phase koleksiyonunu yüklemek yerine sadece gecikenlerin adları sorgulanır
+            List<String> delayedPhases = projectPhaseRepository.findDelayedPhaseNames(
+                    project.getId(), PhaseStatus.DELAYED, today);
+
+            ProjectDelayedEvent delayEvent = ProjectDelayedEvent.builder()
+                    .projectId(project.getId())
+                    .companyId(project.getCompanyId())
+                    .projectName(project.getName())
+                    .plannedEndDate(plannedEnd)
+                    .currentEstimate(today.plusDays(30))
+                    .delayDays((int) delayDays)
+                    .reason("Project behind schedule")
+                    .currentProgress(progress)
+                    .delayedPhases(delayedPhases)
+                    .timestamp(LocalDateTime.now())
+                    .build();
+
+            outboxService.enqueueCoalesced(TOPIC_PROJECT_DELAYED, project.getId(), delayEvent,
+                    ProjectDelayedEvent.class, (older, newer) -> newer);
+        }
+    }
+}
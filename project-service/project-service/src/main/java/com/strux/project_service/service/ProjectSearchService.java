@@ -0,0 +1,102 @@
+package com.strux.project_service.service;
+
+import com.strux.project_service.config.SecurityUtils;
+import com.strux.project_service.dto.ProjectSummaryResponse;
+import com.strux.project_service.mapper.ProjectMapper;
+import com.strux.project_service.model.Project;
+import com.strux.project_service.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Proje full-text araması (search_vector + trigram index, bkz. ProjectSearchIndexInitializer)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectSearchService {
+
+    private static final int MAX_TOKENS = 8;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final ProjectRepository projectRepository;
+    private final ProjectMapper projectMapper;
+    private final SecurityUtils securityUtils;
+
+    @Transactional(readOnly = true)
+    public Page<ProjectSummaryResponse> search(String query, int page, int size) {
+        String companyId = securityUtils.getCurrentUserCompanyId();
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        List<ProjectSummaryResponse> content = projectRepository
+                .fullTextSearchByCompany(companyId, tsQuery, pageable.getPageSize(), pageable.getOffset())
+                .stream()
+                .map(projectMapper::toProjectSummaryResponse)
+                .collect(Collectors.toList());
+
+        long total = projectRepository.countFullTextSearchByCompany(companyId, tsQuery);
+        log.debug("Project search '{}' for company {} -> {} hits", query, companyId, total);
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectSummaryResponse> suggest(String query, int limit) {
+        String companyId = securityUtils.getCurrentUserCompanyId();
+
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return List.of();
+        }
+
+        String normalized = escapeLike(query.trim().toLowerCase(Locale.ROOT));
+
+        List<Project> projects = projectRepository.suggestByCompany(
+                companyId,
+                tsQuery,
+                normalized + "%",
+                "%" + normalized + "%",
+                Math.min(Math.max(limit, 1), MAX_SUGGESTIONS)
+        );
+
+        return projects.stream()
+                .map(projectMapper::toProjectSummaryResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * "baku resi" -> "baku:* & resi:*" (kullanıcı girdisi tsquery operatörlerinden temizlenir)
+     */
+    static String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isBlank())
+                .limit(MAX_TOKENS)
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
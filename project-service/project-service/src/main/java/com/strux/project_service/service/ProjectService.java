@@ -19,22 +19,23 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,16 +44,20 @@ import java.util.stream.Collectors;
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
     private final ProjectMapper projectMapper;
-    private final RestTemplate restTemplate;
     private final ProjectPhaseRepository projectPhaseRepository;
+    private final ProjectProgressEngine progressEngine;
     private final SecurityUtils securityUtils; // Constructor'a eklenecek
 
     private final WorkerClient workerClient;
     private final UnitClient unitClient;
     private final TaskClient taskClient;
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "name", "status", "type", "overallProgress", "startDate", "plannedEndDate", "createdAt", "updatedAt");
+
     public List<ProjectStatsResponse> getCompanyProjectStats(String companyId) {
         log.info("📊 Getting project stats for company: {}", companyId);
 
@@ -104,37 +109,6 @@ public class ProjectService {
                 .toList();
     }
 
-    private String getCompanyIdFromToken() {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            Jwt jwt = (Jwt) auth.getPrincipal();
-
-            // 1. Önce token'da company_id var mı bak
-            String companyId = jwt.getClaim("company_id");
-            if (companyId != null) {
-                return companyId;
-            }
-
-            // 2. Yoksa email al
-            String email = jwt.getClaim("email");
-            log.info("Getting company ID for email: {}", email);
-
-            // 3. User Service'e GET request at
-            String url = "http://localhost:9091/api/users/email/" + email;
-            UserResponse user = restTemplate.getForObject(url, UserResponse.class);
-
-            return user.getCompanyId();
-
-        } catch (Exception e) {
-            log.error("Error: {}", e.getMessage());
-            throw new RuntimeException("Error fetching company ID");
-        }
-    }
-    @lombok.Data
-    private static class UserResponse {
-        private String companyId;
-    }
-
     @Transactional
     public ProjectResponse createProject(CreateProjectRequest request) {
         try {
@@ -180,39 +154,30 @@ public class ProjectService {
                 savedProject = projectRepository.save(savedProject);
             }
 
-            try {
-                if (kafkaTemplate != null) {
-                    ProjectCreatedEvent event = ProjectCreatedEvent.builder()
-                            .projectId(savedProject.getId())
-                            .companyId(savedProject.getCompanyId())
-                            .name(savedProject.getName())
-                            .description(savedProject.getDescription())
-                            .type(savedProject.getType())
-                            .totalUnits(savedProject.getTotalUnits())
-                            .location(ProjectCreatedEvent.LocationInfo.builder()
-                                    .latitude(savedProject.getLocation().getLatitude())
-                                    .longitude(savedProject.getLocation().getLongitude())
-                                    .address(savedProject.getLocation().getAddress())
-                                    .city(savedProject.getLocation().getCity())
-                                    .district(savedProject.getLocation().getDistrict())
-                                    .country(savedProject.getLocation().getCountry())
-                                    .placeId(savedProject.getLocation().getPlaceId())
-                                    .build())
-                            .startDate(savedProject.getStartDate())
-                            .plannedEndDate(savedProject.getPlannedEndDate())
-                            .timestamp(LocalDateTime.now())
-                            .build();
-
-                    kafkaTemplate.send("project.created", event);
-                    log.info("✅ Project created event published successfully");
-                } else {
-                    log.warn("⚠️ KafkaTemplate is null, skipping event publish");
-                }
-            } catch (Exception kafkaEx) {
-                // Kafka hatası olsa bile proje oluşturulmuş olsun
-                log.error("❌ Failed to publish Kafka event but project created successfully: {}",
-                        kafkaEx.getMessage(), kafkaEx);
-            }
+            // Event proje ile aynı transaction'da outbox'a yazılır
+            ProjectCreatedEvent event = ProjectCreatedEvent.builder()
+                    .projectId(savedProject.getId())
+                    .companyId(savedProject.getCompanyId())
+                    .name(savedProject.getName())
+                    .description(savedProject.getDescription())
+                    .type(savedProject.getType())
+                    .totalUnits(savedProject.getTotalUnits())
+                    .location(ProjectCreatedEvent.LocationInfo.builder()
+                            .latitude(savedProject.getLocation().getLatitude())
+                            .longitude(savedProject.getLocation().getLongitude())
+                            .address(savedProject.getLocation().getAddress())
+                            .city(savedProject.getLocation().getCity())
+                            .district(savedProject.getLocation().getDistrict())
+                            .country(savedProject.getLocation().getCountry())
+                            .placeId(savedProject.getLocation().getPlaceId())
+                            .build())
+                    .startDate(savedProject.getStartDate())
+                    .plannedEndDate(savedProject.getPlannedEndDate())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+
+            outboxService.enqueue("project.created", savedProject.getId(), event);
+            log.info("✅ Project created event queued");
 
             return projectMapper.toProjectResponse(savedProject);
 
@@ -240,22 +205,16 @@ public class ProjectService {
 
             log.info("✅ Project {} permanently deleted from database", projectId);
 
-            try {
-                ProjectDeletedEvent event = ProjectDeletedEvent.builder()
-                        .projectId(projectId)
-                        .companyId(projectCompanyId)
-                        .projectName(projectName)
-                        .reason("Project permanently deleted by user")
-                        .timestamp(LocalDateTime.now())
-                        .build();
+            ProjectDeletedEvent event = ProjectDeletedEvent.builder()
+                    .projectId(projectId)
+                    .companyId(projectCompanyId)
+                    .projectName(projectName)
+                    .reason("Project permanently deleted by user")
+                    .timestamp(LocalDateTime.now())
+                    .build();
 
-                kafkaTemplate.send("project.deleted", event);
-                log.info("✅ Project deletion event published successfully");
-            } catch (Exception kafkaEx) {
-                // Kafka hatası olsa bile proje silinmiş olsun
-                log.error("❌ Failed to publish deletion event but project deleted: {}",
-                        kafkaEx.getMessage(), kafkaEx);
-            }
+            outboxService.enqueue("project.deleted", projectId, event);
+            log.info("✅ Project deletion event queued");
 
         } catch (EntityNotFoundException e) {
             log.error("Project not found: {}", projectId);
@@ -266,6 +225,7 @@ public class ProjectService {
         }
     }
 
+    @Transactional
     public ProjectResponse updateProject(UpdateProjectRequest request, String projectId) {
         try {
 
@@ -326,7 +286,7 @@ public class ProjectService {
                         .timestamp(LocalDateTime.now())
                         .build();
 
-                kafkaTemplate.send("project.updated", event);
+                outboxService.enqueue("project.updated", updatedProject.getId(), event);
             }
 
             // ✅ PROJECT SCHEDULE UPDATED EVENT
@@ -343,7 +303,7 @@ public class ProjectService {
                         .timestamp(LocalDateTime.now())
                         .build();
 
-                kafkaTemplate.send("project.schedule.updated", scheduleEvent);
+                outboxService.enqueue("project.schedule.updated", updatedProject.getId(), scheduleEvent);
             }
 
             // ✅ PROJECT UNITS UPDATED EVENT
@@ -357,7 +317,7 @@ public class ProjectService {
                         .timestamp(LocalDateTime.now())
                         .build();
 
-                kafkaTemplate.send("project.units.updated", unitsEvent);
+                outboxService.enqueue("project.units.updated", updatedProject.getId(), unitsEvent);
             }
 
             return projectMapper.toProjectResponse(updatedProject);
@@ -481,6 +441,61 @@ public class ProjectService {
         }
     }
 
+    public Page<ProjectSummaryResponse> getProjectSummaries(String requestedCompanyId, int page, int size,
+                                                            String sortBy, String direction) {
+        String currentUserCompanyId = securityUtils.getCurrentUserCompanyId();
+        String companyId = requestedCompanyId != null ? requestedCompanyId : currentUserCompanyId;
+
+        if (!companyId.equals(currentUserCompanyId)) {
+            log.warn("User from company {} tried to access projects from company {}",
+                    currentUserCompanyId, companyId);
+            throw new SecurityException("Cannot access projects from other companies");
+        }
+
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        }
+
+        Pageable pageable = PageRequest.of(
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by(Sort.Direction.fromString(direction), sortBy).and(Sort.by("id"))
+        );
+
+        return projectRepository.findSummariesByCompanyId(companyId, pageable);
+    }
+
+    /**
+     * Birden fazla projenin özeti tek sorguda; bulunamayan veya erişilemeyen id'ler atlanır.
+     * WORKER ve HOMEOWNER için company kontrolü yok (getProjectDetailById ile aynı)
+     */
+    public List<ProjectSummaryResponse> getProjectSummariesByIds(List<String> projectIds) {
+        List<String> ids = projectIds == null ? List.of() : projectIds.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_PAGE_SIZE + " projects can be requested at once");
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        boolean unrestricted = auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_WORKER") || a.getAuthority().equals("ROLE_HOMEOWNER"));
+
+        List<ProjectSummaryResponse> summaries = projectRepository.findSummariesByIdIn(ids);
+        if (unrestricted) {
+            return summaries;
+        }
+
+        String companyId = securityUtils.getCurrentUserCompanyId();
+        return summaries.stream()
+                .filter(summary -> summary.getCompanyId() != null && summary.getCompanyId().equals(companyId))
+                .toList();
+    }
+
     public String getCompanyIdByProjectId(String projectId) {
         return projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"))
@@ -519,6 +534,14 @@ public class ProjectService {
         project.setUpdatedAt(LocalDateTime.now());
         Project saved = projectRepository.save(project);
 
+        // Proje özetini cache'leyen servisler için
+        outboxService.enqueue("project.updated", saved.getId(), ProjectUpdatedEvent.builder()
+                .projectId(saved.getId())
+                .companyId(saved.getCompanyId())
+                .changedFields(new ArrayList<>(updates.keySet()))
+                .timestamp(LocalDateTime.now())
+                .build());
+
         log.info("Project {} partially updated successfully", projectId);
         return projectMapper.toProjectMapResponse(saved);
     }
@@ -785,113 +808,27 @@ public class ProjectService {
 
     @Transactional
     public void updatePhaseProgress(String projectId, String phaseId, UpdateProgressRequest request) {
-        try {
-            String companyId = securityUtils.getCurrentUserCompanyId();
-            Project project = projectRepository.findByIdAndCompanyId(projectId, companyId)
-                    .orElseThrow(() -> new EntityNotFoundException("Project not found or access denied"));
-            ProjectPhase phase = projectPhaseRepository.findById(Long.valueOf(phaseId))
-                    .orElseThrow(() -> new EntityNotFoundException("Phase not found with id: " + phaseId));
-
-            if (!phase.getProject().getId().equals(projectId)) {
-                throw new IllegalArgumentException("Phase does not belong to this project");
-            }
-
-            BigDecimal previousProgress = project.getOverallProgress();
-
-            phase.setCurrentProgress(request.getCurrentProgress());
-
-            if (request.getWeightPercentage() != null) {
-                phase.setWeightPercentage(request.getWeightPercentage());
-            }
-
-            if (request.getStatus() != null) {
-                phase.setStatus(request.getStatus());
-            }
-
-            if (request.getActualStartDate() != null) {
-                phase.setActualStartDate(request.getActualStartDate());
-            }
-
-            if (request.getActualEndDate() != null) {
-                phase.setActualEndDate(request.getActualEndDate());
-
-                if (request.getStatus() == PhaseStatus.COMPLETED) {
-                    long daysAheadOrBehind = 0;
-                    if (phase.getPlannedEndDate() != null) {
-                        daysAheadOrBehind = ChronoUnit.DAYS.between(phase.getPlannedEndDate(), phase.getActualEndDate());
-                    }
-
-                    ProjectPhaseCompletedEvent phaseEvent = ProjectPhaseCompletedEvent.builder()
-                            .projectId(project.getId())
-                            .companyId(project.getCompanyId())
-                            .phaseId(phase.getId().toString())
-                            .phaseName(phase.getPhaseName())
-                            .phaseDescription(phase.getDescription())
-                            .plannedEndDate(phase.getPlannedEndDate())
-                            .completionDate(phase.getActualEndDate())
-                            .daysAheadOrBehind((int) daysAheadOrBehind)
-                            .phaseProgress(phase.getCurrentProgress())
-                            .timestamp(LocalDateTime.now())
-                            .build();
-
-                    kafkaTemplate.send("project.phase.completed", phaseEvent);
-                }
-            }
-
-            phase.setUpdatedAt(LocalDateTime.now());
-            projectPhaseRepository.save(phase);
-
-            calculateOverallProgress(project);
-
-            ProjectProgressUpdatedEvent progressEvent = ProjectProgressUpdatedEvent.builder()
-                    .projectId(project.getId())
-                    .companyId(project.getCompanyId())
-                    .previousProgress(previousProgress)
-                    .currentProgress(project.getOverallProgress())
-                    .progressChange(project.getOverallProgress().subtract(previousProgress))
-                    .timestamp(LocalDateTime.now())
-                    .build();
-
-            kafkaTemplate.send("project.progress.updated", progressEvent);
-
-            checkMilestones(project);
-
-            if (project.getOverallProgress().compareTo(new BigDecimal("100")) == 0 &&
-                    project.getStatus() != ProjectStatus.COMPLETED) {
-
-                project.setStatus(ProjectStatus.COMPLETED);
-                project.setActualEndDate(LocalDate.now());
-                projectRepository.save(project);
-
-                // ✅ PROJECT COMPLETED EVENT
-                ProjectCompletedEvent completedEvent = ProjectCompletedEvent.builder()
-                        .projectId(project.getId())
-                        .companyId(project.getCompanyId())
-                        .projectName(project.getName())
-                        .startDate(project.getStartDate())
-                        .plannedEndDate(project.getPlannedEndDate())
-                        .completionDate(LocalDate.now())
-                        .daysAheadOrBehind((int) ChronoUnit.DAYS.between(project.getPlannedEndDate(), LocalDate.now()))
-                        .totalUnits(project.getTotalUnits())
-                        .timestamp(LocalDateTime.now())
-                        .build();
+        String companyId = securityUtils.getCurrentUserCompanyId();
+        Project project = projectRepository.findByIdAndCompanyIdForUpdate(projectId, companyId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found or access denied"));
 
-                kafkaTemplate.send("project.completed", completedEvent);
-            }
+        progressEngine.applyPhaseUpdates(project, List.of(PhaseProgressUpdate.of(Long.valueOf(phaseId), request)));
+    }
 
-            // Check delays
-            checkDelays(project);
+    @Transactional
+    public void updatePhaseProgressBatch(String projectId, BatchUpdateProgressRequest request) {
+        String companyId = securityUtils.getCurrentUserCompanyId();
+        Project project = projectRepository.findByIdAndCompanyIdForUpdate(projectId, companyId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found or access denied"));
 
-        } catch (EntityNotFoundException e) {
-            throw e;
-        }
+        progressEngine.applyPhaseUpdates(project, request.getUpdates());
     }
 
     @Transactional
     public void deletePhase(String projectId, String phaseId) {
         try {
             String companyId = securityUtils.getCurrentUserCompanyId();
-            Project project = projectRepository.findByIdAndCompanyId(projectId, companyId)
+            Project project = projectRepository.findByIdAndCompanyIdForUpdate(projectId, companyId)
                     .orElseThrow(() -> new EntityNotFoundException("Project not found or access denied"));
             ProjectPhase phase = projectPhaseRepository.findById(Long.valueOf(phaseId))
                     .orElseThrow(() -> new EntityNotFoundException("Phase not found with id: " + phaseId));
@@ -900,13 +837,9 @@ public class ProjectService {
                 throw new IllegalArgumentException("Phase does not belong to this project");
             }
 
+            progressEngine.removePhase(project, phase);
+            project.getPhases().removeIf(p -> p.getId().equals(phase.getId()));
             projectPhaseRepository.delete(phase);
-            projectPhaseRepository.flush(); // ✅ Flush
-
-            project = projectRepository.findById(projectId)
-                    .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-
-            calculateOverallProgress(project);
 
         } catch (EntityNotFoundException e) {
             throw e;
@@ -958,92 +891,4 @@ public class ProjectService {
             location.setLongitude(updateProjectRequest.getLongitude());
         }
     }
-
-    private void calculateOverallProgress(Project project) {
-        List<ProjectPhase> phases = project.getPhases();
-
-        if (phases == null || phases.isEmpty()) {
-            project.setOverallProgress(BigDecimal.ZERO);
-            return;
-        }
-
-        BigDecimal totalProgress = phases.stream()
-                .map(phase -> {
-
-                    BigDecimal weight = phase.getWeightPercentage();
-                    BigDecimal progress = phase.getCurrentProgress();
-
-                    if (weight != null && progress != null) {
-                        return weight.multiply(progress).divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
-                    }
-
-                    return BigDecimal.ZERO;
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        project.setOverallProgress(totalProgress);
-        project.setUpdatedAt(LocalDateTime.now());
-        projectRepository.save(project);
-    }
-
-    private void checkMilestones(Project project) {
-        int[] milestones = {25, 50, 75, 100};
-        BigDecimal progress = project.getOverallProgress();
-
-        for (int milestone : milestones) {
-            BigDecimal milestoneDecimal = new BigDecimal(milestone);
-
-            if (progress.compareTo(milestoneDecimal) >= 0) {
-                // ✅ PROJECT MILESTONE COMPLETED EVENT
-                ProjectMilestoneCompletedEvent milestoneEvent = ProjectMilestoneCompletedEvent.builder()
-                        .projectId(project.getId())
-                        .companyId(project.getCompanyId())
-                        .milestoneName(milestone + "% Completion")
-                        .milestoneDescription("Project reached " + milestone + "% completion")
-                        .targetPercentage(milestone)
-                        .actualProgress(progress)
-                        .completionDate(LocalDate.now())
-                        .timestamp(LocalDateTime.now())
-                        .build();
-
-                kafkaTemplate.send("project.milestone.completed", milestoneEvent);
-                break;
-            }
-        }
-    }
-
-    private void checkDelays(Project project) {
-        if (project.getPlannedEndDate() == null) {
-            return;
-        }
-
-        LocalDate today = LocalDate.now();
-        LocalDate plannedEnd = project.getPlannedEndDate();
-
-        if (today.isAfter(plannedEnd) && project.getOverallProgress().compareTo(new BigDecimal("100")) < 0) {
-            long delayDays = ChronoUnit.DAYS.between(plannedEnd, today);
-
-            List<String> delayedPhases = project.getPhases().stream()
-                    .filter(phase -> phase.getStatus() == PhaseStatus.DELAYED ||
-                            (phase.getPlannedEndDate() != null && LocalDate.now().isAfter(phase.getPlannedEndDate())))
-                    .map(ProjectPhase::getPhaseName)
-                    .collect(Collectors.toList());
-
-            // ✅ PROJECT DELAYED EVENT
-            ProjectDelayedEvent delayEvent = ProjectDelayedEvent.builder()
-                    .projectId(project.getId())
-                    .companyId(project.getCompanyId())
-                    .projectName(project.getName())
-                    .plannedEndDate(plannedEnd)
-                    .currentEstimate(today.plusDays(30))
-                    .delayDays((int) delayDays)
-                    .reason("Project behind schedule")
-                    .currentProgress(project.getOverallProgress())
-                    .delayedPhases(delayedPhases)
-                    .timestamp(LocalDateTime.now())
-                    .build();
-
-            kafkaTemplate.send("project.delayed", delayEvent);
-        }
-    }
-}
\ No newline at end of file
+}
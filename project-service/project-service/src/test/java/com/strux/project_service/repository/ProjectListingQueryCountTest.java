@@ -0,0 +1,134 @@
+package com.strux.project_service.repository;
+
+import com.strux.project_service.dto.ProjectResponse;
+import com.strux.project_service.dto.ProjectSummaryResponse;
+import com.strux.project_service.enums.ProjectStatus;
+import com.strux.project_service.mapper.ProjectMapper;
+import com.strux.project_service.model.Project;
+import com.strux.project_service.model.ProjectPhase;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Proje listelerinin SQL sayısı proje sayısından bağımsız kalmalı (N+1 yok)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProjectListingQueryCountTest {
+
+    private static final String COMPANY_ID = "company-1";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMapper projectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void summaryPageUsesSelectAndCountOnly() {
+        assertEquals(2, countSummaryPageStatements(5));
+        assertEquals(2, countSummaryPageStatements(50));
+    }
+
+    @Test
+    void fullListLoadsPhasesInOneQuery() {
+        assertEquals(2, countFullListStatements(3));
+        assertEquals(2, countFullListStatements(30));
+    }
+
+    // Sayfa dolu olduğu için count sorgusu da çalışır
+    private long countSummaryPageStatements(int projectCount) {
+        createProjects(projectCount);
+
+        statistics.clear();
+        Page<ProjectSummaryResponse> page = projectRepository.findSummariesByCompanyId(COMPANY_ID,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by("id"))));
+
+        assertEquals(3, page.getContent().size());
+        assertEquals(projectCount, page.getTotalElements());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long countFullListStatements(int projectCount) {
+        createProjects(projectCount);
+
+        statistics.clear();
+        List<ProjectResponse> projects = projectMapper.toProjectResponseList(
+                projectRepository.findByCompanyId(COMPANY_ID));
+
+        assertEquals(projectCount, projects.size());
+        projects.forEach(project -> assertEquals(2, project.getPhases().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createProjects(int count) {
+        entityManager.getEntityManager()
+                .createQuery("DELETE FROM ProjectPhase")
+                .executeUpdate();
+        entityManager.getEntityManager()
+                .createQuery("DELETE FROM Project")
+                .executeUpdate();
+
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setCompanyId(COMPANY_ID);
+            project.setName("Project " + i);
+            project.setStatus(ProjectStatus.IN_PROGRESS);
+            project.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+            entityManager.persist(project);
+
+            List<ProjectPhase> phases = new ArrayList<>();
+            for (int k = 0; k < 2; k++) {
+                ProjectPhase phase = new ProjectPhase();
+                phase.setProject(project);
+                phase.setPhaseName("Phase " + k);
+                phase.setOrderIndex(k);
+                entityManager.persist(phase);
+                phases.add(phase);
+            }
+            project.setPhases(phases);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Project.class)
+    @EnableJpaRepositories(basePackageClasses = ProjectRepository.class)
+    @Import(ProjectMapper.class)
+    static class TestConfig {
+    }
+}
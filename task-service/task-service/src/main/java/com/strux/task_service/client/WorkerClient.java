@@ -5,32 +5,46 @@ package com.strux.task_service.client;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class WorkerClient {
 
+    private static final ParameterizedTypeReference<Map<String, List<String>>> UNITS_BY_WORKER =
+            new ParameterizedTypeReference<>() {
+            };
+
     private final RestTemplate restTemplate;
 
     @Value("${services.worker.url:http://localhost:9092}")
     private String workerServiceUrl;
 
-    public String getWorkerCurrentUnit(String workerId) {
+    /**
+     * Birden fazla worker'ın unit atamaları tek istekte.
+     * Hata durumunda null döner (çağıran cache'i güncellemez).
+     */
+    public Map<String, List<String>> getWorkerUnits(Collection<String> workerIds) {
         try {
-            String url = workerServiceUrl + "/api/workers/" + workerId + "/current-unit";
-            log.debug("Fetching current unit for worker: {} from {}", workerId, url);
-
-            String unitId = restTemplate.getForObject(url, String.class);
+            String url = workerServiceUrl + "/api/workers/internal/units";
+            log.debug("Fetching units for {} worker(s) from {}", workerIds.size(), url);
 
-            log.debug("Worker {} is assigned to unit: {}", workerId, unitId);
-            return unitId;
+            return restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(new ArrayList<>(workerIds)), UNITS_BY_WORKER)
+                    .getBody();
 
         } catch (Exception e) {
-            log.warn("Failed to fetch unit for worker {}: {}", workerId, e.getMessage());
+            log.warn("Failed to fetch units for workers {}: {}", workerIds, e.getMessage());
             return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -80,6 +80,11 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/tasks")
                         .hasAnyRole("COMPANY_ADMIN", "WORKER")
 
+                        .requestMatchers(HttpMethod.GET, "/api/tasks/inbox")
+                        .hasAnyRole("COMPANY_ADMIN", "WORKER")
+                        .requestMatchers(HttpMethod.GET, "/api/tasks/inbox/changes")
+                        .hasAnyRole("COMPANY_ADMIN", "WORKER")
+
                         .requestMatchers(HttpMethod.GET, "/api/tasks/*")
                         .hasAnyRole("COMPANY_ADMIN", "WORKER", "HOMEOWNER")
 
@@ -104,6 +109,13 @@ public class SecurityConfig {
 
                         .requestMatchers(HttpMethod.GET, "/api/tasks/*/subtasks")
                         .hasAnyRole("COMPANY_ADMIN", "WORKER", "HOMEOWNER")
+                        .requestMatchers(HttpMethod.GET, "/api/tasks/*/tree")
+                        .hasAnyRole("COMPANY_ADMIN", "WORKER", "HOMEOWNER")
+
+                        .requestMatchers(HttpMethod.GET, "/api/tasks/project/*/schedule")
+                        .hasAnyRole("COMPANY_ADMIN", "WORKER", "HOMEOWNER")
+                        .requestMatchers(HttpMethod.GET, "/api/tasks/*/schedule")
+                        .hasAnyRole("COMPANY_ADMIN", "WORKER", "HOMEOWNER")
 
                         .requestMatchers(HttpMethod.GET, "/api/tasks/asset/*")
                         .hasAnyRole("COMPANY_ADMIN", "WORKER")
@@ -124,6 +136,13 @@ public class SecurityConfig {
 
                         .requestMatchers(HttpMethod.POST, "/api/tasks/search")
                         .hasAnyRole("COMPANY_ADMIN", "WORKER", "HOMEOWNER")
+                        .requestMatchers(HttpMethod.POST, "/api/tasks/search/page")
+                        .hasAnyRole("COMPANY_ADMIN", "WORKER", "HOMEOWNER")
+
+                        .requestMatchers(HttpMethod.POST, "/api/tasks/bulk/delete")
+                        .hasRole("COMPANY_ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/tasks/bulk/*")
+                        .hasAnyRole("COMPANY_ADMIN", "WORKER")
 
                         .requestMatchers(HttpMethod.PUT, "/api/tasks/*")
                         .hasAnyRole("COMPANY_ADMIN", "WORKER")
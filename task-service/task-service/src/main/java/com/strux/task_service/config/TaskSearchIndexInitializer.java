@@ -0,0 +1,42 @@
+package com.strux.task_service.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Task keyword araması için trigram index'lerini hazırlar. TaskSpecifications
+ * lower(title) / lower(description) LIKE '%x%' ürettiği için index ifadeleri
+ * birebir aynıdır; JPA @Index expression index desteklemediğinden burada
+ * oluşturulur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSearchIndexInitializer implements CommandLineRunner {
+
+    private static final List<String> STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_tasks_title_trgm ON tasks USING GIN (lower(title) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_tasks_description_trgm ON tasks USING GIN (lower(description) gin_trgm_ops)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        log.info("Checking task search indexes...");
+
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (Exception e) {
+                log.error("❌ Failed to prepare task search index ({}): {}", statement, e.getMessage());
+            }
+        }
+    }
+}
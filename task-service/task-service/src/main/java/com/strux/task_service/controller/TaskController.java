@@ -2,9 +2,14 @@ package com.strux.task_service.controller;
 
 import com.strux.task_service.dto.*;
 import com.strux.task_service.enums.*;
+import com.strux.task_service.service.TaskBulkService;
+import com.strux.task_service.service.TaskInboxService;
+import com.strux.task_service.service.TaskScheduleService;
 import com.strux.task_service.service.TaskService;
+import com.strux.task_service.service.TaskTreeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -12,7 +17,9 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -21,6 +28,10 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskScheduleService taskScheduleService;
+    private final TaskInboxService taskInboxService;
+    private final TaskBulkService taskBulkService;
+    private final TaskTreeService taskTreeService;
 
     @PostMapping
     public ResponseEntity<TaskDto> createTask(
@@ -91,6 +102,14 @@ public class TaskController {
         return ResponseEntity.ok(subtasks);
     }
 
+    @GetMapping("/{taskId}/tree")
+    public ResponseEntity<TaskTreeResponse> getTaskTree(
+            @PathVariable String taskId,
+            @RequestParam(required = false) Integer maxDepth) {
+        TaskTreeResponse tree = taskTreeService.getTree(taskId, maxDepth);
+        return ResponseEntity.ok(tree);
+    }
+
     @GetMapping("/asset/{assetId}")
     public ResponseEntity<List<TaskDto>> getTasksByAsset(@PathVariable String assetId) {
         List<TaskDto> tasks = taskService.getTasksByAsset(assetId);
@@ -128,17 +147,79 @@ public class TaskController {
     }
 
     @PostMapping("/search")
-    public ResponseEntity<List<TaskDto>> searchTasks(@Valid @RequestBody TaskSearchRequest request) {
-        List<TaskDto> tasks = taskService.searchTasks(request);
+    public ResponseEntity<List<TaskDto>> searchTasks(
+            @Valid @RequestBody TaskSearchRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        String companyId = jwt.getClaimAsString("company_id");
+        List<TaskDto> tasks = taskService.searchTasks(request, companyId);
         return ResponseEntity.ok(tasks);
     }
 
+    @PostMapping("/search/page")
+    public ResponseEntity<TaskPageResponse> searchTasksPage(
+            @Valid @RequestBody TaskSearchRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        String companyId = jwt.getClaimAsString("company_id");
+        TaskPageResponse page = taskService.searchTasksPage(request, companyId);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/project/{projectId}/stats")
     public ResponseEntity<ProjectTaskStatsResponse> getProjectTaskStats(@PathVariable String projectId) {
         ProjectTaskStatsResponse stats = taskService.getProjectTaskStats(projectId);
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/project/{projectId}/schedule")
+    public ResponseEntity<ProjectScheduleResponse> getProjectSchedule(
+            @PathVariable String projectId,
+            @RequestParam(defaultValue = "false") boolean criticalOnly,
+            @AuthenticationPrincipal Jwt jwt) {
+        String companyId = jwt.getClaimAsString("company_id");
+        ProjectScheduleResponse schedule = taskScheduleService.getProjectSchedule(projectId, companyId, criticalOnly);
+        return ResponseEntity.ok(schedule);
+    }
+
+    @GetMapping("/{taskId}/schedule")
+    public ResponseEntity<TaskScheduleDto> getTaskSchedule(
+            @PathVariable String taskId,
+            @AuthenticationPrincipal Jwt jwt) {
+        String companyId = jwt.getClaimAsString("company_id");
+        TaskScheduleDto schedule = taskScheduleService.getTaskSchedule(taskId, companyId);
+        return ResponseEntity.ok(schedule);
+    }
+
+    // Versiyon değişmediyse 304 döner, istemci cache'teki listeyi kullanır
+    @GetMapping("/inbox")
+    public ResponseEntity<TaskInboxPageResponse> getInbox(
+            @RequestParam(defaultValue = "ACTIVE") InboxBucket bucket,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        String eTag = inboxETag(taskInboxService.currentVersion(userId));
+        if (eTagMatches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        TaskInboxPageResponse page = taskInboxService.getInbox(userId, bucket, cursor, size);
+        return ResponseEntity.ok().eTag(inboxETag(page.getVersion())).body(page);
+    }
+
+    @GetMapping("/inbox/changes")
+    public ResponseEntity<TaskInboxChangesResponse> getInboxChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        String eTag = inboxETag(taskInboxService.currentVersion(userId));
+        if (eTagMatches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        TaskInboxChangesResponse changes = taskInboxService.getChanges(userId, since);
+        return ResponseEntity.ok().eTag(inboxETag(changes.getVersion())).body(changes);
+    }
+
     // ✅ UPDATED: userId parametresi eklendi
     @PutMapping("/{taskId}")
     public ResponseEntity<TaskDto> updateTask(
@@ -207,6 +288,25 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    // Toplu işlemler: her task için ayrı sonuç döner, uygun olmayanlar diğerlerini engellemez
+    @PostMapping("/bulk/{action}")
+    public ResponseEntity<TaskBulkResponse> bulkUpdate(
+            @PathVariable String action,
+            @Valid @RequestBody TaskBulkRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        // Sadece küçük harf kabul edilir; security matcher'ları (bulk/delete) büyük/küçük harf duyarlı
+        TaskBulkAction bulkAction = Arrays.stream(TaskBulkAction.values())
+                .filter(a -> a.name().toLowerCase(Locale.ROOT).equals(action))
+                .findFirst()
+                .orElse(null);
+        if (bulkAction == null) {
+            return ResponseEntity.notFound().build();
+        }
+        TaskBulkResponse response = taskBulkService.apply(bulkAction, request, userId);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/company/{companyId}/stats")
     public ResponseEntity<TaskStatsResponse> getTaskStats(@PathVariable String companyId) {
         TaskStatsResponse stats = taskService.getTaskStats(companyId);
@@ -225,4 +325,23 @@ public class TaskController {
         return ResponseEntity.ok(taskService.countActiveTasksByProject(projectId));
     }
 
-}
\ No newline at end of file
+    private static String inboxETag(long version) {
+        return "\"inbox-" + version + "\"";
+    }
+
+    private static boolean eTagMatches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
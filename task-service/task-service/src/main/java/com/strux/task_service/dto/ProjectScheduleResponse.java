@@ -0,0 +1,28 @@
+package com.strux.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectScheduleResponse {
+
+    private String projectId;
+    private Integer totalTasks;
+    private Integer blockedTasks;
+
+    private LocalDateTime projectStart;
+    private LocalDateTime projectFinish;
+    private Double durationHours;
+
+    private List<String> criticalPath;      // topolojik sırada
+    private List<String> cyclicTaskIds;     // döngü içindeki task'lar, schedule'a dahil edilmez
+    private List<TaskScheduleDto> tasks;    // topolojik sırada
+}
@@ -0,0 +1,19 @@
+package com.strux.task_service.dto;
+
+import com.strux.task_service.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkItemResult {
+
+    private String taskId;
+    private Boolean success;
+    private TaskStatus status;  // işlem sonrası durum
+    private String error;       // başarısızsa sebebi
+}
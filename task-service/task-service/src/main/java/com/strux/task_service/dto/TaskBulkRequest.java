@@ -0,0 +1,39 @@
+package com.strux.task_service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Toplu task işlemi. Hangi alanların kullanıldığı endpoint'e göre değişir
+ * (assign: assignees, progress: progressPercentage, reject: rejectionReason).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkRequest {
+
+    @NotEmpty(message = "Task IDs are required")
+    @Size(max = 500, message = "At most 500 tasks can be processed at once")
+    private List<String> taskIds;
+
+    private List<String> assignees;
+
+    @Min(0)
+    @Max(100)
+    private Integer progressPercentage;
+
+    private Integer actualHours;
+
+    private String rejectionReason;
+
+    private Boolean hardDelete;
+}
@@ -0,0 +1,20 @@
+package com.strux.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkResponse {
+
+    private Integer requested;
+    private Integer succeeded;
+    private Integer failed;
+    private List<TaskBulkItemResult> results;  // istekteki sırayla, tekrar eden id'ler bir kez
+}
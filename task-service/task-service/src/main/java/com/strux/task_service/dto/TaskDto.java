@@ -78,5 +78,6 @@ public class TaskDto {
 
     private Boolean isRecurring;
     private String recurrencePattern;  // daily, weekly, monthly
+    private String recurrenceSourceId;
 
 }
@@ -0,0 +1,20 @@
+package com.strux.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskInboxChangesResponse {
+
+    private List<TaskInboxItemDto> changes;
+    private Long version;            // bir sonraki istekte since olarak gönderilir
+    private Boolean hasMore;
+    private Boolean resyncRequired;  // since çok eski, liste baştan yüklenmeli
+}
@@ -0,0 +1,31 @@
+package com.strux.task_service.dto;
+
+import com.strux.task_service.enums.InboxBucket;
+import com.strux.task_service.enums.TaskPriority;
+import com.strux.task_service.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskInboxItemDto {
+
+    private String taskId;
+    private String companyId;
+    private String projectId;
+    private String unitId;
+    private String title;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private InboxBucket bucket;
+    private LocalDateTime dueDate;
+    private Integer progressPercentage;
+    private Boolean removed;  // delta cevabında: istemci listeden çıkarmalı
+    private Long version;
+}
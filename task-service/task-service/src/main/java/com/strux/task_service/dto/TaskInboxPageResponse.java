@@ -0,0 +1,22 @@
+package com.strux.task_service.dto;
+
+import com.strux.task_service.enums.InboxBucket;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskInboxPageResponse {
+
+    private List<TaskInboxItemDto> items;
+    private InboxBucket bucket;
+    private Boolean hasNext;
+    private String nextCursor;  // sonraki sayfa için, son sayfada null
+    private Long version;       // delta senkronizasyonu için başlangıç noktası
+}
@@ -0,0 +1,20 @@
+package com.strux.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageResponse {
+
+    private List<TaskDto> content;
+    private Integer size;
+    private Boolean hasNext;
+    private String nextCursor;  // sonraki sayfa için, son sayfada null
+}
@@ -0,0 +1,28 @@
+package com.strux.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskScheduleDto {
+
+    private String taskId;
+
+    private LocalDateTime earliestStart;
+    private LocalDateTime earliestFinish;
+    private LocalDateTime latestStart;
+    private LocalDateTime latestFinish;
+    private Double slackHours;
+
+    private Boolean critical;
+    private Boolean blocked;
+    private List<String> blockedBy;  // tamamlanmamış bağımlılıklar
+}
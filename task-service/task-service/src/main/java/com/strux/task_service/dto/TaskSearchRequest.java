@@ -2,12 +2,14 @@ package com.strux.task_service.dto;
 
 import com.strux.task_service.enums.TaskCategory;
 import com.strux.task_service.enums.TaskPriority;
+import com.strux.task_service.enums.TaskSortField;
 import com.strux.task_service.enums.TaskStatus;
 import com.strux.task_service.enums.TaskType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 
@@ -38,4 +40,10 @@ public class TaskSearchRequest {
     private LocalDateTime dueDateBefore;
     private Integer minProgressPercentage;
     private Integer maxProgressPercentage;
+
+    // Sıralama ve keyset pagination
+    private TaskSortField sortBy;
+    private Sort.Direction direction;
+    private String cursor;  // önceki sayfanın nextCursor değeri
+    private Integer size;
 }
@@ -0,0 +1,42 @@
+package com.strux.task_service.dto;
+
+import com.strux.task_service.enums.TaskPriority;
+import com.strux.task_service.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTreeNodeDto {
+
+    private String taskId;
+    private String parentTaskId;
+    private String title;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private String assignedTo;
+    private LocalDateTime dueDate;
+    private Integer depth;
+
+    // Task'ın kendi değerleri
+    private Integer progressPercentage;
+    private Integer estimatedHours;
+    private Integer actualHours;
+
+    // Kendisi + tüm alt task'lar
+    private Integer rolledUpProgress;
+    private Integer totalEstimatedHours;
+    private Integer totalActualHours;
+    private Integer subtreeSize;
+    private Map<TaskStatus, Integer> statusCounts;
+
+    private List<TaskTreeNodeDto> children;
+}
@@ -0,0 +1,18 @@
+package com.strux.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTreeResponse {
+
+    private TaskTreeNodeDto root;
+    private Integer nodeCount;
+    private Integer maxDepth;
+    private Boolean truncated;  // derinlik veya düğüm limiti aşıldı, toplamlar eksik olabilir
+}
@@ -0,0 +1,21 @@
+package com.strux.task_service.enums;
+
+/**
+ * "Görevlerim" inbox'ında task'ların gruplandığı durum kümeleri
+ */
+public enum InboxBucket {
+    ACTIVE,   // TODO, IN_PROGRESS, ONHOLD
+    REVIEW,   // PENDING_APPROVAL
+    DONE;     // COMPLETED, CANCELLED
+
+    public static InboxBucket of(TaskStatus status) {
+        if (status == null) {
+            return ACTIVE;
+        }
+        return switch (status) {
+            case PENDING_APPROVAL -> REVIEW;
+            case COMPLETED, CANCELLED -> DONE;
+            default -> ACTIVE;
+        };
+    }
+}
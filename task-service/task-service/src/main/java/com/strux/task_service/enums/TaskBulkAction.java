@@ -0,0 +1,10 @@
+package com.strux.task_service.enums;
+
+public enum TaskBulkAction {
+    ASSIGN,
+    PROGRESS,
+    COMPLETE,
+    APPROVE,
+    REJECT,
+    DELETE
+}
@@ -0,0 +1,7 @@
+package com.strux.task_service.enums;
+
+public enum TaskDeadlineState {
+    PENDING,   // due date henüz geçmedi
+    OVERDUE,   // task.overdue gönderildi
+    BREACHED   // task.sla.breached gönderildi, takip bitti
+}
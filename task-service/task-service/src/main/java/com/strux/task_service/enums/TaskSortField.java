@@ -0,0 +1,29 @@
+package com.strux.task_service.enums;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task aramasında desteklenen sıralama alanları (keyset pagination için
+ * cursor değerinin nasıl parse edileceğini de bilir)
+ */
+public enum TaskSortField {
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    DUE_DATE("dueDate"),
+    START_DATE("startDate"),
+    TITLE("title");
+
+    private final String property;
+
+    TaskSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Comparable<?> parseValue(String value) {
+        return this == TITLE ? value : LocalDateTime.parse(value);
+    }
+}
@@ -0,0 +1,12 @@
+package com.strux.task_service.enums;
+
+/**
+ * Task sayaçlarının kırılımları. TOTAL tek bir satırdır (değer "*").
+ */
+public enum TaskStatDimension {
+    TOTAL,
+    STATUS,
+    PRIORITY,
+    TYPE,
+    CATEGORY
+}
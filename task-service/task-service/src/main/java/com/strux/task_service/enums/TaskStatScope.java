@@ -0,0 +1,6 @@
+package com.strux.task_service.enums;
+
+public enum TaskStatScope {
+    COMPANY,
+    PROJECT
+}
@@ -0,0 +1,17 @@
+package com.strux.task_service.event;
+
+/**
+ * Outbox'a yazılan event'ler bunu uygular.
+ *
+ * getEventType() sabit tip adını döner (ör. "task.created"); outbox'ta event_type
+ * olarak saklanır, payload'da ve x-event-type header'ında gider. Payload şeması
+ * geriye uyumsuz değişirse sınıfın schemaVersion()'ı artırılır.
+ */
+public interface OutboxPayload {
+
+    String getEventType();
+
+    default int schemaVersion() {
+        return 1;
+    }
+}
@@ -0,0 +1,32 @@
+package com.strux.task_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskApprovedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.approved";
+
+    private String taskId;
+    private String title;
+    private String companyId;
+    private String projectId;
+    private String approvedBy;
+    private String completedBy;
+    private List<String> assignees;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+}
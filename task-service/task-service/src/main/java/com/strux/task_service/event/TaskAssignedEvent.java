@@ -12,9 +12,21 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskAssignedEvent {
+public class TaskAssignedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.assigned";
+
     private String taskId;
-    private String assignedBy;
-    private List<String> assignees;
-    private LocalDateTime assignedAt;
+    private String title;
+    private String companyId;
+    private String projectId;
+    private List<String> previousAssignees;
+    private List<String> newAssignees;
+    private String createdBy;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -1,4 +1,5 @@
 package com.strux.task_service.event;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,13 +8,26 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.List;
 
-
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskCompletedEvent {
+public class TaskCompletedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.completed";
+
     private String taskId;
-    private String completedBy;
+    private String title;
+    private String companyId;
+    private String projectId;
     private LocalDateTime completedAt;
+    private String completedBy;
+    private String createdBy;
+    private List<String> assignees;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -1,5 +1,6 @@
 package com.strux.task_service.event;
 
+import com.strux.task_service.enums.TaskPriority;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,10 +12,22 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskCreatedEvent {
+public class TaskCreatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.created";
+
     private String taskId;
     private String title;
+    private String companyId;
     private String projectId;
     private String createdBy;
-    private LocalDateTime createdAt;
+    private String assignedTo;
+    private TaskPriority priority;
+    private LocalDateTime dueDate;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -1,19 +1,28 @@
 package com.strux.task_service.event;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.List;
-
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskDeletedEvent {
+public class TaskDeletedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.deleted";
+
     private String taskId;
-    private String deletedBy;
-    private LocalDateTime deletedAt;
+    private String companyId;
+    private String projectId;
+    private Boolean hardDelete;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
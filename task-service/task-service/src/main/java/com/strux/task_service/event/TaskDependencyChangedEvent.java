@@ -12,9 +12,17 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskDependencyChangedEvent {
+public class TaskDependencyChangedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.dependency.changed";
+
     private String taskId;
     private List<String> oldDependencies;
     private List<String> newDependencies;
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+}
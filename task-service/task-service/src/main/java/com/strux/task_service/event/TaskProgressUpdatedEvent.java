@@ -6,14 +6,29 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskProgressUpdatedEvent {
+public class TaskProgressUpdatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.progress.updated";
+
     private String taskId;
-    private Integer oldProgress;
-    private Integer newProgress;
-    private LocalDateTime updatedAt;
+    private String title;
+    private String companyId;
+    private String projectId;
+    private Integer progressPercentage;
+    private Integer actualHours;
+    private String createdBy;
+    private List<String> assignees;
+    private String updatedBy;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
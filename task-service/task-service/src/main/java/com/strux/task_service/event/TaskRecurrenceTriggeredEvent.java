@@ -12,9 +12,17 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskRecurrenceTriggeredEvent {
+public class TaskRecurrenceTriggeredEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.recurrence.triggered";
+
     private String originalTaskId;
     private String newTaskId;
     private String recurrencePattern;
     private LocalDateTime triggeredAt;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
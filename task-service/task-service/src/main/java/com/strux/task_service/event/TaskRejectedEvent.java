@@ -0,0 +1,32 @@
+package com.strux.task_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRejectedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.rejected";
+
+    private String taskId;
+    private String title;
+    private String companyId;
+    private String projectId;
+    private String rejectedBy;
+    private String rejectionReason;
+    private List<String> assignees;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+}
@@ -0,0 +1,37 @@
+package com.strux.task_service.event;
+
+import com.strux.task_service.enums.TaskPriority;
+import com.strux.task_service.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSlaBreachedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.sla.breached";
+
+    private String taskId;
+    private String title;
+    private String companyId;
+    private String projectId;
+    private LocalDateTime dueDate;
+    private Integer breachAfterHours;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private String createdBy;
+    private List<String> assignees;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+}
@@ -0,0 +1,35 @@
+package com.strux.task_service.event;
+
+import com.strux.task_service.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusChangedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.status.changed";
+
+    private String taskId;
+    private String title;
+    private String companyId;
+    private String projectId;
+    private TaskStatus oldStatus;
+    private TaskStatus newStatus;
+    private String createdBy;
+    private List<String> assignees;
+    private String updatedBy;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+}
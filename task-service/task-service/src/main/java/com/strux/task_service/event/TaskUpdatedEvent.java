@@ -7,16 +7,21 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
-
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskUpdatedEvent {
+public class TaskUpdatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "task.updated";
+
     private String taskId;
-    private String updatedBy;
-    private LocalDateTime updatedAt;
-    private String fieldChanged;
-    private Object oldValue;
-    private Object newValue;
+    private String companyId;
+    private String projectId;
+    private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -1,169 +1,236 @@
 package com.strux.task_service.kafka;
 
 import com.strux.task_service.enums.TaskStatus;
+import com.strux.task_service.event.*;
 import com.strux.task_service.model.Task;
+import com.strux.task_service.service.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+/**
+ * Task event'lerini outbox'a yazar; çağıran transaction commit olunca
+ * OutboxRelay Kafka'ya gönderir. Key task id olduğu için bir task'ın
+ * event'leri sırasıyla tüketilir.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TaskEventProducer {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
 
     public void publishTaskCreatedEvent(Task task) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "task.created");
-        event.put("taskId", task.getId());
-        event.put("title", task.getTitle());
-        event.put("companyId", task.getCompanyId());
-        event.put("projectId", task.getProjectId());
-        event.put("createdBy", task.getCreatedBy());
-        event.put("assignedTo", task.getAssignedTo());
-        event.put("priority", task.getPriority());
-        event.put("dueDate", task.getDueDate());
-        event.put("timestamp", LocalDateTime.now());
-
-        kafkaTemplate.send("task.created", event);
-        log.info("Task created event published: {}", task.getId());
+        TaskCreatedEvent event = TaskCreatedEvent.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .createdBy(task.getCreatedBy())
+                .assignedTo(task.getAssignedTo())
+                .priority(task.getPriority())
+                .dueDate(task.getDueDate())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.created", task.getId(), event);
+        log.info("Task created event queued: {}", task.getId());
     }
 
     public void publishTaskUpdatedEvent(Task task) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "task.updated");
-        event.put("taskId", task.getId());
-        event.put("companyId", task.getCompanyId());
-        event.put("projectId", task.getProjectId());
-        event.put("timestamp", LocalDateTime.now());
-
-        kafkaTemplate.send("task.updated", event);
-        log.info("Task updated event published: {}", task.getId());
+        TaskUpdatedEvent event = TaskUpdatedEvent.builder()
+                .taskId(task.getId())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.updated", task.getId(), event);
+        log.info("Task updated event queued: {}", task.getId());
     }
 
     public void publishTaskAssignedEvent(Task task, List<String> previousAssignees) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "task.assigned");
-        event.put("taskId", task.getId());
-        event.put("title", task.getTitle());
-        event.put("companyId", task.getCompanyId());
-        event.put("projectId", task.getProjectId());
-        event.put("previousAssignees", previousAssignees);
-        event.put("newAssignees", task.getAssignees());
-        event.put("createdBy", task.getCreatedBy());
-        event.put("timestamp", LocalDateTime.now());
-
-        kafkaTemplate.send("task.assigned", event);
-        log.info("Task assigned event published: {}", task.getId());
+        TaskAssignedEvent event = TaskAssignedEvent.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .previousAssignees(previousAssignees)
+                .newAssignees(task.getAssignees())
+                .createdBy(task.getCreatedBy())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.assigned", task.getId(), event);
+        log.info("Task assigned event queued: {}", task.getId());
     }
 
     // ✅ updatedBy parametresi eklendi
     public void publishTaskStatusChangedEvent(Task task, TaskStatus oldStatus, String updatedBy) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "task.status.changed");
-        event.put("taskId", task.getId());
-        event.put("title", task.getTitle());
-        event.put("companyId", task.getCompanyId());
-        event.put("projectId", task.getProjectId());
-        event.put("oldStatus", oldStatus);
-        event.put("newStatus", task.getStatus());
-        event.put("createdBy", task.getCreatedBy());
-        event.put("assignees", task.getAssignees());
-        event.put("updatedBy", updatedBy); // ✅ EKLENDI
-        event.put("timestamp", LocalDateTime.now());
-
-        kafkaTemplate.send("task.status.changed", event);
-        log.info("Task status changed event published: {} -> {}", oldStatus, task.getStatus());
+        TaskStatusChangedEvent event = TaskStatusChangedEvent.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .oldStatus(oldStatus)
+                .newStatus(task.getStatus())
+                .createdBy(task.getCreatedBy())
+                .assignees(task.getAssignees())
+                .updatedBy(updatedBy) // ✅ EKLENDI
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.status.changed", task.getId(), event);
+        log.info("Task status changed event queued: {} -> {}", oldStatus, task.getStatus());
     }
 
     // ✅ updatedBy parametresi eklendi
     public void publishTaskProgressUpdatedEvent(Task task, String updatedBy) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "task.progress.updated");
-        event.put("taskId", task.getId());
-        event.put("title", task.getTitle());
-        event.put("companyId", task.getCompanyId());
-        event.put("projectId", task.getProjectId());
-        event.put("progressPercentage", task.getProgressPercentage());
-        event.put("actualHours", task.getActualHours());
-        event.put("createdBy", task.getCreatedBy()); // ✅ EKLENDI
-        event.put("assignees", task.getAssignees()); // ✅ EKLENDI
-        event.put("updatedBy", updatedBy); // ✅ EKLENDI
-        event.put("timestamp", LocalDateTime.now());
-
-        kafkaTemplate.send("task.progress.updated", event);
-        log.info("Task progress updated event published: {}%", task.getProgressPercentage());
+        TaskProgressUpdatedEvent event = TaskProgressUpdatedEvent.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .progressPercentage(task.getProgressPercentage())
+                .actualHours(task.getActualHours())
+                .createdBy(task.getCreatedBy()) // ✅ EKLENDI
+                .assignees(task.getAssignees()) // ✅ EKLENDI
+                .updatedBy(updatedBy) // ✅ EKLENDI
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.progress.updated", task.getId(), event);
+        log.info("Task progress updated event queued: {}%", task.getProgressPercentage());
     }
 
     public void publishTaskCompletedEvent(Task task, String completedBy) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "task.completed");
-        event.put("taskId", task.getId());
-        event.put("title", task.getTitle());
-        event.put("companyId", task.getCompanyId());
-        event.put("projectId", task.getProjectId());
-        event.put("completedAt", task.getCompletedAt());
-        event.put("completedBy", completedBy);
-        event.put("createdBy", task.getCreatedBy());
-        event.put("assignees", task.getAssignees());
-        event.put("timestamp", LocalDateTime.now());
-
-        kafkaTemplate.send("task.completed", event);
-        log.info("Task completed event published: {}", task.getId());
+        TaskCompletedEvent event = TaskCompletedEvent.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .completedAt(task.getCompletedAt())
+                .completedBy(completedBy)
+                .createdBy(task.getCreatedBy())
+                .assignees(task.getAssignees())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.completed", task.getId(), event);
+        log.info("Task completed event queued: {}", task.getId());
     }
 
     // ✅ YENİ: Task Approved Event
     public void publishTaskApprovedEvent(Task task, String approvedBy) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "task.approved");
-        event.put("taskId", task.getId());
-        event.put("title", task.getTitle());
-        event.put("companyId", task.getCompanyId());
-        event.put("projectId", task.getProjectId());
-        event.put("approvedBy", approvedBy);
-        event.put("completedBy", task.getAssignees() != null && !task.getAssignees().isEmpty()
-                ? task.getAssignees().get(0) : null);
-        event.put("assignees", task.getAssignees());
-        event.put("timestamp", LocalDateTime.now());
-
-        kafkaTemplate.send("task.approved", event);
-        log.info("Task approved event published: {}", task.getId());
+        TaskApprovedEvent event = TaskApprovedEvent.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .approvedBy(approvedBy)
+                .completedBy(task.getAssignees() != null && !task.getAssignees().isEmpty()
+                        ? task.getAssignees().get(0) : null)
+                .assignees(task.getAssignees())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.approved", task.getId(), event);
+        log.info("Task approved event queued: {}", task.getId());
     }
 
     // ✅ YENİ: Task Rejected Event
     public void publishTaskRejectedEvent(Task task, String rejectedBy, String rejectionReason) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "task.rejected");
-        event.put("taskId", task.getId());
-        event.put("title", task.getTitle());
-        event.put("companyId", task.getCompanyId());
-        event.put("projectId", task.getProjectId());
-        event.put("rejectedBy", rejectedBy);
-        event.put("rejectionReason", rejectionReason);
-        event.put("assignees", task.getAssignees());
-        event.put("timestamp", LocalDateTime.now());
-
-        kafkaTemplate.send("task.rejected", event);
-        log.info("Task rejected event published: {}", task.getId());
+        TaskRejectedEvent event = TaskRejectedEvent.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .rejectedBy(rejectedBy)
+                .rejectionReason(rejectionReason)
+                .assignees(task.getAssignees())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.rejected", task.getId(), event);
+        log.info("Task rejected event queued: {}", task.getId());
     }
 
     public void publishTaskDeletedEvent(Task task, boolean hardDelete) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "task.deleted");
-        event.put("taskId", task.getId());
-        event.put("companyId", task.getCompanyId());
-        event.put("projectId", task.getProjectId());
-        event.put("hardDelete", hardDelete);
-        event.put("timestamp", LocalDateTime.now());
-
-        kafkaTemplate.send("task.deleted", event);
-        log.info("Task deleted event published: {}", task.getId());
+        TaskDeletedEvent event = TaskDeletedEvent.builder()
+                .taskId(task.getId())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .hardDelete(hardDelete)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.deleted", task.getId(), event);
+        log.info("Task deleted event queued: {}", task.getId());
     }
-}
\ No newline at end of file
+
+    public void publishTaskOverdueEvent(Task task) {
+        TaskOverdueEvent event = TaskOverdueEvent.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .dueDate(task.getDueDate())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .createdBy(task.getCreatedBy())
+                .assignees(task.getAssignees())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.overdue", task.getId(), event);
+        log.info("Task overdue event queued: {}", task.getId());
+    }
+
+    public void publishTaskSlaBreachedEvent(Task task, int breachAfterHours) {
+        TaskSlaBreachedEvent event = TaskSlaBreachedEvent.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .companyId(task.getCompanyId())
+                .projectId(task.getProjectId())
+                .dueDate(task.getDueDate())
+                .breachAfterHours(breachAfterHours)
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .createdBy(task.getCreatedBy())
+                .assignees(task.getAssignees())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.sla.breached", task.getId(), event);
+        log.info("Task SLA breached event queued: {}", task.getId());
+    }
+
+    public void publishTaskDependencyChangedEvent(Task task, List<String> oldDependencies) {
+        TaskDependencyChangedEvent event = TaskDependencyChangedEvent.builder()
+                .taskId(task.getId())
+                .oldDependencies(oldDependencies)
+                .newDependencies(task.getDependsOn())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        // Bağımlılık grafiği proje bazlı olduğu için key proje id
+        String key = task.getProjectId() != null ? task.getProjectId() : task.getId();
+        outboxService.enqueue("task.dependency.changed", key, event);
+        log.info("Task dependency changed event queued: {}", task.getId());
+    }
+
+    public void publishTaskRecurrenceTriggeredEvent(Task source, Task occurrence) {
+        TaskRecurrenceTriggeredEvent event = TaskRecurrenceTriggeredEvent.builder()
+                .originalTaskId(source.getId())
+                .newTaskId(occurrence.getId())
+                .recurrencePattern(source.getRecurrencePattern())
+                .triggeredAt(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue("task.recurrence.triggered", source.getId(), event);
+        log.info("Task recurrence triggered event queued: {} -> {}", source.getId(), occurrence.getId());
+    }
+}
@@ -0,0 +1,89 @@
+package com.strux.task_service.kafka;
+
+import com.strux.task_service.service.WorkerUnitService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * user-service worker atama event'lerini WorkerUnitService cache'ine işler.
+ * Payload'lar Map olarak okunur, user-service event class'larına bağımlılık yok.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerUnitEventListener {
+
+    private final WorkerUnitService workerUnitService;
+
+    @KafkaListener(topics = "worker.assigned.to.unit", properties = {
+            "spring.json.use.type.headers=false",
+            "spring.json.value.default.type=java.util.LinkedHashMap"
+    })
+    public void handleWorkerAssignedToUnit(@Payload Map<String, Object> event) {
+        String workerId = stringValue(event, "workerId");
+        String unitId = stringValue(event, "unitId");
+        if (workerId == null || unitId == null) {
+            log.warn("worker.assigned.to.unit without workerId/unitId: {}", event);
+            return;
+        }
+
+        workerUnitService.onAssigned(workerId, unitId, timestampOf(event));
+        log.debug("Worker {} assigned to unit {}", workerId, unitId);
+    }
+
+    @KafkaListener(topics = "worker.removed.from.unit", properties = {
+            "spring.json.use.type.headers=false",
+            "spring.json.value.default.type=java.util.LinkedHashMap"
+    })
+    public void handleWorkerRemovedFromUnit(@Payload Map<String, Object> event) {
+        String workerId = stringValue(event, "workerId");
+        String unitId = stringValue(event, "unitId");
+        if (workerId == null || unitId == null) {
+            log.warn("worker.removed.from.unit without workerId/unitId: {}", event);
+            return;
+        }
+
+        workerUnitService.onUnassigned(workerId, unitId);
+        log.debug("Worker {} removed from unit {}", workerId, unitId);
+    }
+
+    @KafkaListener(topics = "worker.removed", properties = {
+            "spring.json.use.type.headers=false",
+            "spring.json.value.default.type=java.util.LinkedHashMap"
+    })
+    public void handleWorkerRemoved(@Payload Map<String, Object> event) {
+        String userId = stringValue(event, "userId");
+        if (userId == null) {
+            log.warn("worker.removed without userId: {}", event);
+            return;
+        }
+
+        workerUnitService.onWorkerRemoved(userId);
+        log.debug("Worker {} removed from company, unit cache cleared", userId);
+    }
+
+    private static String stringValue(Map<String, Object> event, String key) {
+        Object value = event.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    private static LocalDateTime timestampOf(Map<String, Object> event) {
+        String timestamp = stringValue(event, "timestamp");
+        if (timestamp != null) {
+            try {
+                return OffsetDateTime.parse(timestamp).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            } catch (Exception e) {
+                log.debug("Unparseable worker event timestamp: {}", timestamp);
+            }
+        }
+        return LocalDateTime.now();
+    }
+}
@@ -14,7 +14,16 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "tasks")
+@Table(name = "tasks", uniqueConstraints = {
+        // Aynı tekrar iki kez oluşturulamaz
+        @UniqueConstraint(name = "uk_tasks_recurrence_occurrence", columnNames = {"recurrence_source_id", "occurrence_at"})
+}, indexes = {
+        @Index(name = "idx_tasks_company_status_due", columnList = "company_id, status, due_date"),
+        @Index(name = "idx_tasks_company_created", columnList = "company_id, created_at, id"),
+        @Index(name = "idx_tasks_project_status", columnList = "project_id, status"),
+        @Index(name = "idx_tasks_assigned_status", columnList = "assigned_to, status"),
+        @Index(name = "idx_tasks_parent", columnList = "parent_task_id")
+})
 public class Task {
 
     @Id
@@ -78,6 +87,13 @@ public class Task {
     private Boolean isRecurring;
     private Boolean isTemplate;
     private String recurrencePattern;  // daily, weekly, monthly
+
+    @Column(name = "recurrence_source_id")
+    private String recurrenceSourceId;  // tekrar eden task'tan oluşturulduysa kaynak task
+
+    @Column(name = "occurrence_at")
+    private LocalDateTime occurrenceAt;
+
     private LocalDateTime startDate;
     private LocalDateTime dueDate;
     private LocalDateTime completedAt;
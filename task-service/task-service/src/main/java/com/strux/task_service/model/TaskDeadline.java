@@ -0,0 +1,52 @@
+package com.strux.task_service.model;
+
+import com.strux.task_service.enums.TaskDeadlineState;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Açık ve due date'i olan bir task'ın süre takibi. next_fire_at index'i
+ * bir sonraki geçişin (overdue, SLA ihlali) zamanına göre sıralı kuyruktur;
+ * (company_id, due_at) index'i gecikmiş task listesini task tablosunu
+ * taramadan verir. Tamamlanan, iptal edilen veya silinen task'ın satırı silinir.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "task_deadlines", indexes = {
+        @Index(name = "idx_task_deadlines_fire", columnList = "next_fire_at"),
+        @Index(name = "idx_task_deadlines_company_due", columnList = "company_id, due_at")
+})
+public class TaskDeadline {
+
+    @Id
+    @Column(name = "task_id")
+    private String taskId;
+
+    @Column(name = "company_id")
+    private String companyId;
+
+    private String projectId;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TaskDeadlineState state;
+
+    @Column(name = "next_fire_at")
+    private LocalDateTime nextFireAt;  // BREACHED sonrası null
+
+    private LocalDateTime overdueAt;
+
+    private LocalDateTime breachedAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,75 @@
+package com.strux.task_service.model;
+
+import com.strux.task_service.enums.InboxBucket;
+import com.strux.task_service.enums.TaskPriority;
+import com.strux.task_service.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kullanıcı -> task inbox satırı. Task atandığında, ataması kaldırıldığında
+ * veya durumu değiştiğinde TaskInboxService tarafından güncellenir; mobil
+ * "görevlerim" listesi sadece bu tablodan okunur.
+ *
+ * Kaldırılan atamalar removed=true olarak kalır (delta sorgusu için) ve
+ * retention süresi sonunda temizlenir.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "task_inbox", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_task_inbox_user_task", columnNames = {"user_id", "task_id"})
+}, indexes = {
+        @Index(name = "idx_task_inbox_page", columnList = "user_id, bucket, removed, sort_due_at, task_id"),
+        @Index(name = "idx_task_inbox_version", columnList = "user_id, version"),
+        @Index(name = "idx_task_inbox_task", columnList = "task_id")
+})
+public class TaskInboxEntry {
+
+    // Due date'i olmayan task'lar listenin sonunda
+    public static final LocalDateTime NO_DUE_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "task_id", nullable = false)
+    private String taskId;
+
+    private String companyId;
+    private String projectId;
+    private String unitId;
+    private String title;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private TaskPriority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InboxBucket bucket;
+
+    private LocalDateTime dueDate;
+
+    @Column(name = "sort_due_at", nullable = false)
+    private LocalDateTime sortDueAt;  // coalesce(dueDate, NO_DUE_DATE), keyset için
+
+    private Integer progressPercentage;
+
+    @Column(nullable = false)
+    private Boolean removed;
+
+    @Column(nullable = false)
+    private Long version;  // kullanıcının inbox versiyonu (bkz. TaskInboxVersion)
+
+    private LocalDateTime updatedAt;
+}
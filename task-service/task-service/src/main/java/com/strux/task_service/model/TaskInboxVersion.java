@@ -0,0 +1,28 @@
+package com.strux.task_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Kullanıcı başına inbox versiyonu. Her değişiklikte satır kilitlenerek
+ * artırılır; böylece aynı kullanıcı için versiyonlar commit sırasıyla
+ * aynı sırada görünür ve ETag tek bir PK okumasıyla hesaplanır.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "task_inbox_versions")
+public class TaskInboxVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "purged_version", nullable = false)
+    private Long purgedVersion;  // bu versiyona kadar silinen kayıtlar temizlendi
+}
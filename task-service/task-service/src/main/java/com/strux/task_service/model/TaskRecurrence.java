@@ -0,0 +1,54 @@
+package com.strux.task_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tekrar eden bir task'ın zamanlama durumu. next_fire_at index'i
+ * instance'lar arasında paylaşılan öncelik kuyruğu olarak kullanılır.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "task_recurrences", indexes = {
+        @Index(name = "idx_task_recurrences_due", columnList = "active, next_fire_at")
+})
+public class TaskRecurrence {
+
+    @Id
+    @Column(name = "task_id")
+    private String taskId;  // kaynak (tekrar eden) task
+
+    private String companyId;
+
+    @Column(nullable = false, length = 200)
+    private String rule;  // normalize edilmiş RRULE
+
+    @Column(nullable = false)
+    private LocalDateTime anchorAt;  // ilk tekrarın zamanı (DTSTART)
+
+    @Column(name = "next_fire_at")
+    private LocalDateTime nextFireAt;
+
+    private LocalDateTime lastFiredAt;
+
+    private Integer occurrenceCount;  // oluşturulan kopya sayısı
+
+    private Boolean active;
+
+    private Integer failedAttempts;  // art arda başarısız deneme, başarıda sıfırlanır
+
+    @Column(name = "next_retry_at")
+    private LocalDateTime nextRetryAt;  // hata sonrası backoff, dolmadan kayıt alınmaz
+
+    @Column(length = 255)
+    private String lastError;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
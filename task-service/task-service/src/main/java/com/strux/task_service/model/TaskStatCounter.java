@@ -0,0 +1,50 @@
+package com.strux.task_service.model;
+
+import com.strux.task_service.enums.TaskStatDimension;
+import com.strux.task_service.enums.TaskStatScope;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Şirket / proje bazında silinmemiş task sayıları. Her task değişikliğinde
+ * TaskStatsService tarafından delta olarak güncellenir, dashboard'lar sadece
+ * bu tablodan okur. Gece çalışan reconciliation tabloyu tasks'tan yeniden hesaplar.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "task_stat_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_task_stat_counters_key",
+                columnNames = {"scope_type", "scope_id", "dimension", "dim_value"})
+})
+public class TaskStatCounter {
+
+    public static final String TOTAL_VALUE = "*";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope_type", nullable = false)
+    private TaskStatScope scopeType;
+
+    @Column(name = "scope_id", nullable = false)
+    private String scopeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatDimension dimension;
+
+    @Column(name = "dim_value", nullable = false)
+    private String dimValue;
+
+    @Column(name = "task_count", nullable = false)
+    private Long taskCount;
+
+    private LocalDateTime updatedAt;
+}
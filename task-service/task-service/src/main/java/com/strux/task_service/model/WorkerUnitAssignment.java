@@ -0,0 +1,34 @@
+package com.strux.task_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * user-service'teki worker → unit atamalarının yerel kopyası.
+ * worker.assigned.to.unit / worker.removed.from.unit event'leriyle güncellenir.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "worker_unit_assignments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_worker_unit_assignment", columnNames = {"worker_id", "unit_id"})
+})
+public class WorkerUnitAssignment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "worker_id", nullable = false)
+    private String workerId;
+
+    @Column(name = "unit_id", nullable = false)
+    private String unitId;
+
+    @Column(name = "assigned_at")
+    private LocalDateTime assignedAt;  // toplu sorgudan gelenlerde bilinmiyor (null)
+}
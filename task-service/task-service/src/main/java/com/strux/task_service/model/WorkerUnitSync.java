@@ -0,0 +1,34 @@
+package com.strux.task_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Atamaları user-service'ten tam olarak alınmış worker'lar. Kaydı olmayan
+ * (veya süresi geçmiş) worker için cache eksik sayılır ve toplu sorgu yapılır.
+ *
+ * changed_at son işlenen event'in zamanıdır; bundan önce başlamış toplu sorgu
+ * sonucu o worker'a yazılmaz (event daha yeni).
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "worker_unit_syncs")
+public class WorkerUnitSync {
+
+    @Id
+    @Column(name = "worker_id")
+    private String workerId;
+
+    public static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Column(name = "synced_at", nullable = false)
+    private LocalDateTime syncedAt;  // hiç tam alınmadıysa NEVER
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,54 @@
+package com.strux.task_service.repository;
+
+import com.strux.task_service.model.TaskDeadline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskDeadlineRepository extends JpaRepository<TaskDeadline, String> {
+
+    /**
+     * Zamanı gelen geçişleri kilitler. SKIP LOCKED sayesinde birden fazla
+     * instance aynı geçişi iki kez işlemez.
+     */
+    @Query(value = "SELECT * FROM task_deadlines WHERE next_fire_at <= :now " +
+            "ORDER BY next_fire_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TaskDeadline> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("SELECT MIN(d.nextFireAt) FROM TaskDeadline d")
+    LocalDateTime findEarliestNextFireAt();
+
+    // Gecikmiş task'lar (company_id, due_at) index aralığından, en eski önce
+    @Query("SELECT d.taskId FROM TaskDeadline d WHERE d.companyId = :companyId AND d.dueAt < :now ORDER BY d.dueAt, d.taskId")
+    List<String> findOverdueTaskIds(@Param("companyId") String companyId, @Param("now") LocalDateTime now);
+
+    long countByCompanyIdAndDueAtBefore(String companyId, LocalDateTime now);
+
+    /**
+     * Mevcut açık task'lar için takip satırlarını set-based olarak açar. Due date'i
+     * zaten geçmiş task'lar için event gönderilmez (ilk açılışta bildirim yağmuru
+     * olmasın), durumları doğrudan OVERDUE / BREACHED yazılır.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_deadlines (task_id, company_id, project_id, due_at, state, next_fire_at, " +
+            "overdue_at, breached_at, updated_at) " +
+            "SELECT t.id, t.company_id, t.project_id, t.due_date, " +
+            "CASE WHEN t.due_date > :now THEN 'PENDING' WHEN t.due_date > :breachCutoff THEN 'OVERDUE' ELSE 'BREACHED' END, " +
+            "CASE WHEN t.due_date > :now THEN t.due_date " +
+            "     WHEN t.due_date > :breachCutoff THEN t.due_date + make_interval(hours => :breachAfterHours) END, " +
+            "CASE WHEN t.due_date <= :now THEN CAST(:now AS timestamp) END, " +
+            "CASE WHEN t.due_date <= :breachCutoff THEN CAST(:now AS timestamp) END, " +
+            "now() " +
+            "FROM tasks t " +
+            "WHERE t.deleted_at IS NULL AND t.due_date IS NOT NULL AND t.status NOT IN ('COMPLETED', 'CANCELLED') " +
+            "ON CONFLICT (task_id) DO NOTHING", nativeQuery = true)
+    int backfillFromTasks(@Param("now") LocalDateTime now,
+                          @Param("breachCutoff") LocalDateTime breachCutoff,
+                          @Param("breachAfterHours") int breachAfterHours);
+}
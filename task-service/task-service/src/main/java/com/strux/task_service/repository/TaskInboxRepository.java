@@ -0,0 +1,70 @@
+package com.strux.task_service.repository;
+
+import com.strux.task_service.model.TaskInboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskInboxRepository extends JpaRepository<TaskInboxEntry, Long> {
+
+    List<TaskInboxEntry> findByTaskIdIn(Collection<String> taskIds);
+
+    // Keyset pagination: (sort_due_at, task_id) sırasında
+    @Query(value = "SELECT * FROM task_inbox WHERE user_id = :userId AND bucket = :bucket AND removed = false " +
+            "ORDER BY sort_due_at, task_id LIMIT :limit", nativeQuery = true)
+    List<TaskInboxEntry> findFirstPage(@Param("userId") String userId,
+                                       @Param("bucket") String bucket,
+                                       @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM task_inbox WHERE user_id = :userId AND bucket = :bucket AND removed = false " +
+            "AND (sort_due_at, task_id) > (:afterDue, :afterTaskId) " +
+            "ORDER BY sort_due_at, task_id LIMIT :limit", nativeQuery = true)
+    List<TaskInboxEntry> findPageAfter(@Param("userId") String userId,
+                                       @Param("bucket") String bucket,
+                                       @Param("afterDue") LocalDateTime afterDue,
+                                       @Param("afterTaskId") String afterTaskId,
+                                       @Param("limit") int limit);
+
+    // Delta: verilen versiyondan sonraki tüm değişiklikler (silinenler dahil)
+    @Query(value = "SELECT * FROM task_inbox WHERE user_id = :userId AND version > :since " +
+            "ORDER BY version LIMIT :limit", nativeQuery = true)
+    List<TaskInboxEntry> findChangesSince(@Param("userId") String userId,
+                                          @Param("since") long since,
+                                          @Param("limit") int limit);
+
+    List<TaskInboxEntry> findByUserIdAndVersion(String userId, Long version);
+
+    @Query(value = "SELECT user_id, MAX(version) FROM task_inbox WHERE removed = true AND updated_at < :cutoff " +
+            "GROUP BY user_id", nativeQuery = true)
+    List<Object[]> findPurgeableVersions(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_inbox WHERE removed = true AND updated_at < :cutoff", nativeQuery = true)
+    int deleteRemovedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Mevcut task'lardan inbox'ı set-based olarak doldurur (assignedTo + task_assignees).
+     * Var olan satırlara dokunmaz.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_inbox (user_id, task_id, company_id, project_id, unit_id, title, status, priority, " +
+            "bucket, due_date, sort_due_at, progress_percentage, removed, version, updated_at) " +
+            "SELECT r.user_id, t.id, t.company_id, t.project_id, t.unit_id, t.title, t.status, t.priority, " +
+            "CASE WHEN t.status = 'PENDING_APPROVAL' THEN 'REVIEW' " +
+            "     WHEN t.status IN ('COMPLETED', 'CANCELLED') THEN 'DONE' ELSE 'ACTIVE' END, " +
+            "t.due_date, COALESCE(t.due_date, TIMESTAMP '9999-12-31 00:00:00'), t.progress_percentage, false, 0, now() " +
+            "FROM tasks t JOIN (" +
+            "  SELECT id AS task_id, assigned_to AS user_id FROM tasks WHERE assigned_to IS NOT NULL " +
+            "  UNION SELECT task_id, user_id FROM task_assignees WHERE user_id IS NOT NULL" +
+            ") r ON r.task_id = t.id " +
+            "WHERE t.deleted_at IS NULL " +
+            "ON CONFLICT (user_id, task_id) DO NOTHING", nativeQuery = true)
+    int backfillFromTasks();
+}
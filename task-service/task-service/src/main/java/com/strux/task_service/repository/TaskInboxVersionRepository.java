@@ -0,0 +1,26 @@
+package com.strux.task_service.repository;
+
+import com.strux.task_service.model.TaskInboxVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskInboxVersionRepository extends JpaRepository<TaskInboxVersion, String> {
+
+    /**
+     * Kullanıcının versiyonunu artırır ve yeni değeri döner. Satır kilidi
+     * transaction sonuna kadar tutulur, aynı kullanıcıya yazan işlemler sıralanır.
+     */
+    @Query(value = "INSERT INTO task_inbox_versions (user_id, version, purged_version) VALUES (:userId, 1, 0) " +
+            "ON CONFLICT (user_id) DO UPDATE SET version = task_inbox_versions.version + 1 " +
+            "RETURNING version", nativeQuery = true)
+    long bumpVersion(@Param("userId") String userId);
+
+    @Modifying
+    @Query(value = "UPDATE task_inbox_versions SET purged_version = GREATEST(purged_version, :version) " +
+            "WHERE user_id = :userId", nativeQuery = true)
+    int markPurged(@Param("userId") String userId, @Param("version") long version);
+}
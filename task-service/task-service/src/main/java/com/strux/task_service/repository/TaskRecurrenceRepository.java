@@ -0,0 +1,29 @@
+package com.strux.task_service.repository;
+
+import com.strux.task_service.model.TaskRecurrence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskRecurrenceRepository extends JpaRepository<TaskRecurrence, String> {
+
+    /**
+     * Zamanı gelen kayıtları kilitler. SKIP LOCKED sayesinde birden fazla
+     * instance aynı kaydı almadan işi paylaşır. Backoff'taki kayıtlar
+     * next_retry_at dolana kadar alınmaz.
+     */
+    @Query(value = "SELECT * FROM task_recurrences WHERE active = true AND next_fire_at <= :horizon " +
+            "AND (next_retry_at IS NULL OR next_retry_at <= :now) " +
+            "ORDER BY next_fire_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TaskRecurrence> lockDue(@Param("horizon") LocalDateTime horizon, @Param("now") LocalDateTime now,
+                                 @Param("limit") int limit);
+
+    @Query("SELECT MIN(CASE WHEN r.nextRetryAt IS NOT NULL AND r.nextRetryAt > r.nextFireAt " +
+            "THEN r.nextRetryAt ELSE r.nextFireAt END) FROM TaskRecurrence r WHERE r.active = true")
+    LocalDateTime findEarliestNextFireAt();
+}
@@ -3,15 +3,18 @@ package com.strux.task_service.repository;
 import com.strux.task_service.enums.*;
 import com.strux.task_service.model.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, String> {
+public interface TaskRepository extends JpaRepository<Task, String>, JpaSpecificationExecutor<Task> {
 
     // ✅ Unit queries
     List<Task> findByUnitIdAndDeletedAtIsNull(String unitId);
@@ -44,6 +47,24 @@ public interface TaskRepository extends JpaRepository<Task, String> {
     // Hierarchy queries
     List<Task> findByParentTaskIdAndDeletedAtIsNull(String parentTaskId);
 
+    /**
+     * Kök dahil tüm alt ağaç tek recursive sorguda. path döngülü parent
+     * zincirlerine karşı koruma, maxDepth ve limit ise aşırı büyük ağaçlar için.
+     */
+    @Query(value = "WITH RECURSIVE tree(id, depth, path) AS (" +
+            "SELECT t.id, 0, ARRAY[t.id]::varchar[] FROM tasks t WHERE t.id = :rootId AND t.deleted_at IS NULL " +
+            "UNION ALL " +
+            "SELECT c.id, tree.depth + 1, tree.path || c.id FROM tasks c JOIN tree ON c.parent_task_id = tree.id " +
+            "WHERE c.deleted_at IS NULL AND tree.depth < :maxDepth AND NOT c.id = ANY(tree.path)) " +
+            "SELECT t.* FROM tasks t JOIN (SELECT id, depth FROM tree LIMIT :limit) s ON s.id = t.id " +
+            "ORDER BY s.depth, t.created_at, t.id",
+            nativeQuery = true)
+    List<Task> findSubtree(@Param("rootId") String rootId,
+                           @Param("maxDepth") int maxDepth,
+                           @Param("limit") int limit);
+
+    boolean existsByParentTaskIdInAndDeletedAtIsNull(Collection<String> parentTaskIds);
+
     // Asset/Equipment/Location queries
     List<Task> findByAssetIdAndDeletedAtIsNull(String assetId);
 
@@ -60,15 +81,7 @@ public interface TaskRepository extends JpaRepository<Task, String> {
 
     List<Task> findByIsTemplateAndDeletedAtIsNull(Boolean isTemplate);
 
-    // Overdue queries
-    @Query("SELECT t FROM Task t WHERE t.dueDate < :now AND t.status NOT IN ('COMPLETED', 'CANCELLED') AND t.deletedAt IS NULL")
-    List<Task> findOverdueTasks(@Param("now") LocalDateTime now);
-
-    List<Task> findByCompanyIdAndDueDateBeforeAndStatusNotInAndDeletedAtIsNull(
-            String companyId,
-            LocalDateTime dueDate,
-            List<TaskStatus> statuses
-    );
+    // Overdue sorguları task_deadlines'tan okunur, bkz. TaskDeadlineService
 
     // Search queries
     @Query("SELECT t FROM Task t WHERE (LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND t.deletedAt IS NULL")
@@ -84,19 +97,7 @@ public interface TaskRepository extends JpaRepository<Task, String> {
 
     Long countByParentTaskIdAndStatusAndDeletedAtIsNull(String parentTaskId, TaskStatus status);
 
-    // Stats queries
-    @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.companyId = :companyId AND t.deletedAt IS NULL GROUP BY t.status")
-    List<Object[]> countByStatusGrouped(@Param("companyId") String companyId);
-
-    @Query("SELECT t.priority, COUNT(t) FROM Task t WHERE t.companyId = :companyId AND t.deletedAt IS NULL GROUP BY t.priority")
-    List<Object[]> countByPriorityGrouped(@Param("companyId") String companyId);
-
-    @Query("SELECT t.type, COUNT(t) FROM Task t WHERE t.companyId = :companyId AND t.deletedAt IS NULL GROUP BY t.type")
-    List<Object[]> countByTypeGrouped(@Param("companyId") String companyId);
-
-    @Query("SELECT t.category, COUNT(t) FROM Task t WHERE t.companyId = :companyId AND t.deletedAt IS NULL GROUP BY t.category")
-    List<Object[]> countByCategoryGrouped(@Param("companyId") String companyId);
-
+    // Stats queries (dağılımlar task_stat_counters'tan okunur, bkz. TaskStatsService)
     @Query("SELECT (COUNT(CASE WHEN t.status = 'COMPLETED' THEN 1 END) * 100.0 / COUNT(t)) FROM Task t WHERE t.companyId = :companyId AND t.deletedAt IS NULL")
     Double getCompletionRate(@Param("companyId") String companyId);
 
@@ -109,4 +110,21 @@ public interface TaskRepository extends JpaRepository<Task, String> {
     Long countByProjectIdAndStatusAndDeletedAtIsNull(String projectId, TaskStatus status);
     Long countByProjectIdAndDeletedAtIsNull(String projectId);
 
-}
\ No newline at end of file
+    // Dependency graph queries (sadece schedule için gereken kolonlar)
+    @Query("SELECT t.id, t.status, t.startDate, t.dueDate, t.estimatedHours, t.companyId FROM Task t WHERE t.projectId = :projectId AND t.deletedAt IS NULL")
+    List<Object[]> findScheduleRowsByProjectId(@Param("projectId") String projectId);
+
+    @Query("SELECT t.id, d FROM Task t JOIN t.dependsOn d WHERE t.projectId = :projectId AND t.deletedAt IS NULL")
+    List<Object[]> findDependencyEdgesByProjectId(@Param("projectId") String projectId);
+
+    // Toplu soft delete: tek UPDATE ... WHERE id IN (...)
+    @Modifying
+    @Query("UPDATE Task t SET t.deletedAt = :now, t.updatedAt = :now WHERE t.id IN :ids AND t.deletedAt IS NULL")
+    int softDeleteAllById(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    // Recurrence kaydı olmayan tekrar eden task'lar (ilk açılışta backfill için)
+    @Query("SELECT t FROM Task t WHERE t.isRecurring = true AND t.deletedAt IS NULL " +
+            "AND NOT EXISTS (SELECT r FROM TaskRecurrence r WHERE r.taskId = t.id)")
+    List<Task> findRecurringWithoutSchedule();
+
+}
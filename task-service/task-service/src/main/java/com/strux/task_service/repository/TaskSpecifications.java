@@ -0,0 +1,124 @@
+package com.strux.task_service.repository;
+
+import com.strux.task_service.dto.TaskSearchRequest;
+import com.strux.task_service.model.Task;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * TaskSearchRequest alanlarını SQL predicate'lerine çevirir.
+ *
+ * Keyword araması lower(title) / lower(description) üzerinde LIKE kullanır;
+ * bu ifadeler TaskSearchIndexInitializer'daki trigram index'leri ile eşleşir.
+ */
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskSearchRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isNull(root.get("deletedAt")));
+
+            if (request.getKeyword() != null && !request.getKeyword().isBlank()) {
+                String pattern = "%" + escapeLike(request.getKeyword().trim().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("title")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE)
+                ));
+            }
+
+            equal(predicates, cb, root, "companyId", request.getCompanyId());
+            equal(predicates, cb, root, "projectId", request.getProjectId());
+            equal(predicates, cb, root, "createdBy", request.getCreatedBy());
+            equal(predicates, cb, root, "assignedTo", request.getAssignedTo());
+            equal(predicates, cb, root, "status", request.getStatus());
+            equal(predicates, cb, root, "priority", request.getPriority());
+            equal(predicates, cb, root, "type", request.getType());
+            equal(predicates, cb, root, "category", request.getCategory());
+            equal(predicates, cb, root, "parentTaskId", request.getParentTaskId());
+            equal(predicates, cb, root, "assetId", request.getAssetId());
+            equal(predicates, cb, root, "equipmentId", request.getEquipmentId());
+            equal(predicates, cb, root, "locationId", request.getLocationId());
+            equal(predicates, cb, root, "isRecurring", request.getIsRecurring());
+            equal(predicates, cb, root, "isTemplate", request.getIsTemplate());
+
+            if (request.getCreatedAfter() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), request.getCreatedAfter()));
+            }
+            if (request.getCreatedBefore() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), request.getCreatedBefore()));
+            }
+            if (request.getDueDateAfter() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), request.getDueDateAfter()));
+            }
+            if (request.getDueDateBefore() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), request.getDueDateBefore()));
+            }
+            if (request.getMinProgressPercentage() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("progressPercentage"), request.getMinProgressPercentage()));
+            }
+            if (request.getMaxProgressPercentage() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("progressPercentage"), request.getMaxProgressPercentage()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Keyset pagination: (property, id) sıralamasında son görülen kaydın
+     * sonrasını döner. NULL değerler PostgreSQL varsayılanına göre ASC'de
+     * sonda, DESC'te başta yer alır.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Task> after(String property, boolean ascending, Comparable lastValue, String lastId) {
+        return (root, query, cb) -> {
+            Path<Comparable> path = root.get(property);
+            Path<String> id = root.get("id");
+
+            if (ascending) {
+                if (lastValue == null) {
+                    return cb.and(cb.isNull(path), cb.greaterThan(id, lastId));
+                }
+                return cb.or(
+                        cb.greaterThan(path, lastValue),
+                        cb.and(cb.equal(path, lastValue), cb.greaterThan(id, lastId)),
+                        cb.isNull(path)
+                );
+            }
+
+            if (lastValue == null) {
+                return cb.or(
+                        cb.and(cb.isNull(path), cb.lessThan(id, lastId)),
+                        cb.isNotNull(path)
+                );
+            }
+            return cb.or(
+                    cb.lessThan(path, lastValue),
+                    cb.and(cb.equal(path, lastValue), cb.lessThan(id, lastId))
+            );
+        };
+    }
+
+    private static void equal(List<Predicate> predicates, CriteriaBuilder cb, Root<Task> root,
+                              String property, Object value) {
+        if (value != null) {
+            predicates.add(cb.equal(root.get(property), value));
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,79 @@
+package com.strux.task_service.repository;
+
+import com.strux.task_service.enums.TaskStatScope;
+import com.strux.task_service.model.TaskStatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskStatCounterRepository extends JpaRepository<TaskStatCounter, Long> {
+
+    // Unique index (scope_type, scope_id, ...) üzerinden tek aralık okuması
+    List<TaskStatCounter> findByScopeTypeAndScopeId(TaskStatScope scopeType, String scopeId);
+
+    @Modifying
+    @Query(value = "INSERT INTO task_stat_counters (scope_type, scope_id, dimension, dim_value, task_count, updated_at) " +
+            "VALUES (:scopeType, :scopeId, :dimension, :dimValue, :delta, now()) " +
+            "ON CONFLICT (scope_type, scope_id, dimension, dim_value) " +
+            "DO UPDATE SET task_count = task_stat_counters.task_count + EXCLUDED.task_count, updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int increment(@Param("scopeType") String scopeType,
+                  @Param("scopeId") String scopeId,
+                  @Param("dimension") String dimension,
+                  @Param("dimValue") String dimValue,
+                  @Param("delta") long delta);
+
+    /**
+     * Reconciliation sırasında sayaç yazan transaction'ları bekletir;
+     * böylece yeniden hesaplanan değerler ile delta'lar karışmaz.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE task_stat_counters IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForReconcile();
+
+    /**
+     * tasks tablosunu tek geçişte tarayıp tüm sayaçları yeniden hesaplar.
+     * Her task LATERAL VALUES ile (kapsam, kırılım) satırlarına açılır ve tek
+     * GROUP BY ile sayılır. Farklı olan sayaçlar düzeltilir, artık olmayanlar
+     * silinir (sıfıra inmiş sayaçlar dahil).
+     *
+     * @return kayma tespit edilen sayaç sayısı
+     */
+    @Query(value = "WITH fresh AS (" +
+            "  SELECT v.scope_type, v.scope_id, v.dimension, v.dim_value, COUNT(*) AS task_count " +
+            "  FROM tasks t CROSS JOIN LATERAL (VALUES " +
+            "    ('COMPANY', t.company_id, 'TOTAL', '*'), " +
+            "    ('COMPANY', t.company_id, 'STATUS', t.status), " +
+            "    ('COMPANY', t.company_id, 'PRIORITY', t.priority), " +
+            "    ('COMPANY', t.company_id, 'TYPE', t.type), " +
+            "    ('COMPANY', t.company_id, 'CATEGORY', t.category), " +
+            "    ('PROJECT', t.project_id, 'TOTAL', '*'), " +
+            "    ('PROJECT', t.project_id, 'STATUS', t.status), " +
+            "    ('PROJECT', t.project_id, 'PRIORITY', t.priority), " +
+            "    ('PROJECT', t.project_id, 'TYPE', t.type), " +
+            "    ('PROJECT', t.project_id, 'CATEGORY', t.category)" +
+            "  ) AS v(scope_type, scope_id, dimension, dim_value) " +
+            "  WHERE t.deleted_at IS NULL AND v.scope_id IS NOT NULL AND v.dim_value IS NOT NULL " +
+            "  GROUP BY v.scope_type, v.scope_id, v.dimension, v.dim_value" +
+            "), upserted AS (" +
+            "  INSERT INTO task_stat_counters (scope_type, scope_id, dimension, dim_value, task_count, updated_at) " +
+            "  SELECT scope_type, scope_id, dimension, dim_value, task_count, now() FROM fresh " +
+            "  ON CONFLICT (scope_type, scope_id, dimension, dim_value) " +
+            "  DO UPDATE SET task_count = EXCLUDED.task_count, updated_at = EXCLUDED.updated_at " +
+            "  WHERE task_stat_counters.task_count <> EXCLUDED.task_count " +
+            "  RETURNING 1" +
+            "), removed AS (" +
+            "  DELETE FROM task_stat_counters c WHERE NOT EXISTS (" +
+            "    SELECT 1 FROM fresh f WHERE f.scope_type = c.scope_type AND f.scope_id = c.scope_id " +
+            "    AND f.dimension = c.dimension AND f.dim_value = c.dim_value) " +
+            "  RETURNING c.task_count" +
+            ") " +
+            "SELECT (SELECT COUNT(*) FROM upserted) + (SELECT COUNT(*) FROM removed WHERE task_count <> 0)",
+            nativeQuery = true)
+    long reconcileAll();
+}
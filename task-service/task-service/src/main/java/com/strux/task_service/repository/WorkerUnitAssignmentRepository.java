@@ -0,0 +1,58 @@
+package com.strux.task_service.repository;
+
+import com.strux.task_service.model.WorkerUnitAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkerUnitAssignmentRepository extends JpaRepository<WorkerUnitAssignment, String> {
+
+    List<WorkerUnitAssignment> findByWorkerIdIn(Collection<String> workerIds);
+
+    /**
+     * Event'ten gelen atama; aynı atama tekrar gelirse sadece zamanı güncellenir
+     */
+    @Modifying
+    @Query(value = "INSERT INTO worker_unit_assignments (id, worker_id, unit_id, assigned_at) " +
+            "VALUES (:id, :workerId, :unitId, :assignedAt) " +
+            "ON CONFLICT (worker_id, unit_id) DO UPDATE SET assigned_at = EXCLUDED.assigned_at",
+            nativeQuery = true)
+    int upsert(@Param("id") String id,
+               @Param("workerId") String workerId,
+               @Param("unitId") String unitId,
+               @Param("assignedAt") LocalDateTime assignedAt);
+
+    /**
+     * Toplu sorgudan gelen atama; event ile gelmiş kayıt varsa ona dokunulmaz
+     */
+    @Modifying
+    @Query(value = "INSERT INTO worker_unit_assignments (id, worker_id, unit_id, assigned_at) " +
+            "VALUES (:id, :workerId, :unitId, NULL) " +
+            "ON CONFLICT (worker_id, unit_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id, @Param("workerId") String workerId, @Param("unitId") String unitId);
+
+    @Modifying
+    @Query("DELETE FROM WorkerUnitAssignment a WHERE a.workerId = :workerId AND a.unitId = :unitId")
+    int deleteAssignment(@Param("workerId") String workerId, @Param("unitId") String unitId);
+
+    /**
+     * Toplu sorgu sonucu yazılmadan önce: sorgu başladıktan sonra event ile
+     * gelen atamalar korunur, diğerleri yeni listeyle değiştirilir
+     */
+    @Modifying
+    @Query("DELETE FROM WorkerUnitAssignment a WHERE a.workerId IN :workerIds " +
+            "AND (a.assignedAt IS NULL OR a.assignedAt < :before)")
+    int deleteStale(@Param("workerIds") Collection<String> workerIds, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM WorkerUnitAssignment a WHERE a.workerId = :workerId")
+    int deleteByWorker(@Param("workerId") String workerId);
+}
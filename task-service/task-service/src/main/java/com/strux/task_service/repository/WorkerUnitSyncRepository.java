@@ -0,0 +1,52 @@
+package com.strux.task_service.repository;
+
+import com.strux.task_service.model.WorkerUnitSync;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkerUnitSyncRepository extends JpaRepository<WorkerUnitSync, String> {
+
+    /**
+     * Event işlendi. Satır kilitlendiği için event, sürmekte olan toplu sorgu
+     * yazımı bitene kadar bekler; atama tablosundan önce çağrılmalı.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO worker_unit_syncs (worker_id, synced_at, changed_at) " +
+            "VALUES (:workerId, :never, :changedAt) " +
+            "ON CONFLICT (worker_id) DO UPDATE SET changed_at = EXCLUDED.changed_at",
+            nativeQuery = true)
+    int markChanged(@Param("workerId") String workerId,
+                    @Param("changedAt") LocalDateTime changedAt,
+                    @Param("never") LocalDateTime never);
+
+    /**
+     * markChanged gibi, ayrıca cache eksik sayılır ve sonraki lookup tekrar sorgular
+     */
+    @Modifying
+    @Query(value = "INSERT INTO worker_unit_syncs (worker_id, synced_at, changed_at) " +
+            "VALUES (:workerId, :never, :changedAt) " +
+            "ON CONFLICT (worker_id) DO UPDATE SET changed_at = EXCLUDED.changed_at, synced_at = EXCLUDED.synced_at",
+            nativeQuery = true)
+    int invalidate(@Param("workerId") String workerId,
+                   @Param("changedAt") LocalDateTime changedAt,
+                   @Param("never") LocalDateTime never);
+
+    @Modifying
+    @Query(value = "INSERT INTO worker_unit_syncs (worker_id, synced_at) VALUES (:workerId, :never) " +
+            "ON CONFLICT (worker_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("workerId") String workerId, @Param("never") LocalDateTime never);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM WorkerUnitSync s WHERE s.workerId IN :workerIds")
+    List<WorkerUnitSync> lockAll(@Param("workerIds") Collection<String> workerIds);
+}
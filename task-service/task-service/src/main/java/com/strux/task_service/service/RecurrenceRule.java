@@ -0,0 +1,309 @@
+package com.strux.task_service.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * recurrencePattern alanının parse edilmiş hali (RRULE alt kümesi).
+ *
+ * Desteklenenler: "daily", "weekly", "biweekly", "monthly", "yearly",
+ * "every 3 days" gibi serbest metin ve FREQ/INTERVAL/BYDAY/BYMONTHDAY/COUNT/UNTIL
+ * içeren RRULE string'leri. toString() normalize edilmiş RRULE döner.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    private static final int MAX_INTERVAL = 366;
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    private static final Pattern EVERY_N = Pattern.compile("EVERY\\s+(\\d+)\\s+(DAY|WEEK|MONTH|YEAR)S?");
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final Frequency frequency;
+    private final int interval;
+    private final int byDayMask;     // bit 0 = Pazartesi
+    private final int byMonthDay;    // 0 = anchor günü
+    private final Integer count;     // ilk task dahil toplam tekrar sayısı
+    private final LocalDateTime until;
+
+    private RecurrenceRule(Frequency frequency, int interval, int byDayMask, int byMonthDay,
+                           Integer count, LocalDateTime until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDayMask = byDayMask;
+        this.byMonthDay = byMonthDay;
+        this.count = count;
+        this.until = until;
+    }
+
+    public static RecurrenceRule parse(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Recurrence pattern is required for recurring tasks");
+        }
+
+        String value = pattern.trim().toUpperCase(Locale.ROOT);
+        if (value.startsWith("RRULE:")) {
+            value = value.substring(6);
+        }
+
+        if (value.contains("FREQ=")) {
+            return parseRrule(value, pattern);
+        }
+
+        switch (value) {
+            case "DAILY", "EVERY DAY", "GÜNLÜK" -> {
+                return of(Frequency.DAILY, 1);
+            }
+            case "WEEKLY", "EVERY WEEK", "HAFTALIK" -> {
+                return of(Frequency.WEEKLY, 1);
+            }
+            case "BIWEEKLY" -> {
+                return of(Frequency.WEEKLY, 2);
+            }
+            case "MONTHLY", "EVERY MONTH", "AYLIK" -> {
+                return of(Frequency.MONTHLY, 1);
+            }
+            case "YEARLY", "ANNUALLY", "EVERY YEAR", "YILLIK" -> {
+                return of(Frequency.YEARLY, 1);
+            }
+            default -> {
+                Matcher matcher = EVERY_N.matcher(value);
+                if (matcher.matches()) {
+                    Frequency frequency = switch (matcher.group(2)) {
+                        case "DAY" -> Frequency.DAILY;
+                        case "WEEK" -> Frequency.WEEKLY;
+                        case "MONTH" -> Frequency.MONTHLY;
+                        default -> Frequency.YEARLY;
+                    };
+                    return of(frequency, parseInterval(matcher.group(1), pattern));
+                }
+                throw new IllegalArgumentException("Unsupported recurrence pattern: " + pattern);
+            }
+        }
+    }
+
+    private static RecurrenceRule of(Frequency frequency, int interval) {
+        return new RecurrenceRule(frequency, interval, 0, 0, null, null);
+    }
+
+    private static RecurrenceRule parseRrule(String value, String original) {
+        Frequency frequency = null;
+        int interval = 1;
+        int byDayMask = 0;
+        int byMonthDay = 0;
+        Integer count = null;
+        LocalDateTime until = null;
+
+        for (String part : value.split(";")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] kv = part.split("=", 2);
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid recurrence rule: " + original);
+            }
+            String key = kv[0].trim();
+            String val = kv[1].trim();
+
+            try {
+                switch (key) {
+                    case "FREQ" -> frequency = Frequency.valueOf(val);
+                    case "INTERVAL" -> interval = parseInterval(val, original);
+                    case "BYDAY" -> byDayMask = parseDays(val, original);
+                    case "BYMONTHDAY" -> {
+                        byMonthDay = Integer.parseInt(val);
+                        if (byMonthDay < 1 || byMonthDay > 31) {
+                            throw new IllegalArgumentException("Invalid BYMONTHDAY in recurrence rule: " + original);
+                        }
+                    }
+                    case "COUNT" -> {
+                        count = Integer.parseInt(val);
+                        if (count < 1) {
+                            throw new IllegalArgumentException("Invalid COUNT in recurrence rule: " + original);
+                        }
+                    }
+                    case "UNTIL" -> until = parseUntil(val);
+                    default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + key);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid recurrence rule: " + original);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule must contain FREQ: " + original);
+        }
+        if (byDayMask != 0 && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported with FREQ=WEEKLY: " + original);
+        }
+        if (byMonthDay != 0 && frequency != Frequency.MONTHLY) {
+            throw new IllegalArgumentException("BYMONTHDAY is only supported with FREQ=MONTHLY: " + original);
+        }
+
+        return new RecurrenceRule(frequency, interval, byDayMask, byMonthDay, count, until);
+    }
+
+    private static int parseInterval(String value, String original) {
+        int interval = Integer.parseInt(value);
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("Recurrence interval must be between 1 and " + MAX_INTERVAL + ": " + original);
+        }
+        return interval;
+    }
+
+    private static int parseDays(String value, String original) {
+        int mask = 0;
+        for (String day : value.split(",")) {
+            int index = indexOfDay(day.trim());
+            if (index < 0) {
+                throw new IllegalArgumentException("Invalid BYDAY in recurrence rule: " + original);
+            }
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+
+    private static int indexOfDay(String code) {
+        for (int i = 0; i < DAY_CODES.length; i++) {
+            if (DAY_CODES[i].equals(code)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        String v = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        if (v.length() == 8) {
+            return LocalDate.parse(v, DateTimeFormatter.BASIC_ISO_DATE).atTime(23, 59, 59);
+        }
+        if (v.contains("-")) {
+            return LocalDateTime.parse(v);
+        }
+        return LocalDateTime.parse(v, UNTIL_FORMAT);
+    }
+
+    // ==================== OCCURRENCES ====================
+
+    /**
+     * anchor (ilk task'ın başlangıcı) ile hizalı, after'dan sonraki ilk tekrar.
+     * Sonraki tekrar yoksa (UNTIL geçildi) null döner. Çalışma süresi
+     * aradaki tekrar sayısından bağımsızdır.
+     */
+    public LocalDateTime nextAfter(LocalDateTime anchor, LocalDateTime after) {
+        LocalDateTime next = switch (frequency) {
+            case DAILY -> nextByPeriod(anchor, after, ChronoUnit.DAYS);
+            case WEEKLY -> byDayMask == 0 ? nextByPeriod(anchor, after, ChronoUnit.WEEKS) : nextWeekday(anchor, after);
+            case MONTHLY -> nextMonthly(anchor, after);
+            case YEARLY -> nextByPeriod(anchor, after, ChronoUnit.YEARS);
+        };
+
+        if (next != null && until != null && next.isAfter(until)) {
+            return null;
+        }
+        return next;
+    }
+
+    private LocalDateTime nextByPeriod(LocalDateTime anchor, LocalDateTime after, ChronoUnit unit) {
+        if (after.isBefore(anchor)) {
+            return anchor;
+        }
+        long k = (unit.between(anchor, after) / interval) * interval;
+        LocalDateTime candidate = anchor.plus(k, unit);
+        while (!candidate.isAfter(after)) {
+            k += interval;
+            candidate = anchor.plus(k, unit);
+        }
+        return candidate;
+    }
+
+    private LocalDateTime nextWeekday(LocalDateTime anchor, LocalDateTime after) {
+        LocalDate anchorWeek = anchor.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate date = after.isBefore(anchor) ? anchor.toLocalDate() : after.toLocalDate();
+
+        // En fazla interval kadar hafta + 1 hafta taranır
+        for (int i = 0, limit = 7 * (interval + 1); i < limit; i++, date = date.plusDays(1)) {
+            if ((byDayMask & (1 << (date.getDayOfWeek().getValue() - 1))) == 0) {
+                continue;
+            }
+            LocalDate week = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            if ((ChronoUnit.WEEKS.between(anchorWeek, week) % interval) != 0) {
+                continue;
+            }
+            LocalDateTime candidate = date.atTime(anchor.toLocalTime());
+            if (candidate.isAfter(after) && !candidate.isBefore(anchor)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private LocalDateTime nextMonthly(LocalDateTime anchor, LocalDateTime after) {
+        int day = byMonthDay > 0 ? byMonthDay : anchor.getDayOfMonth();
+        YearMonth anchorMonth = YearMonth.from(anchor);
+
+        long months = after.isBefore(anchor) ? 0 : ChronoUnit.MONTHS.between(anchorMonth, YearMonth.from(after));
+        long k = (months / interval) * interval;
+
+        for (int guard = 0; guard < 3; guard++, k += interval) {
+            YearMonth month = anchorMonth.plusMonths(k);
+            LocalDateTime candidate = month.atDay(Math.min(day, month.lengthOfMonth())).atTime(anchor.toLocalTime());
+            if (candidate.isAfter(after) && !candidate.isBefore(anchor)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // ==================== ACCESSORS ====================
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("FREQ=").append(frequency).append(";INTERVAL=").append(interval);
+        if (byDayMask != 0) {
+            sb.append(";BYDAY=");
+            boolean first = true;
+            for (int i = 0; i < DAY_CODES.length; i++) {
+                if ((byDayMask & (1 << i)) != 0) {
+                    sb.append(first ? "" : ",").append(DAY_CODES[i]);
+                    first = false;
+                }
+            }
+        }
+        if (byMonthDay != 0) {
+            sb.append(";BYMONTHDAY=").append(byMonthDay);
+        }
+        if (count != null) {
+            sb.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            sb.append(";UNTIL=").append(until.format(UNTIL_FORMAT));
+        }
+        return sb.toString();
+    }
+}
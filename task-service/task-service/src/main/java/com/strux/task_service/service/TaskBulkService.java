@@ -0,0 +1,215 @@
+package com.strux.task_service.service;
+
+import com.strux.task_service.dto.TaskBulkItemResult;
+import com.strux.task_service.dto.TaskBulkRequest;
+import com.strux.task_service.dto.TaskBulkResponse;
+import com.strux.task_service.enums.TaskBulkAction;
+import com.strux.task_service.enums.TaskStatus;
+import com.strux.task_service.kafka.TaskEventProducer;
+import com.strux.task_service.model.Task;
+import com.strux.task_service.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Birden fazla task'a aynı değişikliği tek transaction'da uygular.
+ *
+ * Task'lar tek IN sorgusuyla yüklenir, her biri tek tek kontrol edilir;
+ * uygun olmayanlar sonuçta hata olarak raporlanır, diğerleri yine de
+ * işlenir. Yazmalar hibernate.jdbc.batch_size ile gruplanır, soft delete
+ * tek UPDATE'tir. Event'ler aynı transaction'da outbox'a yazılır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskBulkService {
+
+    private final TaskRepository taskRepository;
+    private final TaskEventProducer taskEventProducer;
+    private final TaskScheduleService taskScheduleService;
+    private final TaskRecurrenceService taskRecurrenceService;
+    private final TaskInboxService taskInboxService;
+    private final TaskDeadlineService taskDeadlineService;
+    private final TaskStatsService taskStatsService;
+
+    @Transactional
+    public TaskBulkResponse apply(TaskBulkAction action, TaskBulkRequest request, String userId) {
+        validateRequest(action, request);
+
+        List<String> taskIds = request.getTaskIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<String, Task> tasks = taskRepository.findAllById(taskIds).stream()
+                .filter(t -> t.getDeletedAt() == null)
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Map<String, TaskBulkItemResult> results = new LinkedHashMap<>();
+        List<Task> accepted = new ArrayList<>();
+        List<TaskStatsService.Snapshot> statsBefore = new ArrayList<>();
+        List<Runnable> events = new ArrayList<>();
+
+        for (String taskId : taskIds) {
+            Task task = tasks.get(taskId);
+            String error = task == null ? "Task not found" : check(action, task);
+            if (error != null) {
+                results.put(taskId, failure(taskId, error));
+                continue;
+            }
+
+            statsBefore.add(taskStatsService.snapshot(task));
+            events.add(mutate(action, task, request, userId));
+            accepted.add(task);
+            results.put(taskId, TaskBulkItemResult.builder()
+                    .taskId(taskId)
+                    .success(true)
+                    .status(task.getStatus())
+                    .build());
+        }
+
+        if (!accepted.isEmpty()) {
+            write(action, accepted, statsBefore, request);
+            events.forEach(Runnable::run);
+        }
+
+        int succeeded = accepted.size();
+        log.info("📦 Bulk {} on {} task(s): {} succeeded, {} failed",
+                action, taskIds.size(), succeeded, taskIds.size() - succeeded);
+
+        return TaskBulkResponse.builder()
+                .requested(taskIds.size())
+                .succeeded(succeeded)
+                .failed(taskIds.size() - succeeded)
+                .results(new ArrayList<>(results.values()))
+                .build();
+    }
+
+    private void validateRequest(TaskBulkAction action, TaskBulkRequest request) {
+        switch (action) {
+            case ASSIGN -> {
+                if (request.getAssignees() == null || request.getAssignees().isEmpty()) {
+                    throw new IllegalArgumentException("Assignees are required");
+                }
+            }
+            case PROGRESS -> {
+                if (request.getProgressPercentage() == null) {
+                    throw new IllegalArgumentException("Progress percentage is required");
+                }
+            }
+            case REJECT -> {
+                if (request.getRejectionReason() == null || request.getRejectionReason().isBlank()) {
+                    throw new IllegalArgumentException("Rejection reason is required");
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Task'a özel ön koşullar (tekli endpoint'lerle aynı)
+     */
+    private String check(TaskBulkAction action, Task task) {
+        return switch (action) {
+            case APPROVE -> task.getStatus() != TaskStatus.COMPLETED ? "Task must be completed before approval" : null;
+            case REJECT -> task.getStatus() != TaskStatus.COMPLETED ? "Task must be completed before rejection" : null;
+            default -> null;
+        };
+    }
+
+    /**
+     * Değişikliği entity üzerinde uygular ve yazmadan sonra outbox'a eklenecek event'i döner
+     */
+    private Runnable mutate(TaskBulkAction action, Task task, TaskBulkRequest request, String userId) {
+        LocalDateTime now = LocalDateTime.now();
+
+        switch (action) {
+            case ASSIGN -> {
+                List<String> previousAssignees = task.getAssignees() != null ? new ArrayList<>(task.getAssignees()) : null;
+                task.setAssignees(new ArrayList<>(request.getAssignees()));
+                task.setAssignedTo(request.getAssignees().get(0));
+                if (task.getStatus() == TaskStatus.TODO) {
+                    task.setStatus(TaskStatus.IN_PROGRESS);
+                }
+                return () -> taskEventProducer.publishTaskAssignedEvent(task, previousAssignees);
+            }
+            case PROGRESS -> {
+                task.setProgressPercentage(request.getProgressPercentage());
+                if (request.getActualHours() != null) {
+                    task.setActualHours(request.getActualHours());
+                }
+                if (request.getProgressPercentage() == 100 && task.getStatus() != TaskStatus.COMPLETED) {
+                    task.setStatus(TaskStatus.COMPLETED);
+                    task.setCompletedAt(now);
+                }
+                return () -> taskEventProducer.publishTaskProgressUpdatedEvent(task, userId);
+            }
+            case COMPLETE -> {
+                task.setStatus(TaskStatus.COMPLETED);
+                task.setCompletedAt(now);
+                task.setProgressPercentage(100);
+                return () -> taskEventProducer.publishTaskCompletedEvent(task, userId);
+            }
+            case APPROVE -> {
+                return () -> taskEventProducer.publishTaskApprovedEvent(task, userId);
+            }
+            case REJECT -> {
+                task.setStatus(TaskStatus.IN_PROGRESS);
+                task.setCompletedAt(null);
+                return () -> taskEventProducer.publishTaskRejectedEvent(task, userId, request.getRejectionReason());
+            }
+            case DELETE -> {
+                boolean hardDelete = Boolean.TRUE.equals(request.getHardDelete());
+                return () -> taskEventProducer.publishTaskDeletedEvent(task, hardDelete);
+            }
+            default -> throw new IllegalArgumentException("Unsupported bulk action: " + action);
+        }
+    }
+
+    private void write(TaskBulkAction action, List<Task> tasks, List<TaskStatsService.Snapshot> statsBefore,
+                       TaskBulkRequest request) {
+        List<String> ids = tasks.stream().map(Task::getId).toList();
+
+        if (action == TaskBulkAction.DELETE) {
+            if (Boolean.TRUE.equals(request.getHardDelete())) {
+                taskRepository.deleteAll(tasks);
+            } else {
+                taskRepository.softDeleteAllById(ids, LocalDateTime.now());
+            }
+
+            taskRecurrenceService.removeAll(ids);
+            taskInboxService.removeTasks(tasks);
+            taskDeadlineService.removeAll(ids);
+            taskStatsService.onTasksChanged(statsBefore, Collections.nCopies(tasks.size(), null));
+            tasks.stream().map(Task::getProjectId).distinct().forEach(taskScheduleService::evictProject);
+            return;
+        }
+
+        // Onay task'ı değiştirmez, sadece event gönderilir
+        if (action == TaskBulkAction.APPROVE) {
+            return;
+        }
+
+        taskRepository.saveAll(tasks);
+        tasks.forEach(taskScheduleService::onTaskSaved);
+        taskInboxService.syncAll(tasks);
+        taskDeadlineService.syncAll(tasks);
+        taskStatsService.onTasksChanged(statsBefore, tasks);
+    }
+
+    private static TaskBulkItemResult failure(String taskId, String error) {
+        return TaskBulkItemResult.builder()
+                .taskId(taskId)
+                .success(false)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,261 @@
+package com.strux.task_service.service;
+
+import com.strux.task_service.enums.TaskDeadlineState;
+import com.strux.task_service.enums.TaskStatus;
+import com.strux.task_service.kafka.TaskEventProducer;
+import com.strux.task_service.model.Task;
+import com.strux.task_service.model.TaskDeadline;
+import com.strux.task_service.repository.TaskDeadlineRepository;
+import com.strux.task_service.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Task due date takibi: gecikme (task.overdue) ve SLA ihlali (task.sla.breached).
+ *
+ * Açık task'lar için task_deadlines tablosunda bir sonraki geçişin zamanı
+ * tutulur. Zamanı gelen satırlar FOR UPDATE SKIP LOCKED ile batch halinde
+ * alınır; durum değişikliği ve outbox event'i aynı transaction'da yazıldığı
+ * için her geçiş bir kez gönderilir, restart sonrası kaldığı yerden devam eder.
+ * Due date değişirse takip PENDING'e döner.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskDeadlineService {
+
+    private static final Set<TaskStatus> CLOSED_STATUSES = EnumSet.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+
+    private final TaskDeadlineRepository deadlineRepository;
+    private final TaskRepository taskRepository;
+    private final TaskEventProducer taskEventProducer;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.task.deadline.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.task.deadline.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.task.deadline.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.task.deadline.sla-breach-after-hours:24}")
+    private int slaBreachAfterHours;
+
+    @Value("${app.task.deadline.max-idle-ms:60000}")
+    private long maxIdleMs;
+
+    @Value("${app.task.deadline.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    // Bir sonraki geçişin zamanı; zamanı gelmemişse DB sorgulanmaz
+    private volatile LocalDateTime nextFireHint = LocalDateTime.MAX;
+    private volatile long hintRefreshedAt;
+
+    // ==================== WRITE ====================
+
+    @Transactional
+    public void sync(Task task) {
+        syncAll(List.of(task));
+    }
+
+    /**
+     * Task'ların takip satırlarını günceller. Due date değişmediyse mevcut
+     * durum korunur, böylece aynı geçiş tekrar tetiklenmez.
+     */
+    @Transactional
+    public void syncAll(Collection<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        Map<String, TaskDeadline> existing = deadlineRepository.findAllById(
+                        tasks.stream().map(Task::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(TaskDeadline::getTaskId, Function.identity()));
+
+        List<TaskDeadline> changed = new ArrayList<>();
+        List<TaskDeadline> untracked = new ArrayList<>();
+
+        for (Task task : tasks) {
+            TaskDeadline deadline = existing.get(task.getId());
+
+            if (!tracked(task)) {
+                if (deadline != null) {
+                    untracked.add(deadline);
+                }
+                continue;
+            }
+
+            if (deadline != null && task.getDueDate().equals(deadline.getDueAt())) {
+                if (!Objects.equals(task.getCompanyId(), deadline.getCompanyId())
+                        || !Objects.equals(task.getProjectId(), deadline.getProjectId())) {
+                    deadline.setCompanyId(task.getCompanyId());
+                    deadline.setProjectId(task.getProjectId());
+                    changed.add(deadline);
+                }
+                continue;
+            }
+
+            if (deadline == null) {
+                deadline = TaskDeadline.builder().taskId(task.getId()).build();
+            }
+            deadline.setCompanyId(task.getCompanyId());
+            deadline.setProjectId(task.getProjectId());
+            deadline.setDueAt(task.getDueDate());
+            deadline.setState(TaskDeadlineState.PENDING);
+            deadline.setNextFireAt(task.getDueDate());
+            deadline.setOverdueAt(null);
+            deadline.setBreachedAt(null);
+            changed.add(deadline);
+
+            if (task.getDueDate().isBefore(nextFireHint)) {
+                nextFireHint = task.getDueDate();
+            }
+        }
+
+        deadlineRepository.saveAll(changed);
+        deadlineRepository.deleteAll(untracked);
+    }
+
+    public void removeAll(Collection<String> taskIds) {
+        deadlineRepository.deleteAllByIdInBatch(taskIds);
+    }
+
+    private static boolean tracked(Task task) {
+        return task.getDeletedAt() == null
+                && task.getDueDate() != null
+                && !CLOSED_STATUSES.contains(task.getStatus());
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Due date'i geçmiş açık task'lar, en eski önce. Sweeper'ın çalışmasını
+     * beklemez; due_at'e göre okunur.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findOverdueTaskIds(String companyId) {
+        return deadlineRepository.findOverdueTaskIds(companyId, LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public long countOverdue(String companyId) {
+        return deadlineRepository.countByCompanyIdAndDueAtBefore(companyId, LocalDateTime.now());
+    }
+
+    // ==================== SWEEP ====================
+
+    @Scheduled(fixedDelayString = "${app.task.deadline.poll-interval-ms:10000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (nextFireHint.isAfter(now) && System.currentTimeMillis() - hintRefreshedAt < maxIdleMs) {
+            return;
+        }
+
+        int fired = 0;
+        for (int round = 0; round < maxBatchesPerRun; round++) {
+            int[] result = transactionTemplate.execute(status -> sweepBatch(now));
+            fired += result[1];
+            if (result[0] < batchSize) {
+                break;
+            }
+        }
+
+        LocalDateTime earliest = deadlineRepository.findEarliestNextFireAt();
+        nextFireHint = earliest != null ? earliest : LocalDateTime.MAX;
+        hintRefreshedAt = System.currentTimeMillis();
+
+        if (fired > 0) {
+            log.info("⏰ Fired {} task deadline transition(s)", fired);
+        }
+    }
+
+    /**
+     * @return {kilitlenen satır sayısı, gönderilen event sayısı}
+     */
+    private int[] sweepBatch(LocalDateTime now) {
+        List<TaskDeadline> due = deadlineRepository.lockDue(now, batchSize);
+        if (due.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        Map<String, Task> tasks = taskRepository.findAllById(
+                        due.stream().map(TaskDeadline::getTaskId).toList())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskDeadline> active = new ArrayList<>();
+        List<TaskDeadline> stale = new ArrayList<>();
+        int fired = 0;
+
+        for (TaskDeadline deadline : due) {
+            Task task = tasks.get(deadline.getTaskId());
+            // Task sync dışında kapanmış veya silinmiş (örneğin elle SQL); takip bırakılır
+            if (task == null || !tracked(task)) {
+                stale.add(deadline);
+                continue;
+            }
+
+            if (deadline.getState() == TaskDeadlineState.PENDING) {
+                deadline.setState(TaskDeadlineState.OVERDUE);
+                deadline.setOverdueAt(now);
+                deadline.setNextFireAt(deadline.getDueAt().plusHours(slaBreachAfterHours));
+                taskEventProducer.publishTaskOverdueEvent(task);
+                fired++;
+            }
+
+            // Kesinti uzun sürdüyse iki geçiş aynı turda yapılır
+            if (deadline.getState() == TaskDeadlineState.OVERDUE && !deadline.getNextFireAt().isAfter(now)) {
+                deadline.setState(TaskDeadlineState.BREACHED);
+                deadline.setBreachedAt(now);
+                deadline.setNextFireAt(null);
+                taskEventProducer.publishTaskSlaBreachedEvent(task, slaBreachAfterHours);
+                fired++;
+            }
+
+            active.add(deadline);
+        }
+
+        deadlineRepository.saveAll(active);
+        deadlineRepository.deleteAll(stale);
+
+        return new int[]{due.size(), fired};
+    }
+
+    // ==================== MAINTENANCE ====================
+
+    /**
+     * Bu servis öncesinde oluşturulmuş açık task'lar için takip açar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (!backfillOnStartup) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int inserted = deadlineRepository.backfillFromTasks(now, now.minusHours(slaBreachAfterHours), slaBreachAfterHours);
+        if (inserted > 0) {
+            log.info("⏰ Backfilled deadline tracking for {} task(s)", inserted);
+        }
+    }
+}
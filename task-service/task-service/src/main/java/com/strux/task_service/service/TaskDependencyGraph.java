@@ -0,0 +1,580 @@
+package com.strux.task_service.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bir projenin task bağımlılık grafı.
+ *
+ * Task'lar 0..n-1 arası int index alır; predecessor/successor listeleri,
+ * süreler ve hesaplanan değerler primitive array'lerde tutulur. Topolojik
+ * sıralama (Kahn), ileri ve geri geçiş O(V + E) çalışır. Tek bir task'ın
+ * tarihi veya bağımlılıkları değiştiğinde sadece etkilenen düğümler yeniden
+ * hesaplanır.
+ *
+ * Süreler ve zamanlar dakika cinsindendir. Thread-safe değildir, çağıran
+ * taraf senkronize etmelidir.
+ */
+class TaskDependencyGraph {
+
+    static final long UNSET = Long.MIN_VALUE;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final String projectId;
+    private final String companyId;
+    private final long origin;
+    private final Map<String, Integer> indexById;
+
+    private int size;
+    private String[] ids;
+    private long[] release;
+    private long[] duration;
+    private boolean[] done;
+
+    private int[][] preds;
+    private int[][] succs;
+    private int[] succCount;
+
+    // Hesaplanan değerler. rank[i] == -1 ise task bir döngünün içinde (veya döngüye bağlı)
+    private int[] order;
+    private int orderedCount;
+    private int[] rank;
+    private long[] es;
+    private long[] ef;
+    private long[] ls;
+    private long[] lf;
+    private long finish;
+
+    private int[] mark;
+    private int stamp;
+    private int[] stack;
+
+    private TaskDependencyGraph(String projectId, String companyId, long origin, int capacity) {
+        this.projectId = projectId;
+        this.companyId = companyId;
+        this.origin = origin;
+        this.indexById = new HashMap<>(Math.max(16, capacity * 2));
+        allocate(Math.max(16, capacity));
+    }
+
+    /**
+     * Grafı sıfırdan kurar. deps[i] dependsOn listesinin index karşılığıdır;
+     * projede olmayan (silinmiş) task'lara ait bağımlılıklar atlanmalıdır.
+     */
+    static TaskDependencyGraph build(String projectId, String companyId, String[] ids, long[] release,
+                                     long[] duration, boolean[] done, int[][] deps, long origin) {
+        int n = ids.length;
+        TaskDependencyGraph graph = new TaskDependencyGraph(projectId, companyId, origin, n);
+
+        for (int i = 0; i < n; i++) {
+            graph.ids[i] = ids[i];
+            graph.release[i] = release[i];
+            graph.duration[i] = duration[i];
+            graph.done[i] = done[i];
+            graph.indexById.put(ids[i], i);
+        }
+        graph.size = n;
+
+        // Successor listeleri iki geçişte (say + doldur) kurulur
+        for (int i = 0; i < n; i++) {
+            int[] p = dedupe(deps[i], i);
+            graph.preds[i] = p;
+            for (int j : p) {
+                graph.succCount[j]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            graph.succs[i] = graph.succCount[i] == 0 ? EMPTY : new int[graph.succCount[i]];
+            graph.succCount[i] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j : graph.preds[i]) {
+                graph.succs[j][graph.succCount[j]++] = i;
+            }
+        }
+
+        graph.recomputeAll();
+        return graph;
+    }
+
+    // ==================== QUERIES ====================
+
+    String getProjectId() {
+        return projectId;
+    }
+
+    // Projede task yoksa null
+    String getCompanyId() {
+        return companyId;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int indexOf(String taskId) {
+        Integer index = indexById.get(taskId);
+        return index != null ? index : -1;
+    }
+
+    String idAt(int i) {
+        return ids[i];
+    }
+
+    boolean isCyclic(int i) {
+        return rank[i] < 0;
+    }
+
+    int cyclicCount() {
+        return size - orderedCount;
+    }
+
+    long finish() {
+        return finish;
+    }
+
+    long origin() {
+        return origin;
+    }
+
+    long earliestStart(int i) {
+        return es[i];
+    }
+
+    long earliestFinish(int i) {
+        return ef[i];
+    }
+
+    long latestStart(int i) {
+        return ls[i];
+    }
+
+    long latestFinish(int i) {
+        return lf[i];
+    }
+
+    long slack(int i) {
+        return ls[i] - es[i];
+    }
+
+    boolean isCritical(int i) {
+        return rank[i] >= 0 && ls[i] == es[i];
+    }
+
+    boolean isDone(int i) {
+        return done[i];
+    }
+
+    int[] predecessors(int i) {
+        return preds[i];
+    }
+
+    /**
+     * Topolojik sırada i. task (0 <= i < orderedCount)
+     */
+    int orderedAt(int i) {
+        return order[i];
+    }
+
+    int orderedCount() {
+        return orderedCount;
+    }
+
+    /**
+     * Task tamamlanmamış bir bağımlılığa sahipse bloklanmıştır
+     */
+    boolean isBlocked(int i) {
+        for (int p : preds[i]) {
+            if (!done[p]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * node'un bağımlılıklarını newPreds yapmak döngü oluşturur mu?
+     * newPreds'ten biri node'dan successor kenarları ile erişilebiliyorsa evet.
+     */
+    boolean wouldCreateCycle(int node, int[] newPreds) {
+        if (newPreds.length == 0) {
+            return false;
+        }
+
+        // Mevcut topolojik sıra yeni kenarları zaten destekliyorsa döngü olamaz
+        if (rank[node] >= 0) {
+            boolean ordered = true;
+            for (int p : newPreds) {
+                if (p == node) {
+                    return true;
+                }
+                if (rank[p] < 0 || rank[p] >= rank[node]) {
+                    ordered = false;
+                    break;
+                }
+            }
+            if (ordered) {
+                return false;
+            }
+        }
+
+        int targetStamp = nextStamp();
+        for (int p : newPreds) {
+            if (p == node) {
+                return true;
+            }
+            mark[p] = targetStamp;
+        }
+
+        // Düğümler push'ta işaretlenir (node dahil); her düğüm en fazla bir kez
+        // yığına girer, mevcut bir döngü de stack'i taşıramaz
+        int visitStamp = nextStamp();
+        mark[node] = visitStamp;
+        int top = 0;
+        stack[top++] = node;
+        while (top > 0) {
+            int v = stack[--top];
+            int[] s = succs[v];
+            for (int k = 0, c = succCount[v]; k < c; k++) {
+                int w = s[k];
+                if (mark[w] == targetStamp) {
+                    return true;
+                }
+                if (mark[w] != visitStamp) {
+                    mark[w] = visitStamp;
+                    stack[top++] = w;
+                }
+            }
+        }
+        return false;
+    }
+
+    // ==================== INCREMENTAL UPDATES ====================
+
+    /**
+     * Yeni task ekler. Henüz successor'ı olmadığı için topolojik sıranın
+     * sonuna eklenmesi sırayı bozmaz; bağımlılıklar setDependencies ile verilir.
+     */
+    int addTask(String taskId, long releaseAt, long durationMinutes, boolean isDone) {
+        if (size == ids.length) {
+            allocate(size * 2);
+        }
+        int i = size++;
+        ids[i] = taskId;
+        release[i] = releaseAt;
+        duration[i] = durationMinutes;
+        done[i] = isDone;
+        preds[i] = EMPTY;
+        succs[i] = EMPTY;
+        succCount[i] = 0;
+        indexById.put(taskId, i);
+
+        if (orderedCount == i) {
+            rank[i] = orderedCount;
+            order[orderedCount++] = i;
+            forwardFrom(new int[]{i});
+            backwardFrom(new int[]{i});
+        } else {
+            recomputeAll();
+        }
+        return i;
+    }
+
+    /**
+     * Tarih/süre değişikliği. Sadece downstream ES/EF ve upstream LS/LF yeniden hesaplanır.
+     */
+    void updateTiming(int node, long releaseAt, long durationMinutes) {
+        boolean durationChanged = duration[node] != durationMinutes;
+        if (release[node] == releaseAt && !durationChanged) {
+            return;
+        }
+        release[node] = releaseAt;
+        duration[node] = durationMinutes;
+
+        if (rank[node] < 0) {
+            return;
+        }
+        forwardFrom(new int[]{node});
+        backwardFrom(new int[]{node});
+    }
+
+    void setDone(int node, boolean isDone) {
+        done[node] = isDone;
+    }
+
+    /**
+     * Bağımlılıkları değiştirir. Döngü kontrolü önceden wouldCreateCycle ile yapılmalıdır.
+     */
+    void setDependencies(int node, int[] newPredsRaw) {
+        int[] newPreds = dedupe(newPredsRaw, node);
+        int[] oldPreds = preds[node];
+        if (Arrays.equals(oldPreds, newPreds)) {
+            return;
+        }
+
+        for (int p : oldPreds) {
+            removeSuccessor(p, node);
+        }
+        for (int p : newPreds) {
+            addSuccessor(p, node);
+        }
+        preds[node] = newPreds;
+
+        boolean orderStillValid = cyclicCount() == 0;
+        for (int p : newPreds) {
+            if (!orderStillValid || rank[p] >= rank[node]) {
+                orderStillValid = false;
+                break;
+            }
+        }
+
+        if (!orderStillValid) {
+            // Sıra bozuldu, tek geçişte yeniden kur (yine lineer)
+            recomputeAll();
+            return;
+        }
+
+        forwardFrom(new int[]{node});
+
+        // Successor listesi değişen eski/yeni predecessor'ların LF değeri değişebilir
+        int[] backwardDirty = new int[oldPreds.length + newPreds.length];
+        System.arraycopy(oldPreds, 0, backwardDirty, 0, oldPreds.length);
+        System.arraycopy(newPreds, 0, backwardDirty, oldPreds.length, newPreds.length);
+        backwardFrom(backwardDirty);
+    }
+
+    // ==================== FULL COMPUTATION ====================
+
+    void recomputeAll() {
+        topologicalSort();
+        forwardAll();
+        backwardAll();
+    }
+
+    private void topologicalSort() {
+        int[] indegree = new int[size];
+        for (int i = 0; i < size; i++) {
+            indegree[i] = preds[i].length;
+        }
+
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < size; i++) {
+            rank[i] = -1;
+            if (indegree[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+
+        while (head < tail) {
+            int v = order[head];
+            rank[v] = head++;
+            int[] s = succs[v];
+            for (int k = 0, c = succCount[v]; k < c; k++) {
+                int w = s[k];
+                if (--indegree[w] == 0) {
+                    order[tail++] = w;
+                }
+            }
+        }
+        orderedCount = tail;
+    }
+
+    private void forwardAll() {
+        long max = origin;
+        for (int r = 0; r < orderedCount; r++) {
+            int v = order[r];
+            computeEarly(v);
+            if (ef[v] > max) {
+                max = ef[v];
+            }
+        }
+        finish = max;
+    }
+
+    private void backwardAll() {
+        for (int r = orderedCount - 1; r >= 0; r--) {
+            computeLate(order[r]);
+        }
+    }
+
+    // ==================== PARTIAL COMPUTATION ====================
+
+    /**
+     * Değişen düğümlerden başlayarak topolojik sırada ilerler; sadece EF'i
+     * değişen düğümlerin successor'ları yeniden hesaplanır.
+     */
+    private void forwardFrom(int[] dirty) {
+        int s = nextStamp();
+        int from = Integer.MAX_VALUE;
+        for (int v : dirty) {
+            if (rank[v] >= 0) {
+                mark[v] = s;
+                from = Math.min(from, rank[v]);
+            }
+        }
+        if (from == Integer.MAX_VALUE) {
+            return;
+        }
+
+        long previousFinish = finish;
+        boolean finishMayDrop = false;
+        long max = finish;
+
+        for (int r = from; r < orderedCount; r++) {
+            int v = order[r];
+            if (mark[v] != s) {
+                continue;
+            }
+            long oldEf = ef[v];
+            computeEarly(v);
+            if (ef[v] != oldEf) {
+                if (oldEf == previousFinish && ef[v] < oldEf) {
+                    finishMayDrop = true;
+                }
+                if (ef[v] > max) {
+                    max = ef[v];
+                }
+                int[] sc = succs[v];
+                for (int k = 0, c = succCount[v]; k < c; k++) {
+                    mark[sc[k]] = s;
+                }
+            }
+        }
+
+        if (finishMayDrop) {
+            max = origin;
+            for (int r = 0; r < orderedCount; r++) {
+                max = Math.max(max, ef[order[r]]);
+            }
+        }
+
+        if (max != previousFinish) {
+            // Proje bitişi değişti, tüm LS/LF değerleri kayar
+            finish = max;
+            backwardAll();
+        }
+    }
+
+    /**
+     * Değişen düğümlerden geriye doğru ilerler; sadece LS'i değişen
+     * düğümlerin predecessor'ları yeniden hesaplanır.
+     */
+    private void backwardFrom(int[] dirty) {
+        int s = nextStamp();
+        int from = -1;
+        for (int v : dirty) {
+            if (rank[v] >= 0) {
+                mark[v] = s;
+                from = Math.max(from, rank[v]);
+            }
+        }
+
+        for (int r = from; r >= 0; r--) {
+            int v = order[r];
+            if (mark[v] != s) {
+                continue;
+            }
+            long oldLs = ls[v];
+            computeLate(v);
+            if (ls[v] != oldLs) {
+                for (int p : preds[v]) {
+                    mark[p] = s;
+                }
+            }
+        }
+    }
+
+    private void computeEarly(int v) {
+        long start = release[v] != UNSET ? release[v] : origin;
+        for (int p : preds[v]) {
+            if (rank[p] >= 0 && ef[p] > start) {
+                start = ef[p];
+            }
+        }
+        es[v] = start;
+        ef[v] = start + duration[v];
+    }
+
+    private void computeLate(int v) {
+        long latest = finish;
+        int[] s = succs[v];
+        for (int k = 0, c = succCount[v]; k < c; k++) {
+            int w = s[k];
+            if (rank[w] >= 0 && ls[w] < latest) {
+                latest = ls[w];
+            }
+        }
+        lf[v] = latest;
+        ls[v] = latest - duration[v];
+    }
+
+    // ==================== HELPERS ====================
+
+    private void addSuccessor(int p, int node) {
+        if (succCount[p] == succs[p].length) {
+            succs[p] = Arrays.copyOf(succs[p], Math.max(4, succs[p].length * 2));
+        }
+        succs[p][succCount[p]++] = node;
+    }
+
+    private void removeSuccessor(int p, int node) {
+        int[] s = succs[p];
+        int c = succCount[p];
+        for (int k = 0; k < c; k++) {
+            if (s[k] == node) {
+                s[k] = s[c - 1];
+                succCount[p] = c - 1;
+                return;
+            }
+        }
+    }
+
+    private int nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new String[capacity] : Arrays.copyOf(ids, capacity);
+        release = release == null ? new long[capacity] : Arrays.copyOf(release, capacity);
+        duration = duration == null ? new long[capacity] : Arrays.copyOf(duration, capacity);
+        done = done == null ? new boolean[capacity] : Arrays.copyOf(done, capacity);
+        preds = preds == null ? new int[capacity][] : Arrays.copyOf(preds, capacity);
+        succs = succs == null ? new int[capacity][] : Arrays.copyOf(succs, capacity);
+        succCount = succCount == null ? new int[capacity] : Arrays.copyOf(succCount, capacity);
+        order = order == null ? new int[capacity] : Arrays.copyOf(order, capacity);
+        rank = rank == null ? new int[capacity] : Arrays.copyOf(rank, capacity);
+        es = es == null ? new long[capacity] : Arrays.copyOf(es, capacity);
+        ef = ef == null ? new long[capacity] : Arrays.copyOf(ef, capacity);
+        ls = ls == null ? new long[capacity] : Arrays.copyOf(ls, capacity);
+        lf = lf == null ? new long[capacity] : Arrays.copyOf(lf, capacity);
+        mark = mark == null ? new int[capacity] : Arrays.copyOf(mark, capacity);
+        stack = new int[capacity];
+    }
+
+    /**
+     * Tekrarlanan ve kendine bağımlı index'leri temizler, sıralı döner
+     */
+    private static int[] dedupe(int[] deps, int self) {
+        if (deps == null || deps.length == 0) {
+            return EMPTY;
+        }
+        int[] sorted = deps.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int k = 0; k < sorted.length; k++) {
+            int v = sorted[k];
+            if (v < 0 || v == self || (n > 0 && sorted[n - 1] == v)) {
+                continue;
+            }
+            sorted[n++] = v;
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+}
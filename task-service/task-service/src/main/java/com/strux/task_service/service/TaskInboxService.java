@@ -0,0 +1,341 @@
+package com.strux.task_service.service;
+
+import com.strux.task_service.dto.TaskInboxChangesResponse;
+import com.strux.task_service.dto.TaskInboxItemDto;
+import com.strux.task_service.dto.TaskInboxPageResponse;
+import com.strux.task_service.enums.InboxBucket;
+import com.strux.task_service.model.Task;
+import com.strux.task_service.model.TaskInboxEntry;
+import com.strux.task_service.model.TaskInboxVersion;
+import com.strux.task_service.repository.TaskInboxRepository;
+import com.strux.task_service.repository.TaskInboxVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Kullanıcı bazlı "görevlerim" inbox'ı.
+ *
+ * Task yazan her işlem aynı transaction içinde sync() çağırır; sadece
+ * inbox'ta görünen alanlar değiştiyse kullanıcının versiyonu artırılır.
+ * Okumalar tek index aralığı üzerinden yapılır, task tablosuna ve
+ * element collection'lara dokunulmaz.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskInboxService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_CHANGES = 500;
+
+    private final TaskInboxRepository inboxRepository;
+    private final TaskInboxVersionRepository versionRepository;
+
+    @Value("${app.task.inbox.removed-retention-days:7}")
+    private long removedRetentionDays;
+
+    @Value("${app.task.inbox.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    // ==================== WRITE ====================
+
+    /**
+     * Task'ın inbox satırlarını alıcılarına (assignedTo + assignees) göre günceller.
+     * Silinmiş task için tüm satırlar removed işaretlenir.
+     */
+    @Transactional
+    public void sync(Task task) {
+        syncAll(List.of(task));
+    }
+
+    /**
+     * Toplu işlemler için: tüm task'ların satırları tek sorguyla okunur ve
+     * her kullanıcının versiyonu bir kez artırılır.
+     */
+    @Transactional
+    public void syncAll(Collection<Task> tasks) {
+        Map<Task, Set<String>> recipients = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            recipients.put(task, task.getDeletedAt() == null ? recipients(task) : Set.of());
+        }
+        apply(recipients);
+    }
+
+    /**
+     * Silinen task'ların satırlarını removed işaretler (kalıcı silme veya
+     * set-based soft delete sonrası)
+     */
+    @Transactional
+    public void removeTasks(Collection<Task> tasks) {
+        Map<Task, Set<String>> recipients = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            recipients.put(task, Set.of());
+        }
+        apply(recipients);
+    }
+
+    @Transactional
+    public void removeTask(Task task) {
+        removeTasks(List.of(task));
+    }
+
+    private void apply(Map<Task, Set<String>> recipientsByTask) {
+        if (recipientsByTask.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<TaskInboxEntry>> existingByTask = inboxRepository.findByTaskIdIn(
+                        recipientsByTask.keySet().stream().map(Task::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(TaskInboxEntry::getTaskId));
+
+        // Versiyon kilitleri deadlock olmaması için kullanıcı sırasıyla alınır
+        Map<String, List<TaskInboxEntry>> changedByUser = new TreeMap<>();
+
+        recipientsByTask.forEach((task, recipients) -> {
+            Map<String, TaskInboxEntry> existing = existingByTask.getOrDefault(task.getId(), List.of()).stream()
+                    .collect(Collectors.toMap(TaskInboxEntry::getUserId, entry -> entry));
+
+            for (String userId : recipients) {
+                TaskInboxEntry entry = existing.get(userId);
+                if (entry == null) {
+                    entry = TaskInboxEntry.builder()
+                            .userId(userId)
+                            .taskId(task.getId())
+                            .build();
+                } else if (!Boolean.TRUE.equals(entry.getRemoved()) && matches(entry, task)) {
+                    continue;
+                }
+                apply(entry, task);
+                changedByUser.computeIfAbsent(userId, k -> new ArrayList<>()).add(entry);
+            }
+
+            for (TaskInboxEntry entry : existing.values()) {
+                if (!recipients.contains(entry.getUserId()) && !Boolean.TRUE.equals(entry.getRemoved())) {
+                    entry.setRemoved(true);
+                    changedByUser.computeIfAbsent(entry.getUserId(), k -> new ArrayList<>()).add(entry);
+                }
+            }
+        });
+
+        if (changedByUser.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskInboxEntry> changed = new ArrayList<>();
+        changedByUser.forEach((userId, entries) -> {
+            long version = versionRepository.bumpVersion(userId);
+            for (TaskInboxEntry entry : entries) {
+                entry.setVersion(version);
+                entry.setUpdatedAt(now);
+            }
+            changed.addAll(entries);
+        });
+        inboxRepository.saveAll(changed);
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * ETag olarak kullanılır; kullanıcının inbox'ı değişmediyse aynı kalır
+     */
+    @Transactional(readOnly = true)
+    public long currentVersion(String userId) {
+        return versionRepository.findById(userId)
+                .map(TaskInboxVersion::getVersion)
+                .orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskInboxPageResponse getInbox(String userId, InboxBucket bucket, String cursor, Integer size) {
+        int limit = Math.min(Math.max(size != null ? size : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+
+        // Versiyon sayfadan önce okunur; sonraki delta isteği arada kalan değişiklikleri kaçırmaz
+        long version = currentVersion(userId);
+
+        List<TaskInboxEntry> entries;
+        if (cursor == null || cursor.isBlank()) {
+            entries = inboxRepository.findFirstPage(userId, bucket.name(), limit + 1);
+        } else {
+            String[] position = decodeCursor(cursor);
+            LocalDateTime afterDue;
+            try {
+                afterDue = LocalDateTime.parse(position[0]);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            entries = inboxRepository.findPageAfter(userId, bucket.name(), afterDue, position[1], limit + 1);
+        }
+
+        boolean hasNext = entries.size() > limit;
+        if (hasNext) {
+            entries = entries.subList(0, limit);
+        }
+
+        TaskInboxEntry last = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+
+        return TaskInboxPageResponse.builder()
+                .items(entries.stream().map(this::toDto).collect(Collectors.toList()))
+                .bucket(bucket)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(last) : null)
+                .version(version)
+                .build();
+    }
+
+    /**
+     * since versiyonundan sonraki değişiklikler. Silinen satırlar temizlendiyse
+     * istemci tam senkronizasyon yapmalıdır (resyncRequired).
+     */
+    @Transactional(readOnly = true)
+    public TaskInboxChangesResponse getChanges(String userId, long since) {
+        TaskInboxVersion state = versionRepository.findById(userId).orElse(null);
+        long current = state != null ? state.getVersion() : 0L;
+
+        if (state != null && since < state.getPurgedVersion()) {
+            return TaskInboxChangesResponse.builder()
+                    .changes(List.of())
+                    .version(current)
+                    .hasMore(false)
+                    .resyncRequired(true)
+                    .build();
+        }
+
+        List<TaskInboxEntry> entries = inboxRepository.findChangesSince(userId, since, MAX_CHANGES + 1);
+        boolean hasMore = entries.size() > MAX_CHANGES;
+        if (hasMore) {
+            // Toplu işlemlerde aynı versiyonda birden fazla satır olur; versiyon
+            // sayfalar arasında bölünmez, yoksa kalan satırlar atlanırdı
+            long boundary = entries.get(MAX_CHANGES).getVersion();
+            int end = MAX_CHANGES;
+            while (end > 0 && entries.get(end - 1).getVersion() == boundary) {
+                end--;
+            }
+            entries = end > 0 ? entries.subList(0, end) : inboxRepository.findByUserIdAndVersion(userId, boundary);
+        }
+
+        // Kısmi cevapta istemci son görülen versiyondan devam eder
+        long watermark = hasMore ? entries.get(entries.size() - 1).getVersion() : Math.max(current, since);
+
+        return TaskInboxChangesResponse.builder()
+                .changes(entries.stream().map(this::toDto).collect(Collectors.toList()))
+                .version(watermark)
+                .hasMore(hasMore)
+                .resyncRequired(false)
+                .build();
+    }
+
+    // ==================== MAINTENANCE ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        int inserted = inboxRepository.backfillFromTasks();
+        if (inserted > 0) {
+            log.info("📥 Backfilled {} task inbox entries", inserted);
+        }
+    }
+
+    @Scheduled(cron = "${app.task.inbox.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeRemoved() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(removedRetentionDays);
+
+        for (Object[] row : inboxRepository.findPurgeableVersions(cutoff)) {
+            versionRepository.markPurged((String) row[0], ((Number) row[1]).longValue());
+        }
+        int deleted = inboxRepository.deleteRemovedBefore(cutoff);
+
+        if (deleted > 0) {
+            log.info("🧹 Purged {} removed task inbox entries", deleted);
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    private Set<String> recipients(Task task) {
+        Set<String> recipients = new HashSet<>();
+        if (task.getAssignedTo() != null) {
+            recipients.add(task.getAssignedTo());
+        }
+        if (task.getAssignees() != null) {
+            task.getAssignees().stream().filter(Objects::nonNull).forEach(recipients::add);
+        }
+        return recipients;
+    }
+
+    private boolean matches(TaskInboxEntry entry, Task task) {
+        return Objects.equals(entry.getTitle(), task.getTitle())
+                && entry.getStatus() == task.getStatus()
+                && entry.getPriority() == task.getPriority()
+                && Objects.equals(entry.getDueDate(), task.getDueDate())
+                && Objects.equals(entry.getProgressPercentage(), task.getProgressPercentage())
+                && Objects.equals(entry.getUnitId(), task.getUnitId())
+                && Objects.equals(entry.getProjectId(), task.getProjectId());
+    }
+
+    private void apply(TaskInboxEntry entry, Task task) {
+        entry.setCompanyId(task.getCompanyId());
+        entry.setProjectId(task.getProjectId());
+        entry.setUnitId(task.getUnitId());
+        entry.setTitle(task.getTitle());
+        entry.setStatus(task.getStatus());
+        entry.setPriority(task.getPriority());
+        entry.setBucket(InboxBucket.of(task.getStatus()));
+        entry.setDueDate(task.getDueDate());
+        entry.setSortDueAt(task.getDueDate() != null ? task.getDueDate() : TaskInboxEntry.NO_DUE_DATE);
+        entry.setProgressPercentage(task.getProgressPercentage());
+        entry.setRemoved(false);
+    }
+
+    private TaskInboxItemDto toDto(TaskInboxEntry entry) {
+        return TaskInboxItemDto.builder()
+                .taskId(entry.getTaskId())
+                .companyId(entry.getCompanyId())
+                .projectId(entry.getProjectId())
+                .unitId(entry.getUnitId())
+                .title(entry.getTitle())
+                .status(entry.getStatus())
+                .priority(entry.getPriority())
+                .bucket(entry.getBucket())
+                .dueDate(entry.getDueDate())
+                .progressPercentage(entry.getProgressPercentage())
+                .removed(entry.getRemoved())
+                .version(entry.getVersion())
+                .build();
+    }
+
+    private String encodeCursor(TaskInboxEntry last) {
+        String raw = last.getSortDueAt() + "|" + last.getTaskId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.strux.task_service.service;
+
+import com.strux.task_service.model.Task;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Tekrar kopyalarını ON CONFLICT DO NOTHING ile yazar.
+ *
+ * Aynı (kaynak, tekrar zamanı) zaten varsa satır sessizce atlanır; böylece
+ * daha önce oluşturulmuş bir tekrar uk_tasks_recurrence_occurrence ihlaliyle
+ * tüm batch'i geri aldırmaz.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskOccurrenceWriter {
+
+    private static final String INSERT_TASK = """
+            INSERT INTO tasks (id, title, description, company_id, project_id, unit_id, created_by, assigned_to,
+                               status, priority, type, category, start_date, due_date, estimated_hours,
+                               progress_percentage, parent_task_id, asset_id, equipment_id, location_id,
+                               recurrence_source_id, occurrence_at, is_recurring, is_template, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?,
+                    ?, ?, ?, ?, ?, ?, ?,
+                    ?, ?, ?, ?, ?,
+                    ?, ?, false, false, now(), now())
+            ON CONFLICT ON CONSTRAINT uk_tasks_recurrence_occurrence DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return gerçekten eklenen task id'leri
+     */
+    public Set<String> insert(List<Task> occurrences) {
+        if (occurrences.isEmpty()) {
+            return Set.of();
+        }
+
+        List<Object[]> rows = new ArrayList<>(occurrences.size());
+        for (Task task : occurrences) {
+            task.setId(UUID.randomUUID().toString());
+            rows.add(new Object[]{
+                    task.getId(), task.getTitle(), task.getDescription(), task.getCompanyId(),
+                    task.getProjectId(), task.getUnitId(), task.getCreatedBy(), task.getAssignedTo(),
+                    name(task.getStatus()), name(task.getPriority()), name(task.getType()), name(task.getCategory()),
+                    timestamp(task.getStartDate()), timestamp(task.getDueDate()), task.getEstimatedHours(),
+                    task.getProgressPercentage(), task.getParentTaskId(), task.getAssetId(),
+                    task.getEquipmentId(), task.getLocationId(),
+                    task.getRecurrenceSourceId(), timestamp(task.getOccurrenceAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_TASK, rows);
+
+        // Batch sayaçları sürücüye göre bilgi vermeyebilir; eklenenleri DB'den oku
+        String[] ids = occurrences.stream().map(Task::getId).toArray(String[]::new);
+        Set<String> inserted = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE id = ANY(?)", String.class, (Object) ids));
+
+        List<Object[]> assignees = new ArrayList<>();
+        List<Object[]> tags = new ArrayList<>();
+        for (Task task : occurrences) {
+            if (!inserted.contains(task.getId())) {
+                continue;
+            }
+            if (task.getAssignees() != null) {
+                task.getAssignees().forEach(userId -> assignees.add(new Object[]{task.getId(), userId}));
+            }
+            if (task.getTags() != null) {
+                task.getTags().forEach(tag -> tags.add(new Object[]{task.getId(), tag}));
+            }
+        }
+        if (!assignees.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO task_assignees (task_id, user_id) VALUES (?, ?)", assignees);
+        }
+        if (!tags.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO task_tags (task_id, tag) VALUES (?, ?)", tags);
+        }
+
+        return inserted;
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,408 @@
+package com.strux.task_service.service;
+
+import com.strux.task_service.enums.TaskStatus;
+import com.strux.task_service.kafka.TaskEventProducer;
+import com.strux.task_service.model.Task;
+import com.strux.task_service.model.TaskRecurrence;
+import com.strux.task_service.repository.TaskRecurrenceRepository;
+import com.strux.task_service.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tekrar eden task'ların kopyalarını oluşturur.
+ *
+ * Her tekrar eden task için task_recurrences tablosunda bir sonraki çalışma
+ * zamanı tutulur. Zamanı gelen kayıtlar FOR UPDATE SKIP LOCKED ile batch
+ * halinde alınır, böylece birden fazla instance aynı tekrarı iki kez
+ * oluşturmaz. Kesinti sonrası sadece catch-up penceresindeki tekrarlar
+ * oluşturulur. Kopyalar ON CONFLICT DO NOTHING ile yazıldığından aynı tekrar
+ * ikinci kez oluşturulmaz. Hata veren kural üstel backoff ile tekrar denenir,
+ * art arda max-failures hatadan sonra pasife alınır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskRecurrenceService {
+
+    private final TaskRepository taskRepository;
+    private final TaskRecurrenceRepository recurrenceRepository;
+    private final TaskEventProducer taskEventProducer;
+    private final TaskScheduleService taskScheduleService;
+    private final TaskInboxService taskInboxService;
+    private final TaskDeadlineService taskDeadlineService;
+    private final TaskStatsService taskStatsService;
+    private final TaskOccurrenceWriter occurrenceWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.task.recurrence.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.task.recurrence.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.task.recurrence.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.task.recurrence.max-per-rule:5}")
+    private int maxPerRule;
+
+    @Value("${app.task.recurrence.lead-minutes:60}")
+    private long leadMinutes;
+
+    @Value("${app.task.recurrence.catch-up-window-hours:72}")
+    private long catchUpWindowHours;
+
+    @Value("${app.task.recurrence.max-idle-ms:60000}")
+    private long maxIdleMs;
+
+    @Value("${app.task.recurrence.max-failures:10}")
+    private int maxFailures;
+
+    @Value("${app.task.recurrence.retry-initial-ms:60000}")
+    private long retryInitialMs;
+
+    @Value("${app.task.recurrence.retry-max-ms:3600000}")
+    private long retryMaxMs;
+
+    // Bir sonraki tekrarın zamanı; zamanı gelmemişse DB sorgulanmaz
+    private volatile LocalDateTime nextDueHint = LocalDateTime.MAX;
+    private volatile long hintRefreshedAt;
+
+    // ==================== REGISTRATION ====================
+
+    /**
+     * Task'ın tekrar kaydını oluşturur veya günceller. Geçersiz pattern
+     * IllegalArgumentException fırlatır ve transaction geri alınır.
+     */
+    public void sync(Task task) {
+        if (!Boolean.TRUE.equals(task.getIsRecurring()) || task.getDeletedAt() != null) {
+            remove(task.getId());
+            return;
+        }
+
+        RecurrenceRule rule = RecurrenceRule.parse(task.getRecurrencePattern());
+        String normalized = rule.toString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime anchor = task.getStartDate() != null ? task.getStartDate()
+                : task.getCreatedAt() != null ? task.getCreatedAt() : now;
+
+        TaskRecurrence recurrence = recurrenceRepository.findById(task.getId()).orElse(null);
+        if (recurrence != null && Boolean.TRUE.equals(recurrence.getActive())
+                && normalized.equals(recurrence.getRule()) && anchor.equals(recurrence.getAnchorAt())) {
+            return;
+        }
+
+        if (recurrence == null) {
+            recurrence = TaskRecurrence.builder()
+                    .taskId(task.getId())
+                    .companyId(task.getCompanyId())
+                    .occurrenceCount(0)
+                    .build();
+        }
+
+        // Geçmiş tekrarlar oluşturulmaz, ilk kopya şu andan sonraki tekrar. Lead penceresinde
+        // zaten oluşturulmuş tekrarlar (lastFiredAt) tekrar üretilmesin
+        LocalDateTime from = anchor.isAfter(now) ? anchor : now;
+        if (recurrence.getLastFiredAt() != null && recurrence.getLastFiredAt().isAfter(from)) {
+            from = recurrence.getLastFiredAt();
+        }
+        LocalDateTime next = rule.nextAfter(anchor, from);
+
+        recurrence.setRule(normalized);
+        recurrence.setAnchorAt(anchor);
+        recurrence.setNextFireAt(next);
+        recurrence.setActive(next != null && !countReached(rule, recurrence));
+        // Kural değişti veya tekrar açıldı, önceki hatalar sayılmaz
+        recurrence.setFailedAttempts(0);
+        recurrence.setNextRetryAt(null);
+        recurrence.setLastError(null);
+        recurrenceRepository.save(recurrence);
+
+        if (next != null && next.isBefore(nextDueHint)) {
+            nextDueHint = next;
+        }
+
+        log.info("🔁 Recurrence registered for task {}: {} (next: {})", task.getId(), normalized, next);
+    }
+
+    public void remove(String taskId) {
+        recurrenceRepository.findById(taskId).ifPresent(recurrence -> {
+            recurrenceRepository.delete(recurrence);
+            log.info("Recurrence removed for task {}", taskId);
+        });
+    }
+
+    public void removeAll(Collection<String> taskIds) {
+        recurrenceRepository.deleteAllByIdInBatch(taskIds);
+    }
+
+    /**
+     * Bu servis öncesinde oluşturulmuş tekrar eden task'lar için kayıt açar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Task> missing = taskRepository.findRecurringWithoutSchedule();
+        int registered = 0;
+
+        for (Task task : missing) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> sync(task));
+                registered++;
+            } catch (IllegalArgumentException e) {
+                log.warn("⚠️ Skipping recurring task {} with invalid pattern '{}': {}",
+                        task.getId(), task.getRecurrencePattern(), e.getMessage());
+            } catch (DataIntegrityViolationException e) {
+                // Başka bir instance aynı anda kaydetti
+                log.debug("Recurrence for task {} already registered", task.getId());
+            }
+        }
+
+        if (registered > 0) {
+            log.info("🔁 Backfilled recurrence schedule for {} task(s)", registered);
+        }
+    }
+
+    // ==================== MATERIALIZATION ====================
+
+    @Scheduled(fixedDelayString = "${app.task.recurrence.poll-interval-ms:5000}")
+    public void materializeDue() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plusMinutes(leadMinutes);
+
+        if (nextDueHint.isAfter(horizon) && System.currentTimeMillis() - hintRefreshedAt < maxIdleMs) {
+            return;
+        }
+
+        int total = 0;
+        for (int round = 0; round < maxBatchesPerRun; round++) {
+            int[] result = transactionTemplate.execute(status -> materializeBatch(now, horizon));
+            total += result[1];
+            if (result[0] < batchSize) {
+                break;
+            }
+        }
+
+        LocalDateTime earliest = recurrenceRepository.findEarliestNextFireAt();
+        nextDueHint = earliest != null ? earliest : LocalDateTime.MAX;
+        hintRefreshedAt = System.currentTimeMillis();
+
+        if (total > 0) {
+            log.info("🔁 Materialized {} recurring task occurrence(s)", total);
+        }
+    }
+
+    /**
+     * Her kural kendi savepoint'inde yazılır; hata veren kural eski haline
+     * döndürülüp backoff'a alınır, batch'teki diğer kurallar etkilenmez.
+     *
+     * @return {kilitlenen kayıt sayısı, oluşturulan task sayısı}
+     */
+    private int[] materializeBatch(LocalDateTime now, LocalDateTime horizon) {
+        List<TaskRecurrence> due = recurrenceRepository.lockDue(horizon, now, batchSize);
+        if (due.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        Map<String, Task> sources = taskRepository.findAllById(
+                        due.stream().map(TaskRecurrence::getTaskId).toList())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        TransactionTemplate savepoint = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+
+        LocalDateTime catchUpFrom = now.minusHours(catchUpWindowHours);
+        List<String> createdIds = new ArrayList<>();
+
+        for (TaskRecurrence recurrence : due) {
+            Task source = sources.get(recurrence.getTaskId());
+            if (source == null || source.getDeletedAt() != null || !Boolean.TRUE.equals(source.getIsRecurring())) {
+                recurrence.setActive(false);
+                continue;
+            }
+
+            RecurrenceRule rule;
+            try {
+                rule = RecurrenceRule.parse(recurrence.getRule());
+            } catch (IllegalArgumentException e) {
+                log.warn("⚠️ Disabling recurrence for task {}: {}", recurrence.getTaskId(), e.getMessage());
+                recurrence.setActive(false);
+                continue;
+            }
+
+            Integer countBefore = recurrence.getOccurrenceCount();
+            LocalDateTime lastFiredBefore = recurrence.getLastFiredAt();
+            LocalDateTime nextFireBefore = recurrence.getNextFireAt();
+
+            try {
+                List<Task> planned = plan(recurrence, rule, source, horizon, catchUpFrom);
+                Set<String> inserted = savepoint.execute(status -> occurrenceWriter.insert(planned));
+
+                int skipped = planned.size() - inserted.size();
+                if (skipped > 0) {
+                    recurrence.setOccurrenceCount(recurrence.getOccurrenceCount() - skipped);
+                    log.debug("Recurrence of task {}: {} occurrence(s) already existed", recurrence.getTaskId(), skipped);
+                }
+                createdIds.addAll(inserted);
+                recurrence.setFailedAttempts(0);
+                recurrence.setNextRetryAt(null);
+                recurrence.setLastError(null);
+
+            } catch (RuntimeException e) {
+                recurrence.setOccurrenceCount(countBefore);
+                recurrence.setLastFiredAt(lastFiredBefore);
+                recurrence.setNextFireAt(nextFireBefore);
+                markFailed(recurrence, e, now);
+            }
+        }
+
+        recurrenceRepository.saveAll(due);
+
+        List<Task> saved = createdIds.isEmpty() ? List.of() : taskRepository.findAllById(createdIds);
+        saved.forEach(taskScheduleService::onTaskSaved);
+        taskInboxService.syncAll(saved);
+        taskDeadlineService.syncAll(saved);
+        taskStatsService.onTasksChanged(Collections.nCopies(saved.size(), null), saved);
+        publishEvents(sources, saved);
+
+        return new int[]{due.size(), saved.size()};
+    }
+
+    private void markFailed(TaskRecurrence recurrence, RuntimeException e, LocalDateTime now) {
+        int attempts = recurrence.getFailedAttempts() == null ? 1 : recurrence.getFailedAttempts() + 1;
+        long backoffMs = Math.min(retryMaxMs, retryInitialMs << Math.min(attempts - 1, 20));
+
+        recurrence.setFailedAttempts(attempts);
+        recurrence.setLastError(truncate(e.getMessage()));
+        recurrence.setNextRetryAt(now.plusNanos(backoffMs * 1_000_000));
+
+        if (attempts >= maxFailures) {
+            recurrence.setActive(false);
+            log.error("💀 Recurrence of task {} disabled after {} consecutive failures: {}",
+                    recurrence.getTaskId(), attempts, e.getMessage(), e);
+        } else if (attempts == 1) {
+            recurrence.setActive(true);
+            log.error("❌ Recurrence of task {} failed, will retry: {}", recurrence.getTaskId(), e.getMessage(), e);
+        } else {
+            recurrence.setActive(true);
+            log.warn("❌ Recurrence of task {} failed again (attempt {}), next retry in {} ms: {}",
+                    recurrence.getTaskId(), attempts, backoffMs, e.getMessage());
+        }
+    }
+
+    /**
+     * Pencereye giren tekrarları hesaplar ve kaydın durumunu ilerletir
+     */
+    private List<Task> plan(TaskRecurrence recurrence, RecurrenceRule rule, Task source,
+                            LocalDateTime horizon, LocalDateTime catchUpFrom) {
+        LocalDateTime fireAt = recurrence.getNextFireAt();
+        if (fireAt.isBefore(catchUpFrom)) {
+            LocalDateTime resumeAt = rule.nextAfter(recurrence.getAnchorAt(), catchUpFrom);
+            log.warn("⏭️ Skipping missed occurrences of task {} between {} and {}",
+                    recurrence.getTaskId(), fireAt, catchUpFrom);
+            fireAt = resumeAt;
+        }
+        // Zaten oluşturulmuş tekrarlardan önceye dönülmez
+        if (fireAt != null && recurrence.getLastFiredAt() != null && !fireAt.isAfter(recurrence.getLastFiredAt())) {
+            fireAt = rule.nextAfter(recurrence.getAnchorAt(), recurrence.getLastFiredAt());
+        }
+
+        List<Task> planned = new ArrayList<>();
+        while (fireAt != null && !fireAt.isAfter(horizon) && planned.size() < maxPerRule
+                && !countReached(rule, recurrence)) {
+            planned.add(newOccurrence(source, fireAt));
+
+            recurrence.setOccurrenceCount(recurrence.getOccurrenceCount() + 1);
+            recurrence.setLastFiredAt(fireAt);
+
+            fireAt = rule.nextAfter(recurrence.getAnchorAt(), fireAt);
+        }
+
+        recurrence.setNextFireAt(fireAt);
+        if (fireAt == null || countReached(rule, recurrence)) {
+            recurrence.setActive(false);
+        }
+        return planned;
+    }
+
+    private Task newOccurrence(Task source, LocalDateTime fireAt) {
+        LocalDateTime dueDate = null;
+        if (source.getStartDate() != null && source.getDueDate() != null) {
+            dueDate = fireAt.plus(Duration.between(source.getStartDate(), source.getDueDate()));
+        }
+
+        return Task.builder()
+                .title(source.getTitle())
+                .description(source.getDescription())
+                .companyId(source.getCompanyId())
+                .projectId(source.getProjectId())
+                .unitId(source.getUnitId())
+                .createdBy(source.getCreatedBy())
+                .assignedTo(source.getAssignedTo())
+                .assignees(copyOf(source.getAssignees()))
+                .status(TaskStatus.TODO)
+                .priority(source.getPriority())
+                .type(source.getType())
+                .category(source.getCategory())
+                .startDate(fireAt)
+                .dueDate(dueDate)
+                .estimatedHours(source.getEstimatedHours())
+                .progressPercentage(0)
+                .parentTaskId(source.getParentTaskId())
+                .assetId(source.getAssetId())
+                .equipmentId(source.getEquipmentId())
+                .locationId(source.getLocationId())
+                .tags(copyOf(source.getTags()))
+                .isRecurring(false)
+                .isTemplate(false)
+                .recurrenceSourceId(source.getId())
+                .occurrenceAt(fireAt)
+                .build();
+    }
+
+    private void publishEvents(Map<String, Task> sources, List<Task> occurrences) {
+        for (Task occurrence : occurrences) {
+            taskEventProducer.publishTaskCreatedEvent(occurrence);
+            taskEventProducer.publishTaskRecurrenceTriggeredEvent(sources.get(occurrence.getRecurrenceSourceId()), occurrence);
+        }
+    }
+
+    /**
+     * COUNT ilk (kaynak) task'ı da içerir
+     */
+    private static boolean countReached(RecurrenceRule rule, TaskRecurrence recurrence) {
+        return rule.getCount() != null && recurrence.getOccurrenceCount() + 1 >= rule.getCount();
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+
+    private static List<String> copyOf(List<String> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+}
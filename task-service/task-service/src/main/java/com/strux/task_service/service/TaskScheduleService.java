@@ -0,0 +1,437 @@
+package com.strux.task_service.service;
+
+import com.strux.task_service.dto.ProjectScheduleResponse;
+import com.strux.task_service.dto.TaskScheduleDto;
+import com.strux.task_service.enums.TaskStatus;
+import com.strux.task_service.model.Task;
+import com.strux.task_service.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proje bazlı bağımlılık grafı ve critical path hesaplaması.
+ *
+ * Graf ilk sorguda iki hafif query ile yüklenip bellekte tutulur. Task
+ * yazıldığında commit sonrası sadece ilgili düğüm güncellenir; diğer
+ * instance'lardaki değişiklikler max-age dolunca yeniden yükleme ile gelir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskScheduleService {
+
+    private final TaskRepository taskRepository;
+
+    @Value("${app.task.graph.max-projects:200}")
+    private int maxProjects;
+
+    @Value("${app.task.graph.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    private final Map<String, CachedGraph> graphs = new ConcurrentHashMap<>();
+
+    // ==================== READ ====================
+
+    public ProjectScheduleResponse getProjectSchedule(String projectId, String companyId, boolean criticalOnly) {
+        TaskDependencyGraph graph = getGraph(projectId);
+        checkCompany(graph.getCompanyId(), companyId);
+
+        synchronized (graph) {
+            List<TaskScheduleDto> tasks = new ArrayList<>(criticalOnly ? 64 : graph.orderedCount());
+            List<String> criticalPath = new ArrayList<>();
+            int blocked = 0;
+
+            for (int r = 0; r < graph.orderedCount(); r++) {
+                int i = graph.orderedAt(r);
+                boolean critical = graph.isCritical(i);
+                if (critical) {
+                    criticalPath.add(graph.idAt(i));
+                }
+                if (graph.isBlocked(i)) {
+                    blocked++;
+                }
+                if (!criticalOnly || critical) {
+                    tasks.add(toScheduleDto(graph, i));
+                }
+            }
+
+            List<String> cyclic = new ArrayList<>();
+            if (graph.cyclicCount() > 0) {
+                for (int i = 0; i < graph.size(); i++) {
+                    if (graph.isCyclic(i)) {
+                        cyclic.add(graph.idAt(i));
+                    }
+                }
+                log.warn("⚠️ Project {} has {} task(s) in dependency cycles", projectId, cyclic.size());
+            }
+
+            return ProjectScheduleResponse.builder()
+                    .projectId(projectId)
+                    .totalTasks(graph.size())
+                    .blockedTasks(blocked)
+                    .projectStart(graph.size() > 0 ? toDateTime(graph.origin()) : null)
+                    .projectFinish(graph.size() > 0 ? toDateTime(graph.finish()) : null)
+                    .durationHours(toHours(graph.finish() - graph.origin()))
+                    .criticalPath(criticalPath)
+                    .cyclicTaskIds(cyclic)
+                    .tasks(tasks)
+                    .build();
+        }
+    }
+
+    public TaskScheduleDto getTaskSchedule(String taskId, String companyId) {
+        Task task = taskRepository.findById(taskId)
+                .filter(t -> t.getDeletedAt() == null)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        checkCompany(task.getCompanyId(), companyId);
+
+        if (task.getProjectId() == null) {
+            throw new IllegalArgumentException("Task is not part of a project: " + taskId);
+        }
+
+        TaskDependencyGraph graph = getGraph(task.getProjectId());
+        boolean present;
+        synchronized (graph) {
+            present = graph.indexOf(taskId) >= 0;
+        }
+        if (!present) {
+            // Başka bir instance'ta yeni oluşturulmuş olabilir
+            graphs.remove(task.getProjectId());
+            graph = getGraph(task.getProjectId());
+        }
+
+        synchronized (graph) {
+            int i = graph.indexOf(taskId);
+            if (i < 0) {
+                throw new RuntimeException("Task not found in project schedule");
+            }
+            return toScheduleDto(graph, i);
+        }
+    }
+
+    // ==================== WRITE ====================
+
+    /**
+     * Yazmadan önce bağımlılıkları doğrular: hepsi aynı projede olmalı ve
+     * yeni kenarlar döngü oluşturmamalı. taskId yeni task için null olabilir.
+     */
+    public void validateDependencies(String projectId, String taskId, List<String> dependsOn) {
+        if (dependsOn == null || dependsOn.isEmpty()) {
+            return;
+        }
+        if (projectId == null) {
+            throw new IllegalArgumentException("Task dependencies require a projectId");
+        }
+        if (taskId != null && dependsOn.contains(taskId)) {
+            throw new IllegalArgumentException("Task cannot depend on itself");
+        }
+
+        TaskDependencyGraph graph = getGraph(projectId);
+        int[] depIndexes = resolve(graph, dependsOn);
+
+        if (depIndexes == null) {
+            // Cache eski olabilir, bir kez yeniden yükle
+            graphs.remove(projectId);
+            graph = getGraph(projectId);
+            depIndexes = resolve(graph, dependsOn);
+
+            if (depIndexes == null) {
+                throw new IllegalArgumentException("Dependency task not found in project " + projectId);
+            }
+        }
+
+        if (taskId == null) {
+            return;
+        }
+
+        synchronized (graph) {
+            int node = graph.indexOf(taskId);
+            if (node >= 0 && graph.wouldCreateCycle(node, depIndexes)) {
+                throw new IllegalArgumentException("Dependency cycle detected for task: " + taskId);
+            }
+        }
+    }
+
+    /**
+     * Task kaydedildikten sonra (commit'te) cache'teki grafı günceller
+     */
+    public void onTaskSaved(Task task) {
+        if (task.getProjectId() == null) {
+            return;
+        }
+
+        String projectId = task.getProjectId();
+        String taskId = task.getId();
+        long release = task.getStartDate() != null ? toMinutes(task.getStartDate()) : TaskDependencyGraph.UNSET;
+        long duration = durationMinutes(task.getStartDate(), task.getDueDate(), task.getEstimatedHours());
+        boolean done = isDone(task.getStatus());
+        List<String> dependsOn = task.getDependsOn() != null ? List.copyOf(task.getDependsOn()) : List.of();
+
+        afterCommit(() -> apply(projectId, taskId, release, duration, done, dependsOn));
+    }
+
+    public void evictProject(String projectId) {
+        if (projectId != null) {
+            afterCommit(() -> graphs.remove(projectId));
+        }
+    }
+
+    private void apply(String projectId, String taskId, long release, long duration,
+                       boolean done, List<String> dependsOn) {
+        CachedGraph cached = graphs.get(projectId);
+        if (cached == null) {
+            return;  // ilk okumada zaten güncel yüklenecek
+        }
+
+        TaskDependencyGraph graph = cached.graph;
+        synchronized (graph) {
+            int[] depIndexes = resolve(graph, dependsOn);
+            if (depIndexes == null) {
+                graphs.remove(projectId, cached);
+                return;
+            }
+
+            int node = graph.indexOf(taskId);
+            if (node < 0) {
+                node = graph.addTask(taskId, release, duration, done);
+            } else {
+                graph.updateTiming(node, release, duration);
+                graph.setDone(node, done);
+            }
+
+            if (graph.wouldCreateCycle(node, depIndexes)) {
+                // Eşzamanlı yazmalar döngü oluşturduysa yeniden yükleme döngüyü raporlar
+                log.warn("⚠️ Concurrent dependency update created a cycle in project {}, reloading graph", projectId);
+                graphs.remove(projectId, cached);
+                return;
+            }
+            graph.setDependencies(node, depIndexes);
+        }
+    }
+
+    // ==================== LOADING ====================
+
+    private TaskDependencyGraph getGraph(String projectId) {
+        long now = System.currentTimeMillis();
+        CachedGraph cached = graphs.get(projectId);
+
+        if (cached != null && now - cached.loadedAt < maxAgeSeconds * 1000) {
+            cached.lastAccess = now;
+            return cached.graph;
+        }
+
+        CachedGraph loaded = new CachedGraph(load(projectId), now);
+        if (cached != null) {
+            graphs.replace(projectId, cached, loaded);
+        } else if (graphs.putIfAbsent(projectId, loaded) == null) {
+            evictLeastRecentlyUsed();
+        }
+        return loaded.graph;
+    }
+
+    private TaskDependencyGraph load(String projectId) {
+        long startedAt = System.nanoTime();
+
+        List<Object[]> rows = taskRepository.findScheduleRowsByProjectId(projectId);
+        int n = rows.size();
+
+        String[] ids = new String[n];
+        long[] release = new long[n];
+        long[] duration = new long[n];
+        boolean[] done = new boolean[n];
+        Map<String, Integer> indexById = new HashMap<>(n * 2);
+        String companyId = null;
+        long origin = Long.MAX_VALUE;
+
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            LocalDateTime startDate = (LocalDateTime) row[2];
+            LocalDateTime dueDate = (LocalDateTime) row[3];
+
+            ids[i] = (String) row[0];
+            done[i] = isDone((TaskStatus) row[1]);
+            release[i] = startDate != null ? toMinutes(startDate) : TaskDependencyGraph.UNSET;
+            duration[i] = durationMinutes(startDate, dueDate, (Integer) row[4]);
+            indexById.put(ids[i], i);
+            if (companyId == null) {
+                companyId = (String) row[5];
+            }
+
+            if (release[i] != TaskDependencyGraph.UNSET && release[i] < origin) {
+                origin = release[i];
+            }
+        }
+        if (origin == Long.MAX_VALUE) {
+            origin = toMinutes(LocalDateTime.now());
+        }
+
+        // Kenarlar iki geçişte int[][] yapısına çevrilir
+        List<Object[]> edges = taskRepository.findDependencyEdgesByProjectId(projectId);
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int[] counts = new int[n];
+        int edgeCount = 0;
+
+        for (Object[] edge : edges) {
+            Integer task = indexById.get((String) edge[0]);
+            Integer dependency = indexById.get((String) edge[1]);
+            if (task == null || dependency == null) {
+                continue;  // silinmiş veya başka projedeki task
+            }
+            from[edgeCount] = task;
+            to[edgeCount] = dependency;
+            counts[task]++;
+            edgeCount++;
+        }
+
+        int[][] deps = new int[n][];
+        for (int i = 0; i < n; i++) {
+            deps[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            deps[from[e]][counts[from[e]]++] = to[e];
+        }
+
+        TaskDependencyGraph graph = TaskDependencyGraph.build(projectId, companyId, ids, release, duration, done, deps, origin);
+
+        log.debug("Loaded dependency graph for project {}: {} tasks, {} edges in {} ms",
+                projectId, n, edgeCount, (System.nanoTime() - startedAt) / 1_000_000);
+        return graph;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (graphs.size() > maxProjects) {
+            graphs.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .ifPresent(entry -> graphs.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Schedule sadece task'ların ait olduğu şirketin kullanıcılarına açıktır.
+     * Task'sız projenin şirketi bilinmez; boş schedule veri sızdırmaz.
+     */
+    private static void checkCompany(String ownerCompanyId, String companyId) {
+        if (companyId == null) {
+            throw new AccessDeniedException("Company information not found in token");
+        }
+        if (ownerCompanyId != null && !ownerCompanyId.equals(companyId)) {
+            throw new AccessDeniedException("Schedule belongs to another company");
+        }
+    }
+
+    private int[] resolve(TaskDependencyGraph graph, List<String> dependsOn) {
+        synchronized (graph) {
+            int[] indexes = new int[dependsOn.size()];
+            for (int k = 0; k < indexes.length; k++) {
+                indexes[k] = graph.indexOf(dependsOn.get(k));
+                if (indexes[k] < 0) {
+                    return null;
+                }
+            }
+            return indexes;
+        }
+    }
+
+    private TaskScheduleDto toScheduleDto(TaskDependencyGraph graph, int i) {
+        if (graph.isCyclic(i)) {
+            return TaskScheduleDto.builder()
+                    .taskId(graph.idAt(i))
+                    .critical(false)
+                    .blocked(true)
+                    .blockedBy(blockedBy(graph, i))
+                    .build();
+        }
+
+        boolean blocked = graph.isBlocked(i);
+        return TaskScheduleDto.builder()
+                .taskId(graph.idAt(i))
+                .earliestStart(toDateTime(graph.earliestStart(i)))
+                .earliestFinish(toDateTime(graph.earliestFinish(i)))
+                .latestStart(toDateTime(graph.latestStart(i)))
+                .latestFinish(toDateTime(graph.latestFinish(i)))
+                .slackHours(toHours(graph.slack(i)))
+                .critical(graph.isCritical(i))
+                .blocked(blocked)
+                .blockedBy(blocked ? blockedBy(graph, i) : List.of())
+                .build();
+    }
+
+    private List<String> blockedBy(TaskDependencyGraph graph, int i) {
+        List<String> result = new ArrayList<>();
+        for (int p : graph.predecessors(i)) {
+            if (!graph.isDone(p)) {
+                result.add(graph.idAt(p));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isDone(TaskStatus status) {
+        return status == TaskStatus.COMPLETED || status == TaskStatus.CANCELLED;
+    }
+
+    /**
+     * Başlangıç ve bitiş tarihi varsa takvim süresi, yoksa tahmini saat kullanılır
+     */
+    private static long durationMinutes(LocalDateTime startDate, LocalDateTime dueDate, Integer estimatedHours) {
+        if (startDate != null && dueDate != null && dueDate.isAfter(startDate)) {
+            return Duration.between(startDate, dueDate).toMinutes();
+        }
+        if (estimatedHours != null && estimatedHours > 0) {
+            return estimatedHours * 60L;
+        }
+        return 0;
+    }
+
+    private static long toMinutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime toDateTime(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static double toHours(long minutes) {
+        return Math.round(minutes / 60.0 * 100) / 100.0;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static class CachedGraph {
+        private final TaskDependencyGraph graph;
+        private final long loadedAt;
+        private volatile long lastAccess;
+
+        private CachedGraph(TaskDependencyGraph graph, long loadedAt) {
+            this.graph = graph;
+            this.loadedAt = loadedAt;
+            this.lastAccess = loadedAt;
+        }
+    }
+}
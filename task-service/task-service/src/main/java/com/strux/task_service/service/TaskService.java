@@ -1,18 +1,24 @@
 package com.strux.task_service.service;
 
-import com.strux.task_service.client.WorkerClient;
 import com.strux.task_service.dto.*;
 import com.strux.task_service.enums.*;
 import com.strux.task_service.kafka.TaskEventProducer;
 import com.strux.task_service.model.Task;
 import com.strux.task_service.repository.TaskRepository;
+import com.strux.task_service.repository.TaskSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -21,21 +27,29 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TaskService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TaskRepository taskRepository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final TaskEventProducer taskEventProducer;
-    private final WorkerClient workerClient;
+    private final WorkerUnitService workerUnitService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduleService taskScheduleService;
+    private final TaskRecurrenceService taskRecurrenceService;
+    private final TaskInboxService taskInboxService;
+    private final TaskStatsService taskStatsService;
+    private final TaskDeadlineService taskDeadlineService;
 
-    @Transactional
     public TaskDto createTask(TaskCreateRequest request, String userId) {
         log.info("Creating task: {} by user: {}", request.getTitle(), userId);
 
-        // ✅ Eğer unitId yoksa ama assignedTo varsa, worker'ın unit'ini bul
+        // ✅ Eğer unitId yoksa ama assignedTo varsa, worker'ın unit'ini bul.
+        // Cache'te yoksa user-service'e gidilebilir, bu yüzden transaction açılmadan önce yapılır.
         String unitId = request.getUnitId();
 
         if (unitId == null && request.getAssignedTo() != null) {
-            log.info("UnitId not provided, fetching from worker: {}", request.getAssignedTo());
-            unitId = workerClient.getWorkerCurrentUnit(request.getAssignedTo());
+            unitId = workerUnitService.resolveCurrentUnit(request.getAssignedTo());
 
             if (unitId != null) {
                 log.info("Auto-detected unitId for worker {}: {}", request.getAssignedTo(), unitId);
@@ -44,6 +58,13 @@ public class TaskService {
             }
         }
 
+        String resolvedUnitId = unitId;
+        return transactionTemplate.execute(status -> saveNewTask(request, userId, resolvedUnitId));
+    }
+
+    private TaskDto saveNewTask(TaskCreateRequest request, String userId, String unitId) {
+        taskScheduleService.validateDependencies(request.getProjectId(), null, request.getDependsOn());
+
         Task task = Task.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
@@ -76,6 +97,14 @@ public class TaskService {
 
         log.info("Task created successfully: {} with unitId: {}", task.getId(), task.getUnitId());
 
+        if (Boolean.TRUE.equals(task.getIsRecurring())) {
+            taskRecurrenceService.sync(task);
+        }
+
+        taskScheduleService.onTaskSaved(task);
+        taskInboxService.sync(task);
+        taskDeadlineService.sync(task);
+        taskStatsService.onTaskChanged(null, task);
         taskEventProducer.publishTaskCreatedEvent(task);
 
         return toDto(task);
@@ -89,22 +118,22 @@ public class TaskService {
     }
 
     public ProjectTaskStatsResponse getProjectTaskStats(String projectId) {
-        Long total = taskRepository.countByProjectIdAndDeletedAtIsNull(projectId);
-
-        Long todo = taskRepository.countByProjectIdAndStatusAndDeletedAtIsNull(projectId, TaskStatus.TODO);
-        Long inProgress = taskRepository.countByProjectIdAndStatusAndDeletedAtIsNull(projectId, TaskStatus.IN_PROGRESS);
-        Long completed = taskRepository.countByProjectIdAndStatusAndDeletedAtIsNull(projectId, TaskStatus.COMPLETED);
+        Map<TaskStatDimension, Map<String, Long>> counters = taskStatsService.getCounters(TaskStatScope.PROJECT, projectId);
 
-        return new ProjectTaskStatsResponse(total, todo, inProgress, completed);
+        return new ProjectTaskStatsResponse(
+                TaskStatsService.total(counters),
+                TaskStatsService.countOf(counters, TaskStatus.TODO),
+                TaskStatsService.countOf(counters, TaskStatus.IN_PROGRESS),
+                TaskStatsService.countOf(counters, TaskStatus.COMPLETED));
     }
 
     public Integer countActiveTasksByProject(String projectId) {
-        Long todo = taskRepository.countByProjectIdAndStatusAndDeletedAtIsNull(projectId, TaskStatus.TODO);
-        Long inProgress = taskRepository.countByProjectIdAndStatusAndDeletedAtIsNull(projectId, TaskStatus.IN_PROGRESS);
+        Map<TaskStatDimension, Map<String, Long>> counters = taskStatsService.getCounters(TaskStatScope.PROJECT, projectId);
 
-        Long total = todo + inProgress;
+        long total = TaskStatsService.countOf(counters, TaskStatus.TODO)
+                + TaskStatsService.countOf(counters, TaskStatus.IN_PROGRESS);
 
-        return total.intValue(); // ✔ Long → Integer
+        return (int) total;
     }
 
     public List<TaskDto> getTasksByCompany(String companyId) {
@@ -141,11 +170,14 @@ public class TaskService {
         List<Task> assignedTasks = taskRepository.findByAssignedToAndDeletedAtIsNull(userId);
         List<Task> assigneesTasks = taskRepository.findByAssigneesContaining(userId);
 
-        Set<Task> allTasks = new HashSet<>();
-        allTasks.addAll(assignedTasks);
-        allTasks.addAll(assigneesTasks);
+        // Aynı task iki listede de olabilir; id ile tekilleştirilir
+        Map<String, Task> allTasks = new LinkedHashMap<>();
+        assignedTasks.forEach(task -> allTasks.putIfAbsent(task.getId(), task));
+        assigneesTasks.stream()
+                .filter(task -> task.getDeletedAt() == null)
+                .forEach(task -> allTasks.putIfAbsent(task.getId(), task));
 
-        return allTasks.stream()
+        return allTasks.values().stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
@@ -208,17 +240,15 @@ public class TaskService {
     }
 
     public List<TaskDto> getOverdueTasks(String companyId) {
-        List<TaskStatus> excludedStatuses = Arrays.asList(
-                TaskStatus.COMPLETED,
-                TaskStatus.CANCELLED
-        );
+        // Sıra ve filtre task_deadlines index'inden gelir, task'lar id ile yüklenir
+        List<String> taskIds = taskDeadlineService.findOverdueTaskIds(companyId);
+        Map<String, Task> tasks = taskRepository.findAllById(taskIds).stream()
+                .filter(t -> t.getDeletedAt() == null)
+                .collect(Collectors.toMap(Task::getId, t -> t));
 
-        return taskRepository.findByCompanyIdAndDueDateBeforeAndStatusNotInAndDeletedAtIsNull(
-                        companyId,
-                        LocalDateTime.now(),
-                        excludedStatuses
-                )
-                .stream()
+        return taskIds.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
@@ -239,20 +269,77 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
-    public List<TaskDto> searchTasks(TaskSearchRequest request) {
-        List<Task> tasks = taskRepository.findByCompanyIdAndDeletedAtIsNull(request.getCompanyId());
+    /**
+     * Arama her zaman token'daki şirketle sınırlanır; body'deki companyId sadece doğrulanır
+     */
+    private static void scopeToCompany(TaskSearchRequest request, String companyId) {
+        if (companyId == null) {
+            throw new AccessDeniedException("Company information not found in token");
+        }
+        if (request.getCompanyId() != null && !request.getCompanyId().equals(companyId)) {
+            throw new AccessDeniedException("Cannot search tasks of another company");
+        }
+        request.setCompanyId(companyId);
+    }
 
-        return tasks.stream()
-                .filter(task -> matchesSearchCriteria(task, request))
+    public List<TaskDto> searchTasks(TaskSearchRequest request, String companyId) {
+        scopeToCompany(request, companyId);
+
+        return taskRepository.findAll(TaskSpecifications.matching(request), searchSort(request))
+                .stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset (cursor) pagination ile arama. OFFSET kullanılmadığı için derin
+     * sayfalarda da maliyet sabit kalır.
+     */
+    public TaskPageResponse searchTasksPage(TaskSearchRequest request, String companyId) {
+        scopeToCompany(request, companyId);
+
+        TaskSortField sortField = request.getSortBy() != null ? request.getSortBy() : TaskSortField.CREATED_AT;
+        Sort.Direction direction = request.getDirection() != null ? request.getDirection() : Sort.Direction.DESC;
+        int size = Math.min(Math.max(request.getSize() != null ? request.getSize() : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+
+        Specification<Task> spec = TaskSpecifications.matching(request);
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            spec = spec.and(decodeCursor(request.getCursor(), sortField, direction));
+        }
+
+        List<Task> tasks = taskRepository.findBy(spec, query -> query
+                .sortBy(searchSort(request))
+                .limit(size + 1)
+                .all());
+
+        boolean hasNext = tasks.size() > size;
+        if (hasNext) {
+            tasks = tasks.subList(0, size);
+        }
+
+        String nextCursor = hasNext ? encodeCursor(tasks.get(tasks.size() - 1), sortField, direction) : null;
+
+        return TaskPageResponse.builder()
+                .content(tasks.stream().map(this::toDto).collect(Collectors.toList()))
+                .size(tasks.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     @Transactional
     public TaskDto updateTask(String taskId, TaskUpdateRequest request, String userId) {
         Task task = taskRepository.findById(taskId)
                 .filter(t -> t.getDeletedAt() == null)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        TaskStatsService.Snapshot statsBefore = taskStatsService.snapshot(task);
+
+        List<String> oldDependencies = task.getDependsOn() != null ? new ArrayList<>(task.getDependsOn()) : List.of();
+        boolean dependenciesChanged = request.getDependsOn() != null
+                && !new HashSet<>(request.getDependsOn()).equals(new HashSet<>(oldDependencies));
+        if (dependenciesChanged) {
+            taskScheduleService.validateDependencies(task.getProjectId(), taskId, request.getDependsOn());
+        }
 
         if (request.getTitle() != null) task.setTitle(request.getTitle());
         if (request.getDescription() != null) task.setDescription(request.getDescription());
@@ -286,8 +373,21 @@ public class TaskService {
         if (request.getRecurrencePattern() != null) task.setRecurrencePattern(request.getRecurrencePattern());
 
         task = taskRepository.save(task);
+
+        if (request.getIsRecurring() != null || request.getRecurrencePattern() != null || request.getStartDate() != null) {
+            taskRecurrenceService.sync(task);
+        }
+
+        taskScheduleService.onTaskSaved(task);
+        taskInboxService.sync(task);
+        taskDeadlineService.sync(task);
+        taskStatsService.onTaskChanged(statsBefore, task);
         taskEventProducer.publishTaskUpdatedEvent(task);
 
+        if (dependenciesChanged) {
+            taskEventProducer.publishTaskDependencyChangedEvent(task, oldDependencies);
+        }
+
         return toDto(task);
     }
 
@@ -296,6 +396,7 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
                 .filter(t -> t.getDeletedAt() == null)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        TaskStatsService.Snapshot statsBefore = taskStatsService.snapshot(task);
 
         List<String> previousAssignees = task.getAssignees();
         task.setAssignees(request.getAssignees());
@@ -309,6 +410,9 @@ public class TaskService {
         }
 
         task = taskRepository.save(task);
+        taskInboxService.sync(task);
+        taskDeadlineService.sync(task);
+        taskStatsService.onTaskChanged(statsBefore, task);
         taskEventProducer.publishTaskAssignedEvent(task, previousAssignees);
 
         return toDto(task);
@@ -319,6 +423,7 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
                 .filter(t -> t.getDeletedAt() == null)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        TaskStatsService.Snapshot statsBefore = taskStatsService.snapshot(task);
 
         task.setProgressPercentage(request.getProgressPercentage());
 
@@ -332,6 +437,10 @@ public class TaskService {
         }
 
         task = taskRepository.save(task);
+        taskScheduleService.onTaskSaved(task);
+        taskInboxService.sync(task);
+        taskDeadlineService.sync(task);
+        taskStatsService.onTaskChanged(statsBefore, task);
         taskEventProducer.publishTaskProgressUpdatedEvent(task, userId);
 
         return toDto(task);
@@ -342,12 +451,17 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
                 .filter(t -> t.getDeletedAt() == null)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        TaskStatsService.Snapshot statsBefore = taskStatsService.snapshot(task);
 
         task.setStatus(TaskStatus.COMPLETED);
         task.setCompletedAt(LocalDateTime.now());
         task.setProgressPercentage(100);
 
         task = taskRepository.save(task);
+        taskScheduleService.onTaskSaved(task);
+        taskInboxService.sync(task);
+        taskDeadlineService.sync(task);
+        taskStatsService.onTaskChanged(statsBefore, task);
         taskEventProducer.publishTaskCompletedEvent(task, userId);
 
         return toDto(task);
@@ -374,6 +488,7 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
                 .filter(t -> t.getDeletedAt() == null)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        TaskStatsService.Snapshot statsBefore = taskStatsService.snapshot(task);
 
         if (task.getStatus() != TaskStatus.COMPLETED) {
             throw new RuntimeException("Task must be completed before rejection");
@@ -383,6 +498,10 @@ public class TaskService {
         task.setCompletedAt(null);
 
         task = taskRepository.save(task);
+        taskScheduleService.onTaskSaved(task);
+        taskInboxService.sync(task);
+        taskDeadlineService.sync(task);
+        taskStatsService.onTaskChanged(statsBefore, task);
         taskEventProducer.publishTaskRejectedEvent(task, rejectedBy, rejectionReason);
 
         return toDto(task);
@@ -393,75 +512,89 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
                 .filter(t -> t.getDeletedAt() == null)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        TaskStatsService.Snapshot statsBefore = taskStatsService.snapshot(task);
 
         if (hardDelete) {
             taskRepository.delete(task);
+            taskInboxService.removeTask(task);
+            taskDeadlineService.removeAll(List.of(taskId));
+            taskStatsService.onTaskChanged(statsBefore, null);
         } else {
             task.setDeletedAt(LocalDateTime.now());
             taskRepository.save(task);
+            taskInboxService.sync(task);
+            taskDeadlineService.sync(task);
+            taskStatsService.onTaskChanged(statsBefore, task);
         }
 
+        taskRecurrenceService.remove(taskId);
+        taskScheduleService.evictProject(task.getProjectId());
         taskEventProducer.publishTaskDeletedEvent(task, hardDelete);
     }
 
     public TaskStatsResponse getTaskStats(String companyId) {
-        Long totalTasks = taskRepository.countByCompanyIdAndDeletedAtIsNull(companyId);
-        Long todoTasks = taskRepository.countByCompanyIdAndStatusAndDeletedAtIsNull(companyId, TaskStatus.TODO);
-        Long inProgressTasks = taskRepository.countByCompanyIdAndStatusAndDeletedAtIsNull(companyId, TaskStatus.IN_PROGRESS);
-        Long completedTasks = taskRepository.countByCompanyIdAndStatusAndDeletedAtIsNull(companyId, TaskStatus.COMPLETED);
-        Long overdueCount = (long) getOverdueTasks(companyId).size();
+        Map<TaskStatDimension, Map<String, Long>> counters = taskStatsService.getCounters(TaskStatScope.COMPANY, companyId);
+
+        long completedTasks = TaskStatsService.countOf(counters, TaskStatus.COMPLETED);
+        long cancelledTasks = TaskStatsService.countOf(counters, TaskStatus.CANCELLED);
 
-        Map<String, Long> tasksByStatus = convertToMap(taskRepository.countByStatusGrouped(companyId));
-        Map<String, Long> tasksByPriority = convertToMap(taskRepository.countByPriorityGrouped(companyId));
-        Map<String, Long> tasksByType = convertToMap(taskRepository.countByTypeGrouped(companyId));
-        Map<String, Long> tasksByCategory = convertToMap(taskRepository.countByCategoryGrouped(companyId));
+        // Overdue zamana bağlı olduğu için sayaçta tutulmaz; açık task'ların (company_id, due_at) index'i ile sayılır
+        long overdueCount = taskDeadlineService.countOverdue(companyId);
 
         return TaskStatsResponse.builder()
-                .totalTasks(totalTasks)
-                .todoTasks(todoTasks)
-                .inProgressTasks(inProgressTasks)
+                .totalTasks(TaskStatsService.total(counters))
+                .todoTasks(TaskStatsService.countOf(counters, TaskStatus.TODO))
+                .inProgressTasks(TaskStatsService.countOf(counters, TaskStatus.IN_PROGRESS))
+                .onHoldTasks(TaskStatsService.countOf(counters, TaskStatus.ONHOLD))
                 .completedTasks(completedTasks)
+                .cancelledTasks(cancelledTasks)
+                .closedTasks(completedTasks + cancelledTasks)
                 .overdueTasks(overdueCount)
-                .tasksByStatus(tasksByStatus)
-                .tasksByPriority(tasksByPriority)
-                .tasksByType(tasksByType)
-                .tasksByCategory(tasksByCategory)
+                .tasksByStatus(counters.get(TaskStatDimension.STATUS))
+                .tasksByPriority(counters.get(TaskStatDimension.PRIORITY))
+                .tasksByType(counters.get(TaskStatDimension.TYPE))
+                .tasksByCategory(counters.get(TaskStatDimension.CATEGORY))
                 .build();
     }
 
-    private boolean matchesSearchCriteria(Task task, TaskSearchRequest request) {
-        if (request.getKeyword() != null &&
-                !task.getTitle().toLowerCase().contains(request.getKeyword().toLowerCase()) &&
-                (task.getDescription() == null || !task.getDescription().toLowerCase().contains(request.getKeyword().toLowerCase()))) {
-            return false;
+    private Sort searchSort(TaskSearchRequest request) {
+        TaskSortField sortField = request.getSortBy() != null ? request.getSortBy() : TaskSortField.CREATED_AT;
+        Sort.Direction direction = request.getDirection() != null ? request.getDirection() : Sort.Direction.DESC;
+        // id ikinci anahtar: aynı değere sahip kayıtlar arasında sabit sıra
+        return Sort.by(direction, sortField.getProperty()).and(Sort.by(direction, "id"));
+    }
+
+    private String encodeCursor(Task last, TaskSortField sortField, Sort.Direction direction) {
+        Object value = switch (sortField) {
+            case CREATED_AT -> last.getCreatedAt();
+            case UPDATED_AT -> last.getUpdatedAt();
+            case DUE_DATE -> last.getDueDate();
+            case START_DATE -> last.getStartDate();
+            case TITLE -> last.getTitle();
+        };
+
+        String raw = sortField + "\t" + direction + "\t" + last.getId() + "\t" + (value != null ? "V" + value : "N");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<Task> decodeCursor(String cursor, TaskSortField sortField, Sort.Direction direction) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\t", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        if (parts.length != 4 || !parts[0].equals(sortField.name()) || !parts[1].equals(direction.name())) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+
+        try {
+            Comparable<?> value = parts[3].startsWith("V") ? sortField.parseValue(parts[3].substring(1)) : null;
+            return TaskSpecifications.after(sortField.getProperty(), direction.isAscending(), value, parts[2]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
-        if (request.getProjectId() != null && !request.getProjectId().equals(task.getProjectId())) return false;
-        if (request.getCreatedBy() != null && !request.getCreatedBy().equals(task.getCreatedBy())) return false;
-        if (request.getAssignedTo() != null && !request.getAssignedTo().equals(task.getAssignedTo())) return false;
-        if (request.getStatus() != null && request.getStatus() != task.getStatus()) return false;
-        if (request.getPriority() != null && request.getPriority() != task.getPriority()) return false;
-        if (request.getType() != null && request.getType() != task.getType()) return false;
-        if (request.getCategory() != null && request.getCategory() != task.getCategory()) return false;
-        if (request.getParentTaskId() != null && !request.getParentTaskId().equals(task.getParentTaskId())) return false;
-        if (request.getAssetId() != null && !request.getAssetId().equals(task.getAssetId())) return false;
-        if (request.getEquipmentId() != null && !request.getEquipmentId().equals(task.getEquipmentId())) return false;
-        if (request.getLocationId() != null && !request.getLocationId().equals(task.getLocationId())) return false;
-        if (request.getIsRecurring() != null && !request.getIsRecurring().equals(task.getIsRecurring())) return false;
-        if (request.getCreatedAfter() != null && task.getCreatedAt().isBefore(request.getCreatedAfter())) return false;
-        if (request.getCreatedBefore() != null && task.getCreatedAt().isAfter(request.getCreatedBefore())) return false;
-        if (request.getDueDateAfter() != null && (task.getDueDate() == null || task.getDueDate().isBefore(request.getDueDateAfter()))) return false;
-        if (request.getDueDateBefore() != null && (task.getDueDate() == null || task.getDueDate().isAfter(request.getDueDateBefore()))) return false;
-        if (request.getMinProgressPercentage() != null && (task.getProgressPercentage() == null || task.getProgressPercentage() < request.getMinProgressPercentage())) return false;
-        if (request.getMaxProgressPercentage() != null && (task.getProgressPercentage() == null || task.getProgressPercentage() > request.getMaxProgressPercentage())) return false;
-        return true;
-    }
-
-    private Map<String, Long> convertToMap(List<Object[]> results) {
-        return results.stream()
-                .collect(Collectors.toMap(
-                        arr -> arr[0].toString(),
-                        arr -> (Long) arr[1]
-                ));
     }
 
     // ✅ toDto METHOD - unitId eklendi
@@ -497,6 +630,7 @@ public class TaskService {
                 .tags(task.getTags())
                 .isRecurring(task.getIsRecurring())
                 .recurrencePattern(task.getRecurrencePattern())
+                .recurrenceSourceId(task.getRecurrenceSourceId())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,183 @@
+package com.strux.task_service.service;
+
+import com.strux.task_service.enums.*;
+import com.strux.task_service.model.Task;
+import com.strux.task_service.model.TaskStatCounter;
+import com.strux.task_service.repository.TaskStatCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Şirket ve proje dashboard'ları için task sayaçları.
+ *
+ * Task yazan işlemler değişiklikten önce snapshot() alır, kayıttan sonra
+ * onTaskChanged() ile eski ve yeni değerlerin farkını sayaçlara yansıtır.
+ * Okumalar kapsam başına tek index aralığıdır; task tablosu taranmaz.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatsService {
+
+    private final TaskStatCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.task.stats.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    /**
+     * Task'ın sayaçlara katkısı; silinmiş task için null
+     */
+    public record Snapshot(String companyId, String projectId, TaskStatus status,
+                           TaskPriority priority, TaskType type, TaskCategory category) {
+    }
+
+    private record CounterKey(TaskStatScope scope, String scopeId, TaskStatDimension dimension, String value)
+            implements Comparable<CounterKey> {
+
+        private static final Comparator<CounterKey> ORDER = Comparator
+                .comparing(CounterKey::scope)
+                .thenComparing(CounterKey::scopeId)
+                .thenComparing(CounterKey::dimension)
+                .thenComparing(CounterKey::value);
+
+        @Override
+        public int compareTo(CounterKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    public Snapshot snapshot(Task task) {
+        if (task == null || task.getDeletedAt() != null) {
+            return null;
+        }
+        return new Snapshot(task.getCompanyId(), task.getProjectId(), task.getStatus(),
+                task.getPriority(), task.getType(), task.getCategory());
+    }
+
+    // ==================== WRITE ====================
+
+    @Transactional
+    public void onTaskChanged(Snapshot before, Task after) {
+        onTasksChanged(Collections.singletonList(before), Collections.singletonList(after));
+    }
+
+    /**
+     * Toplu işlemler için: tüm farklar birleştirilir, her sayaç bir kez güncellenir.
+     * before ve after aynı sırada verilir; oluşturma için before, silme için after null.
+     */
+    @Transactional
+    public void onTasksChanged(List<Snapshot> before, List<Task> after) {
+        // Satır kilitleri deadlock olmaması için sabit sırada alınır
+        Map<CounterKey, Long> deltas = new TreeMap<>();
+        for (int i = 0; i < before.size(); i++) {
+            Snapshot current = snapshot(after.get(i));
+            if (!Objects.equals(before.get(i), current)) {
+                addKeys(deltas, before.get(i), -1);
+                addKeys(deltas, current, 1);
+            }
+        }
+
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                counterRepository.increment(key.scope().name(), key.scopeId(), key.dimension().name(), key.value(), delta);
+            }
+        });
+    }
+
+    // ==================== READ ====================
+
+    @Transactional(readOnly = true)
+    public Map<TaskStatDimension, Map<String, Long>> getCounters(TaskStatScope scope, String scopeId) {
+        Map<TaskStatDimension, Map<String, Long>> counters = new EnumMap<>(TaskStatDimension.class);
+        for (TaskStatDimension dimension : TaskStatDimension.values()) {
+            counters.put(dimension, new HashMap<>());
+        }
+
+        for (TaskStatCounter counter : counterRepository.findByScopeTypeAndScopeId(scope, scopeId)) {
+            if (counter.getTaskCount() > 0) {
+                counters.get(counter.getDimension()).put(counter.getDimValue(), counter.getTaskCount());
+            }
+        }
+        return counters;
+    }
+
+    public static long total(Map<TaskStatDimension, Map<String, Long>> counters) {
+        return counters.get(TaskStatDimension.TOTAL).getOrDefault(TaskStatCounter.TOTAL_VALUE, 0L);
+    }
+
+    public static long countOf(Map<TaskStatDimension, Map<String, Long>> counters, TaskStatus status) {
+        return counters.get(TaskStatDimension.STATUS).getOrDefault(status.name(), 0L);
+    }
+
+    // ==================== RECONCILIATION ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Sayaçları tasks tablosundan yeniden hesaplar. Kayma (örneğin elle yapılan
+     * SQL güncellemeleri) varsa düzeltilir ve loglanır.
+     */
+    @Scheduled(cron = "${app.task.stats.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+
+        // Kilit ve yeniden hesaplama aynı transaction'da olmalı
+        long drifted = transactionTemplate.execute(status -> {
+            counterRepository.lockForReconcile();
+            return counterRepository.reconcileAll();
+        });
+
+        if (drifted > 0) {
+            log.warn("⚠️ Task stat counters reconciled: {} counter(s) corrected in {} ms",
+                    drifted, System.currentTimeMillis() - started);
+        } else {
+            log.info("✅ Task stat counters verified in {} ms", System.currentTimeMillis() - started);
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    private void addKeys(Map<CounterKey, Long> deltas, Snapshot snapshot, long sign) {
+        if (snapshot == null) {
+            return;
+        }
+        addScope(deltas, TaskStatScope.COMPANY, snapshot.companyId(), snapshot, sign);
+        addScope(deltas, TaskStatScope.PROJECT, snapshot.projectId(), snapshot, sign);
+    }
+
+    private void addScope(Map<CounterKey, Long> deltas, TaskStatScope scope, String scopeId,
+                          Snapshot snapshot, long sign) {
+        if (scopeId == null) {
+            return;
+        }
+        add(deltas, scope, scopeId, TaskStatDimension.TOTAL, TaskStatCounter.TOTAL_VALUE, sign);
+        add(deltas, scope, scopeId, TaskStatDimension.STATUS, snapshot.status(), sign);
+        add(deltas, scope, scopeId, TaskStatDimension.PRIORITY, snapshot.priority(), sign);
+        add(deltas, scope, scopeId, TaskStatDimension.TYPE, snapshot.type(), sign);
+        add(deltas, scope, scopeId, TaskStatDimension.CATEGORY, snapshot.category(), sign);
+    }
+
+    private void add(Map<CounterKey, Long> deltas, TaskStatScope scope, String scopeId,
+                     TaskStatDimension dimension, Object value, long sign) {
+        if (value == null) {
+            return;
+        }
+        String key = value instanceof Enum<?> e ? e.name() : value.toString();
+        deltas.merge(new CounterKey(scope, scopeId, dimension, key), sign, Long::sum);
+    }
+}
@@ -0,0 +1,162 @@
+package com.strux.task_service.service;
+
+import com.strux.task_service.dto.TaskTreeNodeDto;
+import com.strux.task_service.dto.TaskTreeResponse;
+import com.strux.task_service.enums.TaskStatus;
+import com.strux.task_service.model.Task;
+import com.strux.task_service.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Task hiyerarşisini (iş kırılım yapısı) tek istekte döner.
+ *
+ * Alt ağaç tek recursive CTE ile okunur, ağaç bellekte kurulur ve her
+ * düğüm için ilerleme, saatler ve status dağılımı alttan yukarı toplanır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskTreeService {
+
+    private final TaskRepository taskRepository;
+
+    @Value("${app.task.tree.max-depth:20}")
+    private int maxDepthLimit;
+
+    @Value("${app.task.tree.max-nodes:5000}")
+    private int maxNodes;
+
+    @Transactional(readOnly = true)
+    public TaskTreeResponse getTree(String taskId, Integer maxDepth) {
+        int depth = maxDepth == null ? maxDepthLimit : Math.max(0, Math.min(maxDepth, maxDepthLimit));
+
+        // Bir fazlası okunur, limit aşıldı mı anlaşılsın
+        List<Task> tasks = taskRepository.findSubtree(taskId, depth, maxNodes + 1);
+        if (tasks.isEmpty()) {
+            throw new RuntimeException("Task not found");
+        }
+
+        boolean truncated = tasks.size() > maxNodes;
+        if (truncated) {
+            tasks = tasks.subList(0, maxNodes);
+        }
+
+        // Sorgu derinliğe göre sıralı döner: parent her zaman çocuklarından önce gelir
+        Map<String, TaskTreeNodeDto> nodes = new LinkedHashMap<>();
+        List<String> deepest = new ArrayList<>();
+        for (Task task : tasks) {
+            boolean isRoot = task.getId().equals(taskId);
+            TaskTreeNodeDto parent = isRoot ? null : nodes.get(task.getParentTaskId());
+            if (!isRoot && parent == null) {
+                continue;
+            }
+
+            TaskTreeNodeDto node = toNode(task, parent == null ? 0 : parent.getDepth() + 1);
+            nodes.put(task.getId(), node);
+            if (parent != null) {
+                parent.getChildren().add(node);
+            }
+            if (node.getDepth() == depth) {
+                deepest.add(task.getId());
+            }
+        }
+
+        if (!truncated && !deepest.isEmpty()) {
+            truncated = taskRepository.existsByParentTaskIdInAndDeletedAtIsNull(deepest);
+        }
+
+        TaskTreeNodeDto root = nodes.get(taskId);
+        rollUp(root);
+
+        log.debug("Task tree for {}: {} node(s), depth {}, truncated={}", taskId, nodes.size(), depth, truncated);
+
+        return TaskTreeResponse.builder()
+                .root(root)
+                .nodeCount(nodes.size())
+                .maxDepth(depth)
+                .truncated(truncated)
+                .build();
+    }
+
+    private TaskTreeNodeDto toNode(Task task, int depth) {
+        return TaskTreeNodeDto.builder()
+                .taskId(task.getId())
+                .parentTaskId(task.getParentTaskId())
+                .title(task.getTitle())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .assignedTo(task.getAssignedTo())
+                .dueDate(task.getDueDate())
+                .depth(depth)
+                .progressPercentage(task.getProgressPercentage())
+                .estimatedHours(task.getEstimatedHours())
+                .actualHours(task.getActualHours())
+                .children(new ArrayList<>())
+                .build();
+    }
+
+    /**
+     * Alttan yukarı toplama. Yaprakta ilerleme task'ın kendisidir; alt task'ı
+     * olan düğümde iptal edilmemiş çocukların ilerlemesi tahmini saatlerine göre
+     * ağırlıklandırılır (tahmini olmayan çocuk varsa eşit ağırlık kullanılır).
+     */
+    private void rollUp(TaskTreeNodeDto node) {
+        Map<TaskStatus, Integer> statusCounts = new EnumMap<>(TaskStatus.class);
+        if (node.getStatus() != null) {
+            statusCounts.put(node.getStatus(), 1);
+        }
+
+        int estimated = valueOf(node.getEstimatedHours());
+        int actual = valueOf(node.getActualHours());
+        int size = 1;
+
+        List<TaskTreeNodeDto> active = new ArrayList<>();
+        boolean weightByHours = true;
+        for (TaskTreeNodeDto child : node.getChildren()) {
+            rollUp(child);
+            estimated += child.getTotalEstimatedHours();
+            actual += child.getTotalActualHours();
+            size += child.getSubtreeSize();
+            child.getStatusCounts().forEach((status, count) -> statusCounts.merge(status, count, Integer::sum));
+
+            if (child.getStatus() != TaskStatus.CANCELLED) {
+                active.add(child);
+                weightByHours &= child.getTotalEstimatedHours() > 0;
+            }
+        }
+
+        node.setTotalEstimatedHours(estimated);
+        node.setTotalActualHours(actual);
+        node.setSubtreeSize(size);
+        node.setStatusCounts(statusCounts);
+        node.setRolledUpProgress(active.isEmpty() ? ownProgress(node) : childProgress(active, weightByHours));
+    }
+
+    private static int childProgress(List<TaskTreeNodeDto> children, boolean weightByHours) {
+        long weighted = 0;
+        long totalWeight = 0;
+        for (TaskTreeNodeDto child : children) {
+            long weight = weightByHours ? child.getTotalEstimatedHours() : 1;
+            weighted += weight * child.getRolledUpProgress();
+            totalWeight += weight;
+        }
+        return (int) Math.round((double) weighted / totalWeight);
+    }
+
+    private static int ownProgress(TaskTreeNodeDto node) {
+        if (node.getStatus() == TaskStatus.COMPLETED) {
+            return 100;
+        }
+        return valueOf(node.getProgressPercentage());
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,147 @@
+package com.strux.task_service.service;
+
+import com.strux.task_service.client.WorkerClient;
+import com.strux.task_service.model.WorkerUnitAssignment;
+import com.strux.task_service.model.WorkerUnitSync;
+import com.strux.task_service.repository.WorkerUnitAssignmentRepository;
+import com.strux.task_service.repository.WorkerUnitSyncRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Worker'ın çalıştığı unit'i bulur (task oluştururken unitId verilmediyse).
+ *
+ * Atamalar worker_unit_assignments tablosunda tutulur ve user-service
+ * event'leriyle güncel kalır; normalde ağ çağrısı yapılmaz. Hiç senkronize
+ * edilmemiş veya süresi geçmiş worker'lar için user-service'e tek bir toplu
+ * istek atılır. Bu istek transaction dışında yapılmalıdır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerUnitService {
+
+    // Birden fazla unit varsa en son atanan; zamanı bilinmeyenler sona
+    private static final Comparator<WorkerUnitAssignment> CURRENT_FIRST = Comparator
+            .comparing(WorkerUnitAssignment::getAssignedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(WorkerUnitAssignment::getUnitId);
+
+    private final WorkerUnitAssignmentRepository assignmentRepository;
+    private final WorkerUnitSyncRepository syncRepository;
+    private final WorkerClient workerClient;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.task.worker-units.max-age-hours:24}")
+    private long maxAgeHours;
+
+    // ==================== LOOKUP ====================
+
+    public String resolveCurrentUnit(String workerId) {
+        return resolveCurrentUnits(List.of(workerId)).get(workerId);
+    }
+
+    /**
+     * @return worker id → unit id; unit'i olmayan worker'lar map'te yer almaz
+     */
+    public Map<String, String> resolveCurrentUnits(Collection<String> workerIds) {
+        Set<String> ids = workerIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        LocalDateTime freshAfter = LocalDateTime.now().minusHours(maxAgeHours);
+        Set<String> missing = new HashSet<>(ids);
+        syncRepository.findAllById(ids).stream()
+                .filter(sync -> sync.getSyncedAt().isAfter(freshAfter))
+                .forEach(sync -> missing.remove(sync.getWorkerId()));
+
+        if (!missing.isEmpty()) {
+            refresh(missing);
+        }
+
+        return assignmentRepository.findByWorkerIdIn(ids).stream()
+                .collect(Collectors.groupingBy(WorkerUnitAssignment::getWorkerId))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        e -> e.getValue().stream().min(CURRENT_FIRST).orElseThrow().getUnitId()));
+    }
+
+    private void refresh(Set<String> workerIds) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.warn("⚠️ Worker unit lookup over HTTP inside a transaction for {}", workerIds);
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<String, List<String>> units = workerClient.getWorkerUnits(workerIds);
+        if (units == null) {
+            return;  // user-service'e ulaşılamadı; cache'te ne varsa o kullanılır
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> returned = units.keySet().stream()
+                    .filter(workerIds::contains)
+                    .collect(Collectors.toSet());
+            if (returned.isEmpty()) {
+                return;
+            }
+
+            // Sync satırları kilitlenir, eşzamanlı event'ler bu yazım bitene kadar bekler.
+            // İstek sırasında event işlenmiş worker'lar için cevap eski, yazılmaz
+            returned.forEach(workerId -> syncRepository.insertIfAbsent(workerId, WorkerUnitSync.NEVER));
+            List<WorkerUnitSync> syncs = syncRepository.lockAll(returned).stream()
+                    .filter(sync -> sync.getChangedAt() == null || sync.getChangedAt().isBefore(startedAt))
+                    .toList();
+            if (syncs.size() < returned.size()) {
+                log.debug("Skipped {} worker(s) changed by events during unit lookup", returned.size() - syncs.size());
+            }
+            if (syncs.isEmpty()) {
+                return;
+            }
+
+            Set<String> applied = syncs.stream().map(WorkerUnitSync::getWorkerId).collect(Collectors.toSet());
+            assignmentRepository.deleteStale(applied, startedAt);
+            applied.forEach(workerId -> units.get(workerId).forEach(unitId ->
+                    assignmentRepository.insertIfAbsent(UUID.randomUUID().toString(), workerId, unitId)));
+
+            LocalDateTime now = LocalDateTime.now();
+            syncs.forEach(sync -> sync.setSyncedAt(now));
+            syncRepository.saveAll(syncs);
+        });
+
+        log.info("🔄 Refreshed unit assignments for {} worker(s) from user-service", workerIds.size());
+    }
+
+    // ==================== EVENTS ====================
+
+    // Önce sync satırı (markChanged), sonra atama: refresh ile aynı kilit sırası
+
+    @Transactional
+    public void onAssigned(String workerId, String unitId, LocalDateTime assignedAt) {
+        syncRepository.markChanged(workerId, LocalDateTime.now(), WorkerUnitSync.NEVER);
+        assignmentRepository.upsert(UUID.randomUUID().toString(), workerId, unitId, assignedAt);
+    }
+
+    @Transactional
+    public void onUnassigned(String workerId, String unitId) {
+        syncRepository.markChanged(workerId, LocalDateTime.now(), WorkerUnitSync.NEVER);
+        assignmentRepository.deleteAssignment(workerId, unitId);
+    }
+
+    /**
+     * Şirketten çıkarılan worker: yerel kayıt silinir, gerekirse tekrar sorgulanır
+     */
+    @Transactional
+    public void onWorkerRemoved(String workerId) {
+        syncRepository.invalidate(workerId, LocalDateTime.now(), WorkerUnitSync.NEVER);
+        assignmentRepository.deleteByWorker(workerId);
+    }
+}
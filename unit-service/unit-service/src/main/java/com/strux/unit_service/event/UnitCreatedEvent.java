@@ -1,5 +1,6 @@
 package com.strux.unit_service.event;
 
+import com.strux.unit_service.enums.UnitType;
 import lombok.*;
 import java.time.LocalDateTime;
 
@@ -7,12 +8,19 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitCreatedEvent {
-    private String eventType;
+public class UnitCreatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.created";
+
     private String unitId;
     private String unitNumber;
     private String companyId;
     private String projectId;
-    private String type;
+    private UnitType type;
     private LocalDateTime timestamp;
-}
\ No newline at end of file
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+}
@@ -7,12 +7,19 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitDeletedEvent {
-    private String eventType;
+public class UnitDeletedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.deleted";
+
     private String unitId;
     private String unitNumber;
     private String companyId;
     private String projectId;
     private Boolean hardDelete;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -1,5 +1,6 @@
 package com.strux.unit_service.event;
 
+import com.strux.unit_service.enums.ConstructionPhase;
 import lombok.*;
 import java.time.LocalDateTime;
 
@@ -7,8 +8,10 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitOwnerNotificationEvent {
-    private String eventType;
+public class UnitOwnerNotificationEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.owner.notification";
+
     private String notificationType;
     private String unitId;
     private String unitNumber;
@@ -16,6 +19,11 @@ public class UnitOwnerNotificationEvent {
     private String ownerName;
     private String ownerEmail;
     private Integer completionPercentage;
-    private String currentPhase;
+    private ConstructionPhase currentPhase;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -1,5 +1,6 @@
 package com.strux.unit_service.event;
 
+import com.strux.unit_service.enums.ConstructionPhase;
 import lombok.*;
 import java.time.LocalDateTime;
 
@@ -7,8 +8,10 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitProgressUpdatedEvent {
-    private String eventType;
+public class UnitProgressUpdatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.progress.updated";
+
     private String unitId;
     private String unitNumber;
     private String companyId;
@@ -16,6 +19,11 @@ public class UnitProgressUpdatedEvent {
     private String ownerId;
     private Integer oldPercentage;
     private Integer newPercentage;
-    private String currentPhase;
+    private ConstructionPhase currentPhase;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -7,11 +7,18 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitReservationCancelledEvent {
-    private String eventType;
+public class UnitReservationCancelledEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.reservation.cancelled";
+
     private String unitId;
     private String unitNumber;
     private String companyId;
     private String projectId;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
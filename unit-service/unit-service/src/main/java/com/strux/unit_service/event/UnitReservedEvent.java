@@ -7,8 +7,10 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitReservedEvent {
-    private String eventType;
+public class UnitReservedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.reserved";
+
     private String unitId;
     private String unitNumber;
     private String companyId;
@@ -16,4 +18,9 @@ public class UnitReservedEvent {
     private String ownerId;
     private String ownerName;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -1,21 +1,28 @@
 package com.strux.unit_service.event;
 
 import lombok.*;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitSoldEvent {
-    private String eventType;
+public class UnitSoldEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.sold";
+
     private String unitId;
     private String unitNumber;
     private String companyId;
     private String projectId;
     private String ownerId;
     private String ownerName;
-    private Double salePrice;
+    private BigDecimal salePrice;
     private LocalDateTime timestamp;
-}
 
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
+}
@@ -1,5 +1,6 @@
 package com.strux.unit_service.event;
 
+import com.strux.unit_service.enums.UnitStatus;
 import lombok.*;
 import java.time.LocalDateTime;
 
@@ -7,13 +8,20 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitStatusChangedEvent {
-    private String eventType;
+public class UnitStatusChangedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.status.changed";
+
     private String unitId;
     private String unitNumber;
     private String companyId;
     private String projectId;
-    private String oldStatus;
-    private String newStatus;
+    private UnitStatus oldStatus;
+    private UnitStatus newStatus;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -7,10 +7,17 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitUpdatedEvent {
-    private String eventType;
+public class UnitUpdatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.updated";
+
     private String unitId;
     private String companyId;
     private String projectId;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
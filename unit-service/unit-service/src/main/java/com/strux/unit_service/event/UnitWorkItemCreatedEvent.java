@@ -7,12 +7,19 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitWorkItemCreatedEvent {
-    private String eventType;
+public class UnitWorkItemCreatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.workitem.created";
+
     private String workItemId;
     private String unitId;
     private String workName;
     private String companyId;
     private String projectId;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
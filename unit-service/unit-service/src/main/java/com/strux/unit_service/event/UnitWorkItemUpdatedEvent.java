@@ -1,5 +1,6 @@
 package com.strux.unit_service.event;
 
+import com.strux.unit_service.enums.WorkItemStatus;
 import lombok.*;
 import java.time.LocalDateTime;
 
@@ -7,13 +8,20 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UnitWorkItemUpdatedEvent {
-    private String eventType;
+public class UnitWorkItemUpdatedEvent implements OutboxPayload {
+
+    public static final String EVENT_TYPE = "unit.workitem.updated";
+
     private String workItemId;
     private String unitId;
     private String workName;
     private Integer oldPercentage;
     private Integer newPercentage;
-    private String status;
+    private WorkItemStatus status;
     private LocalDateTime timestamp;
+
+    @Override
+    public String getEventType() {
+        return EVENT_TYPE;
+    }
 }
@@ -0,0 +1,62 @@
+package com.strux.unit_service.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strux.unit_service.event.OutboxPayload;
+import com.strux.unit_service.model.OutboxEvent;
+import com.strux.unit_service.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event'leri Kafka'ya direkt göndermek yerine aynı DB transaction'ı içinde
+ * outbox tablosuna yazar. Transaction rollback olursa event de gitmez.
+ *
+ * Payload null alanlar atılarak yazılır ve relay tarafından olduğu gibi
+ * gönderilir; tip adı ve şema sürümü x-event-type / x-schema-version
+ * header'larında taşınır.
+ */
+@Service
+@Slf4j
+public class OutboxService {
+
+    public static final int DEFAULT_SCHEMA_VERSION = 1;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper.copy()
+                .setDefaultPropertyInclusion(JsonInclude.Value.construct(
+                        JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String aggregateId, OutboxPayload event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTopic(topic);
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(event.getEventType());
+        outboxEvent.setPayloadType(event.getClass().getName());
+        outboxEvent.setSchemaVersion(event.schemaVersion());
+        outboxEvent.setPayload(write(event));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+
+        outboxEventRepository.save(outboxEvent);
+        log.debug("Outbox event queued: {} for {}", topic, aggregateId);
+    }
+
+    private String write(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.strux.unit_service.service;
 
 import com.strux.unit_service.dto.*;
 import com.strux.unit_service.enums.*;
+import com.strux.unit_service.event.*;
 import com.strux.unit_service.model.Unit;
 import com.strux.unit_service.model.UnitWorkItem;
 import com.strux.unit_service.repository.UnitRepository;
@@ -9,7 +10,6 @@ import com.strux.unit_service.repository.UnitWorkItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.ResourceNotFoundException;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -27,7 +27,7 @@ public class UnitService {
 
     private final UnitRepository unitRepository;
     private final UnitWorkItemRepository workItemRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
     private final WebClient.Builder webClientBuilder;
 
     @Transactional(readOnly = true)
@@ -999,154 +999,154 @@ public class UnitService {
     }
 
     private void publishUnitCreatedEvent(Unit unit) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.created");
-        event.put("unitId", unit.getId());
-        event.put("unitNumber", unit.getUnitNumber());
-        event.put("companyId", unit.getCompanyId());
-        event.put("projectId", unit.getProjectId());
-        event.put("type", unit.getType());
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.created", event);
-        log.info("Unit created event published: {}", unit.getId());
+        UnitCreatedEvent event = UnitCreatedEvent.builder()
+                .unitId(unit.getId())
+                .unitNumber(unit.getUnitNumber())
+                .companyId(unit.getCompanyId())
+                .projectId(unit.getProjectId())
+                .type(unit.getType())
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.created", unit.getId(), event);
+        log.info("Unit created event queued: {}", unit.getId());
     }
 
     private void publishUnitUpdatedEvent(Unit unit) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.updated");
-        event.put("unitId", unit.getId());
-        event.put("companyId", unit.getCompanyId());
-        event.put("projectId", unit.getProjectId());
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.updated", event);
-        log.info("Unit updated event published: {}", unit.getId());
+        UnitUpdatedEvent event = UnitUpdatedEvent.builder()
+                .unitId(unit.getId())
+                .companyId(unit.getCompanyId())
+                .projectId(unit.getProjectId())
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.updated", unit.getId(), event);
+        log.info("Unit updated event queued: {}", unit.getId());
     }
 
     private void publishUnitStatusChangedEvent(Unit unit, UnitStatus oldStatus) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.status.changed");
-        event.put("unitId", unit.getId());
-        event.put("unitNumber", unit.getUnitNumber());
-        event.put("companyId", unit.getCompanyId());
-        event.put("projectId", unit.getProjectId());
-        event.put("oldStatus", oldStatus);
-        event.put("newStatus", unit.getStatus());
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.status.changed", event);
-        log.info("Unit status changed event published: {} -> {}", oldStatus, unit.getStatus());
+        UnitStatusChangedEvent event = UnitStatusChangedEvent.builder()
+                .unitId(unit.getId())
+                .unitNumber(unit.getUnitNumber())
+                .companyId(unit.getCompanyId())
+                .projectId(unit.getProjectId())
+                .oldStatus(oldStatus)
+                .newStatus(unit.getStatus())
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.status.changed", unit.getId(), event);
+        log.info("Unit status changed event queued: {} -> {}", oldStatus, unit.getStatus());
     }
 
     private void publishUnitProgressUpdatedEvent(Unit unit, Integer oldPercentage) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.progress.updated");
-        event.put("unitId", unit.getId());
-        event.put("unitNumber", unit.getUnitNumber());
-        event.put("companyId", unit.getCompanyId());
-        event.put("projectId", unit.getProjectId());
-        event.put("ownerId", unit.getOwnerId());
-        event.put("oldPercentage", oldPercentage);
-        event.put("newPercentage", unit.getCompletionPercentage());
-        event.put("currentPhase", unit.getCurrentPhase());
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.progress.updated", event);
-        log.info("Unit progress updated event published: {}%", unit.getCompletionPercentage());
+        UnitProgressUpdatedEvent event = UnitProgressUpdatedEvent.builder()
+                .unitId(unit.getId())
+                .unitNumber(unit.getUnitNumber())
+                .companyId(unit.getCompanyId())
+                .projectId(unit.getProjectId())
+                .ownerId(unit.getOwnerId())
+                .oldPercentage(oldPercentage)
+                .newPercentage(unit.getCompletionPercentage())
+                .currentPhase(unit.getCurrentPhase())
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.progress.updated", unit.getId(), event);
+        log.info("Unit progress updated event queued: {}%", unit.getCompletionPercentage());
     }
 
     private void publishUnitReservedEvent(Unit unit) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.reserved");
-        event.put("unitId", unit.getId());
-        event.put("unitNumber", unit.getUnitNumber());
-        event.put("companyId", unit.getCompanyId());
-        event.put("projectId", unit.getProjectId());
-        event.put("ownerId", unit.getOwnerId());
-        event.put("ownerName", unit.getOwnerName());
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.reserved", event);
-        log.info("Unit reserved event published: {}", unit.getId());
+        UnitReservedEvent event = UnitReservedEvent.builder()
+                .unitId(unit.getId())
+                .unitNumber(unit.getUnitNumber())
+                .companyId(unit.getCompanyId())
+                .projectId(unit.getProjectId())
+                .ownerId(unit.getOwnerId())
+                .ownerName(unit.getOwnerName())
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.reserved", unit.getId(), event);
+        log.info("Unit reserved event queued: {}", unit.getId());
     }
 
     private void publishUnitSoldEvent(Unit unit) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.sold");
-        event.put("unitId", unit.getId());
-        event.put("unitNumber", unit.getUnitNumber());
-        event.put("companyId", unit.getCompanyId());
-        event.put("projectId", unit.getProjectId());
-        event.put("ownerId", unit.getOwnerId());
-        event.put("ownerName", unit.getOwnerName());
-        event.put("salePrice", unit.getSalePrice());
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.sold", event);
-        log.info("Unit sold event published: {}", unit.getId());
+        UnitSoldEvent event = UnitSoldEvent.builder()
+                .unitId(unit.getId())
+                .unitNumber(unit.getUnitNumber())
+                .companyId(unit.getCompanyId())
+                .projectId(unit.getProjectId())
+                .ownerId(unit.getOwnerId())
+                .ownerName(unit.getOwnerName())
+                .salePrice(unit.getSalePrice())
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.sold", unit.getId(), event);
+        log.info("Unit sold event queued: {}", unit.getId());
     }
 
     private void publishUnitReservationCancelledEvent(Unit unit) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.reservation.cancelled");
-        event.put("unitId", unit.getId());
-        event.put("unitNumber", unit.getUnitNumber());
-        event.put("companyId", unit.getCompanyId());
-        event.put("projectId", unit.getProjectId());
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.reservation.cancelled", event);
-        log.info("Unit reservation cancelled event published: {}", unit.getId());
+        UnitReservationCancelledEvent event = UnitReservationCancelledEvent.builder()
+                .unitId(unit.getId())
+                .unitNumber(unit.getUnitNumber())
+                .companyId(unit.getCompanyId())
+                .projectId(unit.getProjectId())
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.reservation.cancelled", unit.getId(), event);
+        log.info("Unit reservation cancelled event queued: {}", unit.getId());
     }
 
     private void publishUnitDeletedEvent(Unit unit, boolean hardDelete) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.deleted");
-        event.put("unitId", unit.getId());
-        event.put("unitNumber", unit.getUnitNumber());
-        event.put("companyId", unit.getCompanyId());
-        event.put("projectId", unit.getProjectId());
-        event.put("hardDelete", hardDelete);
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.deleted", event);
-        log.info("Unit deleted event published: {}", unit.getId());
+        UnitDeletedEvent event = UnitDeletedEvent.builder()
+                .unitId(unit.getId())
+                .unitNumber(unit.getUnitNumber())
+                .companyId(unit.getCompanyId())
+                .projectId(unit.getProjectId())
+                .hardDelete(hardDelete)
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.deleted", unit.getId(), event);
+        log.info("Unit deleted event queued: {}", unit.getId());
     }
 
     private void publishWorkItemCreatedEvent(UnitWorkItem workItem, Unit unit) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.workitem.created");
-        event.put("workItemId", workItem.getId());
-        event.put("unitId", workItem.getUnitId());
-        event.put("workName", workItem.getWorkName());
-        event.put("companyId", unit.getCompanyId());
-        event.put("projectId", unit.getProjectId());
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.workitem.created", event);
-        log.info("Work item created event published: {}", workItem.getId());
+        UnitWorkItemCreatedEvent event = UnitWorkItemCreatedEvent.builder()
+                .workItemId(workItem.getId())
+                .unitId(workItem.getUnitId())
+                .workName(workItem.getWorkName())
+                .companyId(unit.getCompanyId())
+                .projectId(unit.getProjectId())
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.workitem.created", workItem.getUnitId(), event);
+        log.info("Work item created event queued: {}", workItem.getId());
     }
 
     private void publishWorkItemUpdatedEvent(UnitWorkItem workItem, Integer oldPercentage) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.workitem.updated");
-        event.put("workItemId", workItem.getId());
-        event.put("unitId", workItem.getUnitId());
-        event.put("workName", workItem.getWorkName());
-        event.put("oldPercentage", oldPercentage);
-        event.put("newPercentage", workItem.getCompletionPercentage());
-        event.put("status", workItem.getStatus());
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.workitem.updated", event);
-        log.info("Work item updated event published: {}", workItem.getId());
+        UnitWorkItemUpdatedEvent event = UnitWorkItemUpdatedEvent.builder()
+                .workItemId(workItem.getId())
+                .unitId(workItem.getUnitId())
+                .workName(workItem.getWorkName())
+                .oldPercentage(oldPercentage)
+                .newPercentage(workItem.getCompletionPercentage())
+                .status(workItem.getStatus())
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.workitem.updated", workItem.getUnitId(), event);
+        log.info("Work item updated event queued: {}", workItem.getId());
     }
 
     private void publishOwnerNotificationEvent(Unit unit, String notificationType) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("eventType", "unit.owner.notification");
-        event.put("notificationType", notificationType);
-        event.put("unitId", unit.getId());
-        event.put("unitNumber", unit.getUnitNumber());
-        event.put("ownerId", unit.getOwnerId());
-        event.put("ownerName", unit.getOwnerName());
-        event.put("ownerEmail", unit.getOwnerEmail());
-        event.put("completionPercentage", unit.getCompletionPercentage());
-        event.put("currentPhase", unit.getCurrentPhase());
-        event.put("timestamp", LocalDateTime.now());
-        kafkaTemplate.send("unit.owner.notification", event);
-        log.info("Owner notification event published: {} - {}", unit.getOwnerId(), notificationType);
+        UnitOwnerNotificationEvent event = UnitOwnerNotificationEvent.builder()
+                .notificationType(notificationType)
+                .unitId(unit.getId())
+                .unitNumber(unit.getUnitNumber())
+                .ownerId(unit.getOwnerId())
+                .ownerName(unit.getOwnerName())
+                .ownerEmail(unit.getOwnerEmail())
+                .completionPercentage(unit.getCompletionPercentage())
+                .currentPhase(unit.getCurrentPhase())
+                .timestamp(LocalDateTime.now())
+                .build();
+        outboxService.enqueue("unit.owner.notification", unit.getId(), event);
+        log.info("Owner notification event queued: {} - {}", unit.getOwnerId(), notificationType);
     }
 
     // UnitService.java
@@ -0,0 +1,90 @@
+package com.strux.user_service.client;
+
+import com.strux.user_service.dto.ProjectResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * project-service istemcisi. Bağlantılar havuzdan kullanılır (her istekte
+ * yeni WebClient/bağlantı açılmaz), çağrılar Mono döner; bloklamak çağıranın
+ * kararıdır.
+ */
+@Component
+@Slf4j
+public class ProjectClient implements DisposableBean {
+
+    private static final ParameterizedTypeReference<List<ProjectResponse>> PROJECT_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public ProjectClient(WebClient.Builder webClientBuilder,
+                         @Value("${services.project.url:http://localhost:9095}") String projectServiceUrl,
+                         @Value("${app.project-client.max-connections:50}") int maxConnections,
+                         @Value("${app.project-client.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+                         @Value("${app.project-client.max-idle-ms:30000}") long maxIdleMs,
+                         @Value("${app.project-client.timeout-ms:5000}") long timeoutMs) {
+        this.connectionProvider = ConnectionProvider.builder("project-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .build();
+        this.timeout = Duration.ofMillis(timeoutMs);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .responseTimeout(timeout);
+
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(projectServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Birden fazla projenin özeti tek istekte.
+     * Hata durumunda boş liste döner (bulunamayan projeler zaten atlanır).
+     */
+    public Mono<List<ProjectResponse>> getProjectSummaries(Collection<String> projectIds, String token) {
+        if (projectIds.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        return webClient.post()
+                .uri("/api/projects/summaries")
+                .headers(headers -> {
+                    if (token != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+                    }
+                })
+                .bodyValue(new ArrayList<>(projectIds))
+                .retrieve()
+                .bodyToMono(PROJECT_LIST)
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.warn("Failed to fetch summaries for projects {}: {}", projectIds, e.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+}
@@ -0,0 +1,229 @@
+package com.strux.user_service.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis değerleri için kompakt, şema versiyonlu codec.
+ *
+ * Kayıtlı tipler [magic][typeId][schemaVersion][Smile gövde] olarak yazılır; sınıf
+ * adı saklanmaz. Header'sız değerler (eski JSON kayıtları, Lua/INCR sayaçları) eski
+ * serializer ile okunur, yani geçiş boyunca iki format birlikte okunabilir.
+ * Kayıtsız tipler ve write-compact=false iken her şey eski formatta yazılır.
+ *
+ * Boyut/CPU karşılaştırması için compare-sample-rate oranında yazma eski formatta
+ * da kodlanır ve redis.codec.* metriklerine format=json etiketiyle kaydedilir.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    // Geçerli JSON/UTF-8 metin bu byte ile başlayamaz
+    private static final byte MAGIC = (byte) 0xA7;
+    private static final int HEADER_SIZE = 3;
+
+    private final ObjectMapper smileMapper;
+    private final RedisSerializer<Object> legacySerializer;
+    private final boolean writeCompact;
+    private final double compareSampleRate;
+    private final MeterRegistry meterRegistry;
+    private final Counter legacyReads;
+
+    private final Registration[] byTypeId = new Registration[256];
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+    private final Map<Class<?>, Optional<Registration>> resolved = new ConcurrentHashMap<>();
+
+    public CompactRedisSerializer(ObjectMapper objectMapper,
+                                  RedisSerializer<Object> legacySerializer,
+                                  boolean writeCompact,
+                                  double compareSampleRate,
+                                  MeterRegistry meterRegistry) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .disable(SmileGenerator.Feature.WRITE_HEADER)
+                .disable(SmileParser.Feature.REQUIRE_HEADER)
+                .build();
+
+        this.smileMapper = objectMapper.copyWith(smileFactory)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.legacySerializer = legacySerializer;
+        this.writeCompact = writeCompact;
+        this.compareSampleRate = compareSampleRate;
+        this.meterRegistry = meterRegistry;
+        this.legacyReads = Counter.builder("redis.codec.legacy.reads").register(meterRegistry);
+    }
+
+    /**
+     * @param typeId        1-255 arası, kalıcıdır; bir kez kullanılan id başka tipe verilmez
+     * @param schemaVersion tip değiştiğinde artırılır; yeni alanlar eski kayıtlarda null gelir
+     */
+    public CompactRedisSerializer register(int typeId, Class<?> type, int schemaVersion) {
+        if (typeId < 1 || typeId > 255) {
+            throw new IllegalArgumentException("Redis codec type id must be between 1 and 255: " + typeId);
+        }
+        if (schemaVersion < 1 || schemaVersion > 255) {
+            throw new IllegalArgumentException("Redis codec schema version must be between 1 and 255: " + schemaVersion);
+        }
+        if (byTypeId[typeId] != null) {
+            throw new IllegalArgumentException("Redis codec type id already registered: " + typeId);
+        }
+
+        Registration registration = new Registration(typeId, type, schemaVersion, smileMapper.readerFor(type));
+        byTypeId[typeId] = registration;
+        registrations.add(registration);
+        resolved.clear();
+        return this;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        Registration registration = writeCompact ? registrationFor(value.getClass()) : null;
+        if (registration == null) {
+            return legacySerializer.serialize(value);
+        }
+
+        long startedAt = System.nanoTime();
+        byte[] bytes = encode(registration, value);
+        registration.record("compact", bytes.length, System.nanoTime() - startedAt);
+
+        if (compareSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < compareSampleRate) {
+            try {
+                compare(registration, value, bytes);
+            } catch (RuntimeException ignored) {
+                // Ölçüm yazmayı etkilemesin
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            legacyReads.increment();
+            return legacySerializer.deserialize(bytes);
+        }
+        return decode(bytes);
+    }
+
+    private byte[] encode(Registration registration, Object value) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+            out.write(MAGIC);
+            out.write(registration.typeId);
+            out.write(registration.schemaVersion);
+            smileMapper.writeValue(out, value);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode " + registration.type.getSimpleName(), e);
+        }
+    }
+
+    private Object decode(byte[] bytes) {
+        if (bytes.length < HEADER_SIZE) {
+            throw new SerializationException("Truncated compact Redis value");
+        }
+
+        Registration registration = byTypeId[bytes[1] & 0xFF];
+        if (registration == null) {
+            throw new SerializationException("Unknown Redis codec type id: " + (bytes[1] & 0xFF));
+        }
+        int schemaVersion = bytes[2] & 0xFF;
+        if (schemaVersion > registration.schemaVersion) {
+            throw new SerializationException("Redis value for " + registration.type.getSimpleName()
+                    + " written with newer schema version " + schemaVersion);
+        }
+
+        try {
+            return registration.reader.readValue(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode " + registration.type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Aynı değeri eski formatta kodlayıp iki formatın okuma maliyetini de ölçer
+     */
+    private void compare(Registration registration, Object value, byte[] compact) {
+        long startedAt = System.nanoTime();
+        byte[] legacy = legacySerializer.serialize(value);
+        registration.record("json", legacy != null ? legacy.length : 0, System.nanoTime() - startedAt);
+
+        startedAt = System.nanoTime();
+        decode(compact);
+        registration.decodeTimer("compact").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        startedAt = System.nanoTime();
+        legacySerializer.deserialize(legacy);
+        registration.decodeTimer("json").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    // Önce tam eşleşme, yoksa üst tip (HashMap → Map gibi)
+    private Registration registrationFor(Class<?> type) {
+        return resolved.computeIfAbsent(type, key -> registrations.stream()
+                        .filter(registration -> registration.type == key)
+                        .findFirst()
+                        .or(() -> registrations.stream()
+                                .filter(registration -> registration.type.isAssignableFrom(key))
+                                .findFirst()))
+                .orElse(null);
+    }
+
+    private final class Registration {
+        private final int typeId;
+        private final Class<?> type;
+        private final int schemaVersion;
+        private final ObjectReader reader;
+
+        private Registration(int typeId, Class<?> type, int schemaVersion, ObjectReader reader) {
+            this.typeId = typeId;
+            this.type = type;
+            this.schemaVersion = schemaVersion;
+            this.reader = reader;
+        }
+
+        private void record(String format, int bytes, long encodeNanos) {
+            DistributionSummary.builder("redis.codec.entry.bytes")
+                    .tag("type", type.getSimpleName())
+                    .tag("format", format)
+                    .baseUnit("bytes")
+                    .register(meterRegistry)
+                    .record(bytes);
+            Timer.builder("redis.codec.encode")
+                    .tag("type", type.getSimpleName())
+                    .tag("format", format)
+                    .register(meterRegistry)
+                    .record(encodeNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private Timer decodeTimer(String format) {
+            return Timer.builder("redis.codec.decode")
+                    .tag("type", type.getSimpleName())
+                    .tag("format", format)
+                    .register(meterRegistry);
+        }
+    }
+}
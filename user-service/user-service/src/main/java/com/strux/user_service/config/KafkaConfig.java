@@ -50,4 +50,22 @@ public class KafkaConfig {
         factory.setConsumerFactory(consumerFactory());
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * user-logged-in-events için batch listener: bir poll'daki login'ler
+     * birleştirilip tek UPDATE ile yazılır
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> loginEventBatchFactory(
+            @Value("${app.login-events.max-poll-records:500}") int maxPollRecords) {
+        Map<String, Object> config = new HashMap<>(consumerFactory().getConfigurationProperties());
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.strux.user_service.event.UserLoggedInEvent");
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(config));
+        factory.setBatchListener(true);
+        return factory;
+    }
+}
@@ -1,10 +1,17 @@
 package com.strux.user_service.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strux.user_service.dto.WorkerProfileTemp;
+import com.strux.user_service.service.UserIdentityCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -12,8 +19,22 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @EnableCaching
 public class RedisConfig {
 
+    /**
+     * Type id'ler kalıcıdır: Redis'te bu id'lerle yazılmış kayıtlar var, id değiştirilmez/yeniden kullanılmaz
+     */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public CompactRedisSerializer redisValueSerializer(ObjectMapper objectMapper,
+                                                       MeterRegistry meterRegistry,
+                                                       @Value("${app.redis.codec.write-compact:true}") boolean writeCompact,
+                                                       @Value("${app.redis.codec.compare-sample-rate:0.01}") double compareSampleRate) {
+        return new CompactRedisSerializer(objectMapper, new GenericJackson2JsonRedisSerializer(),
+                writeCompact, compareSampleRate, meterRegistry)
+                .register(1, WorkerProfileTemp.class, 1);
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       CompactRedisSerializer redisValueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -21,11 +42,21 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
 
-        // Value serializer
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Value serializer (eski JSON kayıtları da okunur)
+        template.setValueSerializer(redisValueSerializer);
+        template.setHashValueSerializer(redisValueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
+
+    // UserIdentityCache L1 silmeleri tüm instance'lara buradan ulaşır
+    @Bean
+    public RedisMessageListenerContainer userCacheInvalidationContainer(RedisConnectionFactory connectionFactory,
+                                                                        UserIdentityCache userIdentityCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(userIdentityCache, new ChannelTopic(UserIdentityCache.INVALIDATION_CHANNEL));
+        return container;
+    }
 }
@@ -70,11 +70,14 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/users/internal/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/users/email/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/users/keycloak/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/workers/internal/**").permitAll()
 
                         // Worker search endpoints - herkes erişebilir
                         .requestMatchers(HttpMethod.GET, "/api/workers/search").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/workers/available").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/workers/top").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/workers/ratings/leaderboard").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/workers/ratings/distribution").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/workers/*/stats").permitAll()
 
                         // Health check, actuator endpoints (varsa)
@@ -0,0 +1,39 @@
+package com.strux.user_service.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * UserRepository.findByEmail LOWER(email) = LOWER(:email) ile arar; users.email
+ * üzerindeki unique index bu ifadeye kullanılamaz. JPA @Index expression index
+ * desteklemediğinden burada oluşturulur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserIndexInitializer implements CommandLineRunner {
+
+    private static final List<String> STATEMENTS = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email))"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        log.info("Checking user lookup indexes...");
+
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (Exception e) {
+                log.error("❌ Failed to prepare user lookup index ({}): {}", statement, e.getMessage());
+            }
+        }
+    }
+}
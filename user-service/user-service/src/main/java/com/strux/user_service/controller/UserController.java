@@ -1,10 +1,14 @@
 package com.strux.user_service.controller;
 
+import com.strux.user_service.dto.AvatarUploadRequest;
+import com.strux.user_service.dto.AvatarUploadResponse;
 import com.strux.user_service.dto.UpdateUserRequest;
+import com.strux.user_service.dto.UserBatchRequest;
 import com.strux.user_service.dto.UserProfileResponse;
 import com.strux.user_service.dto.UserResponse;
 import com.strux.user_service.dto.WorkerProfileRequest;
 import com.strux.user_service.enums.UserStatus;
+import com.strux.user_service.service.UserBatchResolver;
 import com.strux.user_service.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,9 +16,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -26,6 +31,7 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserBatchResolver userBatchResolver;
 
     @GetMapping("/all")
     public ResponseEntity<Page<UserResponse>> getAllUsers(
@@ -49,6 +55,17 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Toplu çözümleme: {"users": [...istek sırasıyla], "missing": [...]}, stream olarak yazılır
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> resolveUsers(@Valid @RequestBody UserBatchRequest request) {
+        StreamingResponseBody body = userBatchResolver.stream(request.getIds(), request.getFields());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
 
     @PostMapping("/{userId}/worker-profile")
     public ResponseEntity<UserResponse> completeWorkerProfile(
@@ -98,13 +115,13 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
-    @PostMapping("/{userId}/avatar")
-    public ResponseEntity<UserResponse> uploadAvatar(
+    @PostMapping("/{userId}/avatar/upload-url")
+    public ResponseEntity<AvatarUploadResponse> requestAvatarUpload(
             @PathVariable UUID userId,
-            @RequestParam("file") MultipartFile file,
+            @Valid @RequestBody AvatarUploadRequest request,
             @RequestHeader(value = "X-User-Id", required = false) String uploadedBy) {
-        log.info("POST /api/users/{}/avatar", userId);
-        UserResponse response = userService.uploadAvatar(userId, file, uploadedBy);
+        log.info("POST /api/users/{}/avatar/upload-url", userId);
+        AvatarUploadResponse response = userService.requestAvatarUpload(userId, request, uploadedBy);
         return ResponseEntity.ok(response);
     }
 
@@ -1,19 +1,25 @@
 package com.strux.user_service.controller;
 
 import com.strux.user_service.dto.*;
+import com.strux.user_service.enums.RatingCategory;
 import com.strux.user_service.enums.WorkerSpecialty;
+import com.strux.user_service.service.WorkerRatingService;
 import com.strux.user_service.service.WorkerService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -25,6 +31,7 @@ import java.util.UUID;
 public class WorkerController {
 
     private final WorkerService workerService;
+    private final WorkerRatingService workerRatingService;
 
     @GetMapping("/company/{companyId}/workers/count")
     public ResponseEntity<Long> getCompanyWorkerCount(@PathVariable String companyId) {
@@ -49,6 +56,12 @@ public class WorkerController {
         return ResponseEntity.ok(new ProjectWorkerStatsResponse(totalWorkers));
     }
 
+    // Servisler arası: birden fazla worker'ın unit'leri tek istekte
+    @PostMapping("/internal/units")
+    public ResponseEntity<Map<String, List<String>>> getWorkerUnitsBatch(@RequestBody List<String> workerIds) {
+        return ResponseEntity.ok(workerService.getWorkerUnitIdsBatch(workerIds));
+    }
+
     // ✅ Worker'ın ilk unit'ini getir
     @GetMapping("/{workerId}/current-unit")
     public ResponseEntity<String> getWorkerCurrentUnit(@PathVariable String workerId) {
@@ -96,6 +109,31 @@ public class WorkerController {
         return ResponseEntity.ok(response);
     }
 
+    // ✅ Ekibi unit'e toplu ata
+    @PostMapping("/units/{unitId}/crew")
+    public ResponseEntity<CrewAssignmentResponse> assignCrewToUnit(
+            @PathVariable String unitId,
+            @Valid @RequestBody CrewAssignmentRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) String userId
+    ) {
+        return ResponseEntity.ok(workerService.assignCrewToUnit(unitId, request, userId));
+    }
+
+    // ✅ Ekibi unit'ten toplu çıkar
+    @PostMapping("/units/{unitId}/crew/remove")
+    public ResponseEntity<CrewAssignmentResponse> removeCrewFromUnit(
+            @PathVariable String unitId,
+            @Valid @RequestBody CrewAssignmentRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) String userId
+    ) {
+        return ResponseEntity.ok(workerService.removeCrewFromUnit(unitId, request, userId));
+    }
+
+    @GetMapping("/units/{unitId}/headcount")
+    public ResponseEntity<Long> getUnitHeadcount(@PathVariable String unitId) {
+        return ResponseEntity.ok(workerService.countWorkersByUnit(unitId));
+    }
+
     // ✅ Unit'e atanmış worker'ları getir
     @GetMapping("/by-unit/{unitId}")
     public ResponseEntity<List<UserResponse>> getWorkersByUnit(@PathVariable String unitId) {
@@ -222,4 +260,40 @@ public class WorkerController {
         List<UserResponse> workers = workerService.getTopWorkersBySpecialty(specialty, limit);
         return ResponseEntity.ok(workers);
     }
-}
\ No newline at end of file
+
+    // ✅ Worker'a rating ver
+    @PostMapping("/{workerId}/ratings")
+    public ResponseEntity<Void> rateWorker(
+            @PathVariable String workerId,
+            @Valid @RequestBody WorkerRatingRequest request,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        workerRatingService.rateWorker(UUID.fromString(workerId), request, jwt.getSubject());
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    // ✅ Kategori bazlı rating istatistikleri
+    @GetMapping("/{workerId}/ratings")
+    public ResponseEntity<List<RatingStatsResponse>> getRatingStats(@PathVariable String workerId) {
+        return ResponseEntity.ok(workerRatingService.getRatingStats(UUID.fromString(workerId)));
+    }
+
+    // ✅ Uzmanlık/kategori bazlı leaderboard
+    @GetMapping("/ratings/leaderboard")
+    public ResponseEntity<List<RatingLeaderboardEntry>> getRatingLeaderboard(
+            @RequestParam(required = false) WorkerSpecialty specialty,
+            @RequestParam(required = false) RatingCategory category,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(workerRatingService.getLeaderboard(specialty, category, limit));
+    }
+
+    // ✅ Rating dağılımı (percentile'lar)
+    @GetMapping("/ratings/distribution")
+    public ResponseEntity<RatingDistributionResponse> getRatingDistribution(
+            @RequestParam(required = false) WorkerSpecialty specialty,
+            @RequestParam(required = false) RatingCategory category
+    ) {
+        return ResponseEntity.ok(workerRatingService.getDistribution(specialty, category));
+    }
+}
@@ -0,0 +1,25 @@
+package com.strux.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * İstemci dosyayı uploadUrl'e PUT eder, ardından completeUrl'i çağırır.
+ * Avatar, document-service'in document.uploaded event'i ile kullanıcıya işlenir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvatarUploadResponse {
+
+    private String documentId;
+    private String uploadUrl;
+    private String contentType;
+    private LocalDateTime expiresAt;
+    private String completeUrl;
+}
@@ -0,0 +1,21 @@
+package com.strux.user_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrewAssignmentRequest {
+
+    @NotEmpty(message = "Worker IDs are required")
+    private List<String> workerIds;
+
+    private String role;
+}
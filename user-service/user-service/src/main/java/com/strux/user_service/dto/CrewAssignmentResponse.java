@@ -0,0 +1,19 @@
+package com.strux.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrewAssignmentResponse {
+    private String unitId;
+    private Integer requested;
+    private List<String> changedWorkerIds;   // gerçekten atanan / çıkarılan worker'lar
+    private Long headcount;                  // işlem sonrası unit'teki worker sayısı
+}
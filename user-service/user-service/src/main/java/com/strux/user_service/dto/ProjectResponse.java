@@ -20,6 +20,9 @@ public class ProjectResponse {
     private Double longitude;
     private String address;
     private String city;
+    private String district;
     private String status;
+    private BigDecimal overallProgress;
     private BigDecimal completionPercentage;
+    private String imageUrl;
 }
@@ -0,0 +1,23 @@
+package com.strux.user_service.dto;
+
+import com.strux.user_service.enums.WorkerSpecialty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingDistributionResponse {
+
+    private WorkerSpecialty specialty;
+    private String category;
+    private Long workerCount;
+    private Double mean;
+    private Double p25;
+    private Double p50;
+    private Double p75;
+    private Double p90;
+}
@@ -0,0 +1,23 @@
+package com.strux.user_service.dto;
+
+import com.strux.user_service.enums.WorkerSpecialty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingLeaderboardEntry {
+
+    private int rank;
+    private String workerId;
+    private String fullName;
+    private WorkerSpecialty specialty;
+    private String category;
+    private Long ratingCount;
+    private Double average;
+    private Double decayedAverage;
+}
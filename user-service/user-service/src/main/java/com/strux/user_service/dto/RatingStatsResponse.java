@@ -0,0 +1,27 @@
+package com.strux.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingStatsResponse {
+
+    private String workerId;
+    private String category;
+    private Long ratingCount;
+    private Double average;
+    private Double stdDev;
+    private Double decayedAverage;
+
+    // Aynı uzmanlıktaki worker'lar arasında (0-100)
+    private Double percentile;
+
+    private LocalDateTime lastRatedAt;
+}
@@ -0,0 +1,22 @@
+package com.strux.user_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequest {
+
+    @NotEmpty(message = "At least one user ID is required")
+    private List<String> ids;
+
+    // Boşsa UserResponse'un tüm alanları döner; "id" her zaman dahildir
+    private List<String> fields;
+}
@@ -44,6 +44,7 @@ public class UserResponse {
     private String position;
     private String bio;
     private String profileImageUrl;
+    private String profileThumbnailUrl;
     private Boolean emailVerified;
     private Boolean phoneVerified;
 
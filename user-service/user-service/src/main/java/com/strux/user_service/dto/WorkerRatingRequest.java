@@ -0,0 +1,34 @@
+package com.strux.user_service.dto;
+
+import com.strux.user_service.enums.RatingCategory;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerRatingRequest {
+
+    @NotNull(message = "Rating is required")
+    @DecimalMin(value = "1.0", message = "Rating must be between 1 and 5")
+    @DecimalMax(value = "5.0", message = "Rating must be between 1 and 5")
+    private BigDecimal rating;
+
+    private RatingCategory category;
+
+    private String projectId;
+
+    private String taskId;
+
+    @Size(max = 1000, message = "Comment cannot exceed 1000 characters")
+    private String comment;
+}
@@ -0,0 +1,8 @@
+package com.strux.user_service.enums;
+
+public enum OffboardingJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
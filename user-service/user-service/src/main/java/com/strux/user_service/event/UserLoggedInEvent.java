@@ -1,5 +1,6 @@
 package com.strux.user_service.event;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,6 +15,7 @@ public class UserLoggedInEvent {
     private String userId;
     private String email;
     private String ipAddress;
+    @JsonAlias("timestamp")  // auth-service alan adı
     private LocalDateTime loginTime;
 }
 
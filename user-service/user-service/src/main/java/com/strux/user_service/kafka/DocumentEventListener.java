@@ -0,0 +1,70 @@
+package com.strux.user_service.kafka;
+
+import com.strux.user_service.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * document-service'e doğrudan yüklenen avatarları kullanıcıya işler.
+ * Sadece USER entity'sine ait AVATAR dokümanları dikkate alınır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentEventListener {
+
+    private final UserService userService;
+
+    @KafkaListener(topics = "document.uploaded",
+            groupId = "user-service-group",
+            properties = {
+                    "spring.json.use.type.headers=false",
+                    "spring.json.value.default.type=java.util.LinkedHashMap"
+            })
+    public void handleDocumentUploaded(@Payload Map<String, Object> event) {
+        if (!isUserAvatar(event)) {
+            return;
+        }
+
+        log.info("📥 Avatar uploaded - UserId: {}, DocumentId: {}", event.get("entityId"), event.get("documentId"));
+        userService.applyUploadedAvatar(
+                event.get("entityId").toString(),
+                stringValue(event.get("documentId")),
+                stringValue(event.get("fileUrl")),
+                stringValue(event.get("uploadedBy"))
+        );
+    }
+
+    @KafkaListener(topics = "document.thumbnail.ready",
+            groupId = "user-service-group",
+            properties = {
+                    "spring.json.use.type.headers=false",
+                    "spring.json.value.default.type=java.util.LinkedHashMap"
+            })
+    public void handleThumbnailReady(@Payload Map<String, Object> event) {
+        if (!isUserAvatar(event)) {
+            return;
+        }
+
+        userService.applyAvatarThumbnail(
+                event.get("entityId").toString(),
+                stringValue(event.get("documentId")),
+                stringValue(event.get("thumbnailUrl"))
+        );
+    }
+
+    private boolean isUserAvatar(Map<String, Object> event) {
+        return "AVATAR".equals(stringValue(event.get("documentType")))
+                && "USER".equals(stringValue(event.get("entityType")))
+                && event.get("entityId") != null;
+    }
+
+    private String stringValue(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.strux.user_service.kafka;
+
+import com.strux.user_service.service.ProjectSummaryCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * project-service event'leriyle yerel proje cache'ini temizler.
+ * Cache her instance'ta ayrı olduğu için her instance kendi consumer
+ * group'uyla tüm event'leri okur; başlangıçta geçmiş event'ler okunmaz.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectEventListener {
+
+    private final ProjectSummaryCache projectSummaryCache;
+
+    @KafkaListener(topics = {"project.updated", "project.deleted"},
+            groupId = "user-service-project-cache-${random.uuid}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.use.type.headers=false",
+                    "spring.json.value.default.type=java.util.LinkedHashMap"
+            })
+    public void handleProjectChanged(@Payload Map<String, Object> event) {
+        Object projectId = event.get("projectId");
+        if (projectId == null) {
+            log.warn("Project event without projectId: {}", event);
+            return;
+        }
+
+        projectSummaryCache.evict(projectId.toString());
+        log.debug("Evicted project {} from cache", projectId);
+    }
+}
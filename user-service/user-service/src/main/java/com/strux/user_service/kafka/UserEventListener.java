@@ -15,17 +15,27 @@ import com.strux.user_service.model.WorkerProfile;
 import com.strux.user_service.repository.UserRepository;
 import com.strux.user_service.repository.WorkerProfileRepository;
 import com.strux.user_service.service.AuditLogService;
+import com.strux.user_service.service.LastLoginWriter;
+import com.strux.user_service.service.WorkerMatchIndex;
+import com.strux.user_service.service.WorkerProfileTempStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -35,7 +45,12 @@ public class UserEventListener {
     private final UserRepository userRepository;
     private final AuditLogService auditLogService;
     private final WorkerProfileRepository workerProfileRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final WorkerProfileTempStore workerProfileTempStore;
+    private final WorkerMatchIndex workerMatchIndex;
+    private final LastLoginWriter lastLoginWriter;
+
+    @Value("${app.login-events.lag-warn-ms:60000}")
+    private long loginLagWarnMs;
 
     @KafkaListener(
             topics = "user-registered-events",
@@ -67,8 +82,8 @@ public class UserEventListener {
         user = userRepository.save(user);
 
         // === 2️⃣ WorkerProfile idempotent create/update ===
-        if (event.getRole() == UserRole.WORKER && event.getWorkerProfile() != null) {
-            var wpData = event.getWorkerProfile();
+        var wpData = event.getRole() == UserRole.WORKER ? workerProfileData(event) : null;
+        if (wpData != null) {
 
             WorkerProfile profile = workerProfileRepository.findById(user.getId()).orElse(null);
 
@@ -91,6 +106,7 @@ public class UserEventListener {
             workerProfileRepository.save(profile);
             user.setWorkerProfile(profile);
         }
+        workerMatchIndex.markChanged(user.getId());
 
         // === 3️⃣ Audit log ===
         auditLogService.logUserEvent(
@@ -104,6 +120,23 @@ public class UserEventListener {
     }
 
 
+    // Event profil taşımıyorsa registerWorker'ın Redis'e bıraktığı geçici profil kullanılır
+    private UserRegisteredEvent.WorkerProfileData workerProfileData(UserRegisteredEvent event) {
+        if (event.getWorkerProfile() != null) {
+            return event.getWorkerProfile();
+        }
+
+        WorkerProfileTemp temp = workerProfileTempStore.find(event.getKeycloakId());
+        if (temp == null) {
+            return null;
+        }
+        return new UserRegisteredEvent.WorkerProfileData(
+                temp.getSpecialty() != null ? WorkerSpecialty.valueOf(temp.getSpecialty()) : null,
+                temp.getExperienceYears(),
+                temp.getHourlyRate()
+        );
+    }
+
     @EventListener
     @Transactional
     public void handleUserCreatedEvent(UserCreatedEventForWorkers event) {
@@ -130,6 +163,7 @@ public class UserEventListener {
             }
 
             User savedUser = userRepository.save(user);
+            workerMatchIndex.markChanged(savedUser.getId());
 
             log.info("User created successfully in user service: {}", savedUser.getId());
 
@@ -141,26 +175,43 @@ public class UserEventListener {
     /**
      * Handles user login events from auth-service
      * Listens to: user-logged-in-events topic
+     *
+     * Bir poll'daki event'ler kullanıcı başına en son login zamanına indirilir ve
+     * tek UPDATE ile yazılır. Yazma hatası batch'i yeniden denetir.
      */
     @KafkaListener(
             topics = "user-logged-in-events",
             groupId = "user-service-group",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "loginEventBatchFactory"
     )
-    @Transactional
-    public void handleUserLoggedInEvent(UserLoggedInEvent event) {
-        try {
-            log.info("User logged in event received - UserId: {}", event.getUserId());
+    public void handleUserLoggedInEvents(List<ConsumerRecord<String, Object>> records) {
+        Map<String, LocalDateTime> latestLogins = new HashMap<>();
+        long oldestTimestamp = Long.MAX_VALUE;
+
+        for (ConsumerRecord<String, Object> record : records) {
+            if (!(record.value() instanceof UserLoggedInEvent event) || event.getUserId() == null) {
+                log.warn("Skipping invalid login event at offset {}", record.offset());
+                continue;
+            }
+
+            LocalDateTime loginTime = event.getLoginTime() != null
+                    ? event.getLoginTime()
+                    : LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneId.systemDefault());
+            latestLogins.merge(event.getUserId(), loginTime, (a, b) -> a.isAfter(b) ? a : b);
+            oldestTimestamp = Math.min(oldestTimestamp, record.timestamp());
+        }
+
+        if (latestLogins.isEmpty()) {
+            return;
+        }
 
-            userRepository.findByKeycloakId(event.getUserId())
-                    .ifPresent(user -> {
-                        user.setLastLoginAt(event.getLoginTime());
-                        userRepository.save(user);
-                        log.info("Last login updated - UserId: {}", user.getId());
-                    });
+        int updated = lastLoginWriter.write(latestLogins);
 
-        } catch (Exception e) {
-            log.error("Error handling user logged in event: {}", e.getMessage(), e);
+        long lagMs = System.currentTimeMillis() - oldestTimestamp;
+        if (lagMs > loginLagWarnMs) {
+            log.warn("⚠️ Login events lagging {} ms behind ({} record(s) in batch)", lagMs, records.size());
         }
+        log.debug("Last login updated for {} user(s) from {} event(s), lag {} ms",
+                updated, records.size(), lagMs);
     }
-}
\ No newline at end of file
+}
@@ -9,12 +9,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @Slf4j
 public class UserMapper {
 
-    public UserResponse toResponse(User user) {
+    /**
+     * @param activeProjectIds önceden yüklenmiş proje id'leri (bkz. UserResponseAssembler)
+     */
+    public UserResponse toResponse(User user, List<String> activeProjectIds) {
         if (user == null) {
             return null;
         }
@@ -27,6 +31,7 @@ public class UserMapper {
                 .lastName(user.getLastName())
                 .phone(user.getPhone())
                 .profileImageUrl(user.getProfileImageUrl())
+                .profileThumbnailUrl(user.getProfileThumbnailUrl())
                 .bio(user.getBio())
                 .role(user.getRole())
                 .city(user.getCity())
@@ -41,13 +46,13 @@ public class UserMapper {
                 .verifiedAt(user.getVerifiedAt());
 
         if (user.getWorkerProfile() != null) {
-            responseBuilder.workerProfile(toWorkerProfileResponse(user.getWorkerProfile()));
+            responseBuilder.workerProfile(toWorkerProfileResponse(user.getWorkerProfile(), activeProjectIds));
         }
 
         return responseBuilder.build();
     }
 
-    public UserProfileResponse toProfileResponse(User user) {
+    public UserProfileResponse toProfileResponse(User user, List<String> activeProjectIds) {
         if (user == null) {
             return null;
         }
@@ -73,13 +78,13 @@ public class UserMapper {
                 .verifiedAt(user.getVerifiedAt());
 
         if (user.getWorkerProfile() != null) {
-            responseBuilder.workerProfile(toWorkerProfileResponse(user.getWorkerProfile()));
+            responseBuilder.workerProfile(toWorkerProfileResponse(user.getWorkerProfile(), activeProjectIds));
         }
 
         return responseBuilder.build();
     }
 
-    public WorkerProfileResponse toWorkerProfileResponse(WorkerProfile profile) {
+    public WorkerProfileResponse toWorkerProfileResponse(WorkerProfile profile, List<String> activeProjectIds) {
         if (profile == null) {
             return null;
         }
@@ -94,7 +99,7 @@ public class UserMapper {
                 .onTimeCompletionCount(profile.getOnTimeCompletionCount())
                 .lateCompletionCount(profile.getLateCompletionCount())
                 .reliabilityScore(profile.getReliabilityScore())
-                .activeProjectIds(profile.getActiveProjectIds())
+                .activeProjectIds(activeProjectIds != null ? activeProjectIds : List.of())
                 .isAvailable(profile.getIsAvailable())
                 .availableFrom(profile.getAvailableFrom())
                 .build();
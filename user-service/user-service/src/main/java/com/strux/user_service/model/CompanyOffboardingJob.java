@@ -0,0 +1,64 @@
+package com.strux.user_service.model;
+
+import com.strux.user_service.enums.OffboardingJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Silinen bir şirketin kullanıcılarını parça parça pasifleştiren iş.
+ *
+ * Her batch işlenen kullanıcıları sorgu kapsamından çıkardığı için ayrı bir
+ * cursor gerekmez; processed_users ve heartbeat_at her batch ile aynı
+ * transaction'da güncellenir (checkpoint). Heartbeat'i eskiyen RUNNING işler
+ * başka bir instance tarafından devralınır. Hata veren iş üstel backoff ile
+ * tekrar denenir, max-attempts sonrası FAILED'da operatöre bırakılır.
+ */
+@Entity
+@Table(name = "company_offboarding_jobs",
+        indexes = @Index(name = "idx_company_offboarding_jobs_status", columnList = "status, requested_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanyOffboardingJob {
+
+    @Id
+    @Column(name = "company_id", nullable = false)
+    private String companyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OffboardingJobStatus status;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "processed_users", nullable = false)
+    private Long processedUsers;
+
+    @Column(name = "processed_batches", nullable = false)
+    private Integer processedBatches;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;  // ilerleme olmadan art arda başarısız tur
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;  // hata sonrası backoff, dolmadan sahiplenilmez
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,30 @@
+package com.strux.user_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uygulama içinden çalışan tek seferlik veri taşımalarının kaydı.
+ * Satır varsa taşıma yapılmıştır; aynı anda başlayan instance'lardan sadece
+ * satırı ekleyebilen taşımayı çalıştırır.
+ */
+@Entity
+@Table(name = "data_migrations")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataMigration {
+
+    @Id
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -9,7 +9,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        indexes = @Index(name = "idx_users_company_status", columnList = "company_id, status, id"))
+@EntityListeners(UserCacheInvalidationListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,6 +51,7 @@ public class User {
     @Builder.Default
     private UserStatus status = UserStatus.ACTIVE;
 
+    @Column(name = "company_id")
     private String companyId;
 
     private String position;
@@ -58,6 +61,11 @@ public class User {
 
     private String profileImageUrl;
 
+    private String profileThumbnailUrl;
+
+    // Thumbnail event'inin güncel avatara ait olduğunu doğrulamak için
+    private String profileImageDocumentId;
+
     @Column(name = "two_fa_enabled")
     @Builder.Default
     private Boolean twoFaEnabled = false;
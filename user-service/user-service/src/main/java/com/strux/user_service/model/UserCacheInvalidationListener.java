@@ -0,0 +1,26 @@
+package com.strux.user_service.model;
+
+import com.strux.user_service.service.UserIdentityCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * User ve WorkerProfile değişikliklerinde UserIdentityCache'i temizler.
+ * Hibernate listener'ı Spring bean'i olarak oluşturur.
+ */
+@RequiredArgsConstructor
+public class UserCacheInvalidationListener {
+
+    private final UserIdentityCache userIdentityCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        if (entity instanceof User user) {
+            userIdentityCache.invalidate(user.getId());
+        } else if (entity instanceof WorkerProfile profile) {
+            userIdentityCache.invalidate(profile.getUserId());
+        }
+    }
+}
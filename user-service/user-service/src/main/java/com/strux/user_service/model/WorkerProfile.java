@@ -9,13 +9,10 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
 @Entity
 @Table(name = "worker_profiles")
+@EntityListeners(UserCacheInvalidationListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -66,18 +63,5 @@ public class WorkerProfile {
     @Column(name = "available_from")
     private LocalDate availableFrom;
 
-    @ElementCollection
-    @CollectionTable(name = "user_active_project_ids",
-            joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "active_project_ids")
-    @Builder.Default
-    private List<String> activeProjectIds = new ArrayList<>();
-
-    // ✅ YENİ: Unit atamaları için
-    @ElementCollection
-    @CollectionTable(name = "worker_assigned_units",
-            joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "unit_id")
-    @Builder.Default
-    private Set<String> assignedUnitIds = new HashSet<>();
-}
\ No newline at end of file
+    // Proje ve unit atamaları: WorkerProjectAssignment / WorkerUnitAssignment
+}
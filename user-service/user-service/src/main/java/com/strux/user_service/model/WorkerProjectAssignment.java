@@ -0,0 +1,50 @@
+package com.strux.user_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Worker → proje ataması. Primary key (project_id, worker_id) proje başına
+ * sayımları index-only yapar; worker tarafı için ayrı index var.
+ */
+@Entity
+@Table(name = "worker_project_assignments",
+        indexes = @Index(name = "idx_worker_project_assignments_worker", columnList = "worker_id, project_id"))
+@IdClass(WorkerProjectAssignment.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerProjectAssignment {
+
+    @Id
+    @Column(name = "project_id", nullable = false)
+    private String projectId;
+
+    @Id
+    @Column(name = "worker_id", nullable = false)
+    private String workerId;
+
+    @Column(name = "role")
+    private String role;
+
+    @Column(name = "assigned_by")
+    private String assignedBy;
+
+    @Column(name = "assigned_at", nullable = false)
+    private LocalDateTime assignedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String projectId;
+        private String workerId;
+    }
+}
@@ -0,0 +1,81 @@
+package com.strux.user_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Worker başına, kategori başına rating sayaçları (category = OVERALL tüm rating'ler).
+ *
+ * Her UserRating insert'inde tek upsert ile güncellenir; ortalama, standart sapma
+ * ve zamanla azalan (decayed) ortalama user_ratings taranmadan buradan hesaplanır.
+ * decayed_sum / decayed_weight, son rating'lere daha çok ağırlık veren ortalamadır.
+ */
+@Entity
+@Table(name = "worker_rating_aggregates",
+        indexes = @Index(name = "idx_worker_rating_aggregates_category", columnList = "category, worker_id"))
+@IdClass(WorkerRatingAggregate.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerRatingAggregate {
+
+    @Id
+    @Column(name = "worker_id", nullable = false)
+    private String workerId;
+
+    @Id
+    @Column(name = "category", nullable = false, length = 32)
+    private String category;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Double ratingSum;
+
+    @Column(name = "rating_sum_squares", nullable = false)
+    private Double ratingSumSquares;
+
+    @Column(name = "decayed_sum", nullable = false)
+    private Double decayedSum;
+
+    @Column(name = "decayed_weight", nullable = false)
+    private Double decayedWeight;
+
+    @Column(name = "decayed_at", nullable = false)
+    private LocalDateTime decayedAt;
+
+    @Column(name = "last_rated_at")
+    private LocalDateTime lastRatedAt;
+
+    public double getAverage() {
+        return ratingCount > 0 ? ratingSum / ratingCount : 0;
+    }
+
+    public double getStdDev() {
+        if (ratingCount == 0) {
+            return 0;
+        }
+        double mean = getAverage();
+        return Math.sqrt(Math.max(0, ratingSumSquares / ratingCount - mean * mean));
+    }
+
+    public double getDecayedAverage() {
+        return decayedWeight > 0 ? decayedSum / decayedWeight : 0;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String workerId;
+        private String category;
+    }
+}
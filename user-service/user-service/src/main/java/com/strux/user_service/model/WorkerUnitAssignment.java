@@ -0,0 +1,50 @@
+package com.strux.user_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Worker → unit ataması. Primary key (unit_id, worker_id) unit başına
+ * sayımları index-only yapar; worker tarafı için ayrı index var.
+ */
+@Entity
+@Table(name = "worker_unit_assignments",
+        indexes = @Index(name = "idx_worker_unit_assignments_worker", columnList = "worker_id, unit_id"))
+@IdClass(WorkerUnitAssignment.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerUnitAssignment {
+
+    @Id
+    @Column(name = "unit_id", nullable = false)
+    private String unitId;
+
+    @Id
+    @Column(name = "worker_id", nullable = false)
+    private String workerId;
+
+    @Column(name = "role")
+    private String role;
+
+    @Column(name = "assigned_by")
+    private String assignedBy;
+
+    @Column(name = "assigned_at", nullable = false)
+    private LocalDateTime assignedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String unitId;
+        private String workerId;
+    }
+}
@@ -0,0 +1,100 @@
+package com.strux.user_service.repository;
+
+import com.strux.user_service.enums.OffboardingJobStatus;
+import com.strux.user_service.model.CompanyOffboardingJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CompanyOffboardingJobRepository extends JpaRepository<CompanyOffboardingJob, String> {
+
+    long countByStatus(OffboardingJobStatus status);
+
+    /**
+     * İşi kuyruğa ekler; aynı şirket için bitmiş bir iş varsa yeniden açar
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO company_offboarding_jobs AS j
+            (company_id, status, requested_at, processed_users, processed_batches, attempts)
+        VALUES (:companyId, 'PENDING', now(), 0, 0, 0)
+        ON CONFLICT (company_id) DO UPDATE SET
+            status = 'PENDING', requested_at = now(), completed_at = NULL, last_error = NULL, attempts = 0,
+            next_attempt_at = NULL
+        WHERE j.status IN ('COMPLETED', 'FAILED')
+        """, nativeQuery = true)
+    int enqueue(@Param("companyId") String companyId);
+
+    /**
+     * Sıradaki PENDING işi (backoff'u dolmuşsa) ya da heartbeat'i eskimiş RUNNING işi sahiplenir
+     * @return şirket id'si, iş yoksa null
+     */
+    @Query(value = """
+        UPDATE company_offboarding_jobs j
+        SET status = 'RUNNING', heartbeat_at = now(),
+            started_at = COALESCE(j.started_at, now())
+        WHERE j.company_id = (
+            SELECT company_id FROM company_offboarding_jobs
+            WHERE (status = 'PENDING' AND (next_attempt_at IS NULL OR next_attempt_at <= now()))
+               OR (status = 'RUNNING' AND heartbeat_at < now() - make_interval(secs => :leaseSeconds))
+            ORDER BY requested_at
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED)
+        RETURNING j.company_id
+        """, nativeQuery = true)
+    String claimNext(@Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Query(value = """
+        UPDATE company_offboarding_jobs
+        SET processed_users = processed_users + :processed,
+            processed_batches = processed_batches + 1,
+            heartbeat_at = now(),
+            attempts = 0
+        WHERE company_id = :companyId
+        """, nativeQuery = true)
+    int recordBatch(@Param("companyId") String companyId, @Param("processed") int processed);
+
+    /**
+     * Tur bütçesi dolan işi sıraya geri koyar
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE company_offboarding_jobs SET status = 'PENDING', heartbeat_at = now()
+        WHERE company_id = :companyId AND status = 'RUNNING'
+        """, nativeQuery = true)
+    int release(@Param("companyId") String companyId);
+
+    @Modifying
+    @Query(value = """
+        UPDATE company_offboarding_jobs
+        SET status = 'COMPLETED', completed_at = now(), heartbeat_at = now(), last_error = NULL,
+            next_attempt_at = NULL
+        WHERE company_id = :companyId
+        """, nativeQuery = true)
+    int markCompleted(@Param("companyId") String companyId);
+
+    /**
+     * Hata sonrası PENDING'e döner ve next_attempt_at'e kadar bekler (her denemede
+     * iki katı, en fazla maxBackoffSeconds); deneme hakkı bittiyse FAILED
+     * @return yeni durum
+     */
+    @Query(value = """
+        UPDATE company_offboarding_jobs
+        SET status = CASE WHEN attempts + 1 >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END,
+            attempts = attempts + 1,
+            last_error = :error,
+            next_attempt_at = now() + make_interval(secs =>
+                    LEAST(:maxBackoffSeconds, :initialBackoffSeconds * power(2, LEAST(attempts, 20))))
+        WHERE company_id = :companyId
+        RETURNING status
+        """, nativeQuery = true)
+    String markFailed(@Param("companyId") String companyId,
+                      @Param("error") String error,
+                      @Param("maxAttempts") int maxAttempts,
+                      @Param("initialBackoffSeconds") long initialBackoffSeconds,
+                      @Param("maxBackoffSeconds") long maxBackoffSeconds);
+}
@@ -0,0 +1,20 @@
+package com.strux.user_service.repository;
+
+import com.strux.user_service.model.DataMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DataMigrationRepository extends JpaRepository<DataMigration, String> {
+
+    /**
+     * @return 1 ise taşıma bu transaction'a ait, 0 ise daha önce yapılmış
+     */
+    @Modifying
+    @Query(value = "INSERT INTO data_migrations (name, applied_at) VALUES (:name, now()) " +
+            "ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    int claim(@Param("name") String name);
+}
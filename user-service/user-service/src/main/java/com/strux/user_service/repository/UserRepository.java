@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,21 +28,6 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     Long countByCompanyIdAndRole(String companyId, UserRole role);
 
-    @Query(value = """
-    SELECT COUNT(DISTINCT uap.user_id)
-    FROM user_active_project_ids uap
-    WHERE uap.active_project_ids = :projectId
-""", nativeQuery = true)
-    Long countWorkersByProjectId(@Param("projectId") String projectId);
-
-    @Query(value = """
-    SELECT COUNT(DISTINCT u.id)
-    FROM public.users u
-    JOIN public.worker_assigned_units wau ON wau.user_id = u.id
-    WHERE wau.unit_id IN (:unitIds)
-""", nativeQuery = true)
-    Long countWorkersAssignedToUnits(@Param("unitIds") List<String> unitIds);
-
     boolean existsByKeycloakId(String keycloakId);
 
     boolean existsByEmail(String email);
@@ -107,6 +93,12 @@ public interface UserRepository extends JpaRepository<User, String> {
             Pageable pageable
     );
     List<User> findByCompanyIdAndRole(String companyId, UserRole role);
+
+    /**
+     * Toplu okuma için; worker profili aynı sorguda gelir (kullanıcı başına ek SELECT yok)
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.workerProfile WHERE u.id IN :ids")
+    List<User> findAllWithProfileByIdIn(@Param("ids") Collection<String> ids);
     List<User> findByCompanyIdAndRoleAndStatus(String companyId, UserRole role, UserStatus status);
 
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.workerProfile wp " +
@@ -121,11 +113,53 @@ public interface UserRepository extends JpaRepository<User, String> {
             Pageable pageable
     );
 
-    @Query("SELECT u FROM User u JOIN u.workerProfile wp " +
-            "WHERE :unitId MEMBER OF wp.assignedUnitIds " +
-            "AND u.status = :status")
+    /**
+     * WorkerMatchIndex satırları, id sırasıyla keyset sayfalı:
+     * [id, city, is_available, company_id, specialty, rating, reliability_score]
+     */
+    @Query(value = """
+        SELECT u.id, u.city, u.is_available, u.company_id, wp.specialty, wp.rating, wp.reliability_score
+        FROM users u
+        LEFT JOIN worker_profiles wp ON u.id = wp.user_id
+        WHERE u.role = 'WORKER' AND u.status = 'ACTIVE' AND u.id > :afterId
+        ORDER BY u.id
+        LIMIT :limit
+        """,
+            nativeQuery = true)
+    List<Object[]> findWorkerMatchRowsAfter(@Param("afterId") String afterId, @Param("limit") int limit);
+
+    @Query(value = """
+        SELECT u.id, u.city, u.is_available, u.company_id, wp.specialty, wp.rating, wp.reliability_score
+        FROM users u
+        LEFT JOIN worker_profiles wp ON u.id = wp.user_id
+        WHERE u.role = 'WORKER' AND u.status = 'ACTIVE' AND u.id IN (:ids)
+        """,
+            nativeQuery = true)
+    List<Object[]> findWorkerMatchRows(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT u FROM User u WHERE u.status = :status AND u.id IN " +
+            "(SELECT a.workerId FROM WorkerUnitAssignment a WHERE a.unitId = :unitId)")
     List<User> findWorkersByUnitId(
             @Param("unitId") String unitId,
             @Param("status") UserStatus status
     );
-}
\ No newline at end of file
+
+    /**
+     * Şirketin aktif kullanıcılarından en fazla :limit tanesini pasifleştirir.
+     * İşlenen satırlar koşuldan çıktığı için tekrar çağrı kaldığı yerden devam eder.
+     * SKIP LOCKED kullanılmaz: başka bir UPDATE'in kilitlediği satırlar atlanırsa boş
+     * batch "iş bitti" sanılır; job'u zaten tek runner işlediği için beklemek güvenli.
+     * @return pasifleştirilen kullanıcı id'leri
+     */
+    @Query(value = """
+        UPDATE users u SET status = 'INACTIVE', company_id = NULL, updated_at = now()
+        WHERE u.id IN (
+            SELECT id FROM users
+            WHERE company_id = :companyId AND status = 'ACTIVE'
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE)
+        RETURNING u.id
+        """, nativeQuery = true)
+    List<String> deactivateCompanyBatch(@Param("companyId") String companyId, @Param("limit") int limit);
+}
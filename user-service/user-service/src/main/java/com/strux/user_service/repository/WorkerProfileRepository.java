@@ -2,12 +2,20 @@ package com.strux.user_service.repository;
 
 import com.strux.user_service.model.WorkerProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface WorkerProfileRepository extends JpaRepository<WorkerProfile, String> {
     Optional<WorkerProfile> findByUserId(String userId);
     boolean existsByUserId(String userId);
+
+    @Modifying
+    @Query("UPDATE WorkerProfile wp SET wp.isAvailable = true WHERE wp.userId IN :userIds")
+    int markAvailable(@Param("userIds") Collection<String> userIds);
 }
@@ -0,0 +1,111 @@
+package com.strux.user_service.repository;
+
+import com.strux.user_service.model.WorkerProjectAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkerProjectAssignmentRepository
+        extends JpaRepository<WorkerProjectAssignment, WorkerProjectAssignment.Key> {
+
+    @Query("SELECT a.projectId FROM WorkerProjectAssignment a WHERE a.workerId = :workerId " +
+            "ORDER BY a.assignedAt, a.projectId")
+    List<String> findProjectIdsByWorkerId(@Param("workerId") String workerId);
+
+    /**
+     * Birden fazla worker'ın proje atamaları tek sorguda: [workerId, projectId]
+     */
+    @Query("SELECT a.workerId, a.projectId FROM WorkerProjectAssignment a WHERE a.workerId IN :workerIds " +
+            "ORDER BY a.assignedAt, a.projectId")
+    List<Object[]> findPairsByWorkerIdIn(@Param("workerIds") Collection<String> workerIds);
+
+    long countByProjectId(String projectId);
+
+    long countByWorkerId(String workerId);
+
+    /**
+     * Aktif worker'ları projeye tek statement'ta atar.
+     * @return yeni atanan worker id'leri (zaten atanmış veya geçersiz olanlar hariç)
+     */
+    @Query(value = """
+        INSERT INTO worker_project_assignments (project_id, worker_id, role, assigned_by, assigned_at)
+        SELECT :projectId, u.id, :role, :assignedBy, now()
+        FROM users u
+        WHERE u.id IN (:workerIds) AND u.role = 'WORKER' AND u.status = 'ACTIVE'
+        ON CONFLICT (project_id, worker_id) DO NOTHING
+        RETURNING worker_id
+        """, nativeQuery = true)
+    List<String> assignAll(@Param("projectId") String projectId,
+                           @Param("workerIds") Collection<String> workerIds,
+                           @Param("role") String role,
+                           @Param("assignedBy") String assignedBy);
+
+    /**
+     * @return gerçekten çıkarılan worker id'leri
+     */
+    @Query(value = """
+        DELETE FROM worker_project_assignments
+        WHERE project_id = :projectId AND worker_id IN (:workerIds)
+        RETURNING worker_id
+        """, nativeQuery = true)
+    List<String> unassignAll(@Param("projectId") String projectId,
+                             @Param("workerIds") Collection<String> workerIds);
+
+    @Modifying
+    @Query("DELETE FROM WorkerProjectAssignment a WHERE a.workerId = :workerId")
+    int deleteByWorkerId(@Param("workerId") String workerId);
+
+    @Modifying
+    @Query("DELETE FROM WorkerProjectAssignment a WHERE a.workerId IN :workerIds")
+    int deleteByWorkerIdIn(@Param("workerIds") Collection<String> workerIds);
+
+    // Eski user_active_project_ids element collection'ından taşıma (idempotent, cutover'a kadar tekrar çalışır)
+    @Modifying
+    @Query(value = """
+        INSERT INTO worker_project_assignments (project_id, worker_id, role, assigned_at)
+        SELECT DISTINCT uap.active_project_ids, uap.user_id, 'WORKER', now()
+        FROM user_active_project_ids uap
+        WHERE uap.active_project_ids IS NOT NULL
+        ON CONFLICT (project_id, worker_id) DO NOTHING
+        """, nativeQuery = true)
+    int copyLegacyAssignments();
+
+    @Query(value = "SELECT to_regclass('user_active_project_ids') IS NOT NULL", nativeQuery = true)
+    boolean legacyTableExists();
+
+    // Geçiş dönemi (cutover'a kadar): yeni sürümün yazdıkları eski tabloya da yansıtılır
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_active_project_ids (user_id, active_project_ids)
+        SELECT wp.user_id, :projectId FROM worker_profiles wp
+        WHERE wp.user_id IN (:workerIds)
+          AND NOT EXISTS (SELECT 1 FROM user_active_project_ids l WHERE l.user_id = wp.user_id AND l.active_project_ids = :projectId)
+        """, nativeQuery = true)
+    int mirrorAssignToLegacy(@Param("projectId") String projectId, @Param("workerIds") Collection<String> workerIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_active_project_ids WHERE active_project_ids = :projectId AND user_id IN (:workerIds)", nativeQuery = true)
+    int mirrorUnassignFromLegacy(@Param("projectId") String projectId, @Param("workerIds") Collection<String> workerIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_active_project_ids WHERE user_id IN (:workerIds)", nativeQuery = true)
+    int mirrorClearLegacy(@Param("workerIds") Collection<String> workerIds);
+
+    /**
+     * Eski sürümün eski tablodan kaldırdığı atamaları siler. Worker profili olmayan
+     * satırlar eski tabloda temsil edilemediği için dokunulmaz.
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM worker_project_assignments a
+        WHERE EXISTS (SELECT 1 FROM worker_profiles wp WHERE wp.user_id = a.worker_id)
+          AND NOT EXISTS (SELECT 1 FROM user_active_project_ids l WHERE l.user_id = a.worker_id AND l.active_project_ids = a.project_id)
+        """, nativeQuery = true)
+    int pruneRemovedInLegacy();
+}
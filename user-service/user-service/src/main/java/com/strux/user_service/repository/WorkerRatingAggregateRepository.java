@@ -0,0 +1,151 @@
+package com.strux.user_service.repository;
+
+import com.strux.user_service.model.WorkerRatingAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WorkerRatingAggregateRepository
+        extends JpaRepository<WorkerRatingAggregate, WorkerRatingAggregate.Key> {
+
+    List<WorkerRatingAggregate> findByWorkerIdOrderByCategory(String workerId);
+
+    /**
+     * Tek rating'i sayaçlara atomik ekler. Decayed toplam, son güncellemeden bu
+     * yana geçen süre kadar yarılanma ömrüyle azaltılıp yeni rating eklenir.
+     * @return güncel ortalama
+     */
+    @Query(value = """
+        INSERT INTO worker_rating_aggregates AS a
+            (worker_id, category, rating_count, rating_sum, rating_sum_squares,
+             decayed_sum, decayed_weight, decayed_at, last_rated_at)
+        VALUES (:workerId, :category, 1, :rating, :ratingSquared, :rating, 1, now(), now())
+        ON CONFLICT (worker_id, category) DO UPDATE SET
+            rating_count = a.rating_count + 1,
+            rating_sum = a.rating_sum + EXCLUDED.rating_sum,
+            rating_sum_squares = a.rating_sum_squares + EXCLUDED.rating_sum_squares,
+            decayed_sum = a.decayed_sum * power(0.5,
+                    GREATEST(extract(epoch FROM EXCLUDED.decayed_at - a.decayed_at), 0) / :halfLifeSeconds)
+                + EXCLUDED.decayed_sum,
+            decayed_weight = a.decayed_weight * power(0.5,
+                    GREATEST(extract(epoch FROM EXCLUDED.decayed_at - a.decayed_at), 0) / :halfLifeSeconds)
+                + 1,
+            decayed_at = GREATEST(a.decayed_at, EXCLUDED.decayed_at),
+            last_rated_at = EXCLUDED.last_rated_at
+        RETURNING rating_sum / rating_count
+        """, nativeQuery = true)
+    Double addRating(@Param("workerId") String workerId,
+                     @Param("category") String category,
+                     @Param("rating") double rating,
+                     @Param("ratingSquared") double ratingSquared,
+                     @Param("halfLifeSeconds") double halfLifeSeconds);
+
+    /**
+     * Aktif worker'lar arasında decayed ortalamaya göre sıralama
+     */
+    @Query(value = """
+        SELECT a.* FROM worker_rating_aggregates a
+        JOIN users u ON u.id = a.worker_id
+        JOIN worker_profiles wp ON wp.user_id = a.worker_id
+        WHERE a.category = :category
+          AND a.rating_count >= :minCount
+          AND u.status = 'ACTIVE'
+          AND (:specialty IS NULL OR wp.specialty = CAST(:specialty AS VARCHAR))
+        ORDER BY a.decayed_sum / a.decayed_weight DESC, a.rating_count DESC, a.worker_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<WorkerRatingAggregate> findLeaderboard(@Param("category") String category,
+                                                @Param("specialty") String specialty,
+                                                @Param("minCount") long minCount,
+                                                @Param("limit") int limit);
+
+    /**
+     * Ortalaması verilen değerden düşük aktif worker'ların yüzdesi (aynı uzmanlık ve
+     * kategori); leaderboard ile aynı kitle
+     */
+    @Query(value = """
+        SELECT COALESCE(100.0 * count(*) FILTER (WHERE a.rating_sum / a.rating_count < :average)
+                        / NULLIF(count(*), 0), 0)
+        FROM worker_rating_aggregates a
+        JOIN users u ON u.id = a.worker_id
+        JOIN worker_profiles wp ON wp.user_id = a.worker_id
+        WHERE a.category = :category
+          AND a.rating_count >= :minCount
+          AND u.status = 'ACTIVE'
+          AND (:specialty IS NULL OR wp.specialty = CAST(:specialty AS VARCHAR))
+        """, nativeQuery = true)
+    Double findPercentileRank(@Param("category") String category,
+                              @Param("specialty") String specialty,
+                              @Param("average") double average,
+                              @Param("minCount") long minCount);
+
+    // Aktif worker'lar, leaderboard ile aynı filtre
+    @Query(value = """
+        SELECT count(*) AS workers,
+               avg(a.rating_sum / a.rating_count) AS mean,
+               percentile_cont(0.25) WITHIN GROUP (ORDER BY a.rating_sum / a.rating_count) AS p25,
+               percentile_cont(0.50) WITHIN GROUP (ORDER BY a.rating_sum / a.rating_count) AS p50,
+               percentile_cont(0.75) WITHIN GROUP (ORDER BY a.rating_sum / a.rating_count) AS p75,
+               percentile_cont(0.90) WITHIN GROUP (ORDER BY a.rating_sum / a.rating_count) AS p90
+        FROM worker_rating_aggregates a
+        JOIN users u ON u.id = a.worker_id
+        JOIN worker_profiles wp ON wp.user_id = a.worker_id
+        WHERE a.category = :category
+          AND a.rating_count >= :minCount
+          AND u.status = 'ACTIVE'
+          AND (:specialty IS NULL OR wp.specialty = CAST(:specialty AS VARCHAR))
+        """, nativeQuery = true)
+    Distribution findDistribution(@Param("category") String category,
+                                  @Param("specialty") String specialty,
+                                  @Param("minCount") long minCount);
+
+    interface Distribution {
+        Long getWorkers();
+        Double getMean();
+        Double getP25();
+        Double getP50();
+        Double getP75();
+        Double getP90();
+    }
+
+    // Mevcut user_ratings kayıtlarından tek seferlik doldurma
+    @Modifying
+    @Query(value = """
+        INSERT INTO worker_rating_aggregates
+            (worker_id, category, rating_count, rating_sum, rating_sum_squares,
+             decayed_sum, decayed_weight, decayed_at, last_rated_at)
+        SELECT r.user_id, c.category, count(*), sum(r.rating), sum(r.rating * r.rating),
+               sum(r.rating * power(0.5, extract(epoch FROM now() - r.created_at) / :halfLifeSeconds)),
+               sum(power(0.5, extract(epoch FROM now() - r.created_at) / :halfLifeSeconds)),
+               now(), max(r.created_at)
+        FROM user_ratings r
+        CROSS JOIN LATERAL (VALUES ('OVERALL'), (r.category)) AS c(category)
+        WHERE c.category IS NOT NULL AND r.created_at IS NOT NULL
+        GROUP BY r.user_id, c.category
+        ON CONFLICT (worker_id, category) DO NOTHING
+        """, nativeQuery = true)
+    int backfillFromRatings(@Param("halfLifeSeconds") double halfLifeSeconds);
+
+    /**
+     * Rating kaydı olmayan worker'lar için eski profil ortalamasından OVERALL sayacı
+     * (varyans bilinmediği için sıfır kabul edilir)
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO worker_rating_aggregates
+            (worker_id, category, rating_count, rating_sum, rating_sum_squares,
+             decayed_sum, decayed_weight, decayed_at, last_rated_at)
+        SELECT wp.user_id, 'OVERALL', wp.completed_tasks, wp.rating * wp.completed_tasks,
+               wp.rating * wp.rating * wp.completed_tasks,
+               wp.rating * wp.completed_tasks, wp.completed_tasks, now(), NULL
+        FROM worker_profiles wp
+        WHERE wp.rating > 0 AND wp.completed_tasks > 0
+        ON CONFLICT (worker_id, category) DO NOTHING
+        """, nativeQuery = true)
+    int backfillFromProfiles();
+}
@@ -0,0 +1,116 @@
+package com.strux.user_service.repository;
+
+import com.strux.user_service.model.WorkerUnitAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkerUnitAssignmentRepository
+        extends JpaRepository<WorkerUnitAssignment, WorkerUnitAssignment.Key> {
+
+    /**
+     * Worker'ın unit'leri, en son atanan önce
+     */
+    @Query("SELECT a.unitId FROM WorkerUnitAssignment a WHERE a.workerId = :workerId " +
+            "ORDER BY a.assignedAt DESC, a.unitId")
+    List<String> findUnitIdsByWorkerId(@Param("workerId") String workerId);
+
+    /**
+     * Birden fazla worker'ın unit atamaları tek sorguda: [workerId, unitId]
+     */
+    @Query("SELECT a.workerId, a.unitId FROM WorkerUnitAssignment a WHERE a.workerId IN :workerIds")
+    List<Object[]> findPairsByWorkerIdIn(@Param("workerIds") Collection<String> workerIds);
+
+    long countByUnitId(String unitId);
+
+    boolean existsByUnitIdAndWorkerId(String unitId, String workerId);
+
+    /**
+     * Aktif worker'ları unit'e tek statement'ta atar.
+     * @return yeni atanan worker id'leri (zaten atanmış veya geçersiz olanlar hariç)
+     */
+    @Query(value = """
+        INSERT INTO worker_unit_assignments (unit_id, worker_id, role, assigned_by, assigned_at)
+        SELECT :unitId, u.id, :role, :assignedBy, now()
+        FROM users u
+        WHERE u.id IN (:workerIds) AND u.role = 'WORKER' AND u.status = 'ACTIVE'
+        ON CONFLICT (unit_id, worker_id) DO NOTHING
+        RETURNING worker_id
+        """, nativeQuery = true)
+    List<String> assignAll(@Param("unitId") String unitId,
+                           @Param("workerIds") Collection<String> workerIds,
+                           @Param("role") String role,
+                           @Param("assignedBy") String assignedBy);
+
+    /**
+     * @return gerçekten çıkarılan worker id'leri
+     */
+    @Query(value = """
+        DELETE FROM worker_unit_assignments
+        WHERE unit_id = :unitId AND worker_id IN (:workerIds)
+        RETURNING worker_id
+        """, nativeQuery = true)
+    List<String> unassignAll(@Param("unitId") String unitId,
+                             @Param("workerIds") Collection<String> workerIds);
+
+    @Modifying
+    @Query("DELETE FROM WorkerUnitAssignment a WHERE a.workerId = :workerId")
+    int deleteByWorkerId(@Param("workerId") String workerId);
+
+    /**
+     * Silinen atamalar [workerId, unitId] olarak döner (removal event'leri için)
+     */
+    @Query(value = "DELETE FROM worker_unit_assignments WHERE worker_id IN (:workerIds) " +
+            "RETURNING worker_id, unit_id", nativeQuery = true)
+    List<Object[]> deleteReturningByWorkerIdIn(@Param("workerIds") Collection<String> workerIds);
+
+    // Eski worker_assigned_units element collection'ından taşıma (idempotent, cutover'a kadar tekrar çalışır)
+    @Modifying
+    @Query(value = """
+        INSERT INTO worker_unit_assignments (unit_id, worker_id, role, assigned_at)
+        SELECT DISTINCT wau.unit_id, wau.user_id, 'WORKER', now()
+        FROM worker_assigned_units wau
+        WHERE wau.unit_id IS NOT NULL
+        ON CONFLICT (unit_id, worker_id) DO NOTHING
+        """, nativeQuery = true)
+    int copyLegacyAssignments();
+
+    @Query(value = "SELECT to_regclass('worker_assigned_units') IS NOT NULL", nativeQuery = true)
+    boolean legacyTableExists();
+
+    // Geçiş dönemi (cutover'a kadar): yeni sürümün yazdıkları eski tabloya da yansıtılır
+    @Modifying
+    @Query(value = """
+        INSERT INTO worker_assigned_units (user_id, unit_id)
+        SELECT wp.user_id, :unitId FROM worker_profiles wp
+        WHERE wp.user_id IN (:workerIds)
+          AND NOT EXISTS (SELECT 1 FROM worker_assigned_units l WHERE l.user_id = wp.user_id AND l.unit_id = :unitId)
+        """, nativeQuery = true)
+    int mirrorAssignToLegacy(@Param("unitId") String unitId, @Param("workerIds") Collection<String> workerIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM worker_assigned_units WHERE unit_id = :unitId AND user_id IN (:workerIds)", nativeQuery = true)
+    int mirrorUnassignFromLegacy(@Param("unitId") String unitId, @Param("workerIds") Collection<String> workerIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM worker_assigned_units WHERE user_id IN (:workerIds)", nativeQuery = true)
+    int mirrorClearLegacy(@Param("workerIds") Collection<String> workerIds);
+
+    /**
+     * Eski sürümün eski tablodan kaldırdığı atamaları siler. Worker profili olmayan
+     * satırlar eski tabloda temsil edilemediği için dokunulmaz.
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM worker_unit_assignments a
+        WHERE EXISTS (SELECT 1 FROM worker_profiles wp WHERE wp.user_id = a.worker_id)
+          AND NOT EXISTS (SELECT 1 FROM worker_assigned_units l WHERE l.user_id = a.worker_id AND l.unit_id = a.unit_id)
+        """, nativeQuery = true)
+    int pruneRemovedInLegacy();
+}
@@ -0,0 +1,232 @@
+package com.strux.user_service.service;
+
+import com.strux.user_service.enums.OffboardingJobStatus;
+import com.strux.user_service.event.WorkerRemovedFromCompanyEvent;
+import com.strux.user_service.event.WorkerRemovedFromUnitEvent;
+import com.strux.user_service.repository.CompanyOffboardingJobRepository;
+import com.strux.user_service.repository.UserRepository;
+import com.strux.user_service.repository.WorkerProfileRepository;
+import com.strux.user_service.repository.WorkerProjectAssignmentRepository;
+import com.strux.user_service.repository.WorkerUnitAssignmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Silinen şirketlerin kullanıcılarını arka planda, küçük transaction'larla pasifleştirir.
+ *
+ * company.deleted event'i sadece işi kuyruğa ekler. Her batch tek transaction'da
+ * kullanıcıları pasifleştirir, proje/unit atamalarını siler ve işin checkpoint'ini
+ * yazar; böylece yarıda kesilen iş (restart, hata) kaldığı yerden devam eder.
+ * Her batch commit edildikten sonra worker.removed ve worker.removed.from.unit
+ * event'leri yayınlanır.
+ */
+@Service
+@Slf4j
+public class CompanyOffboardingService {
+
+    private final CompanyOffboardingJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final WorkerProfileRepository workerProfileRepository;
+    private final WorkerProjectAssignmentRepository projectAssignmentRepository;
+    private final WorkerUnitAssignmentRepository unitAssignmentRepository;
+    private final WorkerMatchIndex workerMatchIndex;
+    private final UserIdentityCache userIdentityCache;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkerAssignmentMigration workerAssignmentMigration;
+
+    private static final String REMOVED_BY = "system";
+    private static final String REASON = "Company deleted";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final Counter usersCounter;
+    private final Counter batchesCounter;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong pendingJobs = new AtomicLong();
+    private final AtomicLong runningJobs = new AtomicLong();
+
+    @Value("${app.offboarding.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.offboarding.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.offboarding.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${app.offboarding.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.offboarding.retry-initial-seconds:30}")
+    private long retryInitialSeconds;
+
+    @Value("${app.offboarding.retry-max-seconds:1800}")
+    private long retryMaxSeconds;
+
+    public CompanyOffboardingService(CompanyOffboardingJobRepository jobRepository,
+                                     UserRepository userRepository,
+                                     WorkerProfileRepository workerProfileRepository,
+                                     WorkerProjectAssignmentRepository projectAssignmentRepository,
+                                     WorkerUnitAssignmentRepository unitAssignmentRepository,
+                                     WorkerMatchIndex workerMatchIndex,
+                                     UserIdentityCache userIdentityCache,
+                                     TransactionTemplate transactionTemplate,
+                                     WorkerAssignmentMigration workerAssignmentMigration,
+                                     KafkaTemplate<String, Object> kafkaTemplate,
+                                     MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.workerProfileRepository = workerProfileRepository;
+        this.projectAssignmentRepository = projectAssignmentRepository;
+        this.unitAssignmentRepository = unitAssignmentRepository;
+        this.workerMatchIndex = workerMatchIndex;
+        this.userIdentityCache = userIdentityCache;
+        this.transactionTemplate = transactionTemplate;
+        this.workerAssignmentMigration = workerAssignmentMigration;
+        this.kafkaTemplate = kafkaTemplate;
+
+        this.usersCounter = Counter.builder("offboarding.users.deactivated").register(meterRegistry);
+        this.batchesCounter = Counter.builder("offboarding.batches").register(meterRegistry);
+        this.completedCounter = Counter.builder("offboarding.jobs.completed").register(meterRegistry);
+        this.failedCounter = Counter.builder("offboarding.jobs.failed").register(meterRegistry);
+        Gauge.builder("offboarding.jobs.pending", pendingJobs, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("offboarding.jobs.running", runningJobs, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Transactional
+    public void enqueue(String companyId) {
+        if (jobRepository.enqueue(companyId) > 0) {
+            log.info("📋 Offboarding queued for company {}", companyId);
+        } else {
+            log.info("Offboarding already in progress for company {}", companyId);
+        }
+    }
+
+    /**
+     * Scheduler thread'i diğer işlerle paylaşıldığı için her turda en fazla
+     * max-batches-per-run batch işlenir; kalan iş bir sonraki turda devam eder.
+     */
+    @Scheduled(fixedDelayString = "${app.offboarding.poll-interval-ms:5000}")
+    public void runPendingJobs() {
+        pendingJobs.set(jobRepository.countByStatus(OffboardingJobStatus.PENDING));
+        runningJobs.set(jobRepository.countByStatus(OffboardingJobStatus.RUNNING));
+
+        String companyId = transactionTemplate.execute(status -> jobRepository.claimNext(leaseSeconds));
+        if (companyId != null) {
+            process(companyId);
+        }
+    }
+
+    private void process(String companyId) {
+        int batches = 0;
+
+        try {
+            while (batches < maxBatchesPerRun) {
+                Batch batch = transactionTemplate.execute(status -> deactivateBatch(companyId));
+                if (batch == null || batch.userIds().isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> jobRepository.markCompleted(companyId));
+                    completedCounter.increment();
+                    log.info("✅ Company {} offboarded", companyId);
+                    return;
+                }
+
+                publishRemovalEvents(companyId, batch);
+                workerMatchIndex.markChanged(batch.userIds());
+                usersCounter.increment(batch.userIds().size());
+                batchesCounter.increment();
+                batches++;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> jobRepository.release(companyId));
+            log.debug("Company {} offboarding paused after {} batch(es)", companyId, batches);
+
+        } catch (Exception e) {
+            failedCounter.increment();
+            String error = e.getMessage() != null && e.getMessage().length() > 1000
+                    ? e.getMessage().substring(0, 1000)
+                    : e.getMessage();
+            String status = transactionTemplate.execute(tx -> jobRepository.markFailed(
+                    companyId, error, maxAttempts, retryInitialSeconds, retryMaxSeconds));
+
+            if (OffboardingJobStatus.FAILED.name().equals(status)) {
+                log.error("💀 Offboarding for company {} gave up after {} attempts, needs manual retry: {}",
+                        companyId, maxAttempts, e.getMessage(), e);
+            } else {
+                log.error("❌ Offboarding failed for company {}, will retry with backoff: {}",
+                        companyId, e.getMessage(), e);
+            }
+        }
+    }
+
+    private Batch deactivateBatch(String companyId) {
+        List<String> userIds = userRepository.deactivateCompanyBatch(companyId, batchSize);
+        if (userIds.isEmpty()) {
+            return new Batch(userIds, List.of());
+        }
+
+        projectAssignmentRepository.deleteByWorkerIdIn(userIds);
+        List<Object[]> removedUnits = unitAssignmentRepository.deleteReturningByWorkerIdIn(userIds);
+        workerAssignmentMigration.mirrorWorkersCleared(userIds);
+        workerProfileRepository.markAvailable(userIds);
+        jobRepository.recordBatch(companyId, userIds.size());
+
+        // Toplu UPDATE entity listener'ları tetiklemez
+        userIds.forEach(userIdentityCache::invalidate);
+        return new Batch(userIds, removedUnits);
+    }
+
+    /**
+     * Commit sonrası gönderilir; task-service gibi tüketiciler worker→unit
+     * eşlemelerini max-age dolmadan temizler
+     */
+    private void publishRemovalEvents(String companyId, Batch batch) {
+        try {
+            String timestamp = OffsetDateTime.now().toString();
+
+            for (Object[] pair : batch.removedUnits()) {
+                String workerId = (String) pair[0];
+                String unitId = (String) pair[1];
+                kafkaTemplate.send("worker.removed.from.unit", workerId, WorkerRemovedFromUnitEvent.builder()
+                        .eventId(UUID.randomUUID().toString())
+                        .timestamp(timestamp)
+                        .workerId(workerId)
+                        .unitId(unitId)
+                        .unitName("Unit " + unitId)
+                        .companyId(companyId)
+                        .removedBy(REMOVED_BY)
+                        .reason(REASON)
+                        .build());
+            }
+
+            for (String userId : batch.userIds()) {
+                kafkaTemplate.send("worker.removed", userId, WorkerRemovedFromCompanyEvent.builder()
+                        .eventId(UUID.randomUUID().toString())
+                        .timestamp(timestamp)
+                        .companyId(companyId)
+                        .userId(userId)
+                        .removedBy(REMOVED_BY)
+                        .reason(REASON)
+                        .build());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to publish removal events for company {}: {}", companyId, e.getMessage());
+        }
+    }
+
+    private record Batch(List<String> userIds, List<Object[]> removedUnits) {
+    }
+}
@@ -1,20 +1,20 @@
 package com.strux.user_service.service;
 
+import com.strux.user_service.dto.AvatarUploadRequest;
+import com.strux.user_service.dto.AvatarUploadResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -27,61 +27,67 @@ public class FileStorageService {
     @Value("${document.service.url:http://localhost:9089}")
     private String documentServiceUrl;
 
-    public String uploadFile(MultipartFile file, String subDirectory) throws IOException {
+    /**
+     * document-service'ten avatar için presigned PUT URL'i alır.
+     * Dosya baytları user-service'ten geçmez.
+     */
+    public AvatarUploadResponse requestAvatarUpload(String userId, AvatarUploadRequest request, String requestedBy)
+            throws IOException {
         try {
-            log.info("📤 Uploading file to Document Service (MinIO)");
-            log.info("   File: {}, Size: {} bytes", file.getOriginalFilename(), file.getSize());
+            log.info("📤 Requesting avatar upload URL - UserId: {}, File: {}, Size: {} bytes",
+                    userId, request.getFileName(), request.getFileSize());
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("fileName", request.getFileName());
+            body.put("contentType", request.getContentType());
+            body.put("fileSize", request.getFileSize());
+            body.put("companyId", "system");
+            body.put("entityType", "USER");
+            body.put("entityId", userId);
+            body.put("documentType", "AVATAR");
+            body.put("category", "PROFILE");
+            body.put("description", "User avatar");
 
-            String userId = subDirectory.replace("avatars/", "");
-
-            // ✅ Basit multipart data - @RequestParam'lar için
-            MultipartBodyBuilder builder = new MultipartBodyBuilder();
-
-            // File part
-            builder.part("file", file.getResource())
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "form-data; name=file; filename=" + file.getOriginalFilename());
-
-            // Request parameters as simple parts
-            builder.part("companyId", "system");
-            builder.part("entityType", "USER");
-            builder.part("entityId", userId);
-            builder.part("documentType", "AVATAR");
-            builder.part("category", "PROFILE");
-            builder.part("description", "User avatar");
-
-            // Get JWT token
             String authToken = extractAuthToken();
 
-            // ✅ Yeni avatar endpoint'e istek
             var requestSpec = webClient
                     .post()
-                    .uri(documentServiceUrl + "/api/documents/avatar/upload")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .header("X-User-Id", userId);
+                    .uri(documentServiceUrl + "/api/documents/uploads")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("X-User-Id", requestedBy != null ? requestedBy : userId);
 
             if (authToken != null && !authToken.isEmpty()) {
                 requestSpec = requestSpec.header("Authorization", "Bearer " + authToken);
-                log.info("🔐 Authorization header added");
             }
 
             Map<String, Object> response = requestSpec
-                    .body(BodyInserters.fromMultipartData(builder.build()))
+                    .bodyValue(body)
                     .retrieve()
                     .bodyToMono(Map.class)
                     .block();
 
-            if (response != null && response.containsKey("fileUrl")) {
-                String fileUrl = (String) response.get("fileUrl");
-                log.info("✅ File uploaded successfully: {}", fileUrl);
-                return fileUrl;
+            if (response == null || !response.containsKey("uploadUrl")) {
+                throw new IOException("Failed to get upload URL from Document Service");
             }
 
-            throw new IOException("Failed to get file URL from Document Service");
+            String documentId = (String) response.get("documentId");
+            Object expiresAt = response.get("expiresAt");
+
+            log.info("✅ Avatar upload URL issued - DocumentId: {}", documentId);
+
+            return AvatarUploadResponse.builder()
+                    .documentId(documentId)
+                    .uploadUrl((String) response.get("uploadUrl"))
+                    .contentType(request.getContentType())
+                    .expiresAt(expiresAt != null ? LocalDateTime.parse(expiresAt.toString()) : null)
+                    .completeUrl("/api/documents/uploads/" + documentId + "/complete")
+                    .build();
 
+        } catch (IOException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("❌ File upload failed: {}", e.getMessage(), e);
-            throw new IOException("Failed to upload file: " + e.getMessage(), e);
+            log.error("❌ Avatar upload URL request failed: {}", e.getMessage(), e);
+            throw new IOException("Failed to request upload URL: " + e.getMessage(), e);
         }
     }
 
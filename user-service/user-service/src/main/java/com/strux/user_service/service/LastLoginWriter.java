@@ -0,0 +1,93 @@
+package com.strux.user_service.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Birleştirilmiş login zamanlarını users tablosuna toplu yazar.
+ *
+ * Her chunk tek UPDATE ... FROM unnest(...) statement'ıdır; sadece daha yeni
+ * zamanlar yazılır, böylece sırası karışmış event'ler geri almaz. Yazma hızı
+ * max-rows-per-second ile sınırlanır: limit aşılırsa listener thread'i bekler
+ * ve tüketim Kafka tarafında birikir (DB'ye yük bindirmek yerine lag artar).
+ */
+@Service
+@RequiredArgsConstructor
+public class LastLoginWriter {
+
+    private static final String UPDATE_SQL = """
+            UPDATE users u SET last_login_at = v.login_at
+            FROM unnest(?, ?) AS v(keycloak_id, login_at)
+            WHERE u.keycloak_id = v.keycloak_id
+              AND (u.last_login_at IS NULL OR u.last_login_at < v.login_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.login-events.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.login-events.max-rows-per-second:2000}")
+    private int maxRowsPerSecond;
+
+    // Basit token bucket: bir sonraki yazmanın en erken zamanı
+    private long nextWriteAtNanos;
+
+    /**
+     * @param latestByKeycloakId keycloak id → en son login zamanı
+     * @return güncellenen satır sayısı
+     */
+    public synchronized int write(Map<String, LocalDateTime> latestByKeycloakId) {
+        List<Map.Entry<String, LocalDateTime>> entries = new ArrayList<>(latestByKeycloakId.entrySet());
+        int updated = 0;
+
+        for (int from = 0; from < entries.size(); from += chunkSize) {
+            List<Map.Entry<String, LocalDateTime>> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+            throttle(chunk.size());
+            updated += update(chunk);
+        }
+        return updated;
+    }
+
+    private int update(List<Map.Entry<String, LocalDateTime>> chunk) {
+        String[] keycloakIds = new String[chunk.size()];
+        Timestamp[] loginTimes = new Timestamp[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            keycloakIds[i] = chunk.get(i).getKey();
+            loginTimes[i] = Timestamp.valueOf(chunk.get(i).getValue());
+        }
+
+        return jdbcTemplate.update(UPDATE_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("varchar", keycloakIds));
+            ps.setArray(2, connection.createArrayOf("timestamp", loginTimes));
+        });
+    }
+
+    private void throttle(int rows) {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long waitNanos = nextWriteAtNanos - now;
+        if (waitNanos > 0) {
+            try {
+                Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            now = System.nanoTime();
+        }
+        nextWriteAtNanos = Math.max(now, nextWriteAtNanos) + rows * 1_000_000_000L / maxRowsPerSecond;
+    }
+}
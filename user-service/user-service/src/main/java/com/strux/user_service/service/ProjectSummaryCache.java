@@ -0,0 +1,115 @@
+package com.strux.user_service.service;
+
+import com.strux.user_service.client.ProjectClient;
+import com.strux.user_service.dto.ProjectResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * project-service proje özetlerinin yerel cache'i.
+ *
+ * Eksik projeler tek toplu istekle alınır. project.updated / project.deleted
+ * event'leri ilgili kaydı siler; progress gibi event'siz değişiklikler için
+ * kayıtlar max-age sonunda yenilenir. Silme sırasında devam eden bir isteğin
+ * cevabı cache'e yazılmaz, böylece eski veri geri gelmez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectSummaryCache {
+
+    private final ProjectClient projectClient;
+
+    @Value("${app.project-cache.max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${app.project-cache.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    private final Map<String, CachedProject> projects = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @return verilen sırayla bulunan projeler; erişilemeyenler atlanır
+     */
+    public Mono<List<ProjectResponse>> getAll(List<String> projectIds, String token) {
+        long now = System.currentTimeMillis();
+        Map<String, ProjectResponse> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+
+        for (String projectId : projectIds) {
+            CachedProject cached = projects.get(projectId);
+            if (cached != null && now - cached.loadedAt < maxAgeSeconds * 1000) {
+                cached.lastAccess = now;
+                found.put(projectId, cached.project);
+            } else {
+                missing.add(projectId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return Mono.just(inOrder(projectIds, found));
+        }
+
+        long generation = invalidations.get();
+        return projectClient.getProjectSummaries(missing, token)
+                .map(fetched -> {
+                    boolean cacheable = invalidations.get() == generation;
+                    long loadedAt = System.currentTimeMillis();
+
+                    for (ProjectResponse project : fetched) {
+                        found.put(project.getId(), project);
+                        if (cacheable && projects.put(project.getId(), new CachedProject(project, loadedAt)) == null) {
+                            evictLeastRecentlyUsed();
+                        }
+                    }
+                    log.debug("Project cache: {} hit(s), {} fetched", projectIds.size() - missing.size(), fetched.size());
+                    return inOrder(projectIds, found);
+                });
+    }
+
+    public void evict(String projectId) {
+        if (projectId != null) {
+            invalidations.incrementAndGet();
+            projects.remove(projectId);
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (projects.size() > maxEntries) {
+            projects.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .ifPresent(entry -> projects.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private static List<ProjectResponse> inOrder(List<String> projectIds, Map<String, ProjectResponse> found) {
+        List<ProjectResponse> result = new ArrayList<>(found.size());
+        for (String projectId : projectIds) {
+            ProjectResponse project = found.get(projectId);
+            if (project != null) {
+                result.add(project);
+            }
+        }
+        return result;
+    }
+
+    private static final class CachedProject {
+        final ProjectResponse project;
+        final long loadedAt;
+        volatile long lastAccess;
+
+        CachedProject(ProjectResponse project, long loadedAt) {
+            this.project = project;
+            this.loadedAt = loadedAt;
+            this.lastAccess = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.strux.user_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.strux.user_service.dto.UserResponse;
+import com.strux.user_service.exceptions.InvalidInputException;
+import com.strux.user_service.mapper.UserMapper;
+import com.strux.user_service.model.User;
+import com.strux.user_service.repository.UserRepository;
+import com.strux.user_service.repository.WorkerProjectAssignmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Çok sayıda kullanıcıyı id listesiyle çözer (bildirim fan-out, görev atananları vb.).
+ *
+ * Id'ler tekilleştirilir ve istek sırası korunur. Her chunk önce cache'ten, kalanlar
+ * worker profili fetch join'li tek IN sorgusuyla ve proje atamaları tek sorguyla
+ * yüklenir. Bulunamayan id'ler hata değildir; sonuçta "missing" olarak döner.
+ */
+@Service
+@Slf4j
+public class UserBatchResolver {
+
+    private final UserRepository userRepository;
+    private final WorkerProjectAssignmentRepository projectAssignmentRepository;
+    private final UserMapper userMapper;
+    private final UserIdentityCache userIdentityCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Set<String> knownFields;
+
+    @Value("${app.user-batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.user-batch.max-ids:10000}")
+    private int maxIds;
+
+    public UserBatchResolver(UserRepository userRepository,
+                             WorkerProjectAssignmentRepository projectAssignmentRepository,
+                             UserMapper userMapper,
+                             UserIdentityCache userIdentityCache,
+                             ObjectMapper objectMapper,
+                             TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.projectAssignmentRepository = projectAssignmentRepository;
+        this.userMapper = userMapper;
+        this.userIdentityCache = userIdentityCache;
+        this.objectMapper = objectMapper;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.knownFields = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(UserResponse.class))
+                .findProperties().stream()
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * @return bulunan kullanıcılar, istek sırasıyla
+     */
+    public List<UserResponse> resolve(Collection<String> ids) {
+        List<String> orderedIds = normalizeIds(ids);
+        List<UserResponse> users = new ArrayList<>(orderedIds.size());
+
+        for (List<String> chunk : chunks(orderedIds)) {
+            Map<String, UserResponse> found = loadChunk(chunk);
+            for (String id : chunk) {
+                UserResponse user = found.get(id);
+                if (user != null) {
+                    users.add(user);
+                }
+            }
+        }
+        return users;
+    }
+
+    /**
+     * {"users": [...], "missing": [...]} yanıtını chunk chunk yazar; binlerce id
+     * için bile bellekte sadece bir chunk tutulur. Doğrulama yazmaya başlamadan yapılır.
+     */
+    public StreamingResponseBody stream(Collection<String> ids, Collection<String> fields) {
+        List<String> orderedIds = normalizeIds(ids);
+        Set<String> projection = normalizeFields(fields);
+        log.debug("Resolving {} users in batch", orderedIds.size());
+
+        return out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                List<String> missing = new ArrayList<>();
+
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("users");
+                for (List<String> chunk : chunks(orderedIds)) {
+                    Map<String, UserResponse> found = loadChunk(chunk);
+                    for (String id : chunk) {
+                        UserResponse user = found.get(id);
+                        if (user == null) {
+                            missing.add(id);
+                        } else {
+                            writeUser(generator, user, projection);
+                        }
+                    }
+                    generator.flush();
+                }
+                generator.writeEndArray();
+
+                generator.writeArrayFieldStart("missing");
+                for (String id : missing) {
+                    generator.writeString(id);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } catch (IOException e) {
+                log.warn("⚠️ Batch user response aborted: {}", e.getMessage());
+                throw e;
+            }
+        };
+    }
+
+    private void writeUser(JsonGenerator generator, UserResponse user, Set<String> projection) throws IOException {
+        if (projection == null) {
+            generator.writeObject(user);
+            return;
+        }
+        ObjectNode node = objectMapper.valueToTree(user);
+        node.retain(projection);
+        generator.writeTree(node);
+    }
+
+    private Map<String, UserResponse> loadChunk(List<String> ids) {
+        return userIdentityCache.getAllById(ids, this::loadFromDatabase);
+    }
+
+    private Map<String, UserResponse> loadFromDatabase(Collection<String> ids) {
+        return readOnlyTransaction.execute(status -> {
+            List<User> users = userRepository.findAllWithProfileByIdIn(ids);
+
+            List<String> workerIds = users.stream()
+                    .filter(user -> user.getWorkerProfile() != null)
+                    .map(User::getId)
+                    .toList();
+
+            Map<String, List<String>> projectIdsByWorker = new HashMap<>();
+            if (!workerIds.isEmpty()) {
+                for (Object[] pair : projectAssignmentRepository.findPairsByWorkerIdIn(workerIds)) {
+                    projectIdsByWorker.computeIfAbsent((String) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+                }
+            }
+
+            Map<String, UserResponse> responses = new HashMap<>(users.size() * 2);
+            for (User user : users) {
+                responses.put(user.getId(),
+                        userMapper.toResponse(user, projectIdsByWorker.getOrDefault(user.getId(), List.of())));
+            }
+            return responses;
+        });
+    }
+
+    private List<String> normalizeIds(Collection<String> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+
+        LinkedHashSet<String> unique = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id != null && !id.isBlank()) {
+                unique.add(id.trim());
+            }
+        }
+
+        if (unique.size() > maxIds) {
+            throw new InvalidInputException("Cannot resolve more than " + maxIds + " users at once");
+        }
+        return new ArrayList<>(unique);
+    }
+
+    private Set<String> normalizeFields(Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+
+        Set<String> projection = new HashSet<>();
+        projection.add("id");
+        for (String field : fields) {
+            if (!knownFields.contains(field)) {
+                throw new InvalidInputException("Unknown user field: " + field);
+            }
+            projection.add(field);
+        }
+        return projection;
+    }
+
+    private List<List<String>> chunks(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,343 @@
+package com.strux.user_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strux.user_service.dto.UserResponse;
+import com.strux.user_service.enums.UserStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Aktif kullanıcıların UserResponse cache'i (id, email ve keycloakId ile).
+ *
+ * L1 instance içi Caffeine, L2 Redis'tir. Email ve keycloakId sadece id'ye
+ * işaret eder, kullanıcı tek yerde tutulur; bu yüzden silme tek anahtarla
+ * yapılır. Eski bir email/keycloakId işaretçisi dönen kullanıcıyla
+ * karşılaştırılarak elenir. Değişiklikler commit sonrası Redis kanalıyla tüm
+ * instance'lara duyurulur.
+ */
+@Component
+@Slf4j
+public class UserIdentityCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "user-cache:invalidate";
+
+    private static final String ID_KEY = "user-cache:id:";
+    private static final String EMAIL_KEY = "user-cache:email:";
+    private static final String KEYCLOAK_KEY = "user-cache:kc:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final Duration l2Ttl;
+
+    private final Cache<String, UserResponse> byId;
+    private final Cache<String, String> idByEmail;
+    private final Cache<String, String> idByKeycloakId;
+    // Yüklenirken silinen kayıt eski haliyle cache'e yazılmasın
+    private final Cache<String, Long> invalidatedAt;
+
+    public UserIdentityCache(StringRedisTemplate redisTemplate,
+                             ObjectMapper objectMapper,
+                             @Value("${app.user-cache.enabled:true}") boolean enabled,
+                             @Value("${app.user-cache.l1-max-entries:50000}") long l1MaxEntries,
+                             @Value("${app.user-cache.l1-ttl-seconds:60}") long l1TtlSeconds,
+                             @Value("${app.user-cache.l2-ttl-seconds:600}") long l2TtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.l2Ttl = Duration.ofSeconds(l2TtlSeconds);
+
+        Duration l1Ttl = Duration.ofSeconds(l1TtlSeconds);
+        this.byId = Caffeine.newBuilder().maximumSize(l1MaxEntries).expireAfterWrite(l1Ttl).build();
+        this.idByEmail = Caffeine.newBuilder().maximumSize(l1MaxEntries).expireAfterWrite(l1Ttl).build();
+        this.idByKeycloakId = Caffeine.newBuilder().maximumSize(l1MaxEntries).expireAfterWrite(l1Ttl).build();
+        this.invalidatedAt = Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(30)).build();
+    }
+
+    // ==================== LOOKUP ====================
+
+    /**
+     * @param loader cache'te yoksa DB'den aktif kullanıcıyı yükler (bulunamazsa exception fırlatır)
+     */
+    public UserResponse getById(String id, Supplier<UserResponse> loader) {
+        if (!enabled || id == null) {
+            return loader.get();
+        }
+
+        UserResponse cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        cached = readL2(id);
+        if (cached != null) {
+            byId.put(id, cached);
+            return cached;
+        }
+
+        return load(loader);
+    }
+
+    public UserResponse getByEmail(String email, Supplier<UserResponse> loader) {
+        if (!enabled || email == null) {
+            return loader.get();
+        }
+        String key = email.toLowerCase(Locale.ROOT);
+        return getByAlias(key, idByEmail, EMAIL_KEY,
+                user -> user.getEmail() != null ? user.getEmail().toLowerCase(Locale.ROOT) : null, loader);
+    }
+
+    public UserResponse getByKeycloakId(String keycloakId, Supplier<UserResponse> loader) {
+        if (!enabled || keycloakId == null) {
+            return loader.get();
+        }
+        return getByAlias(keycloakId, idByKeycloakId, KEYCLOAK_KEY, UserResponse::getKeycloakId, loader);
+    }
+
+    private UserResponse getByAlias(String alias, Cache<String, String> aliases, String l2Prefix,
+                                    Function<UserResponse, String> aliasOf, Supplier<UserResponse> loader) {
+        String id = aliases.getIfPresent(alias);
+        if (id == null) {
+            id = readL2Alias(l2Prefix + alias);
+            if (id != null) {
+                aliases.put(alias, id);
+            }
+        }
+
+        if (id != null) {
+            UserResponse user = byId.getIfPresent(id);
+            if (user == null) {
+                user = readL2(id);
+                if (user != null) {
+                    byId.put(id, user);
+                }
+            }
+            // Email/keycloakId değiştiyse işaretçi eskidir
+            if (user != null && alias.equals(aliasOf.apply(user))) {
+                return user;
+            }
+        }
+
+        return load(loader);
+    }
+
+    /**
+     * Toplu okuma: önce L1, kalanlar tek MGET ile L2, en son tek loader çağrısı.
+     * Tekil okumalardaki kural korunur: sadece aktif kullanıcılar cache'e yazılır.
+     *
+     * @param loader cache'te olmayan id'leri yükler (bulunamayanlar sonuçta yer almaz)
+     */
+    public Map<String, UserResponse> getAllById(Collection<String> ids,
+                                                Function<Collection<String>, Map<String, UserResponse>> loader) {
+        if (!enabled || ids.isEmpty()) {
+            return loader.apply(ids);
+        }
+
+        Map<String, UserResponse> found = new HashMap<>(byId.getAllPresent(ids));
+        List<String> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+
+        if (!missing.isEmpty()) {
+            List<UserResponse> fromL2 = readL2All(missing);
+            List<String> stillMissing = new ArrayList<>();
+            for (int i = 0; i < missing.size(); i++) {
+                UserResponse user = fromL2.get(i);
+                if (user != null) {
+                    byId.put(user.getId(), user);
+                    found.put(user.getId(), user);
+                } else {
+                    stillMissing.add(missing.get(i));
+                }
+            }
+            missing = stillMissing;
+        }
+
+        if (!missing.isEmpty()) {
+            long startedAt = System.nanoTime();
+            Map<String, UserResponse> loaded = loader.apply(missing);
+            found.putAll(loaded);
+
+            List<UserResponse> cacheable = loaded.values().stream()
+                    .filter(user -> user.getStatus() == UserStatus.ACTIVE)
+                    .filter(user -> {
+                        Long invalidated = invalidatedAt.getIfPresent(user.getId());
+                        return invalidated == null || invalidated < startedAt;
+                    })
+                    .toList();
+            putAll(cacheable);
+        }
+        return found;
+    }
+
+    private UserResponse load(Supplier<UserResponse> loader) {
+        long startedAt = System.nanoTime();
+        UserResponse user = loader.get();
+
+        Long invalidated = invalidatedAt.getIfPresent(user.getId());
+        if (invalidated == null || invalidated < startedAt) {
+            put(user);
+        }
+        return user;
+    }
+
+    private void put(UserResponse user) {
+        String id = user.getId();
+        byId.put(id, user);
+        if (user.getEmail() != null) {
+            idByEmail.put(user.getEmail().toLowerCase(Locale.ROOT), id);
+        }
+        if (user.getKeycloakId() != null) {
+            idByKeycloakId.put(user.getKeycloakId(), id);
+        }
+
+        try {
+            redisTemplate.opsForValue().set(ID_KEY + id, objectMapper.writeValueAsString(user), l2Ttl);
+            if (user.getEmail() != null) {
+                redisTemplate.opsForValue().set(EMAIL_KEY + user.getEmail().toLowerCase(Locale.ROOT), id, l2Ttl);
+            }
+            if (user.getKeycloakId() != null) {
+                redisTemplate.opsForValue().set(KEYCLOAK_KEY + user.getKeycloakId(), id, l2Ttl);
+            }
+        } catch (Exception e) {
+            log.debug("User cache L2 write failed for {}: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * Tek pipeline ile L2'ye yazar; kullanıcı başına ayrı round-trip olmasın
+     */
+    private void putAll(List<UserResponse> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        for (UserResponse user : users) {
+            byId.put(user.getId(), user);
+            if (user.getEmail() != null) {
+                idByEmail.put(user.getEmail().toLowerCase(Locale.ROOT), user.getId());
+            }
+            if (user.getKeycloakId() != null) {
+                idByKeycloakId.put(user.getKeycloakId(), user.getId());
+            }
+        }
+
+        try {
+            long ttlSeconds = l2Ttl.toSeconds();
+            Map<String, String> values = new HashMap<>();
+            for (UserResponse user : users) {
+                values.put(ID_KEY + user.getId(), objectMapper.writeValueAsString(user));
+            }
+
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                values.forEach((key, value) -> redis.setEx(key, ttlSeconds, value));
+                for (UserResponse user : users) {
+                    if (user.getEmail() != null) {
+                        redis.setEx(EMAIL_KEY + user.getEmail().toLowerCase(Locale.ROOT), ttlSeconds, user.getId());
+                    }
+                    if (user.getKeycloakId() != null) {
+                        redis.setEx(KEYCLOAK_KEY + user.getKeycloakId(), ttlSeconds, user.getId());
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.debug("User cache L2 bulk write failed for {} users: {}", users.size(), e.getMessage());
+        }
+    }
+
+    private List<UserResponse> readL2All(List<String> ids) {
+        List<UserResponse> users = new ArrayList<>(Collections.nCopies(ids.size(), null));
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(ids.stream().map(id -> ID_KEY + id).toList());
+            if (values == null) {
+                return users;
+            }
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    users.set(i, objectMapper.readValue(values.get(i), UserResponse.class));
+                }
+            }
+        } catch (Exception e) {
+            log.debug("User cache L2 bulk read failed for {} ids: {}", ids.size(), e.getMessage());
+        }
+        return users;
+    }
+
+    private UserResponse readL2(String id) {
+        try {
+            String json = redisTemplate.opsForValue().get(ID_KEY + id);
+            return json != null ? objectMapper.readValue(json, UserResponse.class) : null;
+        } catch (Exception e) {
+            log.debug("User cache L2 read failed for {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private String readL2Alias(String key) {
+        try {
+            return redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.debug("User cache L2 read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    // ==================== INVALIDATION ====================
+
+    /**
+     * Commit sonrası L2'den siler ve tüm instance'ların L1'ine duyurur
+     */
+    public void invalidate(String userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+
+        Runnable invalidation = () -> {
+            evictLocal(userId);
+            try {
+                redisTemplate.delete(ID_KEY + userId);
+                redisTemplate.convertAndSend(INVALIDATION_CHANNEL, userId);
+            } catch (Exception e) {
+                log.warn("⚠️ User cache invalidation for {} not broadcast: {}", userId, e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void evictLocal(String userId) {
+        invalidatedAt.put(userId, System.nanoTime());
+        byId.invalidate(userId);
+    }
+}
@@ -0,0 +1,80 @@
+package com.strux.user_service.service;
+
+import com.strux.user_service.dto.UserProfileResponse;
+import com.strux.user_service.dto.UserResponse;
+import com.strux.user_service.mapper.UserMapper;
+import com.strux.user_service.model.User;
+import com.strux.user_service.repository.WorkerProjectAssignmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * User → UserResponse dönüşümü için worker proje atamalarını yükler.
+ *
+ * Listelerde tüm worker'ların atamaları tek sorguda (findPairsByWorkerIdIn)
+ * alınır; mapper'ın kendisi repository'ye gitmez.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserResponseAssembler {
+
+    private final WorkerProjectAssignmentRepository projectAssignmentRepository;
+    private final UserMapper userMapper;
+
+    public UserResponse toResponse(User user) {
+        if (user == null) {
+            return null;
+        }
+        return userMapper.toResponse(user, projectIdsOf(user));
+    }
+
+    public UserProfileResponse toProfileResponse(User user) {
+        if (user == null) {
+            return null;
+        }
+        return userMapper.toProfileResponse(user, projectIdsOf(user));
+    }
+
+    /**
+     * Sırayı korur
+     */
+    public List<UserResponse> toResponses(List<User> users) {
+        Map<String, List<String>> projectIdsByWorker = projectIdsByWorker(users);
+
+        List<UserResponse> responses = new ArrayList<>(users.size());
+        for (User user : users) {
+            responses.add(userMapper.toResponse(user, projectIdsByWorker.getOrDefault(user.getId(), List.of())));
+        }
+        return responses;
+    }
+
+    public Page<UserResponse> toResponses(Page<User> users) {
+        return new PageImpl<>(toResponses(users.getContent()), users.getPageable(), users.getTotalElements());
+    }
+
+    private List<String> projectIdsOf(User user) {
+        return user.getWorkerProfile() != null
+                ? projectAssignmentRepository.findProjectIdsByWorkerId(user.getId())
+                : List.of();
+    }
+
+    private Map<String, List<String>> projectIdsByWorker(Collection<User> users) {
+        List<String> workerIds = users.stream()
+                .filter(user -> user.getWorkerProfile() != null)
+                .map(User::getId)
+                .toList();
+        if (workerIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, List<String>> projectIdsByWorker = new HashMap<>();
+        for (Object[] pair : projectAssignmentRepository.findPairsByWorkerIdIn(workerIds)) {
+            projectIdsByWorker.computeIfAbsent((String) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        return projectIdsByWorker;
+    }
+}
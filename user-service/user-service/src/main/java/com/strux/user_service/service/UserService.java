@@ -1,6 +1,7 @@
 package com.strux.user_service.service;
 
 import com.strux.user_service.client.AuthClient;
+import com.strux.user_service.config.SecurityUtils;
 import com.strux.user_service.dto.*;
 import com.strux.user_service.enums.AuditEvent;
 import com.strux.user_service.enums.UserRole;
@@ -9,7 +10,6 @@ import com.strux.user_service.event.UserCreatedEvent;
 import com.strux.user_service.event.UserDeletedEvent;
 import com.strux.user_service.event.UserUpdatedEvent;
 import com.strux.user_service.exceptions.*;
-import com.strux.user_service.mapper.UserMapper;
 import com.strux.user_service.model.User;
 import com.strux.user_service.model.WorkerProfile;
 import com.strux.user_service.repository.UserNotificationPreferencesRepository;
@@ -17,22 +17,22 @@ import com.strux.user_service.repository.UserRatingRepository;
 import com.strux.user_service.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -43,14 +43,16 @@ public class UserService {
     private final UserNotificationPreferencesRepository userNotificationPreferences;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final FileStorageService fileStorageService;
-    private final UserMapper userMapper;
+    private final UserResponseAssembler userResponseAssembler;
     private final AuditLogService auditLogService;
     private final ApplicationEventPublisher applicationEventPublisher;
     private final AuthClient authServiceClient;
-
-    @Autowired(required = false)
-    private RedisTemplate<String, Object> redisTemplate;
-
+    private final WorkerMatchIndex workerMatchIndex;
+    private final UserIdentityCache userIdentityCache;
+    private final UserBatchResolver userBatchResolver;
+    private final WorkerProfileTempStore workerProfileTempStore;
+    private final TransactionTemplate transactionTemplate;
+    private final SecurityUtils securityUtils;
 
     private static final String USER_CACHE_PREFIX = "user:";
     private static final List<String> ALLOWED_IMAGE_TYPES = List.of("image/jpeg", "image/png", "image/jpg");
@@ -70,7 +72,7 @@ public class UserService {
                 users = userRepository.findByStatus(UserStatus.ACTIVE, pageable);
             }
 
-            return users.map(userMapper::toResponse);
+            return userResponseAssembler.toResponses(users);
 
         } catch (Exception e) {
             log.error("Error fetching all users: {}", e.getMessage(), e);
@@ -117,7 +119,7 @@ public class UserService {
             log.info("User created successfully - UserId: {}, Email: {}",
                     user.getId(), maskEmail(email));
 
-            return userMapper.toResponse(user);
+            return userResponseAssembler.toResponse(user);
 
         } catch (UserAlreadyExistsException e) {
             throw e;
@@ -127,21 +129,17 @@ public class UserService {
         }
     }
 
-    @Transactional(readOnly = true)
     public List<UserResponse> getUsersByIds(List<String> ids) {
         try {
-            log.info("Fetching users by IDs: {}", ids);
-
             if (ids == null || ids.isEmpty()) {
                 return List.of();
             }
+            log.debug("Fetching {} users by IDs", ids.size());
 
-            List<User> users = userRepository.findAllById(ids);
-
-            return users.stream()
-                    .map(userMapper::toResponse)
-                    .toList();
+            return userBatchResolver.resolve(ids);
 
+        } catch (InvalidInputException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error fetching users by IDs: {}", e.getMessage(), e);
             throw new UserServiceException("Failed to fetch users by IDs", e);
@@ -179,7 +177,6 @@ public class UserService {
             log.info("User created in Keycloak - KeycloakId: {}", keycloakId);
 
             // ✅ 3. Worker Profile məlumatlarını Redis-də saxla (temp)
-            String tempKey = "worker_profile_temp:" + keycloakId;
             WorkerProfileTemp tempProfile = new WorkerProfileTemp(
                     request.getSpecialty() != null ? request.getSpecialty().name() : null,
                     request.getExperienceYears(),
@@ -187,7 +184,7 @@ public class UserService {
                     request.getCity()
             );
 
-            redisTemplate.opsForValue().set(tempKey, tempProfile, 10, TimeUnit.MINUTES);
+            workerProfileTempStore.save(keycloakId, tempProfile);
 
             log.info("Worker registration completed - KeycloakId: {}", keycloakId);
 
@@ -233,6 +230,7 @@ public class UserService {
         if (profile.getIsAvailable() == null) profile.setIsAvailable(true);
 
         User updatedUser = userRepository.save(user);
+        workerMatchIndex.markChanged(updatedUser.getId());
 
         auditLogService.logUserEvent(
                 AuditEvent.USER_UPDATED,
@@ -241,22 +239,19 @@ public class UserService {
                 "Worker profile completed - Specialty: " + request.getSpecialty()
         );
 
-        return userMapper.toResponse(updatedUser);
+        return userResponseAssembler.toResponse(updatedUser);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * UserIdentityCache üzerinden; sadece cache'te yoksa DB'ye transaction açılır
+     */
     public UserResponse getUserByKeycloakId(String keycloakId) {
         try {
             log.debug("Fetching user by Keycloak ID");
 
-            User user = userRepository.findByKeycloakId(keycloakId)
-                    .orElseThrow(() -> new UserNotFoundException("User not found with Keycloak ID"));
-
-            if (user.getStatus() != UserStatus.ACTIVE) {
-                throw new UserNotFoundException("User is not active");
-            }
-
-            return userMapper.toResponse(user);
+            return userIdentityCache.getByKeycloakId(keycloakId, () -> loadActiveUser(() ->
+                    userRepository.findByKeycloakId(keycloakId)
+                            .orElseThrow(() -> new UserNotFoundException("User not found with Keycloak ID"))));
 
         } catch (UserNotFoundException e) {
             throw e;
@@ -266,20 +261,13 @@ public class UserService {
         }
     }
 
-    @Transactional(readOnly = true)
     public UserResponse getUserById(UUID userId) {
         try {
             log.debug("Fetching user by ID: {}", userId);
 
-            User user = userRepository.findById(String.valueOf(userId))
-                    .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
-
-            if (user.getStatus() != UserStatus.ACTIVE) {
-                log.warn("Attempt to access inactive user - UserId: {}", userId);
-                throw new UserNotFoundException("User is not active");
-            }
-
-            return userMapper.toResponse(user);
+            return userIdentityCache.getById(String.valueOf(userId), () -> loadActiveUser(() ->
+                    userRepository.findById(String.valueOf(userId))
+                            .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId))));
 
         } catch (UserNotFoundException e) {
             throw e;
@@ -289,19 +277,13 @@ public class UserService {
         }
     }
 
-    @Transactional(readOnly = true)
     public UserResponse getUserByEmail(String email) {
         try {
             log.debug("Fetching user by email: {}", maskEmail(email));
 
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new UserNotFoundException("User not found with email: " + maskEmail(email)));
-
-            if (user.getStatus() != UserStatus.ACTIVE) {
-                throw new UserNotFoundException("User is not active");
-            }
-
-            return userMapper.toResponse(user);
+            return userIdentityCache.getByEmail(email, () -> loadActiveUser(() ->
+                    userRepository.findByEmail(email)
+                            .orElseThrow(() -> new UserNotFoundException("User not found with email: " + maskEmail(email)))));
 
         } catch (UserNotFoundException e) {
             throw e;
@@ -351,6 +333,7 @@ public class UserService {
 
 
             user = userRepository.save(user);
+            workerMatchIndex.markChanged(user.getId());
 
             try {
                 UserUpdatedEvent event = new UserUpdatedEvent(
@@ -371,7 +354,7 @@ public class UserService {
             );
             log.info("User updated successfully - UserId: {}", userId);
 
-            return userMapper.toResponse(user);
+            return userResponseAssembler.toResponse(user);
 
         } catch (UserNotFoundException | InvalidInputException e) {
             throw e;
@@ -381,53 +364,80 @@ public class UserService {
         }
     }
 
-    @Transactional
-    public UserResponse uploadAvatar(UUID userId, MultipartFile file, String uploadedBy) {
+    /**
+     * Avatar yüklemesini başlatır: dosya istemciden doğrudan MinIO'ya gider.
+     * Kullanıcı kaydı, document.uploaded event'i geldiğinde güncellenir.
+     */
+    public AvatarUploadResponse requestAvatarUpload(UUID userId, AvatarUploadRequest request, String requestedBy) {
         try {
-            log.info("Uploading avatar - UserId: {}", userId);
-
-            User user = userRepository.findById(userId.toString())
-                    .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+            log.info("Requesting avatar upload - UserId: {}", userId);
 
-            if (user.getStatus() != UserStatus.ACTIVE) {
-                throw new UserNotFoundException("User is not active");
+            UserResponse user = getUserById(userId);
+            if (!securityUtils.getCurrentUserId().equals(user.getKeycloakId())) {
+                throw new AccessDeniedException("Users can only change their own avatar");
             }
+            validateImageUpload(request);
 
-            validateImageFile(file);
+            return fileStorageService.requestAvatarUpload(user.getId(), request, requestedBy);
 
-            if (user.getProfileImageUrl() != null) {
-                try {
-                    fileStorageService.deleteFile(user.getProfileImageUrl());
-                } catch (Exception e) {
-                    log.warn("Failed to delete old avatar: {}", e.getMessage());
-                }
-            }
+        } catch (UserNotFoundException | InvalidInputException | AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Avatar upload request error: {}", e.getMessage(), e);
+            throw new UserServiceException("Failed to start avatar upload", e);
+        }
+    }
 
-            String avatarUrl = fileStorageService.uploadFile(
-                    file,
-                    "avatars/" + userId.toString()
-            );
+    @Transactional
+    public void applyUploadedAvatar(String userId, String documentId, String avatarUrl, String uploadedBy) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || user.getStatus() != UserStatus.ACTIVE) {
+            log.warn("Avatar uploaded for missing or inactive user: {}", userId);
+            return;
+        }
 
-            user.setProfileImageUrl(avatarUrl);
-            user = userRepository.save(user);
+        if (documentId != null && documentId.equals(user.getProfileImageDocumentId())) {
+            return;  // Tekrar gelen event
+        }
 
-            auditLogService.logUserEvent(
-                    AuditEvent.IMAGE_UPLOADED,
-                    user.getId(),
-                    uploadedBy,
-                    "Avatar uploaded"
-            );
+        // document-service uploadedBy'ı token'dan yazar; başkasının avatarını değiştirmeye izin verilmez
+        if (uploadedBy == null || !uploadedBy.equals(user.getKeycloakId())) {
+            log.warn("⚠️ Ignoring avatar {} for user {} uploaded by {}", documentId, userId, uploadedBy);
+            return;
+        }
+
+        if (user.getProfileImageUrl() != null) {
+            try {
+                fileStorageService.deleteFile(user.getProfileImageUrl());
+            } catch (Exception e) {
+                log.warn("Failed to delete old avatar: {}", e.getMessage());
+            }
+        }
 
-            log.info("Avatar uploaded successfully - UserId: {}", userId);
+        user.setProfileImageUrl(avatarUrl);
+        user.setProfileImageDocumentId(documentId);
+        user.setProfileThumbnailUrl(null);
+        userRepository.save(user);
 
-            return userMapper.toResponse(user);
+        auditLogService.logUserEvent(
+                AuditEvent.IMAGE_UPLOADED,
+                user.getId(),
+                uploadedBy,
+                "Avatar uploaded"
+        );
 
-        } catch (UserNotFoundException | InvalidInputException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Avatar upload error: {}", e.getMessage(), e);
-            throw new UserServiceException("Failed to upload avatar", e);
-        }
+        log.info("Avatar updated successfully - UserId: {}", userId);
+    }
+
+    @Transactional
+    public void applyAvatarThumbnail(String userId, String documentId, String thumbnailUrl) {
+        userRepository.findById(userId)
+                .filter(user -> documentId != null && documentId.equals(user.getProfileImageDocumentId()))
+                .ifPresent(user -> {
+                    user.setProfileThumbnailUrl(thumbnailUrl);
+                    userRepository.save(user);
+                    log.info("Avatar thumbnail updated - UserId: {}", userId);
+                });
     }
 
     @Transactional
@@ -446,6 +456,7 @@ public class UserService {
             user.setStatus(UserStatus.DELETED);
             user.setDeletedAt(LocalDateTime.now());
             userRepository.save(user);
+            workerMatchIndex.markChanged(user.getId());
 
             try {
                 UserDeletedEvent event = new UserDeletedEvent(
@@ -494,7 +505,7 @@ public class UserService {
                 users = userRepository.findAll(pageable);
             }
 
-            return users.map(userMapper::toResponse);
+            return userResponseAssembler.toResponses(users);
 
         } catch (Exception e) {
             log.error("User search error: {}", e.getMessage(), e);
@@ -514,7 +525,7 @@ public class UserService {
                 throw new UserNotFoundException("User is not active");
             }
 
-            return userMapper.toProfileResponse(user);
+            return userResponseAssembler.toProfileResponse(user);
 
         } catch (UserNotFoundException e) {
             throw e;
@@ -552,6 +563,17 @@ public class UserService {
         }
     }
 
+    private UserResponse loadActiveUser(Supplier<User> finder) {
+        return transactionTemplate.execute(status -> {
+            User user = finder.get();
+            if (user.getStatus() != UserStatus.ACTIVE) {
+                log.warn("Attempt to access inactive user - UserId: {}", user.getId());
+                throw new UserNotFoundException("User is not active");
+            }
+            return userResponseAssembler.toResponse(user);
+        });
+    }
+
     private void validatePhoneNumber(String phone) {
         if (phone != null && !phone.matches("^\\+?[1-9]\\d{1,14}$")) {
             throw new InvalidInputException("Invalid phone number format");
@@ -559,16 +581,16 @@ public class UserService {
     }
 
 
-    private void validateImageFile(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
+    private void validateImageUpload(AvatarUploadRequest request) {
+        if (request.getFileSize() == null || request.getFileSize() <= 0) {
             throw new InvalidInputException("File is required");
         }
 
-        if (file.getSize() > MAX_AVATAR_SIZE) {
+        if (request.getFileSize() > MAX_AVATAR_SIZE) {
             throw new InvalidInputException("File size exceeds 5MB limit");
         }
 
-        String contentType = file.getContentType();
+        String contentType = request.getContentType();
         if (!ALLOWED_IMAGE_TYPES.contains(contentType)) {
             throw new InvalidInputException("Invalid file type. Allowed: JPEG, PNG, JPG");
         }
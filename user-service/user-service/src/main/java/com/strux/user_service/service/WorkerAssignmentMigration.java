@@ -0,0 +1,144 @@
+package com.strux.user_service.service;
+
+import com.strux.user_service.repository.DataMigrationRepository;
+import com.strux.user_service.repository.WorkerProjectAssignmentRepository;
+import com.strux.user_service.repository.WorkerUnitAssignmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+
+/**
+ * WorkerProfile'daki eski element collection tablolarını (user_active_project_ids,
+ * worker_assigned_units) atama tablolarıyla rolling deploy boyunca senkron tutar.
+ *
+ * Cutover'a (app.worker-assignments.legacy-cutover=true) kadar:
+ * - yeni sürümün atama/çıkarmaları eski tablolara da yazılır (mirror*), eski
+ *   instance'lar güncel veriyi görür;
+ * - eski instance'ların yazdıkları periyodik olarak taşınır: eksik satırlar
+ *   ON CONFLICT DO NOTHING ile kopyalanır, eski tablodan silinenler yeni
+ *   tablodan da silinir.
+ * Cutover açıldığında son bir senkron data_migrations'a bir kez yazılır ve
+ * eski tablolara dokunulmaz. Silme sonraki release'te yapılır
+ * (db/cleanup/drop_legacy_worker_assignment_tables.sql). Hata olursa açılış durur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerAssignmentMigration {
+
+    private static final String PROJECT_MIGRATION = "worker_project_assignments_from_legacy";
+    private static final String UNIT_MIGRATION = "worker_unit_assignments_from_legacy";
+
+    private final DataMigrationRepository dataMigrationRepository;
+    private final WorkerProjectAssignmentRepository projectAssignmentRepository;
+    private final WorkerUnitAssignmentRepository unitAssignmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.worker-assignments.legacy-cutover:false}")
+    private boolean cutover;
+
+    private volatile Boolean legacyProjectTable;
+    private volatile Boolean legacyUnitTable;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyTables() {
+        syncLegacyTables();
+    }
+
+    @Scheduled(fixedDelayString = "${app.worker-assignments.legacy-sync-interval-ms:60000}",
+            initialDelayString = "${app.worker-assignments.legacy-sync-interval-ms:60000}")
+    public void syncLegacyTables() {
+        if (hasLegacyProjectTable()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!cutover || dataMigrationRepository.claim(PROJECT_MIGRATION) > 0) {
+                    int copied = projectAssignmentRepository.copyLegacyAssignments();
+                    int pruned = projectAssignmentRepository.pruneRemovedInLegacy();
+                    logSync("project", "user_active_project_ids", copied, pruned);
+                }
+            });
+        }
+
+        if (hasLegacyUnitTable()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!cutover || dataMigrationRepository.claim(UNIT_MIGRATION) > 0) {
+                    int copied = unitAssignmentRepository.copyLegacyAssignments();
+                    int pruned = unitAssignmentRepository.pruneRemovedInLegacy();
+                    logSync("unit", "worker_assigned_units", copied, pruned);
+                }
+            });
+        }
+    }
+
+    // ==================== MIRROR (çağıranın transaction'ında) ====================
+
+    public void mirrorProjectAssigned(String projectId, Collection<String> workerIds) {
+        if (mirrorProjects() && !workerIds.isEmpty()) {
+            projectAssignmentRepository.mirrorAssignToLegacy(projectId, workerIds);
+        }
+    }
+
+    public void mirrorProjectUnassigned(String projectId, Collection<String> workerIds) {
+        if (mirrorProjects() && !workerIds.isEmpty()) {
+            projectAssignmentRepository.mirrorUnassignFromLegacy(projectId, workerIds);
+        }
+    }
+
+    public void mirrorUnitAssigned(String unitId, Collection<String> workerIds) {
+        if (mirrorUnits() && !workerIds.isEmpty()) {
+            unitAssignmentRepository.mirrorAssignToLegacy(unitId, workerIds);
+        }
+    }
+
+    public void mirrorUnitUnassigned(String unitId, Collection<String> workerIds) {
+        if (mirrorUnits() && !workerIds.isEmpty()) {
+            unitAssignmentRepository.mirrorUnassignFromLegacy(unitId, workerIds);
+        }
+    }
+
+    public void mirrorWorkersCleared(Collection<String> workerIds) {
+        if (workerIds.isEmpty()) {
+            return;
+        }
+        if (mirrorProjects()) {
+            projectAssignmentRepository.mirrorClearLegacy(workerIds);
+        }
+        if (mirrorUnits()) {
+            unitAssignmentRepository.mirrorClearLegacy(workerIds);
+        }
+    }
+
+    private boolean mirrorProjects() {
+        return !cutover && hasLegacyProjectTable();
+    }
+
+    private boolean mirrorUnits() {
+        return !cutover && hasLegacyUnitTable();
+    }
+
+    private boolean hasLegacyProjectTable() {
+        if (legacyProjectTable == null) {
+            legacyProjectTable = projectAssignmentRepository.legacyTableExists();
+        }
+        return legacyProjectTable;
+    }
+
+    private boolean hasLegacyUnitTable() {
+        if (legacyUnitTable == null) {
+            legacyUnitTable = unitAssignmentRepository.legacyTableExists();
+        }
+        return legacyUnitTable;
+    }
+
+    private void logSync(String kind, String legacyTable, int copied, int pruned) {
+        if (copied > 0 || pruned > 0) {
+            log.info("🚚 Synced worker {} assignments from {}: {} copied, {} removed", kind, legacyTable, copied, pruned);
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package com.strux.user_service.service;
+
+import com.strux.user_service.enums.WorkerSpecialty;
+import com.strux.user_service.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ekip planlama sorguları (search, available, top) için bellek içi worker index'i.
+ *
+ * Her aktif worker'a bir slot verilir; specialty, şehir, müsaitlik ve şirketsiz
+ * olma bilgisi slot üzerinde BitSet'lerde, rating ve güvenilirlik primitive
+ * dizilerde tutulur. Sorgu BitSet kesişimi ve sınırlı bir heap ile top-K
+ * seçimidir; DB'ye sadece sonuç sayfasındaki kullanıcılar için gidilir.
+ *
+ * Worker değişiklikleri commit sonrası işaretlenir ve kısa aralıklarla DB'den
+ * tekrar okunur. Diğer instance'lardaki değişiklikler periyodik tam yüklemede
+ * gelir. Index hazır değilken query() boş döner ve servis SQL yolunu kullanır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerMatchIndex {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.worker-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.worker-index.rebuild-page-size:5000}")
+    private int rebuildPageSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private Index index;  // lock ile korunur; null ise henüz yüklenmedi
+
+    /**
+     * available null ise müsaitlik filtrelenmez. Rating'i olmayan worker'lar
+     * includeUnrated ile dahil edilir ve her zaman sona sıralanır.
+     */
+    public record Criteria(WorkerSpecialty specialty,
+                           String city,
+                           Boolean available,
+                           boolean unaffiliatedOnly,
+                           float minRating,
+                           boolean includeUnrated) {
+    }
+
+    /**
+     * @param workerIds rating (sonra güvenilirlik) sırasına göre istenen sayfa
+     * @param total     kriterlere uyan toplam worker sayısı
+     */
+    public record Match(List<String> workerIds, long total) {
+    }
+
+    // ==================== QUERY ====================
+
+    public Optional<Match> query(Criteria criteria, long offset, int limit) {
+        if (!enabled || offset < 0 || limit < 1) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return index != null ? Optional.of(index.query(criteria, offset, limit)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== UPDATES ====================
+
+    public void markChanged(String userId) {
+        markChanged(List.of(userId));
+    }
+
+    /**
+     * Transaction içinde çağrılırsa commit sonrası işaretlenir; aksi halde
+     * bir sonraki refresh eski değeri okuyabilirdi.
+     */
+    public void markChanged(Collection<String> userIds) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+
+        List<String> ids = List.copyOf(userIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirty.addAll(ids);
+                }
+            });
+        } else {
+            dirty.addAll(ids);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.worker-index.refresh-interval-ms:500}")
+    public synchronized void refreshChanged() {
+        if (!enabled || dirty.isEmpty()) {
+            return;
+        }
+
+        List<String> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+
+        Map<String, Row> rows = new HashMap<>();
+        try {
+            for (Object[] raw : userRepository.findWorkerMatchRows(ids)) {
+                Row row = Row.of(raw);
+                rows.put(row.workerId(), row);
+            }
+        } catch (RuntimeException e) {
+            dirty.addAll(ids);  // bir sonraki turda tekrar denenir
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (index == null) {
+                return;  // tam yükleme zaten güncel halini okuyacak
+            }
+            for (String id : ids) {
+                Row row = rows.get(id);
+                if (row != null) {
+                    index.put(row);
+                } else {
+                    index.remove(id);  // artık aktif worker değil
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.debug("Worker match index refreshed {} worker(s)", ids.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("⚠️ Worker match index could not be loaded, using SQL until next rebuild: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Tüm aktif worker'ları keyset sayfalarıyla okuyup yeni bir index kurar.
+     * Kurulum sırasında sorgular eski index'ten cevaplanır.
+     */
+    @Scheduled(fixedDelayString = "${app.worker-index.rebuild-interval-ms:300000}",
+            initialDelayString = "${app.worker-index.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        Index fresh = new Index();
+        String afterId = "";
+
+        while (true) {
+            List<Object[]> page = userRepository.findWorkerMatchRowsAfter(afterId, rebuildPageSize);
+            for (Object[] raw : page) {
+                Row row = Row.of(raw);
+                fresh.put(row);
+                afterId = row.workerId();
+            }
+            if (page.size() < rebuildPageSize) {
+                break;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("🧭 Worker match index loaded: {} worker(s) in {} ms",
+                fresh.size(), System.currentTimeMillis() - started);
+    }
+
+    // ==================== INDEX ====================
+
+    /**
+     * [id, city, is_available, company_id, specialty, rating, reliability_score]
+     */
+    private record Row(String workerId, String city, boolean available, boolean unaffiliated,
+                       WorkerSpecialty specialty, float rating, float reliability) {
+
+        static Row of(Object[] raw) {
+            return new Row(
+                    (String) raw[0],
+                    (String) raw[1],
+                    Boolean.TRUE.equals(raw[2]),
+                    raw[3] == null,
+                    raw[4] != null ? WorkerSpecialty.valueOf((String) raw[4]) : null,
+                    raw[5] != null ? ((Number) raw[5]).floatValue() : Index.UNRATED,
+                    raw[6] != null ? ((Number) raw[6]).floatValue() : 0f);
+        }
+    }
+
+    /**
+     * Thread-safe değildir; WorkerMatchIndex lock'u altında kullanılır
+     */
+    private static final class Index {
+
+        static final float UNRATED = -1f;
+
+        private final Map<String, Integer> slotOf = new HashMap<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+        private String[] workerIds = new String[1024];
+        private float[] ratings = new float[1024];
+        private float[] reliability = new float[1024];
+        private WorkerSpecialty[] specialtyOf = new WorkerSpecialty[1024];
+        private String[] cityOf = new String[1024];
+        private int nextSlot;
+
+        private final BitSet live = new BitSet();
+        private final BitSet available = new BitSet();
+        private final BitSet unaffiliated = new BitSet();
+        private final Map<WorkerSpecialty, BitSet> bySpecialty = new EnumMap<>(WorkerSpecialty.class);
+        private final Map<String, BitSet> byCity = new HashMap<>();
+
+        int size() {
+            return slotOf.size();
+        }
+
+        void put(Row row) {
+            Integer slot = slotOf.get(row.workerId());
+            if (slot == null) {
+                slot = freeSlots.isEmpty() ? allocate() : freeSlots.pop();
+                slotOf.put(row.workerId(), slot);
+                workerIds[slot] = row.workerId();
+                live.set(slot);
+            } else {
+                clearGroups(slot);
+            }
+
+            ratings[slot] = row.rating();
+            reliability[slot] = row.reliability();
+            available.set(slot, row.available());
+            unaffiliated.set(slot, row.unaffiliated());
+
+            if (row.specialty() != null) {
+                specialtyOf[slot] = row.specialty();
+                bySpecialty.computeIfAbsent(row.specialty(), k -> new BitSet()).set(slot);
+            }
+            if (row.city() != null) {
+                String city = normalizeCity(row.city());
+                cityOf[slot] = city;
+                byCity.computeIfAbsent(city, k -> new BitSet()).set(slot);
+            }
+        }
+
+        void remove(String workerId) {
+            Integer slot = slotOf.remove(workerId);
+            if (slot == null) {
+                return;
+            }
+            clearGroups(slot);
+            live.clear(slot);
+            available.clear(slot);
+            unaffiliated.clear(slot);
+            workerIds[slot] = null;
+            freeSlots.push(slot);
+        }
+
+        Match query(Criteria criteria, long offset, int limit) {
+            // En seçici küme kopyalanır, diğerleri üzerine kesişir
+            BitSet bySpecialtySet = null;
+            BitSet byCitySet = null;
+            if (criteria.specialty() != null) {
+                bySpecialtySet = bySpecialty.get(criteria.specialty());
+                if (bySpecialtySet == null) {
+                    return new Match(List.of(), 0);
+                }
+            }
+            if (criteria.city() != null) {
+                byCitySet = byCity.get(normalizeCity(criteria.city()));
+                if (byCitySet == null) {
+                    return new Match(List.of(), 0);
+                }
+            }
+
+            BitSet candidates = (BitSet) (byCitySet != null ? byCitySet : bySpecialtySet != null ? bySpecialtySet : live).clone();
+            if (bySpecialtySet != null && byCitySet != null) {
+                candidates.and(bySpecialtySet);
+            }
+            candidates.and(live);
+            if (criteria.available() != null) {
+                if (criteria.available()) {
+                    candidates.and(available);
+                } else {
+                    candidates.andNot(available);
+                }
+            }
+            if (criteria.unaffiliatedOnly()) {
+                candidates.and(unaffiliated);
+            }
+
+            // Sayfanın sonuna kadar en iyi k worker; kök en kötüsü
+            int k = (int) Math.min(offset + limit, candidates.cardinality());
+            int[] heap = new int[k];
+            int heapSize = 0;
+            long total = 0;
+
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                float rating = ratings[slot];
+                if (rating == UNRATED ? !criteria.includeUnrated() : rating < criteria.minRating()) {
+                    continue;
+                }
+                total++;
+
+                if (heapSize < k) {
+                    heap[heapSize] = slot;
+                    siftUp(heap, heapSize++);
+                } else if (k > 0 && compare(slot, heap[0]) < 0) {
+                    heap[0] = slot;
+                    siftDown(heap, heapSize);
+                }
+            }
+
+            // Kökten (en kötü) sona doğru çıkararak sıralı dizi
+            int[] ordered = new int[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                ordered[i] = heap[0];
+                heap[0] = heap[--heapSize];
+                siftDown(heap, heapSize);
+            }
+
+            List<String> page = new ArrayList<>(Math.min(limit, ordered.length));
+            for (long i = offset; i < ordered.length; i++) {
+                page.add(workerIds[ordered[(int) i]]);
+            }
+            return new Match(page, total);
+        }
+
+        /**
+         * Negatif: a önce gelir. Rating azalan (rating'siz en sonda),
+         * sonra güvenilirlik azalan, sonra worker id.
+         */
+        private int compare(int a, int b) {
+            int result = Float.compare(ratings[b], ratings[a]);
+            if (result != 0) {
+                return result;
+            }
+            result = Float.compare(reliability[b], reliability[a]);
+            if (result != 0) {
+                return result;
+            }
+            return workerIds[a].compareTo(workerIds[b]);
+        }
+
+        private void siftUp(int[] heap, int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (compare(heap[i], heap[parent]) <= 0) {
+                    return;
+                }
+                swap(heap, i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int i = 0;
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int worst = left;
+                int right = left + 1;
+                if (right < size && compare(heap[right], heap[left]) > 0) {
+                    worst = right;
+                }
+                if (compare(heap[worst], heap[i]) <= 0) {
+                    return;
+                }
+                swap(heap, i, worst);
+                i = worst;
+            }
+        }
+
+        private static void swap(int[] heap, int i, int j) {
+            int tmp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = tmp;
+        }
+
+        private void clearGroups(int slot) {
+            WorkerSpecialty specialty = specialtyOf[slot];
+            if (specialty != null) {
+                bySpecialty.get(specialty).clear(slot);
+                specialtyOf[slot] = null;
+            }
+            String city = cityOf[slot];
+            if (city != null) {
+                BitSet set = byCity.get(city);
+                set.clear(slot);
+                if (set.isEmpty()) {
+                    byCity.remove(city);
+                }
+                cityOf[slot] = null;
+            }
+        }
+
+        private int allocate() {
+            if (nextSlot == workerIds.length) {
+                int capacity = workerIds.length * 2;
+                workerIds = Arrays.copyOf(workerIds, capacity);
+                ratings = Arrays.copyOf(ratings, capacity);
+                reliability = Arrays.copyOf(reliability, capacity);
+                specialtyOf = Arrays.copyOf(specialtyOf, capacity);
+                cityOf = Arrays.copyOf(cityOf, capacity);
+            }
+            return nextSlot++;
+        }
+
+        // SQL yolundaki LOWER(u.city) = LOWER(:city) ile aynı
+        private static String normalizeCity(String city) {
+            return city.toLowerCase(Locale.ROOT);
+        }
+    }
+}
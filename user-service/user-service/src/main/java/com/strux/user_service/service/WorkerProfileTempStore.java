@@ -0,0 +1,42 @@
+package com.strux.user_service.service;
+
+import com.strux.user_service.dto.WorkerProfileTemp;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Worker kaydında Keycloak'a gitmeyen profil bilgilerini, user.registered
+ * event'i gelene kadar Redis'te tutar.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerProfileTempStore {
+
+    private static final String KEY_PREFIX = "worker_profile_temp:";
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public void save(String keycloakId, WorkerProfileTemp profile) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + keycloakId, profile, TTL);
+    }
+
+    /**
+     * Yoksa veya okunamazsa null. Kayıt silinmez, TTL ile düşer; event tekrar
+     * işlenirse (rollback/retry) profil yine bulunur.
+     */
+    public WorkerProfileTemp find(String keycloakId) {
+        try {
+            Object value = redisTemplate.opsForValue().get(KEY_PREFIX + keycloakId);
+            return value instanceof WorkerProfileTemp profile ? profile : null;
+        } catch (Exception e) {
+            log.warn("⚠️ Temp worker profile for {} could not be read: {}", keycloakId, e.getMessage());
+            return null;
+        }
+    }
+}
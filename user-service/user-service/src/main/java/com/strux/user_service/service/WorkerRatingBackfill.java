@@ -0,0 +1,49 @@
+package com.strux.user_service.service;
+
+import com.strux.user_service.repository.WorkerRatingAggregateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Aggregate tablosu boşsa mevcut user_ratings kayıtlarından, bunlar da yoksa
+ * worker profillerindeki eski ortalamalardan sayaçları doldurur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerRatingBackfill {
+
+    private final WorkerRatingAggregateRepository aggregateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.ratings.decay-half-life-days:90}")
+    private long halfLifeDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            if (aggregateRepository.count() > 0) {
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                int fromRatings = aggregateRepository.backfillFromRatings(Duration.ofDays(halfLifeDays).toSeconds());
+                int fromProfiles = aggregateRepository.backfillFromProfiles();
+                if (fromRatings + fromProfiles > 0) {
+                    log.info("📊 Rating aggregates backfilled: {} from ratings, {} from profiles",
+                            fromRatings, fromProfiles);
+                }
+            });
+        } catch (Exception e) {
+            // Başka bir instance aynı anda doldurmuş olabilir
+            log.warn("⚠️ Rating aggregate backfill skipped: {}", e.getMessage());
+        }
+    }
+}
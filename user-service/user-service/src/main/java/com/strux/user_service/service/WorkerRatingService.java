@@ -0,0 +1,222 @@
+package com.strux.user_service.service;
+
+import com.strux.user_service.dto.RatingDistributionResponse;
+import com.strux.user_service.dto.RatingLeaderboardEntry;
+import com.strux.user_service.dto.RatingStatsResponse;
+import com.strux.user_service.dto.WorkerRatingRequest;
+import com.strux.user_service.enums.AuditEvent;
+import com.strux.user_service.enums.RatingCategory;
+import com.strux.user_service.enums.UserRole;
+import com.strux.user_service.enums.UserStatus;
+import com.strux.user_service.enums.WorkerSpecialty;
+import com.strux.user_service.exceptions.InvalidInputException;
+import com.strux.user_service.exceptions.UserNotFoundException;
+import com.strux.user_service.exceptions.UserServiceException;
+import com.strux.user_service.model.User;
+import com.strux.user_service.model.UserRating;
+import com.strux.user_service.model.WorkerProfile;
+import com.strux.user_service.model.WorkerRatingAggregate;
+import com.strux.user_service.repository.UserRatingRepository;
+import com.strux.user_service.repository.UserRepository;
+import com.strux.user_service.repository.WorkerRatingAggregateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Worker rating'lerinin kaydı ve kategori bazlı sayaçları.
+ *
+ * Her rating user_ratings'e yazılır ve aynı transaction'da kendi kategorisi ile
+ * OVERALL sayacına upsert edilir. Leaderboard, percentile ve dağılımlar sadece
+ * worker_rating_aggregates üzerinden (worker başına bir satır) hesaplanır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerRatingService {
+
+    public static final String OVERALL = "OVERALL";
+
+    private final UserRatingRepository userRatingRepository;
+    private final WorkerRatingAggregateRepository aggregateRepository;
+    private final UserRepository userRepository;
+    private final WorkerMatchIndex workerMatchIndex;
+    private final AuditLogService auditLogService;
+
+    @Value("${app.ratings.decay-half-life-days:90}")
+    private long halfLifeDays;
+
+    @Value("${app.ratings.leaderboard-min-count:3}")
+    private long minRatingCount;
+
+    @Value("${app.ratings.leaderboard-max-size:100}")
+    private int maxLeaderboardSize;
+
+    /**
+     * Rating'i kaydeder ve sayaçları günceller. Çağıranın transaction'ında çalışır.
+     * @return worker'ın güncel OVERALL ortalaması
+     */
+    @Transactional
+    public double recordRating(String workerId, String ratedBy, BigDecimal rating, RatingCategory category,
+                               String projectId, String taskId, String comment) {
+        userRatingRepository.save(UserRating.builder()
+                .userId(workerId)
+                .ratedBy(ratedBy != null ? ratedBy : "system")
+                .rating(rating)
+                .category(category)
+                .projectId(projectId)
+                .taskId(taskId)
+                .comment(comment)
+                .build());
+
+        double value = rating.doubleValue();
+        double halfLifeSeconds = Duration.ofDays(halfLifeDays).toSeconds();
+
+        if (category != null) {
+            aggregateRepository.addRating(workerId, category.name(), value, value * value, halfLifeSeconds);
+        }
+        return aggregateRepository.addRating(workerId, OVERALL, value, value * value, halfLifeSeconds);
+    }
+
+    @Transactional
+    /**
+     * raterKeycloakId token'dan gelir (header'a güvenilmez), kayıtta users.id tutulur
+     */
+    public void rateWorker(UUID workerId, WorkerRatingRequest request, String raterKeycloakId) {
+        try {
+            log.info("Rating worker - WorkerId: {}, Category: {}, Rating: {}",
+                    workerId, request.getCategory(), request.getRating());
+
+            User worker = userRepository.findById(workerId.toString())
+                    .orElseThrow(() -> new UserNotFoundException("Worker not found with ID: " + workerId));
+            String ratedBy = userRepository.findByKeycloakId(raterKeycloakId)
+                    .map(User::getId)
+                    .orElseThrow(() -> new AccessDeniedException("Rater is not a registered user"));
+
+            if (worker.getRole() != UserRole.WORKER || worker.getStatus() != UserStatus.ACTIVE) {
+                throw new InvalidInputException("User is not an active worker");
+            }
+            if (worker.getId().equals(ratedBy)) {
+                throw new InvalidInputException("Workers cannot rate themselves");
+            }
+
+            WorkerProfile profile = worker.getWorkerProfile();
+            if (profile == null) {
+                throw new InvalidInputException("Worker profile not found");
+            }
+
+            double average = recordRating(worker.getId(), ratedBy, request.getRating(), request.getCategory(),
+                    request.getProjectId(), request.getTaskId(), request.getComment());
+
+            profile.setRating(BigDecimal.valueOf(average).setScale(2, RoundingMode.HALF_UP));
+            userRepository.save(worker);
+            workerMatchIndex.markChanged(worker.getId());
+
+            auditLogService.logUserEvent(
+                    AuditEvent.USER_UPDATED,
+                    worker.getId(),
+                    ratedBy,
+                    String.format("Rated %.2f (%s)", request.getRating(),
+                            request.getCategory() != null ? request.getCategory() : OVERALL)
+            );
+
+        } catch (UserNotFoundException | InvalidInputException | AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error rating worker: {}", e.getMessage(), e);
+            throw new UserServiceException("Failed to rate worker", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<RatingStatsResponse> getRatingStats(UUID workerId) {
+        User worker = userRepository.findById(workerId.toString())
+                .orElseThrow(() -> new UserNotFoundException("Worker not found with ID: " + workerId));
+
+        String specialty = worker.getWorkerProfile() != null && worker.getWorkerProfile().getSpecialty() != null
+                ? worker.getWorkerProfile().getSpecialty().name()
+                : null;
+
+        return aggregateRepository.findByWorkerIdOrderByCategory(worker.getId()).stream()
+                .map(aggregate -> RatingStatsResponse.builder()
+                        .workerId(aggregate.getWorkerId())
+                        .category(aggregate.getCategory())
+                        .ratingCount(aggregate.getRatingCount())
+                        .average(round(aggregate.getAverage()))
+                        .stdDev(round(aggregate.getStdDev()))
+                        .decayedAverage(round(aggregate.getDecayedAverage()))
+                        .percentile(aggregate.getRatingCount() >= minRatingCount
+                                ? round(aggregateRepository.findPercentileRank(
+                                        aggregate.getCategory(), specialty, aggregate.getAverage(), minRatingCount))
+                                : null)
+                        .lastRatedAt(aggregate.getLastRatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<RatingLeaderboardEntry> getLeaderboard(WorkerSpecialty specialty, RatingCategory category, int limit) {
+        if (limit < 1 || limit > maxLeaderboardSize) {
+            throw new InvalidInputException("Limit must be between 1 and " + maxLeaderboardSize);
+        }
+
+        String categoryKey = category != null ? category.name() : OVERALL;
+        List<WorkerRatingAggregate> ranked = aggregateRepository.findLeaderboard(
+                categoryKey, specialty != null ? specialty.name() : null, minRatingCount, limit);
+
+        Map<String, User> workers = userRepository.findAllById(
+                        ranked.stream().map(WorkerRatingAggregate::getWorkerId).toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<RatingLeaderboardEntry> entries = new ArrayList<>(ranked.size());
+        for (WorkerRatingAggregate aggregate : ranked) {
+            User worker = workers.get(aggregate.getWorkerId());
+            if (worker == null) {
+                continue;
+            }
+            entries.add(RatingLeaderboardEntry.builder()
+                    .rank(entries.size() + 1)
+                    .workerId(worker.getId())
+                    .fullName(worker.getFirstName() + " " + worker.getLastName())
+                    .specialty(worker.getWorkerProfile() != null ? worker.getWorkerProfile().getSpecialty() : null)
+                    .category(categoryKey)
+                    .ratingCount(aggregate.getRatingCount())
+                    .average(round(aggregate.getAverage()))
+                    .decayedAverage(round(aggregate.getDecayedAverage()))
+                    .build());
+        }
+        return entries;
+    }
+
+    @Transactional(readOnly = true)
+    public RatingDistributionResponse getDistribution(WorkerSpecialty specialty, RatingCategory category) {
+        String categoryKey = category != null ? category.name() : OVERALL;
+        WorkerRatingAggregateRepository.Distribution distribution = aggregateRepository.findDistribution(
+                categoryKey, specialty != null ? specialty.name() : null, minRatingCount);
+
+        return RatingDistributionResponse.builder()
+                .specialty(specialty)
+                .category(categoryKey)
+                .workerCount(distribution.getWorkers())
+                .mean(round(distribution.getMean()))
+                .p25(round(distribution.getP25()))
+                .p50(round(distribution.getP50()))
+                .p75(round(distribution.getP75()))
+                .p90(round(distribution.getP90()))
+                .build();
+    }
+
+    private static Double round(Double value) {
+        return value != null ? Math.round(value * 100) / 100.0 : null;
+    }
+}
@@ -12,15 +12,18 @@ import com.strux.user_service.event.WorkerRemovedFromUnitEvent;
 import com.strux.user_service.exceptions.InvalidInputException;
 import com.strux.user_service.exceptions.UserNotFoundException;
 import com.strux.user_service.exceptions.UserServiceException;
-import com.strux.user_service.mapper.UserMapper;
 import com.strux.user_service.model.User;
 import com.strux.user_service.model.WorkerProfile;
 import com.strux.user_service.repository.UserRepository;
+import com.strux.user_service.repository.WorkerProfileRepository;
+import com.strux.user_service.repository.WorkerProjectAssignmentRepository;
+import com.strux.user_service.repository.WorkerUnitAssignmentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -45,10 +48,21 @@ import java.util.stream.Collectors;
 public class WorkerService {
 
     private final UserRepository userRepository;
-    private final UserMapper userMapper;
+    private final WorkerProfileRepository workerProfileRepository;
+    private final WorkerProjectAssignmentRepository projectAssignmentRepository;
+    private final WorkerUnitAssignmentRepository unitAssignmentRepository;
+    private final UserResponseAssembler userResponseAssembler;
+    private final WorkerAssignmentMigration workerAssignmentMigration;
     private final AuditLogService auditLogService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final WebClient.Builder webClientBuilder;
+    private final WorkerMatchIndex workerMatchIndex;
+    private final ProjectSummaryCache projectSummaryCache;
+    private final UserIdentityCache userIdentityCache;
+    private final WorkerRatingService workerRatingService;
+
+    private static final String DEFAULT_ASSIGNMENT_ROLE = "WORKER";
+    private static final int MAX_CREW_SIZE = 1000;
 
     @Value("${services.unit.url:http://localhost:9099}")
     private String unitServiceUrl;
@@ -65,12 +79,29 @@ public class WorkerService {
 
         validateWorker(worker);
 
-        WorkerProfile profile = worker.getWorkerProfile();
-        if (profile == null || profile.getAssignedUnitIds() == null) {
-            return new ArrayList<>();
+        return unitAssignmentRepository.findUnitIdsByWorkerId(workerId);
+    }
+
+    /**
+     * Servisler arası toplu sorgu (task-service unit cache'i için).
+     * İstenen her worker sonuçta yer alır; ataması olmayan için boş liste.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<String>> getWorkerUnitIdsBatch(Collection<String> workerIds) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        workerIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(id -> result.put(id, new ArrayList<>()));
+
+        if (result.isEmpty()) {
+            return result;
         }
 
-        return new ArrayList<>(profile.getAssignedUnitIds());
+        for (Object[] row : unitAssignmentRepository.findPairsByWorkerIdIn(result.keySet())) {
+            result.get((String) row[0]).add((String) row[1]);
+        }
+        return result;
     }
 
     // ✅ Worker'ın ilk unit ID'sini getir (tek unit için)
@@ -95,8 +126,8 @@ public class WorkerService {
         try {
             log.info("📊 Counting workers for project {}", projectId);
 
-            // ✅ user_active_project_ids tablosundan direkt say
-            Long count = userRepository.countWorkersByProjectId(projectId);
+            // ✅ worker_project_assignments primary key'inden say
+            Long count = projectAssignmentRepository.countByProjectId(projectId);
 
             log.info("✅ Total workers assigned to project {} = {}", projectId, count);
             return count;
@@ -108,6 +139,10 @@ public class WorkerService {
         }
     }
 
+    public long countWorkersByUnit(String unitId) {
+        return unitAssignmentRepository.countByUnitId(unitId);
+    }
+
     @Transactional
     public UserResponse assignWorkerToUnit(UUID workerId, String unitId, String assignedBy) {
         try {
@@ -118,19 +153,23 @@ public class WorkerService {
 
             validateWorker(worker);
 
-            WorkerProfile profile = worker.getWorkerProfile();
-            if (profile == null) {
+            if (worker.getWorkerProfile() == null) {
                 throw new InvalidInputException("Worker profile not found");
             }
 
-            if (profile.getAssignedUnitIds().contains(unitId)) {
+            List<String> assigned = unitAssignmentRepository.assignAll(
+                    unitId, List.of(worker.getId()), DEFAULT_ASSIGNMENT_ROLE, assignedBy);
+            if (assigned.isEmpty()) {
+                // INSERT sadece aktif worker'ları alır; okuma ile yazma arasında pasifleşmiş olabilir
+                if (!unitAssignmentRepository.existsByUnitIdAndWorkerId(unitId, worker.getId())) {
+                    throw new InvalidInputException("Worker is not active");
+                }
                 log.warn("Worker {} already assigned to unit {}", workerId, unitId);
-                return userMapper.toResponse(worker);
+                return userResponseAssembler.toResponse(worker);
             }
+            workerAssignmentMigration.mirrorUnitAssigned(unitId, assigned);
 
-            profile.getAssignedUnitIds().add(unitId);
             worker.setUpdatedAt(LocalDateTime.now());
-
             User savedWorker = userRepository.save(worker);
 
             String unitName = getUnitName(unitId);
@@ -145,10 +184,11 @@ public class WorkerService {
                             assignerName != null ? assignerName : assignedBy)
             );
 
-            publishWorkerAssignedToUnitEvent(savedWorker, unitId, assignedBy);
+            publishWorkerAssignedToUnitEvent(savedWorker, unitId, unitName, getProjectIdFromUnit(unitId),
+                    assignedBy, assignerName);
 
             log.info("✅ Worker {} assigned to unit {}", workerId, unitId);
-            return userMapper.toResponse(savedWorker);
+            return userResponseAssembler.toResponse(savedWorker);
 
         } catch (UserNotFoundException | InvalidInputException e) {
             throw e;
@@ -168,22 +208,22 @@ public class WorkerService {
 
             validateWorker(worker);
 
-            WorkerProfile profile = worker.getWorkerProfile();
-            if (profile == null) {
+            if (worker.getWorkerProfile() == null) {
                 throw new InvalidInputException("Worker profile not found");
             }
 
-            if (!profile.getAssignedUnitIds().contains(unitId)) {
+            List<String> removed = unitAssignmentRepository.unassignAll(unitId, List.of(worker.getId()));
+            // Eski sürümün henüz taşınmamış ataması olabilir; eski tablodan her durumda silinir
+            workerAssignmentMigration.mirrorUnitUnassigned(unitId, List.of(worker.getId()));
+            if (removed.isEmpty()) {
                 log.warn("Worker {} not assigned to unit {}", workerId, unitId);
-                return userMapper.toResponse(worker);
+                return userResponseAssembler.toResponse(worker);
             }
 
             String unitName = getUnitName(unitId);
             String removerName = getUserFullName(removedBy);
 
-            profile.getAssignedUnitIds().remove(unitId);
             worker.setUpdatedAt(LocalDateTime.now());
-
             User savedWorker = userRepository.save(worker);
 
             auditLogService.logUserEvent(
@@ -195,10 +235,10 @@ public class WorkerService {
                             removerName != null ? removerName : removedBy)
             );
 
-            publishWorkerRemovedFromUnitEvent(savedWorker, unitId, removedBy);
+            publishWorkerRemovedFromUnitEvent(savedWorker, unitId, unitName, removedBy, removerName);
 
             log.info("✅ Worker {} removed from unit {}", workerId, unitId);
-            return userMapper.toResponse(savedWorker);
+            return userResponseAssembler.toResponse(savedWorker);
 
         } catch (UserNotFoundException | InvalidInputException e) {
             throw e;
@@ -208,13 +248,100 @@ public class WorkerService {
         }
     }
 
+    /**
+     * Ekibi unit'e tek INSERT ile atar. Aktif olmayan veya zaten atanmış
+     * worker'lar atlanır; event ve audit sadece yeni atananlar için yazılır.
+     */
+    @Transactional
+    public CrewAssignmentResponse assignCrewToUnit(String unitId, CrewAssignmentRequest request, String assignedBy) {
+        List<String> workerIds = distinctIds(request.getWorkerIds());
+        String role = request.getRole() != null && !request.getRole().isBlank()
+                ? request.getRole() : DEFAULT_ASSIGNMENT_ROLE;
+
+        List<String> assigned = workerIds.isEmpty() ? List.of()
+                : unitAssignmentRepository.assignAll(unitId, workerIds, role, assignedBy);
+        workerAssignmentMigration.mirrorUnitAssigned(unitId, assigned);
+
+        if (!assigned.isEmpty()) {
+            // Unit bilgileri worker başına değil, bir kez alınır
+            String unitName = getUnitName(unitId);
+            String projectId = getProjectIdFromUnit(unitId);
+            String assignerName = getUserFullName(assignedBy);
+
+            for (User worker : userRepository.findAllById(assigned)) {
+                auditLogService.logUserEvent(
+                        AuditEvent.USER_UPDATED,
+                        worker.getId(),
+                        assignedBy,
+                        String.format("Worker assigned to unit: %s by %s",
+                                unitName != null ? unitName : unitId,
+                                assignerName != null ? assignerName : assignedBy)
+                );
+                publishWorkerAssignedToUnitEvent(worker, unitId, unitName, projectId, assignedBy, assignerName);
+            }
+        }
+
+        log.info("✅ Assigned {}/{} worker(s) to unit {}", assigned.size(), workerIds.size(), unitId);
+        return crewResponse(unitId, workerIds, assigned);
+    }
+
+    @Transactional
+    public CrewAssignmentResponse removeCrewFromUnit(String unitId, CrewAssignmentRequest request, String removedBy) {
+        List<String> workerIds = distinctIds(request.getWorkerIds());
+
+        List<String> removed = workerIds.isEmpty() ? List.of()
+                : unitAssignmentRepository.unassignAll(unitId, workerIds);
+        workerAssignmentMigration.mirrorUnitUnassigned(unitId, workerIds);
+
+        if (!removed.isEmpty()) {
+            String unitName = getUnitName(unitId);
+            String removerName = getUserFullName(removedBy);
+
+            for (User worker : userRepository.findAllById(removed)) {
+                auditLogService.logUserEvent(
+                        AuditEvent.USER_UPDATED,
+                        worker.getId(),
+                        removedBy,
+                        String.format("Worker removed from unit: %s by %s",
+                                unitName != null ? unitName : unitId,
+                                removerName != null ? removerName : removedBy)
+                );
+                publishWorkerRemovedFromUnitEvent(worker, unitId, unitName, removedBy, removerName);
+            }
+        }
+
+        log.info("✅ Removed {}/{} worker(s) from unit {}", removed.size(), workerIds.size(), unitId);
+        return crewResponse(unitId, workerIds, removed);
+    }
+
+    private CrewAssignmentResponse crewResponse(String unitId, List<String> requested, List<String> changed) {
+        return CrewAssignmentResponse.builder()
+                .unitId(unitId)
+                .requested(requested.size())
+                .changedWorkerIds(changed)
+                .headcount(unitAssignmentRepository.countByUnitId(unitId))
+                .build();
+    }
+
+    private static List<String> distinctIds(List<String> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        List<String> distinct = ids.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .distinct()
+                .toList();
+        if (distinct.size() > MAX_CREW_SIZE) {
+            throw new InvalidInputException("At most " + MAX_CREW_SIZE + " workers can be assigned at once");
+        }
+        return distinct;
+    }
+
     // ✅ Enhanced: Publish ASSIGN event with names
-    private void publishWorkerAssignedToUnitEvent(User worker, String unitId, String assignedBy) {
+    private void publishWorkerAssignedToUnitEvent(User worker, String unitId, String unitName, String projectId,
+                                                  String assignedBy, String assignerName) {
         try {
             String workerName = worker.getFirstName() + " " + worker.getLastName();
-            String unitName = getUnitName(unitId);
-            String assignerName = getUserFullName(assignedBy);
-            String projectId = getProjectIdFromUnit(unitId);
 
             WorkerAssignedToUnitEvent event = WorkerAssignedToUnitEvent.builder()
                     .eventId(UUID.randomUUID().toString())
@@ -225,11 +352,11 @@ public class WorkerService {
                     .unitName(unitName != null ? unitName : "Unit " + unitId)
                     .companyId(worker.getCompanyId())
                     .assignedBy(assignedBy)
-                    .assignerName(assignerName != null ? assignerName : null)
+                    .assignerName(assignerName)
                     .projectId(projectId)
                     .build();
 
-            kafkaTemplate.send("worker.assigned.to.unit", event);
+            kafkaTemplate.send("worker.assigned.to.unit", worker.getId(), event);
             log.info("✅ Published worker.assigned.to.unit event: worker={} ({}), unit={} ({}), assigner={} ({})",
                     worker.getId(), workerName, unitId, unitName, assignedBy, assignerName);
 
@@ -238,11 +365,10 @@ public class WorkerService {
         }
     }
 
-    private void publishWorkerRemovedFromUnitEvent(User worker, String unitId, String removedBy) {
+    private void publishWorkerRemovedFromUnitEvent(User worker, String unitId, String unitName,
+                                                   String removedBy, String removerName) {
         try {
             String workerName = worker.getFirstName() + " " + worker.getLastName();
-            String unitName = getUnitName(unitId);
-            String removerName = getUserFullName(removedBy);
 
             WorkerRemovedFromUnitEvent event = WorkerRemovedFromUnitEvent.builder()
                     .eventId(UUID.randomUUID().toString())
@@ -253,11 +379,11 @@ public class WorkerService {
                     .unitName(unitName != null ? unitName : "Unit " + unitId)
                     .companyId(worker.getCompanyId())
                     .removedBy(removedBy)
-                    .removerName(removerName != null ? removerName : null)
+                    .removerName(removerName)
                     .reason("Removed from unit")
                     .build();
 
-            kafkaTemplate.send("worker.removed.from.unit", event);
+            kafkaTemplate.send("worker.removed.from.unit", worker.getId(), event);
             log.info("✅ Published worker.removed.from.unit event: worker={} ({}), unit={} ({}), remover={} ({})",
                     worker.getId(), workerName, unitId, unitName, removedBy, removerName);
 
@@ -380,12 +506,7 @@ public class WorkerService {
 
             validateWorker(worker);
 
-            WorkerProfile profile = worker.getWorkerProfile();
-            if (profile == null || profile.getAssignedUnitIds() == null) {
-                return new HashSet<>();
-            }
-
-            return profile.getAssignedUnitIds();
+            return new LinkedHashSet<>(unitAssignmentRepository.findUnitIdsByWorkerId(worker.getId()));
 
         } catch (UserNotFoundException | InvalidInputException e) {
             throw e;
@@ -404,9 +525,7 @@ public class WorkerService {
 
             log.info("Found {} workers for unit {}", workers.size(), unitId);
 
-            return workers.stream()
-                    .map(userMapper::toResponse)
-                    .collect(Collectors.toList());
+            return userResponseAssembler.toResponses(workers);
 
         } catch (Exception e) {
             log.error("Error fetching unit workers: {}", e.getMessage(), e);
@@ -414,7 +533,10 @@ public class WorkerService {
         }
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Transaction dışında çalışır: id'ler tek sorguyla okunur, projeler
+     * cache'ten veya project-service'e tek toplu istekle gelir.
+     */
     public List<ProjectResponse> getWorkerProjects(String workerId) {
         try {
             log.info("Fetching projects for worker: {}", workerId);
@@ -425,35 +547,18 @@ public class WorkerService {
 
             validateWorker(worker);
 
-            WorkerProfile profile = worker.getWorkerProfile();
-            if (profile == null || profile.getActiveProjectIds() == null ||
-                    profile.getActiveProjectIds().isEmpty()) {
+            List<String> projectIds = projectAssignmentRepository.findProjectIdsByWorkerId(workerId);
+            if (projectIds.isEmpty()) {
                 log.info("Worker has no active projects");
                 return List.of();
             }
 
-            String token = getAuthToken();
-
-            List<String> projectIds = profile.getActiveProjectIds();
-            List<ProjectResponse> projects = new ArrayList<>();
-
-            for (String projectId : projectIds) {
-                try {
-                    ProjectResponse project = webClientBuilder.build()
-                            .get()
-                            .uri("http://localhost:9095/api/projects/{projectId}", projectId)
-                            .header("Authorization", "Bearer " + token)
-                            .retrieve()
-                            .bodyToMono(ProjectResponse.class)
-                            .block();
-
-                    if (project != null) {
-                        projects.add(project);
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to fetch project {}: {}", projectId, e.getMessage());
-                }
-            }
+            List<ProjectResponse> projects = projectSummaryCache.getAll(projectIds, getAuthToken())
+                    .blockOptional()
+                    .orElse(List.of())
+                    .stream()
+                    .filter(this::isVisibleToCaller)
+                    .toList();
 
             log.info("Found {} projects for worker {}", projects.size(), workerId);
             return projects;
@@ -466,6 +571,26 @@ public class WorkerService {
         }
     }
 
+    /**
+     * Cache'ten gelen projeler için project-service'in erişim kuralı:
+     * WORKER ve HOMEOWNER her projeyi, diğer roller sadece kendi şirketininkini görür
+     */
+    private boolean isVisibleToCaller(ProjectResponse project) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            return false;
+        }
+
+        boolean unrestricted = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_WORKER") || a.getAuthority().equals("ROLE_HOMEOWNER"));
+        if (unrestricted) {
+            return true;
+        }
+
+        String companyId = jwt.getClaimAsString("company_id");
+        return companyId != null && companyId.equals(project.getCompanyId());
+    }
+
     @Transactional
     public void removeEmployeeFromCompany(String companyId, String userId, String removedBy) {
         try {
@@ -479,24 +604,22 @@ public class WorkerService {
             }
 
             if (user.getRole() == UserRole.WORKER && user.getWorkerProfile() != null) {
-                WorkerProfile workerProfile = user.getWorkerProfile();
-
-                if (workerProfile.getActiveProjectIds() != null && !workerProfile.getActiveProjectIds().isEmpty()) {
-                    log.info("Removing worker from {} projects", workerProfile.getActiveProjectIds().size());
-                    workerProfile.getActiveProjectIds().clear();
-                    workerProfile.setIsAvailable(true);
+                int removedProjects = projectAssignmentRepository.deleteByWorkerId(userId);
+                if (removedProjects > 0) {
+                    log.info("Removing worker from {} projects", removedProjects);
+                    user.getWorkerProfile().setIsAvailable(true);
                 }
 
                 // ✅ Unit atamalarını da temizle
-                if (workerProfile.getAssignedUnitIds() != null) {
-                    workerProfile.getAssignedUnitIds().clear();
-                }
+                unitAssignmentRepository.deleteByWorkerId(userId);
+                workerAssignmentMigration.mirrorWorkersCleared(List.of(userId));
             }
 
             user.setCompanyId(null);
             user.setUpdatedAt(LocalDateTime.now());
 
             userRepository.save(user);
+            workerMatchIndex.markChanged(user.getId());
 
             auditLogService.logUserEvent(
                     AuditEvent.USER_UPDATED,
@@ -528,7 +651,7 @@ public class WorkerService {
                     .reason("Removed from company")
                     .build();
 
-            kafkaTemplate.send("worker.removed", event);
+            kafkaTemplate.send("worker.removed", userId, event);
             log.info("✅ Published worker.removed event: company={}, user={}", companyId, userId);
 
         } catch (Exception e) {
@@ -575,6 +698,16 @@ public class WorkerService {
 
             validateSearchParameters(minRating);
 
+            if (pageable.isPaged() && pageable.getSort().isUnsorted()) {
+                Optional<WorkerMatchIndex.Match> match = workerMatchIndex.query(
+                        new WorkerMatchIndex.Criteria(specialty, city, isAvailable, true,
+                                minRating != null ? minRating.floatValue() : 0f, true),
+                        pageable.getOffset(), pageable.getPageSize());
+                if (match.isPresent()) {
+                    return toWorkerPage(match.get(), pageable);
+                }
+            }
+
             Page<User> workers = userRepository.searchWorkers(
                     specialty != null ? specialty.name() : null,
                     city,
@@ -587,7 +720,7 @@ public class WorkerService {
 
             log.debug("Found {} workers", workers.getTotalElements());
 
-            return workers.map(userMapper::toResponse);
+            return userResponseAssembler.toResponses(workers);
 
         } catch (InvalidInputException e) {
             throw e;
@@ -615,7 +748,7 @@ public class WorkerService {
 
             log.debug("Found {} workers for company {}", workers.getTotalElements(), companyId);
 
-            return workers.map(userMapper::toResponse);
+            return userResponseAssembler.toResponses(workers);
 
         } catch (InvalidInputException e) {
             throw e;
@@ -642,7 +775,7 @@ public class WorkerService {
 
             log.debug("Found {} employees for company {}", employees.getTotalElements(), companyId);
 
-            return employees.map(userMapper::toResponse);
+            return userResponseAssembler.toResponses(employees);
 
         } catch (InvalidInputException e) {
             throw e;
@@ -675,6 +808,7 @@ public class WorkerService {
             }
 
             worker = userRepository.save(worker);
+            workerMatchIndex.markChanged(worker.getId());
 
             auditLogService.logUserEvent(
                     AuditEvent.USER_UPDATED,
@@ -685,7 +819,7 @@ public class WorkerService {
 
             log.info("Worker availability updated - WorkerId: {}", workerId);
 
-            return userMapper.toResponse(worker);
+            return userResponseAssembler.toResponse(worker);
 
         } catch (UserNotFoundException | InvalidInputException e) {
             throw e;
@@ -723,7 +857,9 @@ public class WorkerService {
                     : 1;
             profile.setCompletedTasks(completedTasks);
 
-            updateAverageRating(profile, taskRating, completedTasks);
+            double averageRating = workerRatingService.recordRating(
+                    worker.getId(), updatedBy, taskRating, null, null, null, null);
+            profile.setRating(BigDecimal.valueOf(averageRating).setScale(2, RoundingMode.HALF_UP));
             updateCompletionCounts(profile, onTime);
             updateReliabilityScore(profile);
 
@@ -733,6 +869,7 @@ public class WorkerService {
             profile.setTotalWorkDays(totalWorkDays);
 
             userRepository.save(worker);
+            workerMatchIndex.markChanged(worker.getId());
 
             auditLogService.logUserEvent(
                     AuditEvent.USER_UPDATED,
@@ -762,18 +899,14 @@ public class WorkerService {
 
             validateWorker(worker);
 
-            WorkerProfile profile = worker.getWorkerProfile();
-            if (profile == null) {
+            if (worker.getWorkerProfile() == null) {
                 throw new InvalidInputException("Worker profile not found");
             }
 
-            if (profile.getActiveProjectIds() == null) {
-                profile.setActiveProjectIds(new ArrayList<>());
-            }
-
-            if (!profile.getActiveProjectIds().contains(projectId)) {
-                profile.getActiveProjectIds().add(projectId);
-            }
+            List<String> assigned = projectAssignmentRepository.assignAll(
+                    projectId, List.of(worker.getId()), DEFAULT_ASSIGNMENT_ROLE, updatedBy);
+            workerAssignmentMigration.mirrorProjectAssigned(projectId, assigned);
+            userIdentityCache.invalidate(worker.getId());  // activeProjectIds
 
             worker.setIsAvailable(false);
 
@@ -781,6 +914,7 @@ public class WorkerService {
             worker.setCompanyId(companyId);
 
             userRepository.save(worker);
+            workerMatchIndex.markChanged(worker.getId());
 
             auditLogService.logUserEvent(
                     AuditEvent.USER_UPDATED,
@@ -821,17 +955,16 @@ public class WorkerService {
 
             validateWorker(worker);
 
-            WorkerProfile profile = worker.getWorkerProfile();
-            if (profile != null && profile.getActiveProjectIds() != null) {
-                profile.getActiveProjectIds().remove(projectId);
-
-                if (profile.getActiveProjectIds().isEmpty()) {
-                    worker.setIsAvailable(true);
-                    worker.setCompanyId(null);
-                }
+            List<String> removed = projectAssignmentRepository.unassignAll(projectId, List.of(worker.getId()));
+            workerAssignmentMigration.mirrorProjectUnassigned(projectId, List.of(worker.getId()));
+            userIdentityCache.invalidate(worker.getId());
+            if (!removed.isEmpty() && projectAssignmentRepository.countByWorkerId(worker.getId()) == 0) {
+                worker.setIsAvailable(true);
+                worker.setCompanyId(null);
             }
 
             userRepository.save(worker);
+            workerMatchIndex.markChanged(worker.getId());
 
             auditLogService.logUserEvent(
                     AuditEvent.USER_UPDATED,
@@ -891,6 +1024,12 @@ public class WorkerService {
         try {
             log.info("Fetching top {} workers by specialty: {}", limit, specialty);
 
+            Optional<WorkerMatchIndex.Match> match = workerMatchIndex.query(
+                    new WorkerMatchIndex.Criteria(specialty, null, null, false, 0f, true), 0, limit);
+            if (match.isPresent()) {
+                return loadInOrder(match.get().workerIds());
+            }
+
             Pageable pageable = PageRequest.of(0, limit, Sort.by("workerProfile.rating").descending());
 
             Page<User> topWorkers = userRepository.findTopWorkersBySpecialty(
@@ -899,7 +1038,7 @@ public class WorkerService {
                     pageable
             );
 
-            return topWorkers.map(userMapper::toResponse).getContent();
+            return userResponseAssembler.toResponses(topWorkers).getContent();
 
         } catch (Exception e) {
             log.error("Error fetching top workers: {}", e.getMessage(), e);
@@ -932,9 +1071,7 @@ public class WorkerService {
                     .onTimeCompletionCount(profile.getOnTimeCompletionCount())
                     .lateCompletionCount(profile.getLateCompletionCount())
                     .reliabilityScore(profile.getReliabilityScore())
-                    .activeProjectCount(profile.getActiveProjectIds() != null
-                            ? profile.getActiveProjectIds().size()
-                            : 0)
+                    .activeProjectCount((int) projectAssignmentRepository.countByWorkerId(worker.getId()))
                     .isAvailable(worker.getIsAvailable())
                     .experienceYears(profile.getExperienceYears())
                     .build();
@@ -956,6 +1093,15 @@ public class WorkerService {
         try {
             log.info("Fetching available workers - City: {}, Specialty: {}", city, specialty);
 
+            if (pageable.isPaged() && pageable.getSort().isUnsorted()) {
+                Optional<WorkerMatchIndex.Match> match = workerMatchIndex.query(
+                        new WorkerMatchIndex.Criteria(specialty, city, true, false, 0f, true),
+                        pageable.getOffset(), pageable.getPageSize());
+                if (match.isPresent()) {
+                    return toWorkerPage(match.get(), pageable);
+                }
+            }
+
             Page<User> workers = userRepository.findAvailableWorkers(
                     city,
                     specialty,
@@ -963,7 +1109,7 @@ public class WorkerService {
                     pageable
             );
 
-            return workers.map(userMapper::toResponse);
+            return userResponseAssembler.toResponses(workers);
 
         } catch (Exception e) {
             log.error("Error fetching available workers: {}", e.getMessage(), e);
@@ -971,6 +1117,23 @@ public class WorkerService {
         }
     }
 
+    private Page<UserResponse> toWorkerPage(WorkerMatchIndex.Match match, Pageable pageable) {
+        return new PageImpl<>(loadInOrder(match.workerIds()), pageable, match.total());
+    }
+
+    /**
+     * Index'in verdiği sırayı koruyarak kullanıcıları tek sorguda yükler
+     */
+    private List<UserResponse> loadInOrder(List<String> workerIds) {
+        Map<String, User> users = userRepository.findAllById(workerIds).stream()
+                .collect(Collectors.toMap(User::getId, u -> u));
+
+        return userResponseAssembler.toResponses(workerIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
     private void validateWorker(User worker) {
         if (worker.getRole() != UserRole.WORKER) {
             throw new InvalidInputException("User is not a worker");
@@ -981,26 +1144,6 @@ public class WorkerService {
         }
     }
 
-    private void updateAverageRating(WorkerProfile profile, BigDecimal newRating, int totalTasks) {
-        BigDecimal currentRating = profile.getRating();
-        BigDecimal updatedRating;
-
-        if (currentRating == null || currentRating.compareTo(BigDecimal.ZERO) == 0) {
-            updatedRating = newRating;
-        } else {
-            BigDecimal totalScore = currentRating
-                    .multiply(BigDecimal.valueOf(totalTasks - 1))
-                    .add(newRating);
-            updatedRating = totalScore.divide(
-                    BigDecimal.valueOf(totalTasks),
-                    2,
-                    RoundingMode.HALF_UP
-            );
-        }
-
-        profile.setRating(updatedRating);
-    }
-
     private void updateCompletionCounts(WorkerProfile profile, boolean onTime) {
         if (onTime) {
             Integer count = profile.getOnTimeCompletionCount() != null
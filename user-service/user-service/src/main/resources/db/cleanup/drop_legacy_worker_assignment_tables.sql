@@ -0,0 +1,7 @@
+-- Eski worker atama tabloları.
+-- Sadece tüm user-service instance'ları worker_*_assignments tablolarını kullanan
+-- sürüme geçtikten, app.worker-assignments.legacy-cutover=true ile açıldıktan ve
+-- data_migrations'ta ilgili kayıtlar oluştuktan sonra çalıştırın.
+
+DROP TABLE IF EXISTS user_active_project_ids;
+DROP TABLE IF EXISTS worker_assigned_units;